@@ -0,0 +1,163 @@
+package com.hendrix.collection;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * IndexedFloatMinHeap is a binary min heap of the integers {@code 0..capacity-1} prioritized
+ * by {@code float} keys. every element knows its position in the heap, so its key can be
+ * decreased in {@code O(log n)}, which {@link java.util.PriorityQueue} can not do. there is
+ * no boxing and no allocation after construction.
+ *
+ * @author Tomer Shalev
+ */
+@SuppressWarnings("UnusedDeclaration")
+public class IndexedFloatMinHeap {
+    /**
+     * the heap of elements
+     */
+    private final int[]   _heap;
+    /**
+     * the position of every element in the heap, or {@code -1} if absent
+     */
+    private final int[]   _positions;
+    /**
+     * the key of every element
+     */
+    private final float[] _keys;
+    private int           _size;
+
+    /**
+     * @param capacity the elements of the heap are {@code 0..capacity-1}
+     */
+    public IndexedFloatMinHeap(int capacity) {
+        _heap       = new int[capacity];
+        _positions  = new int[capacity];
+        _keys       = new float[capacity];
+
+        Arrays.fill(_positions, -1);
+    }
+
+    /**
+     * @param element the element
+     *
+     * @return {@code true} if the element is in the heap
+     */
+    public boolean contains(int element) {
+        return _positions[element] != -1;
+    }
+
+    /**
+     * @param element the element
+     *
+     * @return the key of the element
+     */
+    public float keyOf(int element) {
+        return _keys[element];
+    }
+
+    /**
+     * insert an element, or update its key if it is already in the heap
+     *
+     * @param element the element
+     * @param key     the key
+     */
+    public void insertOrUpdate(int element, float key) {
+        if(contains(element)) {
+            float previous  = _keys[element];
+            _keys[element]  = key;
+
+            if(key < previous)
+                siftUp(_positions[element]);
+            else
+                siftDown(_positions[element]);
+
+            return;
+        }
+
+        _keys[element]      = key;
+        _heap[_size]        = element;
+        _positions[element] = _size;
+
+        siftUp(_size++);
+    }
+
+    /**
+     * remove the element with the minimal key
+     *
+     * @return the element
+     *
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int poll() {
+        if(_size == 0)
+            throw new NoSuchElementException();
+
+        int min             = _heap[0];
+
+        _positions[min]     = -1;
+
+        if(--_size > 0) {
+            _heap[0]                = _heap[_size];
+            _positions[_heap[0]]    = 0;
+
+            siftDown(0);
+        }
+
+        return min;
+    }
+
+    /**
+     * @return the number of elements in the heap
+     */
+    public int size() {
+        return _size;
+    }
+
+    /**
+     * @return {@code true} if the heap is empty
+     */
+    public boolean isEmpty() {
+        return _size == 0;
+    }
+
+    private void siftUp(int position) {
+        int element         = _heap[position];
+        float key           = _keys[element];
+
+        while (position > 0) {
+            int parent      = (position - 1) >>> 1;
+
+            if(_keys[_heap[parent]] <= key)
+                break;
+
+            place(_heap[parent], position);
+            position        = parent;
+        }
+
+        place(element, position);
+    }
+
+    private void siftDown(int position) {
+        int element         = _heap[position];
+        float key           = _keys[element];
+
+        for (int child; (child = 2 * position + 1) < _size; position = child) {
+            if(child + 1 < _size && _keys[_heap[child + 1]] < _keys[_heap[child]])
+                child++;
+
+            if(key <= _keys[_heap[child]])
+                break;
+
+            place(_heap[child], position);
+        }
+
+        place(element, position);
+    }
+
+    private void place(int element, int position) {
+        _heap[position]     = element;
+        _positions[element] = position;
+    }
+
+}
@@ -0,0 +1,234 @@
+package com.hendrix.collection;
+
+import java.util.Arrays;
+import java.util.function.UnaryOperator;
+
+/**
+ * LongObjectHashMap is an open addressing hash map from primitive {@code long} keys to objects.
+ * lookups do not box the key and do not allocate. the keys and the values live in two parallel
+ * arrays and collisions are resolved with linear probing. removal shifts the following entries
+ * back, so there are no tombstones.
+ *
+ * <ul>
+ *     <li/>{@code null} values are not supported, a {@code null} slot marks a free slot.
+ *     <li/>queries of missing keys return {@code null}.
+ * </ul>
+ *
+ * @param <V> the type of the values
+ *
+ * @author Tomer Shalev
+ */
+@SuppressWarnings("UnusedDeclaration")
+public class LongObjectHashMap<V> {
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private long[]   _keys;
+    private Object[] _values;
+    private int      _size;
+    private int      _mask;
+    private int      _resizeAt;
+
+    /**
+     * Constructs a new empty instance
+     */
+    public LongObjectHashMap() {
+        this(16);
+    }
+
+    /**
+     * @param expectedSize the number of entries the map should hold without resizing
+     */
+    public LongObjectHashMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * copy constructor, the values are copied with a function, so the copy does not share
+     * mutable values with the source
+     *
+     * @param source    the map to copy
+     * @param copyValue copies a value, {@code UnaryOperator.identity()} shares the values
+     */
+    @SuppressWarnings("unchecked")
+    public LongObjectHashMap(LongObjectHashMap<V> source, UnaryOperator<V> copyValue) {
+        _keys       = source._keys.clone();
+        _values     = new Object[source._values.length];
+        _size       = source._size;
+        _mask       = source._mask;
+        _resizeAt   = source._resizeAt;
+
+        for (int slot = 0; slot < _values.length; slot++) {
+            if(source._values[slot] != null)
+                _values[slot] = copyValue.apply((V) source._values[slot]);
+        }
+    }
+
+    /**
+     * @param key the key
+     *
+     * @return the value of the key, or {@code null} if there is none
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int slot = slotOf(key);
+
+        return slot == -1 ? null : (V) _values[slot];
+    }
+
+    /**
+     * @param key the key
+     *
+     * @return {@code true} if the map contains the key
+     */
+    public boolean containsKey(long key) {
+        return slotOf(key) != -1;
+    }
+
+    /**
+     * map a key to a value
+     *
+     * @param key   the key
+     * @param value the value, not {@code null}
+     *
+     * @return the previous value of the key, or {@code null} if there was none
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if(value == null)
+            throw new NullPointerException("null values are not supported");
+
+        int slot = hash(key) & _mask;
+
+        for (; _values[slot] != null; slot = (slot + 1) & _mask) {
+            if(_keys[slot] == key) {
+                V previous      = (V) _values[slot];
+                _values[slot]   = value;
+
+                return previous;
+            }
+        }
+
+        _keys[slot]     = key;
+        _values[slot]   = value;
+
+        if(++_size >= _resizeAt)
+            rehash(_keys.length << 1);
+
+        return null;
+    }
+
+    /**
+     * remove a key
+     *
+     * @param key the key
+     *
+     * @return the removed value, or {@code null} if there was none
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int slot = slotOf(key);
+
+        if(slot == -1)
+            return null;
+
+        V previous      = (V) _values[slot];
+
+        // shift back the entries of the probe sequence that follows the removed slot
+
+        int gap         = slot;
+
+        for (int i = (gap + 1) & _mask; _values[i] != null; i = (i + 1) & _mask) {
+            int ideal   = hash(_keys[i]) & _mask;
+
+            if(((i - ideal) & _mask) >= ((i - gap) & _mask)) {
+                _keys[gap]      = _keys[i];
+                _values[gap]    = _values[i];
+                gap             = i;
+            }
+        }
+
+        _values[gap]    = null;
+        _size--;
+
+        return previous;
+    }
+
+    /**
+     * @return the number of entries
+     */
+    public int size() {
+        return _size;
+    }
+
+    /**
+     * @return {@code true} if the map has no entries
+     */
+    public boolean isEmpty() {
+        return _size == 0;
+    }
+
+    /**
+     * remove all of the entries
+     */
+    public void clear() {
+        Arrays.fill(_values, null);
+        _size = 0;
+    }
+
+    private int slotOf(long key) {
+        int slot = hash(key) & _mask;
+
+        for (; _values[slot] != null; slot = (slot + 1) & _mask) {
+            if(_keys[slot] == key)
+                return slot;
+        }
+
+        return -1;
+    }
+
+    private void rehash(int capacity) {
+        long[] keys     = _keys;
+        Object[] values = _values;
+
+        allocate(capacity);
+
+        for (int i = 0; i < keys.length; i++) {
+            if(values[i] == null)
+                continue;
+
+            int slot = hash(keys[i]) & _mask;
+
+            while (_values[slot] != null)
+                slot = (slot + 1) & _mask;
+
+            _keys[slot]     = keys[i];
+            _values[slot]   = values[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        _keys       = new long[capacity];
+        _values     = new Object[capacity];
+        _mask       = capacity - 1;
+        _resizeAt   = (int)(capacity * LOAD_FACTOR);
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = 16;
+
+        while (capacity * LOAD_FACTOR <= expectedSize)
+            capacity <<= 1;
+
+        return capacity;
+    }
+
+    /**
+     * mix all of the 64 bits of the key into the 32 bits hash
+     */
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+
+        return (int)(h ^ (h >>> 32));
+    }
+
+}
@@ -0,0 +1,252 @@
+package com.hendrix.collection;
+
+import java.util.Arrays;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * ObjectIntHashMap is a compact open addressing hash map from objects to primitive {@code int} values.
+ * there are no entry objects and no boxing, the keys and the values live in two parallel arrays
+ * and collisions are resolved with linear probing. removal shifts the following entries back,
+ * so there are no tombstones.
+ *
+ * <ul>
+ *     <li/>{@code null} keys are not supported.
+ *     <li/>queries of missing keys return the {@code noEntryValue} of the map.
+ * </ul>
+ *
+ * @param <K> the type of the keys, has to have an immutable hashCode
+ *
+ * @author Tomer Shalev
+ */
+@SuppressWarnings("UnusedDeclaration")
+public class ObjectIntHashMap<K> {
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private Object[] _keys;
+    private int[]    _values;
+    private int      _size;
+    private int      _mask;
+    private int      _resizeAt;
+
+    private final int _noEntryValue;
+
+    /**
+     * Constructs a new empty instance, missing keys are reported as {@code -1}
+     */
+    public ObjectIntHashMap() {
+        this(16, -1);
+    }
+
+    /**
+     * @param expectedSize  the number of entries the map should hold without resizing
+     * @param noEntryValue  the value to report for missing keys
+     */
+    public ObjectIntHashMap(int expectedSize, int noEntryValue) {
+        _noEntryValue = noEntryValue;
+
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * copy constructor, the copy does not share state with the source
+     *
+     * @param source the map to copy
+     */
+    public ObjectIntHashMap(ObjectIntHashMap<K> source) {
+        _noEntryValue   = source._noEntryValue;
+        _keys           = source._keys.clone();
+        _values         = source._values.clone();
+        _size           = source._size;
+        _mask           = source._mask;
+        _resizeAt       = source._resizeAt;
+    }
+
+    /**
+     * @return the value that is reported for missing keys
+     */
+    public int getNoEntryValue() {
+        return _noEntryValue;
+    }
+
+    /**
+     * @param key the key
+     *
+     * @return the value of the key, or the {@code noEntryValue} if there is none
+     */
+    public int get(Object key) {
+        int slot = slotOf(key);
+
+        return slot == -1 ? _noEntryValue : _values[slot];
+    }
+
+    /**
+     * @param key the key
+     *
+     * @return {@code true} if the map contains the key
+     */
+    public boolean containsKey(Object key) {
+        return slotOf(key) != -1;
+    }
+
+    /**
+     * map a key to a value
+     *
+     * @param key   the key
+     * @param value the value
+     *
+     * @return the previous value of the key, or the {@code noEntryValue} if there was none
+     */
+    public int put(K key, int value) {
+        if(key == null)
+            throw new NullPointerException("null keys are not supported");
+
+        int slot = hash(key) & _mask;
+
+        for (Object current; (current = _keys[slot]) != null; slot = (slot + 1) & _mask) {
+            if(current.equals(key)) {
+                int previous    = _values[slot];
+                _values[slot]   = value;
+
+                return previous;
+            }
+        }
+
+        _keys[slot]     = key;
+        _values[slot]   = value;
+
+        if(++_size >= _resizeAt)
+            rehash(_keys.length << 1);
+
+        return _noEntryValue;
+    }
+
+    /**
+     * remove a key
+     *
+     * @param key the key
+     *
+     * @return the removed value, or the {@code noEntryValue} if there was none
+     */
+    public int remove(Object key) {
+        int slot = slotOf(key);
+
+        if(slot == -1)
+            return _noEntryValue;
+
+        int previous    = _values[slot];
+
+        // shift back the entries of the probe sequence that follows the removed slot
+
+        int gap         = slot;
+
+        for (int i = (gap + 1) & _mask; _keys[i] != null; i = (i + 1) & _mask) {
+            int ideal   = hash(_keys[i]) & _mask;
+
+            if(((i - ideal) & _mask) >= ((i - gap) & _mask)) {
+                _keys[gap]      = _keys[i];
+                _values[gap]    = _values[i];
+                gap             = i;
+            }
+        }
+
+        _keys[gap]      = null;
+        _size--;
+
+        return previous;
+    }
+
+    /**
+     * @return the number of entries
+     */
+    public int size() {
+        return _size;
+    }
+
+    /**
+     * @return {@code true} if the map has no entries
+     */
+    public boolean isEmpty() {
+        return _size == 0;
+    }
+
+    /**
+     * visit the entries, in no particular order. the map should not be changed meanwhile.
+     *
+     * @param consumer accepts the key and the value of every entry
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(ObjIntConsumer<? super K> consumer) {
+        for (int slot = 0; slot < _keys.length; slot++) {
+            if(_keys[slot] != null)
+                consumer.accept((K) _keys[slot], _values[slot]);
+        }
+    }
+
+    /**
+     * remove all of the entries
+     */
+    public void clear() {
+        Arrays.fill(_keys, null);
+        _size = 0;
+    }
+
+    private int slotOf(Object key) {
+        if(key == null)
+            return -1;
+
+        int slot = hash(key) & _mask;
+
+        for (Object current; (current = _keys[slot]) != null; slot = (slot + 1) & _mask) {
+            if(current.equals(key))
+                return slot;
+        }
+
+        return -1;
+    }
+
+    private void rehash(int capacity) {
+        Object[] keys   = _keys;
+        int[] values    = _values;
+
+        allocate(capacity);
+
+        for (int i = 0; i < keys.length; i++) {
+            if(keys[i] == null)
+                continue;
+
+            int slot = hash(keys[i]) & _mask;
+
+            while (_keys[slot] != null)
+                slot = (slot + 1) & _mask;
+
+            _keys[slot]     = keys[i];
+            _values[slot]   = values[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        _keys       = new Object[capacity];
+        _values     = new int[capacity];
+        _mask       = capacity - 1;
+        _resizeAt   = (int)(capacity * LOAD_FACTOR);
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = 16;
+
+        while (capacity * LOAD_FACTOR <= expectedSize)
+            capacity <<= 1;
+
+        return capacity;
+    }
+
+    /**
+     * spread the bits of the hash code, linear probing is sensitive to clustered hash codes
+     */
+    private static int hash(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+
+        return h ^ (h >>> 16);
+    }
+
+}
@@ -1,12 +1,23 @@
 package com.hendrix.erdos;
 
 import com.hendrix.erdos.graphs.IGraph;
+import com.hendrix.erdos.graphs.engines.AdjIncidenceGraphEngine;
+import com.hendrix.erdos.graphs.engines.CompressedGraphEngine;
+import com.hendrix.erdos.graphs.engines.CsrGraphEngine;
 import com.hendrix.erdos.graphs.engines.IGraphEngine;
+import com.hendrix.erdos.graphs.engines.OffHeapGraphEngine;
+import com.hendrix.erdos.graphs.engines.ReversedGraphEngine;
+import com.hendrix.erdos.graphs.engines.SubgraphGraphEngine;
+import com.hendrix.erdos.graphs.engines.UndirectedViewGraphEngine;
 import com.hendrix.erdos.graphs.AbstractGraph;
 import com.hendrix.erdos.graphs.DirectedGraph;
 import com.hendrix.erdos.graphs.UndirectedGraph;
 import com.hendrix.erdos.types.Edge;
 import com.hendrix.erdos.types.Edge.*;
+import com.hendrix.erdos.types.IVertex;
+
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * Graph instances factory
@@ -40,10 +51,221 @@ public class Erdos {
      * @return the copied graph
      */
     static public AbstractGraph cloneGraphOf(IGraph graph) {
-        AbstractGraph graph_res = newGraphWithEngine(graph.graphEngineFactory(), graph.getGraphType(), graph.hasSelfLoops(), graph.hasMultiEdges());
-        graph_res.addAll(graph.vertices(), graph.edges());
+        return cloneGraphOf(graph, false);
+    }
+
+    /**
+     * clone a graph. the vertices and edges are referenced and not cloned from the original graph.
+     * engines that know how to copy themselves, see {@link IGraphEngine#copy(boolean)}, are copied
+     * directly, other graphs are cloned by adding all of their vertices and edges to a new graph.
+     *
+     * @param graph       the graph to copy
+     * @param copyOnWrite let the copy share the adjacency of the graph until either one of them changes it,
+     *                    if the engine of the graph supports it
+     *
+     * @return the copied graph, a {@link DirectedGraph} or {@link UndirectedGraph}, depending on the graph type
+     */
+    static public AbstractGraph cloneGraphOf(final IGraph graph, boolean copyOnWrite) {
+        IGraphEngine engine = graph.getGraphEngine().copy(copyOnWrite);
+
+        if(engine == null) {
+            AbstractGraph graph_res = newGraphWithEngine(graph.graphEngineFactory(), graph.getGraphType(), graph.hasSelfLoops(), graph.hasMultiEdges());
+            graph_res.addAll(graph.vertices(), graph.edges());
+
+            return graph_res;
+        }
+
+        final boolean selfLoops     = graph.hasSelfLoops();
+        final boolean multiEdges    = graph.hasMultiEdges();
+
+        switch (graph.getGraphType()) {
+            case DIRECTED:
+                return new DirectedGraph(engine) {
+                    @Override
+                    public boolean hasMultiEdges() {
+                        return multiEdges;
+                    }
+
+                    @Override
+                    public boolean hasSelfLoops() {
+                        return selfLoops;
+                    }
+
+                    @Override
+                    public IGraphEngine graphEngineFactory() {
+                        return graph.graphEngineFactory();
+                    }
+                };
+            case UNDIRECTED:
+                return new UndirectedGraph(engine) {
+                    @Override
+                    public boolean hasMultiEdges() {
+                        return multiEdges;
+                    }
+
+                    @Override
+                    public boolean hasSelfLoops() {
+                        return selfLoops;
+                    }
+
+                    @Override
+                    public IGraphEngine graphEngineFactory() {
+                        return graph.graphEngineFactory();
+                    }
+                };
+        }
 
-        return graph_res;
+        return null;
+    }
+
+    /**
+     * freeze a graph into an immutable graph backed by a {@link CsrGraphEngine}. the vertices and edges
+     * are referenced and not cloned from the original graph. graphs that algorithms derive from the
+     * frozen graph are created with a mutable {@link AdjIncidenceGraphEngine}.
+     *
+     * @param graph the graph to freeze
+     *
+     * @return a read only {@link DirectedGraph} or {@link UndirectedGraph}, depending on the graph type
+     */
+    static public AbstractGraph freezeGraphOf(final IGraph graph) {
+        return newGraphWithImmutableEngine(new CsrGraphEngine(graph.getGraphEngine()), graph.hasSelfLoops(), graph.hasMultiEdges());
+    }
+
+    /**
+     * copy a graph into an immutable graph backed by an {@link OffHeapGraphEngine}, so the garbage collector
+     * does not have to scan its adjacency. the vertices are referenced, the edges are materialized on demand.
+     * call {@link IGraph#getGraphEngine()}{@code .dispose()} to release the memory of the graph right away.
+     *
+     * @param graph the graph to copy
+     *
+     * @return a read only {@link DirectedGraph} or {@link UndirectedGraph}, depending on the graph type
+     *
+     * @see #freezeGraphOf(IGraph)
+     */
+    static public AbstractGraph offHeapGraphOf(final IGraph graph) {
+        return newGraphWithImmutableEngine(new OffHeapGraphEngine(graph.getGraphEngine()), graph.hasSelfLoops(), graph.hasMultiEdges());
+    }
+
+    /**
+     * compress a graph into an immutable graph backed by a {@link CompressedGraphEngine}, that keeps the sorted
+     * adjacency as gaps in a variable length encoding. the vertices are referenced, the edges are materialized on demand.
+     *
+     * @param graph the graph to compress
+     *
+     * @return a read only {@link DirectedGraph} or {@link UndirectedGraph}, depending on the graph type
+     *
+     * @see #freezeGraphOf(IGraph)
+     */
+    static public AbstractGraph compressGraphOf(final IGraph graph) {
+        return newGraphWithImmutableEngine(new CompressedGraphEngine(graph.getGraphEngine()), graph.hasSelfLoops(), graph.hasMultiEdges());
+    }
+
+    /**
+     * view a directed graph with every edge reversed, without copying it. the view follows the changes
+     * of the graph, and its edges share their weight, tag and data with the edges of the graph.
+     *
+     * @param graph a directed graph
+     *
+     * @return a read only {@link DirectedGraph}
+     *
+     * @see ReversedGraphEngine
+     */
+    static public AbstractGraph reversedViewOf(final IGraph graph) {
+        return newGraphWithImmutableEngine(new ReversedGraphEngine(graph.getGraphEngine()), graph.hasSelfLoops(), graph.hasMultiEdges());
+    }
+
+    /**
+     * view a directed graph as an undirected graph, the union of both directions, without copying it.
+     * vertices that are connected in both directions have two parallel edges.
+     *
+     * @param graph a directed graph
+     *
+     * @return a read only {@link UndirectedGraph}
+     *
+     * @see UndirectedViewGraphEngine
+     */
+    static public AbstractGraph undirectedViewOf(final IGraph graph) {
+        return newGraphWithImmutableEngine(new UndirectedViewGraphEngine(graph.getGraphEngine()), graph.hasSelfLoops(), true);
+    }
+
+    /**
+     * view the subgraph induced by the vertices that pass a filter, without copying the edges. the vertices
+     * are picked when the view is created, the edges between them are followed live.
+     *
+     * @param graph    the graph
+     * @param vertices the vertices of the subgraph
+     *
+     * @return a read only {@link DirectedGraph} or {@link UndirectedGraph}, depending on the graph type
+     *
+     * @see SubgraphGraphEngine
+     */
+    static public AbstractGraph inducedSubgraphOf(final IGraph graph, Predicate<IVertex> vertices) {
+        return newGraphWithImmutableEngine(new SubgraphGraphEngine(graph.getGraphEngine(), vertices, null), graph.hasSelfLoops(), graph.hasMultiEdges());
+    }
+
+    /**
+     * view a graph with the edges that pass a filter, and all of its vertices, without copying it.
+     *
+     * @param graph the graph
+     * @param edges the edges of the view
+     *
+     * @return a read only {@link DirectedGraph} or {@link UndirectedGraph}, depending on the graph type
+     *
+     * @see SubgraphGraphEngine
+     */
+    static public AbstractGraph filteredViewOf(final IGraph graph, Predicate<Edge> edges) {
+        return newGraphWithImmutableEngine(new SubgraphGraphEngine(graph.getGraphEngine(), null, edges), graph.hasSelfLoops(), graph.hasMultiEdges());
+    }
+
+    /**
+     * create a graph around an immutable graph engine, that already holds the vertices and edges. graphs that
+     * algorithms derive from it are created with a mutable {@link AdjIncidenceGraphEngine}.
+     *
+     * @param graphEngine an immutable graph engine, that was not attached to a graph yet
+     * @param selfLoops support self loops
+     * @param multiEdges support multi edges
+     *
+     * @return a read only {@link DirectedGraph} or {@link UndirectedGraph}, depending on the engine type
+     */
+    static public AbstractGraph newGraphWithImmutableEngine(IGraphEngine graphEngine, final boolean selfLoops, final boolean multiEdges) {
+        switch (graphEngine.getGraphType()) {
+            case DIRECTED:
+                return new DirectedGraph(graphEngine) {
+                    @Override
+                    public boolean hasMultiEdges() {
+                        return multiEdges;
+                    }
+
+                    @Override
+                    public boolean hasSelfLoops() {
+                        return selfLoops;
+                    }
+
+                    @Override
+                    public IGraphEngine graphEngineFactory() {
+                        return new AdjIncidenceGraphEngine();
+                    }
+                };
+            case UNDIRECTED:
+                return new UndirectedGraph(graphEngine) {
+                    @Override
+                    public boolean hasMultiEdges() {
+                        return multiEdges;
+                    }
+
+                    @Override
+                    public boolean hasSelfLoops() {
+                        return selfLoops;
+                    }
+
+                    @Override
+                    public IGraphEngine graphEngineFactory() {
+                        return new AdjIncidenceGraphEngine();
+                    }
+                };
+        }
+
+        return null;
     }
 
     /**
@@ -73,6 +295,60 @@ public class Erdos {
         return null;
     }
 
+    /**
+     * instantiate a new {@link AbstractGraph} implementation, that asks an engine factory for a new engine
+     * every time {@link IGraph#graphEngineFactory()} is called, so graphs that algorithms derive from it get
+     * an engine of their own.
+     *
+     * @param graphEngineFactory creates a new graph engine on every call
+     * @param direction          graph edge direction, as specified in {@link Edge.EDGE_DIRECTION}.
+     * @param selfLoops          support for self loops
+     * @param multiEdges         support for multi edges
+     *
+     * @return a new {@link DirectedGraph} or {@link UndirectedGraph}, depending on the direction
+     */
+    static public AbstractGraph newGraphWithEngineFactory(final Supplier<? extends IGraphEngine> graphEngineFactory, final EDGE_DIRECTION direction,
+                                                          final boolean selfLoops, final boolean multiEdges) {
+        switch (direction) {
+            case DIRECTED:
+                return new DirectedGraph() {
+                    @Override
+                    public boolean hasMultiEdges() {
+                        return multiEdges;
+                    }
+
+                    @Override
+                    public boolean hasSelfLoops() {
+                        return selfLoops;
+                    }
+
+                    @Override
+                    public IGraphEngine graphEngineFactory() {
+                        return graphEngineFactory.get();
+                    }
+                };
+            case UNDIRECTED:
+                return new UndirectedGraph() {
+                    @Override
+                    public boolean hasMultiEdges() {
+                        return multiEdges;
+                    }
+
+                    @Override
+                    public boolean hasSelfLoops() {
+                        return selfLoops;
+                    }
+
+                    @Override
+                    public IGraphEngine graphEngineFactory() {
+                        return graphEngineFactory.get();
+                    }
+                };
+        }
+
+        return null;
+    }
+
     /**
      * instantiate a new {@link DirectedGraph} implementation. note:
      *
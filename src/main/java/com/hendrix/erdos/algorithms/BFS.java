@@ -3,20 +3,22 @@ package com.hendrix.erdos.algorithms;
 import com.hendrix.erdos.exceptions.AlgorithmException;
 import com.hendrix.erdos.graphs.IGraph;
 import com.hendrix.erdos.graphs.engines.IGraphEngine;
+import com.hendrix.erdos.graphs.engines.NeighborCursor;
 import com.hendrix.erdos.types.Edge;
 import com.hendrix.erdos.types.IVertex;
 import com.hendrix.erdos.utils.SGraphUtils;
 import com.hendrix.erdos.graphs.AbstractGraph;
 import com.hendrix.erdos.algorithms.BFS.BreadthFirstTree;
 
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
-import java.util.Queue;
 import java.util.Set;
 
 /**
+ * the traversal runs over dense vertex indices with a {@link NeighborCursor}, the
+ * result maps are filled once it is done.
+ *
  * @author Tomer Shalev
  */
 public class BFS extends AbstractGraphAlgorithm<BreadthFirstTree, IGraph>
@@ -34,10 +36,6 @@ public class BFS extends AbstractGraphAlgorithm<BreadthFirstTree, IGraph>
      * the predecessor of u is stored in PIE. If u has no predecessor (for example, if u = s or u has not been discovered), then π[u] = NIL
      */
     protected LinkedHashMap<IVertex, IVertex> _PIE              = null;
-    /**
-     * utility queue for the algorithm
-     */
-    private Queue<IVertex>            _Q                = null;
 
     public BFS(IGraph graph_input, IVertex sourceIVertex)
     {
@@ -47,7 +45,6 @@ public class BFS extends AbstractGraphAlgorithm<BreadthFirstTree, IGraph>
         _D            = new HashMap<>();
         _COLOR        = new HashMap<>();
         _PIE          = new LinkedHashMap<>();
-        _Q            = new LinkedList<>();
     }
 
     @Override
@@ -80,13 +77,11 @@ public class BFS extends AbstractGraphAlgorithm<BreadthFirstTree, IGraph>
         _D.clear();
         _COLOR.clear();
         _PIE.clear();
-        _Q.clear();
 
         _sourceIVertex = null;
         _D            = null;
         _COLOR        = null;
         _PIE          = null;
-        _Q            = null;
 
     }
 
@@ -110,50 +105,74 @@ public class BFS extends AbstractGraphAlgorithm<BreadthFirstTree, IGraph>
     //  17                        ENQUEUE(Q, v)
     //  18         color[u] ← BLACK
     //
-    private void bfs(IVertex s)
+    private void bfs(IVertex source)
     {
-        Collection<IVertex> vertices = _graph_input.vertices();
+        IGraphEngine engine         = _graph_input.getGraphEngine();
 
-        for (IVertex u : vertices) {
-            if(u.equals(s))
-                continue;
+        int n                       = engine.numVertices();
+        int s                       = engine.indexOf(source);
 
-            _COLOR.put(u, SGraphUtils.COLOR.WHITE);
-            _D.put(u, Integer.MAX_VALUE);
-            _PIE.put(u, null);
-        }
+        if(s == -1)
+            throw new AlgorithmException("_sourceIVertex is not a vertex of _graph_input", this);
 
-        _COLOR.put(s, SGraphUtils.COLOR.GREY);
-        _D.put(s, 0);
-        _PIE.put(s, null);
+        SGraphUtils.COLOR[] color   = new SGraphUtils.COLOR[n];
+        int[] d                     = new int[n];
+        int[] pie                   = new int[n];
 
-        _Q.add(s);
+        Arrays.fill(color, SGraphUtils.COLOR.WHITE);
+        Arrays.fill(d, Integer.MAX_VALUE);
+        Arrays.fill(pie, -1);
 
-        IVertex u;
+        color[s]                    = SGraphUtils.COLOR.GREY;
+        d[s]                        = 0;
 
-        Collection<IVertex> listAdj_u;
+        // every vertex is enqueued at most once
+        int[] Q                     = new int[n];
+        int head                    = 0;
+        int tail                    = 0;
 
-        while (!_Q.isEmpty())
-        {
-            u = _Q.poll();
+        Q[tail++]                   = s;
 
-            listAdj_u = _graph_input.getNeighborsOf(u);
+        NeighborCursor cursor       = engine.neighborCursor();
 
-            for (IVertex v : listAdj_u)
+        while (head < tail)
+        {
+            int u = Q[head++];
+
+            for (cursor.reset(u); cursor.next(); )
             {
-                if(_COLOR.get(v).equals(SGraphUtils.COLOR.WHITE))
+                int v = cursor.target();
+
+                if(color[v] == SGraphUtils.COLOR.WHITE)
                 {
-                    _COLOR.put(v, SGraphUtils.COLOR.GREY);
-                    _D.put(v, _D.get(u) + 1);
-                    _PIE.put(v, u);
-                    _Q.add(v);
+                    color[v]    = SGraphUtils.COLOR.GREY;
+                    d[v]        = d[u] + 1;
+                    pie[v]      = u;
+                    Q[tail++]   = v;
                 }
 
             }
 
-            _COLOR.put(u, SGraphUtils.COLOR.BLACK);
+            color[u] = SGraphUtils.COLOR.BLACK;
         }
 
+        // publish the results, by the order of the vertices with the source last
+
+        for (int v = 0; v < n; v++) {
+            if(v != s)
+                publish(engine, v, color, d, pie);
+        }
+
+        publish(engine, s, color, d, pie);
+    }
+
+    private void publish(IGraphEngine engine, int v, SGraphUtils.COLOR[] color, int[] d, int[] pie)
+    {
+        IVertex vertex = engine.vertexAt(v);
+
+        _COLOR.put(vertex, color[v]);
+        _D.put(vertex, d[v]);
+        _PIE.put(vertex, pie[v] == -1 ? null : engine.vertexAt(pie[v]));
     }
 
 
@@ -1,13 +1,17 @@
 package com.hendrix.erdos.algorithms;
 
+import com.hendrix.collection.LongObjectHashMap;
 import com.hendrix.erdos.exceptions.AlgorithmException;
 import com.hendrix.erdos.graphs.IGraph;
 import com.hendrix.erdos.graphs.engines.IGraphEngine;
+import com.hendrix.erdos.graphs.engines.NeighborCursor;
 import com.hendrix.erdos.types.Edge;
+import com.hendrix.erdos.types.EdgeKey;
 import com.hendrix.erdos.types.IVertex;
 import com.hendrix.erdos.utils.SGraphUtils;
 import com.hendrix.erdos.graphs.AbstractGraph;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -15,6 +19,9 @@ import java.util.LinkedList;
 import java.util.Set;
 
 /**
+ * the traversal runs over dense vertex indices, with an explicit stack of reusable
+ * {@link NeighborCursor}s instead of recursion. the result maps are filled once it is done.
+ *
  * @author Tomer Shalev
  */
 public class DFS extends AbstractGraphAlgorithm<DFS.DepthFirstForest, IGraph>
@@ -48,14 +55,38 @@ public class DFS extends AbstractGraphAlgorithm<DFS.DepthFirstForest, IGraph>
      */
     protected LinkedHashMap<IVertex, IVertex> _PIE              = null;
     /**
-     * edge classification map
+     * edge classification map, keyed by the {@link EdgeKey} of the input engine indices
      */
-    protected HashMap<String, EDGE_CLASS> _mapEdgeClass   = null;
+    protected LongObjectHashMap<EDGE_CLASS> _mapEdgeClass = null;
     /**
-     * utility queue for the algorithm
+     * the engine of the input graph, resolves the indices of the edge keys
+     */
+    protected IGraphEngine _engine_input                  = null;
+    /**
+     * the clock of the algorithm
      */
     private int            time                         = 0;
 
+    /**
+     * the working state by vertex index: color, starting time, finishing time and predecessor
+     */
+    private SGraphUtils.COLOR[] _colors                   = null;
+    private int[]               _starts                   = null;
+    private int[]               _finishes                 = null;
+    private int[]               _predecessors             = null;
+    /**
+     * the vertex indices by discovery order and by finishing order
+     */
+    private int[]               _discovered               = null;
+    private int[]               _finished                 = null;
+    private int                 _numDiscovered            = 0;
+    private int                 _numFinished              = 0;
+    /**
+     * the stack of the traversal, a vertex and a neighbor cursor per depth
+     */
+    private int[]               _stack                    = null;
+    private NeighborCursor[]    _cursors                  = null;
+
     /**
      * a flag indication of whether to classify edges
      */
@@ -83,7 +114,7 @@ public class DFS extends AbstractGraphAlgorithm<DFS.DepthFirstForest, IGraph>
         _PIE            = new LinkedHashMap<>();
         _F_SORTED       = new LinkedList<>();
         _F              = new HashMap<>();
-        _mapEdgeClass   = new HashMap<>();
+        _mapEdgeClass   = new LongObjectHashMap<>();
     }
 
     /**
@@ -126,6 +157,7 @@ public class DFS extends AbstractGraphAlgorithm<DFS.DepthFirstForest, IGraph>
         _F_SORTED     = null;
         _COLOR        = null;
         _PIE          = null;
+        _engine_input = null;
     }
 
     /**
@@ -155,20 +187,65 @@ public class DFS extends AbstractGraphAlgorithm<DFS.DepthFirstForest, IGraph>
     {
         validateInputSubset();
 
-        Collection<IVertex> vertices = (_inputSubset == null) ? _graph_input.vertices() : _inputSubset;
+        IGraphEngine engine             = _engine_input = _graph_input.getGraphEngine();
+
+        Collection<IVertex> vertices    = (_inputSubset == null) ? _graph_input.vertices() : _inputSubset;
+
+        int n                           = engine.numVertices();
+
+        _colors                         = new SGraphUtils.COLOR[n];
+        _starts                         = new int[n];
+        _finishes                       = new int[n];
+        _predecessors                   = new int[n];
+        _discovered                     = new int[n];
+        _finished                       = new int[n];
+        _stack                          = new int[n];
+        _cursors                        = new NeighborCursor[Math.min(n, 16)];
+        _numDiscovered                  = 0;
+        _numFinished                    = 0;
+
+        Arrays.fill(_colors, SGraphUtils.COLOR.WHITE);
+        Arrays.fill(_predecessors, -1);
+
+        time  = 0;
 
         for (IVertex vertex : vertices) {
-            _COLOR.put(vertex, SGraphUtils.COLOR.WHITE);
-            _PIE.put(vertex, null);
+            int u = engine.indexOf(vertex);
+
+            if(_colors[u] == SGraphUtils.COLOR.WHITE)
+                DFS_VISIT(u);
         }
 
-        time  = 0;
+        // publish the results, by the order of the vertices
 
         for (IVertex vertex : vertices) {
-            if(_COLOR.get(vertex).equals(SGraphUtils.COLOR.WHITE))
-                DFS_VISIT(vertex);
+            publish(engine.indexOf(vertex));
         }
 
+        for (int i = 0; i < _numDiscovered; i++) {
+            if(!_PIE.containsKey(engine.vertexAt(_discovered[i])))
+                publish(_discovered[i]);
+        }
+
+        for (int i = _numFinished - 1; i >= 0; i--) {
+            _F_SORTED.add(engine.vertexAt(_finished[i]));
+        }
+
+        _colors = null; _starts = null; _finishes = null; _predecessors = null;
+        _discovered = null; _finished = null; _stack = null; _cursors = null;
+    }
+
+    private void publish(int u)
+    {
+        IVertex vertex = _engine_input.vertexAt(u);
+
+        _COLOR.put(vertex, _colors[u]);
+        _PIE.put(vertex, _predecessors[u] == -1 ? null : _engine_input.vertexAt(_predecessors[u]));
+
+        if(_colors[u] != SGraphUtils.COLOR.WHITE) {
+            _D.put(vertex, _starts[u]);
+            _F.put(vertex, _finishes[u]);
+        }
     }
 
     //  DFS-VISIT(u)
@@ -181,52 +258,84 @@ public class DFS extends AbstractGraphAlgorithm<DFS.DepthFirstForest, IGraph>
     //  7                  DFS-VISIT(v)
     //  8  color[u] BLACK      ▹ Blacken u; it is finished.
     //  9  f [u] ▹ time ← time +1
-    private void DFS_VISIT(IVertex u)
+    //
+    //  the recursion is unrolled into a stack, so deep graphs do not overflow the thread stack
+    private void DFS_VISIT(int root)
     {
-        _COLOR.put(u, SGraphUtils.COLOR.GREY);
+        int depth = 0;
 
-        time                        = time + 1;
+        discover(root, depth);
 
-        _D.put(u, time);
+        while (depth >= 0) {
+            int u                   = _stack[depth];
+            NeighborCursor cursor   = _cursors[depth];
 
-        Collection<IVertex> adjList_u  = _graph_input.getNeighborsOf(u);
+            if(cursor.next()) {
+                int v = cursor.target();
 
-        for (IVertex v : adjList_u) {
-            if(_flagClassifyEdges)
-                classifyEdge(u, v);
-            if(_COLOR.get(v).equals(SGraphUtils.COLOR.WHITE)) {
-                _PIE.put(v, u);
-                DFS_VISIT(v);
+                if(_flagClassifyEdges)
+                    classifyEdge(u, v);
+                if(_colors[v] == SGraphUtils.COLOR.WHITE) {
+                    _predecessors[v] = u;
+                    discover(v, ++depth);
+                }
+            }
+            else {
+                _colors[u]                  = SGraphUtils.COLOR.BLACK;
+
+                time                        = time + 1;
+
+                _finishes[u]                = time;
+                _finished[_numFinished++]   = u;
+
+                depth--;
             }
 
         }
 
-        _COLOR.put(u, SGraphUtils.COLOR.BLACK);
+    }
+
+    /**
+     * discover vertex u and push it on the stack
+     */
+    private void discover(int u, int depth)
+    {
+        _colors[u]                      = SGraphUtils.COLOR.GREY;
+
+        time                            = time + 1;
+
+        _starts[u]                      = time;
+        _discovered[_numDiscovered++]   = u;
 
-        time                    = time + 1;
+        if(depth == _cursors.length)
+            _cursors                    = Arrays.copyOf(_cursors, Math.min(depth << 1, _stack.length));
 
-        _F.put(u, time);
-        _F_SORTED.addFirst(u);
+        if(_cursors[depth] == null)
+            _cursors[depth]             = _engine_input.neighborCursor();
 
+        _stack[depth]                   = u;
+        _cursors[depth].reset(u);
     }
 
     /**
      * classify edge (u, v)
      */
-    private void classifyEdge(IVertex u, IVertex v)
+    private void classifyEdge(int u, int v)
     {
-        if(_COLOR.get(v).equals(SGraphUtils.COLOR.WHITE)) {
-            _mapEdgeClass.put(Edge.getEdgeDesc(u, v, _graph_input.getGraphType()), EDGE_CLASS.TREE_EDGE);
+        long key = EdgeKey.of(u, v, _graph_input.getGraphType());
+
+        if(_colors[v] == SGraphUtils.COLOR.WHITE) {
+            _mapEdgeClass.put(key, EDGE_CLASS.TREE_EDGE);
         }
-        else if(_COLOR.get(v).equals(SGraphUtils.COLOR.GREY)) {
-            _mapEdgeClass.put(Edge.getEdgeDesc(u, v, _graph_input.getGraphType()), EDGE_CLASS.BACK_EDGE);
+        else if(_colors[v] == SGraphUtils.COLOR.GREY) {
+            _mapEdgeClass.put(key, EDGE_CLASS.BACK_EDGE);
             _flagContainsCycle = true;
         }
-        else if(_COLOR.get(v).equals(SGraphUtils.COLOR.BLACK)) {
-            if(_D.get(u) < _D.get(v))
-                _mapEdgeClass.put(Edge.getEdgeDesc(u, v, _graph_input.getGraphType()), EDGE_CLASS.FORWARD_EDGE);
-            else if(_D.get(u) > _D.get(v))
-                _mapEdgeClass.put(Edge.getEdgeDesc(u, v, _graph_input.getGraphType()), EDGE_CLASS.CROSS_EDGE);
+        else if(_colors[v] == SGraphUtils.COLOR.BLACK) {
+            if(_starts[u] < _starts[v])
+                _mapEdgeClass.put(key, EDGE_CLASS.FORWARD_EDGE);
+            else if(_starts[u] > _starts[v])
+                _mapEdgeClass.put(key, EDGE_CLASS.CROSS_EDGE);
         }
 
     }
@@ -290,9 +399,13 @@ public class DFS extends AbstractGraphAlgorithm<DFS.DepthFirstForest, IGraph>
          */
         private HashMap<IVertex, IVertex> _PIE              = null;
         /**
-         * edge classification map
+         * edge classification map, keyed by the {@link EdgeKey} of the input engine indices
+         */
+        private LongObjectHashMap<EDGE_CLASS> _mapEdgeClass = null;
+        /**
+         * the engine of the input graph, resolves the indices of the edge keys
          */
-        private HashMap<String, EDGE_CLASS> _mapEdgeClass   = null;
+        private IGraphEngine _engine_input                  = null;
         /**
          * a flag indication of whether a back edge was found
          */
@@ -305,6 +418,7 @@ public class DFS extends AbstractGraphAlgorithm<DFS.DepthFirstForest, IGraph>
             _F                                    = (HashMap<IVertex, Integer>) dfs._F.clone();
             _F_SORTED                             = (LinkedList<IVertex>) dfs._F_SORTED.clone();
             _mapEdgeClass                         = dfs._mapEdgeClass;
+            _engine_input                         = dfs._engine_input;
             _flagContainsCycle                    = dfs._flagContainsCycle;
 
             Set<IVertex> setOriginalGraphVertices = _PIE.keySet();
@@ -377,14 +491,20 @@ public class DFS extends AbstractGraphAlgorithm<DFS.DepthFirstForest, IGraph>
 
         @SuppressWarnings("UnusedDeclaration")
         public EDGE_CLASS getEdgeClass(Edge edge) {
-            return getEdgeClassById(edge.getId());
+            return getEdgeClass(edge.getV1(), edge.getV2());
         }
         @SuppressWarnings("UnusedDeclaration")
         public EDGE_CLASS getEdgeClass(IVertex v1, IVertex v2) {
-            return getEdgeClassById(Edge.getEdgeDesc(v1, v2, getGraphType()));
+            int index1 = _engine_input.indexOf(v1);
+            int index2 = _engine_input.indexOf(v2);
+
+            if(index1 == -1 || index2 == -1)
+                return null;
+
+            return getEdgeClassByKey(EdgeKey.of(index1, index2, getGraphType()));
         }
-        protected EDGE_CLASS getEdgeClassById(String id) {
-            return _mapEdgeClass.get(id);
+        protected EDGE_CLASS getEdgeClassByKey(long key) {
+            return _mapEdgeClass.get(key);
         }
     }
 
@@ -1,22 +1,24 @@
 package com.hendrix.erdos.algorithms;
 
+import com.hendrix.collection.IndexedFloatMinHeap;
 import com.hendrix.erdos.exceptions.AlgorithmException;
 import com.hendrix.erdos.graphs.IDirectedGraph;
+import com.hendrix.erdos.graphs.engines.IGraphEngine;
+import com.hendrix.erdos.graphs.engines.NeighborCursor;
 import com.hendrix.erdos.types.IVertex;
 import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
 
-import java.util.Comparator;
-import java.util.HashSet;
-import java.util.PriorityQueue;
+import java.util.Arrays;
 
 /**
  * Dijkstra's algorithm solves the single-source shortest-paths problem on a weighted, directed<br/>
  * graph G = (V, E) for the case in which all edge weights are non negative. In this section, therefore, we <br/>
  * assume that w(u, v) ≥ 0 for each edge (u, v) ∈ E. As we shall see, with a good implementation, the <br/>
  * running time of Dijkstra's algorithm is lower than that of the Bellman-Ford algorithm.<br/>
+ * the inner loop runs over dense vertex indices with a {@link NeighborCursor} and an indexed min heap.
  *
  * <pre>
- * {@code complexity O(VE)}
+ * {@code complexity O((V + E)lg(V))}
  * </pre>
  *
  * @author Tomer Shalev
@@ -57,40 +59,64 @@ public class DijkstraShortestPath extends AbstractShortestPathAlgorithm<IDirecte
     */
     protected void shortest()
     {
-        IVertex s = _startVertex;
-        IVertex u;
+        IGraphEngine engine     = _graph_input.getGraphEngine();
 
-        INITIALIZE_SINGLE_SOURCE(s);
+        int n                   = engine.numVertices();
+        int s                   = engine.indexOf(_startVertex);
 
-        HashSet<IVertex> S = new HashSet<>();
+        if(s == -1)
+            throw new AlgorithmException("startVertex is not a vertex of the graph", this);
 
-        PriorityQueue<IVertex> Q = new PriorityQueue<>(_graph_input.vertices().size(), this.new keyComparator());
-        Q.addAll(_graph_input.vertices());
+        float[] d               = new float[n];
+        int[] pie               = new int[n];
+
+        Arrays.fill(d, Float.POSITIVE_INFINITY);
+        Arrays.fill(pie, -1);
+
+        d[s]                    = 0f;
+
+        IndexedFloatMinHeap Q   = new IndexedFloatMinHeap(n);
+        boolean[] S             = new boolean[n];
+        NeighborCursor cursor   = engine.neighborCursor();
+
+        Q.insertOrUpdate(s, 0f);
 
         while (!Q.isEmpty()) {
-            u = Q.poll();
-            S.add(u);
+            int u = Q.poll();
+            S[u]  = true;
+
+            for (cursor.reset(u); cursor.next(); ) {
+                int v = cursor.target();
+
+                if(S[v])
+                    continue;
+
+                // RELAX(u, v, w)
+                float w = (_weightFunction == null) ? cursor.weight()
+                                                    : _weightFunction.valueOf(engine.vertexAt(u), engine.vertexAt(v));
+
+                if(d[v] > d[u] + w) {
+                    d[v]    = d[u] + w;
+                    pie[v]  = u;
 
-            for (IVertex v : _graph_input.getNeighborsOf(u)) {
-                RELAX(u, v);
+                    Q.insertOrUpdate(v, d[v]);
+                }
             }
         }
 
+        // publish the distances and the predecessors
+
+        for (int v = 0; v < n; v++) {
+            IVertex vertex = engine.vertexAt(v);
+
+            _DISTANCE.put(vertex, d[v]);
+            _PIE.put(vertex, pie[v] == -1 ? null : engine.vertexAt(pie[v]));
+        }
+
         // create the tree
 
         _result_algorithm = new ShortestPathsTree(_PIE, _startVertex, _DISTANCE);
         _result_algorithm.setTag(getTag() + " result");
     }
 
-    /**
-     * minimum priority comparator based on vertices distance from startVertex
-     */
-    private class keyComparator implements Comparator<IVertex> {
-
-        @Override
-        public int compare(IVertex o1, IVertex o2) {
-            return (int)Math.signum(_DISTANCE.get(o1) - _DISTANCE.get(o2));
-        }
-    }
-
 }
@@ -7,11 +7,11 @@ import com.hendrix.erdos.exceptions.NegativeEdgeWeightException;
 import com.hendrix.erdos.graphs.DirectedGraph;
 import com.hendrix.erdos.graphs.IDirectedGraph;
 import com.hendrix.erdos.graphs.IGraph;
+import com.hendrix.erdos.graphs.engines.IGraphEngine;
 import com.hendrix.erdos.types.DirectedEdge;
 import com.hendrix.erdos.types.Edge;
 import com.hendrix.erdos.types.IVertex;
 import com.hendrix.erdos.types.Vertex;
-import com.hendrix.erdos.utils.SVertexUtils;
 import com.hendrix.erdos.utils.EdgeFunction;
 
 import java.util.HashMap;
@@ -77,7 +77,7 @@ public class Johnson extends AbstractGraphAlgorithm<AllPairsShortPathResult, IDi
 
         IGraph G                    = _graph_input;
 
-        HashMap<IVertex, Integer> verticesIndices = SVertexUtils.getVerticesIndices(G);
+        IGraphEngine engine         = G.getGraphEngine();
 
         // compute G'
 
@@ -117,10 +117,10 @@ public class Johnson extends AbstractGraphAlgorithm<AllPairsShortPathResult, IDi
 
         for (IVertex u : G.vertices()) {
             dijkstraShortestPath    = SingleSourceShortPathFactory.newSingleSourceShortPath(_graph_input, SingleSourceShortPathFactory.SSSPAlgorithm.DIJKSTRA, u, W_cap).applyAlgorithm();
-            u_index                 = verticesIndices.get(u);
+            u_index                 = engine.indexOf(u);
 
             for (IVertex v : G.vertices()) {
-                v_index = verticesIndices.get(v);
+                v_index = engine.indexOf(v);
 
                 D[u_index][v_index] = dijkstraShortestPath.distanceOf(v) + h(v) - h(u);
             }
@@ -1,8 +1,9 @@
 package com.hendrix.erdos.algorithms;
 
 import com.hendrix.collection.NaiveUnionFind;
+import com.hendrix.erdos.Erdos;
 import com.hendrix.erdos.exceptions.AlgorithmException;
-import com.hendrix.erdos.graphs.DirectedGraph;
+import com.hendrix.erdos.graphs.IGraph;
 import com.hendrix.erdos.graphs.IDirectedGraph;
 import com.hendrix.erdos.types.Edge;
 import com.hendrix.erdos.types.IVertex;
@@ -50,8 +51,8 @@ public class SCC extends AbstractGraphAlgorithm<ArrayList<HashSet<IVertex>>, IDi
         // get finishing times f[u] for each vertex u in descending order
         LinkedList<IVertex> f_sorted        = dff.get_F_SORTED();
 
-        // compute transpose of G
-        DirectedGraph G_Transpose                   = new Transpose(_graph_input).applyAlgorithm();
+        // view the transpose of G, instead of copying it
+        IGraph G_Transpose                  = Erdos.reversedViewOf(_graph_input);
 
         // DFS(G_Transpose) but in the main loop of DFS, consider the vertices in order of decreasing f[u]
         // the output is a forset of trees, and each tree's vertices are a strongly connected component
@@ -4,8 +4,12 @@ import com.hendrix.erdos.Erdos;
 import com.hendrix.erdos.exceptions.AlgorithmException;
 import com.hendrix.erdos.graphs.IGraph;
 import com.hendrix.erdos.graphs.AbstractGraph;
+import com.hendrix.erdos.graphs.engines.BitMatrixGraphEngine;
+import com.hendrix.erdos.graphs.engines.IGraphEngine;
 import com.hendrix.erdos.types.IVertex;
+import com.hendrix.erdos.utils.SMatrixUtils;
 
+import java.util.Arrays;
 import java.util.Collection;
 
 /**
@@ -14,6 +18,11 @@ import java.util.Collection;
  */
 @SuppressWarnings("UnusedDeclaration")
 public class Square extends AbstractGraphAlgorithm<AbstractGraph, IGraph> {
+    /**
+     * the bit set rows are used for graphs with at least an edge per this many matrix cells, so the
+     * {@code V * V} bits of the rows take no more than a {@code long} per edge
+     */
+    public static final int BITS_MAX_CELLS_PER_EDGE = 64;
 
     public Square(AbstractGraph graph_input) {
         super(graph_input, "Square");
@@ -43,6 +52,12 @@ public class Square extends AbstractGraphAlgorithm<AbstractGraph, IGraph> {
 
         // square
 
+        if(!_graph_input.hasMultiEdges() && isBitsWorthwhile()) {
+            squareBits();
+
+            return;
+        }
+
         Collection<IVertex> adjList_v;
         Collection<IVertex> adjList_u;
 
@@ -62,4 +77,61 @@ public class Square extends AbstractGraphAlgorithm<AbstractGraph, IGraph> {
 
     }
 
+    /**
+     * @return {@code true} if the rows of the graph are bit sets already, or the graph is dense enough
+     *         for them, see {@link #BITS_MAX_CELLS_PER_EDGE}. sparse graphs walk their neighbors instead
+     */
+    private boolean isBitsWorthwhile() {
+        IGraphEngine engine = _graph_input.getGraphEngine();
+        long n              = engine.numVertices();
+
+        return engine instanceof BitMatrixGraphEngine || n * n <= BITS_MAX_CELLS_PER_EDGE * (long) engine.numEdges();
+    }
+
+    /**
+     * square with bit set rows, the row of {@code v} in the square is the word parallel OR of the rows
+     * of its neighbors. without multi edges, it adds the same edges as the neighbor lists walk.
+     */
+    private void squareBits() {
+        IGraphEngine engine = _graph_input.getGraphEngine();
+        long[][] A;
+
+        // the rows of a bit matrix are read in place, they are not changed
+        if(engine instanceof BitMatrixGraphEngine) {
+            A               = new long[engine.numVertices()][];
+
+            for (int v = 0; v < A.length; v++) {
+                A[v]        = ((BitMatrixGraphEngine) engine).rowOf(v);
+            }
+        } else {
+            A               = SMatrixUtils.adjacencyBitsOf(_graph_input, false);
+        }
+
+        int n               = A.length;
+        int words           = (n + 63) >>> 6;
+        long[] row          = new long[words];
+
+        for (int v = 0; v < n; v++) {
+            Arrays.fill(row, 0L);
+
+            for (int word = 0; word < words; word++) {
+                for (long bits = A[v][word]; bits != 0; bits &= bits - 1) {
+                    long[] A_u = A[(word << 6) + Long.numberOfTrailingZeros(bits)];
+
+                    for (int k = 0; k < words; k++) {
+                        row[k] |= A_u[k];
+                    }
+                }
+            }
+
+            for (int word = 0; word < words; word++) {
+                for (long bits = row[word]; bits != 0; bits &= bits - 1) {
+                    int w = (word << 6) + Long.numberOfTrailingZeros(bits);
+
+                    _result_algorithm.addEdge(engine.vertexAt(v), engine.vertexAt(w));
+                }
+            }
+        }
+    }
+
 }
@@ -10,6 +10,8 @@ import java.util.Collection;
 
 /**
  * computes a new Transpose graph of input Graph G
+ * the graph is copied, use {@link com.hendrix.erdos.Erdos#reversedViewOf(com.hendrix.erdos.graphs.IGraph)}
+ * for a read only view that does not copy it
  * @author Tomer Shalev
  */
 public class Transpose extends AbstractGraphAlgorithm<DirectedGraph, IDirectedGraph> {
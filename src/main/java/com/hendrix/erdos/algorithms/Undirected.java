@@ -10,6 +10,8 @@ import java.util.Collection;
 
 /**
  * computes a new undirected graph of directed input Graph G
+ * the graph is copied, use {@link com.hendrix.erdos.Erdos#undirectedViewOf(com.hendrix.erdos.graphs.IGraph)}
+ * for a read only view that does not copy it
  * @author Tomer Shalev
  */
 @SuppressWarnings("UnusedDeclaration")
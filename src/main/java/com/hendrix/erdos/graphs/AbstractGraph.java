@@ -1,7 +1,10 @@
 package com.hendrix.erdos.graphs;
 
+import com.hendrix.erdos.Erdos;
 import com.hendrix.erdos.graphs.engines.AbstractGraphEngine;
+import com.hendrix.erdos.graphs.engines.CsrGraphEngine;
 import com.hendrix.erdos.graphs.engines.IGraphEngine;
+import com.hendrix.erdos.graphs.engines.VersionedGraphEngine;
 import com.hendrix.erdos.types.Edge;
 import com.hendrix.erdos.types.IVertex;
 
@@ -40,6 +43,17 @@ abstract public class AbstractGraph implements IGraph {
         _graphEngine.setGraph(this);
     }
 
+    /**
+     * create the graph on top of an already built graph engine, instead of
+     * the one {@link #graphEngineFactory()} would create.
+     *
+     * @param graphEngine the graph engine, it must not belong to another graph
+     */
+    protected AbstractGraph(IGraphEngine graphEngine) {
+        _graphEngine = graphEngine;
+        _graphEngine.setGraph(this);
+    }
+
     /**
      * Returns an iterator over elements of type {@code T}.
      *
@@ -366,6 +380,37 @@ abstract public class AbstractGraph implements IGraph {
      */
     abstract public IGraphEngine graphEngineFactory();
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * graphs with other engines are frozen into a {@link CsrGraphEngine}, with copies of their edges, while
+     * holding the monitor of the engine, so the copy does not hold a part of a {@link MutationBatch}.
+     *
+     * @see VersionedGraphEngine#snapshot()
+     * @see CsrGraphEngine#CsrGraphEngine(com.hendrix.erdos.graphs.engines.IGraphRepresentation, boolean)
+     */
+    @Override
+    public AbstractGraph snapshot() {
+        IGraphEngine engine = getGraphEngine();
+
+        if(engine instanceof VersionedGraphEngine) {
+            VersionedGraphEngine versioned = (VersionedGraphEngine) engine;
+
+            if(versioned.isSnapshot())
+                return this;
+
+            return Erdos.newGraphWithImmutableEngine(versioned.snapshot(), hasSelfLoops(), hasMultiEdges());
+        }
+
+        CsrGraphEngine copy;
+
+        synchronized (engine) {
+            copy = new CsrGraphEngine(engine, true);
+        }
+
+        return Erdos.newGraphWithImmutableEngine(copy, hasSelfLoops(), hasMultiEdges());
+    }
+
     @Override
     public void print() {
         System.out.println(toString());
@@ -1,5 +1,6 @@
 package com.hendrix.erdos.graphs;
 
+import com.hendrix.erdos.graphs.engines.IGraphEngine;
 import com.hendrix.erdos.types.IVertex;
 import com.hendrix.erdos.types.Edge;
 
@@ -13,6 +14,13 @@ abstract public class DirectedGraph extends AbstractGraph implements IDirectedGr
     public DirectedGraph() {
     }
 
+    /**
+     * @param graphEngine an already built graph engine
+     */
+    protected DirectedGraph(IGraphEngine graphEngine) {
+        super(graphEngine);
+    }
+
     /**
      * @param vertex the vertex in question
      *
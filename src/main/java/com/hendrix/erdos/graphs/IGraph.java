@@ -46,5 +46,22 @@ public interface IGraph extends IGraphRepresentation, IId, ITag, IDisposable, It
      */
     boolean hasSelfLoops();
 
+    /**
+     * get a consistent, read only view of the current state of the graph, that is not affected
+     * by later additions and removals of vertices and edges.
+     * <ul>
+     *     <li/>graphs with a {@link com.hendrix.erdos.graphs.engines.VersionedGraphEngine} take it in
+     *     constant time, by sharing their structure. the edge instances are shared too, so changes of
+     *     the weight, tag or data of an edge show through.
+     *     <li/>other graphs are copied, in {@code O(V + E)} time and memory. the edges are copied into
+     *     plain edges, with identifiers of their own, so changes of the edges of the graph do not
+     *     show through.
+     *     <li/>the vertices are shared with the graph in both cases.
+     * </ul>
+     *
+     * @return a read only graph
+     */
+    IGraph snapshot();
+
     void print();
 }
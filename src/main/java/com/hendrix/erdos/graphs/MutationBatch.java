@@ -0,0 +1,310 @@
+package com.hendrix.erdos.graphs;
+
+import com.hendrix.erdos.graphs.engines.IGraphEngine;
+import com.hendrix.erdos.graphs.engines.VersionedGraphEngine;
+import com.hendrix.erdos.types.Edge;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.IVertex;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+
+/**
+ * a batch of graph changes, that is applied to a graph all or nothing.
+ * <ul>
+ *     <li/>the batch adds its vertices first, then applies its edge changes, and then removes its vertices.
+ *     <li/>the edge changes are grouped by their (lower index) vertex, so the structures of every vertex
+ *     are updated together. the changes of an edge keep their order.
+ *     <li/>if a change fails midway, for example with a {@link com.hendrix.erdos.exceptions.VertexNotFoundException},
+ *     the changes that were applied are undone in reverse order, and the exception is rethrown. vertices that are
+ *     restored may get other indices.
+ *     <li/>concurrent readers that read through {@link IGraph#snapshot()} see either the old or the new state
+ *     of the graph, see {@link #apply(IGraph)}. readers of the graph itself may see a part of a batch.
+ * </ul>
+ * a batch can be applied more than once, to one graph or to several graphs.
+ *
+ * @author Tomer Shalev
+ */
+@SuppressWarnings("UnusedDeclaration")
+public class MutationBatch {
+    private enum Kind {
+        ADD_EDGE,
+        REMOVE_EDGE,
+        REMOVE_EDGE_BETWEEN
+    }
+
+    /**
+     * an edge change
+     */
+    private static class Change {
+        final Kind kind;
+        final Edge edge;
+        final IVertex v1;
+        final IVertex v2;
+        final float weight;
+
+        Change(Kind kind, Edge edge, IVertex v1, IVertex v2, float weight) {
+            this.kind   = kind;
+            this.edge   = edge;
+            this.v1     = v1;
+            this.v2     = v2;
+            this.weight = weight;
+        }
+    }
+
+    private final ArrayList<IVertex> _addedVertices     = new ArrayList<>();
+    private final ArrayList<IVertex> _removedVertices   = new ArrayList<>();
+    private final ArrayList<Change> _changes            = new ArrayList<>();
+
+    /**
+     * @param vertex a vertex to add
+     *
+     * @return this batch
+     */
+    public MutationBatch addVertex(IVertex vertex) {
+        _addedVertices.add(vertex);
+
+        return this;
+    }
+
+    /**
+     * @param vertex a vertex to remove, with its edges
+     *
+     * @return this batch
+     */
+    public MutationBatch removeVertex(IVertex vertex) {
+        _removedVertices.add(vertex);
+
+        return this;
+    }
+
+    /**
+     * add an edge (v1, v2), the edge is created when the batch is applied
+     *
+     * @param v1 the first vertex
+     * @param v2 the second vertex
+     *
+     * @return this batch
+     */
+    public MutationBatch addEdge(IVertex v1, IVertex v2) {
+        return addEdge(v1, v2, 0f);
+    }
+
+    /**
+     * add an edge (v1, v2), the edge is created when the batch is applied
+     *
+     * @param v1     the first vertex
+     * @param v2     the second vertex
+     * @param weight the weight of the edge
+     *
+     * @return this batch
+     */
+    public MutationBatch addEdge(IVertex v1, IVertex v2, float weight) {
+        _changes.add(new Change(Kind.ADD_EDGE, null, v1, v2, weight));
+
+        return this;
+    }
+
+    /**
+     * @param edge an edge to add
+     *
+     * @return this batch
+     */
+    public MutationBatch addEdge(Edge edge) {
+        _changes.add(new Change(Kind.ADD_EDGE, edge, edge.getV1(), edge.getV2(), edge.getWeight()));
+
+        return this;
+    }
+
+    /**
+     * remove the edge (v1, v2)
+     *
+     * @param v1 the first vertex
+     * @param v2 the second vertex
+     *
+     * @return this batch
+     */
+    public MutationBatch removeEdge(IVertex v1, IVertex v2) {
+        _changes.add(new Change(Kind.REMOVE_EDGE_BETWEEN, null, v1, v2, 0f));
+
+        return this;
+    }
+
+    /**
+     * @param edge an edge to remove
+     *
+     * @return this batch
+     */
+    public MutationBatch removeEdge(Edge edge) {
+        _changes.add(new Change(Kind.REMOVE_EDGE, edge, edge.getV1(), edge.getV2(), 0f));
+
+        return this;
+    }
+
+    /**
+     * @return the number of changes in the batch
+     */
+    public int size() {
+        return _addedVertices.size() + _changes.size() + _removedVertices.size();
+    }
+
+    /**
+     * @return {@code true} if the batch has no changes
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * remove all of the changes of the batch
+     */
+    public void clear() {
+        _addedVertices.clear();
+        _removedVertices.clear();
+        _changes.clear();
+    }
+
+    /**
+     * apply the batch to a graph, all or nothing. changes that have no effect, like adding an edge that
+     * the graph rejects, or removing an edge that is not in the graph, are skipped.
+     * <p>
+     * concurrent readers that read through {@link IGraph#snapshot()} see either the old or the new state:
+     * <ul>
+     *     <li/>a {@link VersionedGraphEngine} applies the batch with {@link VersionedGraphEngine#applyAtomically(Runnable)},
+     *     so snapshots that are taken meanwhile are of the state before the batch, and do not wait for it.
+     *     <li/>other engines apply the batch while holding their monitor, and their snapshots are copied while
+     *     holding it, so a snapshot waits for the batch.
+     * </ul>
+     * readers of the graph itself, that do not synchronize on the graph engine, may see a part of the batch,
+     * or a batch that is rolled back.
+     *
+     * @param graph the graph
+     *
+     * @throws RuntimeException the exception of the first change that failed, after the graph
+     *                          was rolled back
+     */
+    public void apply(IGraph graph) {
+        IGraphEngine engine = graph.getGraphEngine();
+
+        if(engine instanceof VersionedGraphEngine) {
+            ((VersionedGraphEngine) engine).applyAtomically(() -> applyTo(engine));
+
+            return;
+        }
+
+        synchronized (engine) {
+            applyTo(engine);
+        }
+    }
+
+    private void applyTo(IGraphEngine engine) {
+        ArrayDeque<Runnable> undo   = new ArrayDeque<>();
+
+        try {
+            for (IVertex vertex : _addedVertices) {
+                if(engine.addVertex(vertex))
+                    undo.push(() -> engine.removeVertex(vertex));
+            }
+
+            for (Change change : grouped(engine)) {
+                apply(engine, change, undo);
+            }
+
+            for (IVertex vertex : _removedVertices) {
+                if(!engine.hasVertex(vertex))
+                    continue;
+
+                ArrayList<Edge> edges = incidentEdgesOf(engine, vertex);
+
+                engine.removeVertex(vertex);
+
+                undo.push(() -> {
+                    engine.addVertex(vertex);
+
+                    for (Edge edge : edges) {
+                        engine.addEdge(edge);
+                    }
+                });
+            }
+        } catch (RuntimeException e) {
+            while (!undo.isEmpty()) {
+                undo.pop().run();
+            }
+
+            throw e;
+        }
+    }
+
+    private void apply(IGraphEngine engine, Change change, ArrayDeque<Runnable> undo) {
+        Edge edge;
+
+        switch (change.kind) {
+            case ADD_EDGE:
+                edge = (change.edge == null) ? engine.addEdge(change.v1, change.v2, change.weight) : engine.addEdge(change.edge);
+
+                if(edge != null)
+                    undo.push(() -> engine.removeEdge(edge));
+
+                break;
+            case REMOVE_EDGE:
+                edge = engine.removeEdge(change.edge);
+
+                if(edge != null)
+                    undo.push(() -> engine.addEdge(edge));
+
+                break;
+            case REMOVE_EDGE_BETWEEN:
+                edge = engine.removeEdge(change.v1, change.v2);
+
+                if(edge != null)
+                    undo.push(() -> engine.addEdge(edge));
+
+                break;
+        }
+    }
+
+    /**
+     * @return the edge changes, grouped by the index of their lower vertex, in a stable order.
+     *         changes of vertices that are not in the graph come last.
+     */
+    private Change[] grouped(IGraphEngine engine) {
+        int size            = _changes.size();
+        int n               = engine.numVertices();
+        boolean undirected  = engine.getGraphType() == EDGE_DIRECTION.UNDIRECTED;
+        long[] keys         = new long[size];
+
+        for (int k = 0; k < size; k++) {
+            Change change   = _changes.get(k);
+            int index1      = engine.indexOf(change.v1);
+            int index2      = engine.indexOf(change.v2);
+            int group       = (undirected && index2 < index1) ? index2 : index1;
+
+            keys[k]         = ((long) ((group == -1 || index2 == -1) ? n : group) << 32) | k;
+        }
+
+        Arrays.sort(keys);
+
+        Change[] changes    = new Change[size];
+
+        for (int k = 0; k < size; k++) {
+            changes[k]      = _changes.get((int) keys[k]);
+        }
+
+        return changes;
+    }
+
+    /**
+     * @return the edges of a vertex, every edge once
+     */
+    private static ArrayList<Edge> incidentEdgesOf(IGraphEngine engine, IVertex vertex) {
+        LinkedHashSet<Edge> edges = new LinkedHashSet<>(engine.getIncidenceOutListOf(vertex));
+
+        if(engine.getGraphType() == EDGE_DIRECTION.DIRECTED)
+            edges.addAll(engine.getIncidenceInListOf(vertex));
+
+        return new ArrayList<>(edges);
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.hendrix.erdos.graphs;
 
+import com.hendrix.erdos.graphs.engines.IGraphEngine;
 import com.hendrix.erdos.types.IVertex;
 import com.hendrix.erdos.types.Edge;
 
@@ -8,6 +9,16 @@ import com.hendrix.erdos.types.Edge;
  */
 abstract public class UndirectedGraph extends AbstractGraph implements IUndirectedGraph {
 
+    public UndirectedGraph() {
+    }
+
+    /**
+     * @param graphEngine an already built graph engine
+     */
+    protected UndirectedGraph(IGraphEngine graphEngine) {
+        super(graphEngine);
+    }
+
     @Override
     public Edge.EDGE_DIRECTION getGraphType() {
         return Edge.EDGE_DIRECTION.UNDIRECTED;
@@ -0,0 +1,712 @@
+package com.hendrix.erdos.graphs.engines;
+
+import com.hendrix.erdos.exceptions.GraphException;
+import com.hendrix.erdos.exceptions.VertexNotFoundException;
+import com.hendrix.erdos.graphs.IGraph;
+import com.hendrix.erdos.types.Edge;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.IVertex;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+
+/**
+ * Abstract immutable graph engine over a <b>Compressed Sparse Row</b> representation.<br/>
+ * the adjacency of vertex {@code i} lives in the slots {@code [offset(i), offset(i+1))}, every
+ * row is sorted by the target vertex index, so edge queries are a binary search and neighbor
+ * iteration is a linear scan.
+ * <ul>
+ *     <li/>directed graphs also keep the reversed rows, sorted by source, for the incidence in lists.
+ *     <li/>undirected edges are stored in the rows of both of their vertices.
+ *     <li/>every mutating operation throws {@link UnsupportedOperationException}.
+ * </ul>
+ * implementations only supply the storage of the rows, through the primitive accessors.
+ *
+ * @author Tomer Shalev
+ * @see CsrGraphEngine
+ * @see OffHeapGraphEngine
+ */
+@SuppressWarnings("UnusedDeclaration")
+abstract public class AbstractCsrGraphEngine extends AbstractGraphEngine {
+    /**
+     * the edge direction of the graph
+     */
+    protected EDGE_DIRECTION _direction;
+
+    /**
+     * the degrees of the vertices, counted once on demand
+     */
+    private DegreeIndex _degrees = null;
+
+    /**
+     * @param direction the edge direction of the graph
+     */
+    protected AbstractCsrGraphEngine(EDGE_DIRECTION direction) {
+        _direction = direction;
+    }
+
+    /**
+     * @param index a vertex index, in {@code 0..numVertices()}
+     *
+     * @return the first slot of the row of the vertex, the row ends at {@code offset(index + 1)}
+     */
+    abstract protected int offset(int index);
+
+    /**
+     * @param slot a slot
+     *
+     * @return the target vertex index of the slot
+     */
+    abstract protected int target(int slot);
+
+    /**
+     * @param slot a slot
+     *
+     * @return the weight of the slot
+     */
+    abstract protected float weight(int slot);
+
+    /**
+     * @return {@code true} if the engine keeps reversed rows (directed graphs)
+     */
+    abstract protected boolean hasInRows();
+
+    /**
+     * @param index a vertex index, in {@code 0..numVertices()}
+     *
+     * @return the first reversed slot of the vertex
+     */
+    abstract protected int inOffset(int index);
+
+    /**
+     * @param inSlot a reversed slot
+     *
+     * @return the source vertex index of the reversed slot
+     */
+    abstract protected int inSource(int inSlot);
+
+    /**
+     * @param inSlot a reversed slot
+     *
+     * @return the forward slot of the reversed slot
+     */
+    abstract protected int inSlot(int inSlot);
+
+    /**
+     * @param source the vertex index whose row holds the slot
+     * @param slot   a slot
+     *
+     * @return the edge of the slot
+     */
+    abstract protected Edge edgeAt(int source, int slot);
+
+    /**
+     * @param source the vertex index whose row holds the slot
+     * @param slot   a slot, that connects the vertices of {@code edge}
+     * @param edge   an edge
+     *
+     * @return {@code true} if the slot holds this edge
+     */
+    protected boolean isEdgeAt(int source, int slot, Edge edge) {
+        return edgeAt(source, slot) == edge;
+    }
+
+    /**
+     * set the graph that this engine works for.
+     *
+     * @param graph the graph
+     */
+    @Override
+    public void setGraph(IGraph graph) {
+        super.setGraph(graph);
+
+        if(graph.getGraphType() != _direction)
+            throw new GraphException("CSR engine was built as " + _direction + " graph", graph);
+    }
+
+    /**
+     * @return <code>GraphType.DIRECTED</code> or <code>GraphType.UNDIRECTED</code>
+     */
+    @Override
+    public EDGE_DIRECTION getGraphType() {
+        return _direction;
+    }
+
+    /**
+     * iterator over the vertices of the graph
+     *
+     * @return the vertices iterator
+     */
+    @Override
+    public Iterator<IVertex> iterator() {
+        return new Iterator<IVertex>() {
+            private int _index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return _index < numVertices();
+            }
+
+            @Override
+            public IVertex next() {
+                if(!hasNext())
+                    throw new NoSuchElementException();
+
+                return vertexAt(_index++);
+            }
+
+            @Override
+            public void remove() {
+                throw frozen();
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * the collection is read only
+     */
+    @Override
+    public Collection<IVertex> vertices() {
+        return new AbstractCollection<IVertex>() {
+            @SuppressWarnings("NullableProblems")
+            @Override
+            public Iterator<IVertex> iterator() {
+                return AbstractCsrGraphEngine.this.iterator();
+            }
+
+            @Override
+            public int size() {
+                return numVertices();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof IVertex && hasVertex((IVertex) o);
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * the collection is read only. the edges are visited row by row, an undirected
+     * edge is visited from the row of its lower vertex.
+     */
+    @Override
+    public Collection<Edge> edges() {
+        return new AbstractCollection<Edge>() {
+            @SuppressWarnings("NullableProblems")
+            @Override
+            public Iterator<Edge> iterator() {
+                return new Iterator<Edge>() {
+                    private int _row    = 0;
+                    private int _slot   = -1;
+
+                    {
+                        advance();
+                    }
+
+                    private void advance() {
+                        int n = numVertices();
+
+                        while (_row < n) {
+                            while (++_slot < offset(_row + 1)) {
+                                if(hasInRows() || target(_slot) >= _row)
+                                    return;
+                            }
+
+                            _row++;
+                            _slot--;
+                        }
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return _row < numVertices();
+                    }
+
+                    @Override
+                    public Edge next() {
+                        if(!hasNext())
+                            throw new NoSuchElementException();
+
+                        Edge edge = edgeAt(_row, _slot);
+
+                        advance();
+
+                        return edge;
+                    }
+
+                    @Override
+                    public void remove() {
+                        throw frozen();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return numEdges();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof Edge && hasEdge((Edge) o);
+            }
+        };
+    }
+
+    /**
+     * get the accessible vertex neighbors of vertex v1
+     *
+     * @param vertex the vertex
+     * @return the neighbors
+     */
+    @Override
+    public Collection<IVertex> getNeighborsOf(IVertex vertex) {
+        return new NeighborsView(validateVertex(vertex));
+    }
+
+    /**
+     * get the list of incident edges that go out from vertex
+     *
+     * @param vertex the vertex
+     * @return the out incidence list of vertex
+     */
+    @Override
+    public Collection<Edge> getIncidenceOutListOf(IVertex vertex) {
+        return new IncidenceView(validateVertex(vertex), false);
+    }
+
+    /**
+     * get the list of incident edges that go into the vertex
+     *
+     * @param vertex the vertex
+     * @return the in incidence list of vertex
+     */
+    @Override
+    public Collection<Edge> getIncidenceInListOf(IVertex vertex) {
+        if(!hasInRows())
+            return getIncidenceOutListOf(vertex);
+
+        return new IncidenceView(validateVertex(vertex), true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachNeighbor(int vertexIndex, IntConsumer consumer) {
+        int start   = offset(vertexIndex);
+        int end     = offset(vertexIndex + 1);
+
+        for (int slot = start; slot < end; slot++) {
+            // multi edges are adjacent in the sorted row
+            if(slot == start || target(slot) != target(slot - 1))
+                consumer.accept(target(slot));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public NeighborCursor neighborCursor() {
+        return new CsrNeighborCursor();
+    }
+
+    /**
+     * check whether <code>vertex</code> belongs to the graph's vertex list
+     *
+     * @param vertex the vertex in question
+     * @return true if graph contains this vertex
+     */
+    @Override
+    public boolean hasVertex(IVertex vertex) {
+        return indexOf(vertex) != -1;
+    }
+
+    /**
+     * check whether there exists an edge (v1, v2) is in graph
+     *
+     * @param v1 vertex v1
+     * @param v2 vertex v2
+     * @return true if graph contains this edge
+     */
+    @Override
+    public boolean hasEdge(IVertex v1, IVertex v2) {
+        return firstSlotOf(indexOf(v1), indexOf(v2)) != -1;
+    }
+
+    /**
+     * check whether edge instance is in graph
+     *
+     * @param edge the edge in question
+     * @return true if graph contains this edge
+     */
+    @Override
+    public boolean hasEdge(Edge edge) {
+        int u       = indexOf(edge.getV1());
+        int v       = indexOf(edge.getV2());
+        int slot    = firstSlotOf(u, v);
+
+        if(slot == -1)
+            return false;
+
+        for (int end = offset(u + 1); slot < end && target(slot) == v; slot++) {
+            if(isEdgeAt(u, slot, edge))
+                return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * get the edge that connects (v1, v2) from the graph
+     *
+     * @param v1 a vertex that already belong to the graph
+     * @param v2 a vertex that already belong to the graph
+     * @return the edge if success, or null if failed
+     */
+    @Override
+    public Edge getEdge(IVertex v1, IVertex v2) {
+        int u       = indexOf(v1);
+        int slot    = firstSlotOf(u, indexOf(v2));
+
+        return slot == -1 ? null : edgeAt(u, slot);
+    }
+
+    /**
+     * get all the edges that connect the two vertices
+     *
+     * @param u first vertex
+     * @param v second vertex
+     *
+     * @return a collection of edges that connect the two vertices if any
+     */
+    @Override
+    public Collection<Edge> getMultiEdges(IVertex u, IVertex v) {
+        int u_index             = indexOf(u);
+        int v_index             = indexOf(v);
+        int slot                = firstSlotOf(u_index, v_index);
+
+        ArrayList<Edge> result  = new ArrayList<>();
+
+        if(slot != -1) {
+            for (int end = offset(u_index + 1); slot < end && target(slot) == v_index; slot++) {
+                result.add(edgeAt(u_index, slot));
+            }
+        }
+
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * binary search the row of {@code u} for the first slot that targets {@code v}
+     *
+     * @param u the source vertex index
+     * @param v the target vertex index
+     *
+     * @return the slot, or {@code -1} if there is no such edge
+     */
+    protected int firstSlotOf(int u, int v) {
+        if(u == -1 || v == -1)
+            return -1;
+
+        int low     = offset(u);
+        int end     = offset(u + 1);
+        int high    = end - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+
+            if(target(mid) < v)
+                low = mid + 1;
+            else
+                high = mid - 1;
+        }
+
+        return (low < end && target(low) == v) ? low : -1;
+    }
+
+    /**
+     * @return true if graph is empty, False - otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return numVertices() == 0;
+    }
+
+    /**
+     * @param vertex the vertex in question
+     * @return the number of edges that go out of the vertex
+     */
+    @Override
+    public int outDegreeOfVertex(IVertex vertex) {
+        int index = validateVertex(vertex);
+
+        return offset(index + 1) - offset(index);
+    }
+
+    /**
+     * @param vertex the vertex in question
+     * @return the number of edges that go into the vertex
+     */
+    @Override
+    public int inDegreeOfVertex(IVertex vertex) {
+        if(!hasInRows())
+            return outDegreeOfVertex(vertex);
+
+        int index = validateVertex(vertex);
+
+        return inOffset(index + 1) - inOffset(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * the engine is immutable, so the degrees are counted once.
+     */
+    @Override
+    public DegreeIndex degrees() {
+        return (_degrees == null) ? _degrees = DegreeIndex.of(this) : _degrees;
+    }
+
+    @Override
+    public boolean addVertex(IVertex vertex) {
+        throw frozen();
+    }
+
+    @Override
+    public void addAll(Collection<IVertex> vertices, Collection<Edge> edges) {
+        throw frozen();
+    }
+
+    @Override
+    public boolean removeVertex(IVertex vertex) {
+        throw frozen();
+    }
+
+    @Override
+    public Edge addEdge(IVertex v1, IVertex v2) {
+        throw frozen();
+    }
+
+    @Override
+    public Edge addEdge(IVertex v1, IVertex v2, float weight) {
+        throw frozen();
+    }
+
+    @Override
+    public Edge addEdge(Edge edge) {
+        throw frozen();
+    }
+
+    @Override
+    public Edge removeEdge(IVertex v1, IVertex v2) {
+        throw frozen();
+    }
+
+    @Override
+    public Edge removeEdge(Edge edge) {
+        throw frozen();
+    }
+
+    @Override
+    public Collection<Edge> removeMultiEdges(IVertex u, IVertex v) {
+        throw frozen();
+    }
+
+    @Override
+    public void clear() {
+        throw frozen();
+    }
+
+    protected UnsupportedOperationException frozen() {
+        return new UnsupportedOperationException("CSR graph engine is immutable!! modify the graph it was frozen from instead");
+    }
+
+    /**
+     * validates if a vertex is in the graph and throws an error otherwise
+     *
+     * @param vertex the vertex
+     * @return the index of the vertex
+     * @throws VertexNotFoundException
+     */
+    protected int validateVertex(IVertex vertex) {
+        int index = indexOf(vertex);
+
+        if(index == -1)
+            throw new VertexNotFoundException(vertex, getGraph());
+
+        return index;
+    }
+
+    /**
+     * neighbor cursor over a row. rows are sorted, so multi edges are adjacent and
+     * only the first slot of every target is visited.
+     */
+    protected class CsrNeighborCursor implements NeighborCursor {
+        private int _source;
+        private int _start;
+        private int _slot;
+        private int _end;
+
+        @Override
+        public NeighborCursor reset(int vertexIndex) {
+            _source = vertexIndex;
+            _start  = offset(vertexIndex);
+            _end    = offset(vertexIndex + 1);
+            _slot   = _start - 1;
+
+            return this;
+        }
+
+        @Override
+        public boolean next() {
+            while (++_slot < _end) {
+                if(_slot == _start || AbstractCsrGraphEngine.this.target(_slot) != AbstractCsrGraphEngine.this.target(_slot - 1))
+                    return true;
+            }
+
+            return false;
+        }
+
+        @Override
+        public int target() {
+            return AbstractCsrGraphEngine.this.target(_slot);
+        }
+
+        @Override
+        public float weight() {
+            return AbstractCsrGraphEngine.this.weight(_slot);
+        }
+
+        @Override
+        public Edge edge() {
+            return edgeAt(_source, _slot);
+        }
+    }
+
+    /**
+     * the distinct neighbors of a vertex, read only.
+     * rows are sorted, so multi edges are adjacent and skipped.
+     */
+    protected class NeighborsView extends AbstractCollection<IVertex> {
+        private final int _index;
+        private final int _start;
+        private final int _end;
+
+        public NeighborsView(int index) {
+            _index  = index;
+            _start  = offset(index);
+            _end    = offset(index + 1);
+        }
+
+        @SuppressWarnings("NullableProblems")
+        @Override
+        public Iterator<IVertex> iterator() {
+            return new Iterator<IVertex>() {
+                private int _slot = _start;
+
+                @Override
+                public boolean hasNext() {
+                    return _slot < _end;
+                }
+
+                @Override
+                public IVertex next() {
+                    if(_slot >= _end)
+                        throw new NoSuchElementException();
+
+                    int target = target(_slot++);
+
+                    while (_slot < _end && target(_slot) == target)
+                        _slot++;
+
+                    return vertexAt(target);
+                }
+
+                @Override
+                public void remove() {
+                    throw frozen();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+
+            for (int slot = _start; slot < _end; slot++) {
+                if(slot == _start || target(slot) != target(slot - 1))
+                    size++;
+            }
+
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return (o instanceof IVertex) && firstSlotOf(_index, indexOf((IVertex) o)) != -1;
+        }
+    }
+
+    /**
+     * the incidence list of a vertex, read only.
+     */
+    protected class IncidenceView extends AbstractCollection<Edge> {
+        private final int _index;
+        private final int _start;
+        private final int _end;
+        private final boolean _reversed;
+
+        public IncidenceView(int index, boolean reversed) {
+            _index      = index;
+            _start      = reversed ? inOffset(index) : offset(index);
+            _end        = reversed ? inOffset(index + 1) : offset(index + 1);
+            _reversed   = reversed;
+        }
+
+        @SuppressWarnings("NullableProblems")
+        @Override
+        public Iterator<Edge> iterator() {
+            return new Iterator<Edge>() {
+                private int _slot = _start;
+
+                @Override
+                public boolean hasNext() {
+                    return _slot < _end;
+                }
+
+                @Override
+                public Edge next() {
+                    if(_slot >= _end)
+                        throw new NoSuchElementException();
+
+                    int slot = _slot++;
+
+                    return _reversed ? edgeAt(inSource(slot), inSlot(slot)) : edgeAt(_index, slot);
+                }
+
+                @Override
+                public void remove() {
+                    throw frozen();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return _end - _start;
+        }
+    }
+
+}
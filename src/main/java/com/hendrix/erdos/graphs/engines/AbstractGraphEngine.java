@@ -6,6 +6,8 @@ import com.hendrix.erdos.types.IVertex;
 import com.hendrix.erdos.types.Vertex;
 
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.function.IntConsumer;
 
 /**
  * Abstract Graph engine.
@@ -107,6 +109,79 @@ abstract public class AbstractGraphEngine implements IGraphEngine {
         }
     }
 
+    /**
+     * bulk load an empty engine, that is attached to its graph, see {@link GraphBuilder}. the edge list is
+     * already valid for the graph, so nothing has to be validated:
+     * <ul>
+     *     <li/>the edges are sorted by {@code (source, target)}, multi edges are adjacent.
+     *     <li/>undirected edges have {@code source <= target}.
+     *     <li/>there are no duplicates if the graph does not support multi edges, and no self loops
+     *     if the graph does not support them.
+     * </ul>
+     * the default implementation adds the vertices and edges one by one, engines should override it
+     * and build their structures directly, presized.
+     *
+     * @param vertices the vertices with their indices, engines that keep a {@link VertexIndex} may adopt it
+     * @param sources  the source vertex index of every edge
+     * @param targets  the target vertex index of every edge
+     * @param weights  the weight of every edge, or {@code null} if all of the weights are zero
+     * @param numEdges the number of edges
+     */
+    protected void load(VertexIndex vertices, int[] sources, int[] targets, float[] weights, int numEdges) {
+        for (int i = 0; i < vertices.size(); i++) {
+            addVertex(vertices.vertexAt(i));
+        }
+
+        for (int e = 0; e < numEdges; e++) {
+            addEdge(vertices.vertexAt(sources[e]), vertices.vertexAt(targets[e]), (weights == null) ? 0f : weights[e]);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * the default implementation walks {@link #getNeighborsOf(IVertex)}, engines
+     * should override it with an allocation free one.
+     */
+    @Override
+    public void forEachNeighbor(int vertexIndex, IntConsumer consumer) {
+        for (IVertex vertex : getNeighborsOf(vertexAt(vertexIndex))) {
+            consumer.accept(indexOf(vertex));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * the default implementation walks {@link #getNeighborsOf(IVertex)}, engines
+     * should override it with an allocation free one.
+     */
+    @Override
+    public NeighborCursor neighborCursor() {
+        return new ViewNeighborCursor();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * the default implementation counts the incidence lists into a snapshot, engines
+     * should override it and maintain the index on every mutation.
+     */
+    @Override
+    public DegreeIndex degrees() {
+        return DegreeIndex.of(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * the default implementation can not copy the engine, and returns {@code null}.
+     */
+    @Override
+    public IGraphEngine copy(boolean copyOnWrite) {
+        return null;
+    }
+
     /**
      * @return true if graph is empty, False - otherwise
      */
@@ -129,15 +204,13 @@ abstract public class AbstractGraphEngine implements IGraphEngine {
      */
     public String V()
     {
-        String res = "V = {";
+        StringBuilder res = new StringBuilder("V = {");
 
         for (IVertex v : vertices()) {
-            res += Vertex.toString(v) + ", ";
+            res.append(Vertex.toString(v)).append(", ");
         }
 
-        res += "}";
-
-        return res;
+        return res.append("}").toString();
     }
 
     /**
@@ -145,15 +218,13 @@ abstract public class AbstractGraphEngine implements IGraphEngine {
      */
     public String E()
     {
-        String res = "E = {";
+        StringBuilder res = new StringBuilder("E = {");
 
         for (Edge e : edges()) {
-            res += e.toString() + ", ";
+            res.append(e).append(", ");
         }
 
-        res += "}";
-
-        return res;
+        return res.append("}").toString();
     }
 
     @Override
@@ -161,4 +232,47 @@ abstract public class AbstractGraphEngine implements IGraphEngine {
         return V() + " " + E();
     }
 
+    /**
+     * a neighbor cursor over the collection views of the engine
+     */
+    protected class ViewNeighborCursor implements NeighborCursor {
+        private IVertex           _vertex;
+        private Iterator<IVertex> _iterator;
+        private IVertex           _current;
+
+        @Override
+        public NeighborCursor reset(int vertexIndex) {
+            _vertex     = vertexAt(vertexIndex);
+            _iterator   = getNeighborsOf(_vertex).iterator();
+            _current    = null;
+
+            return this;
+        }
+
+        @Override
+        public boolean next() {
+            if(!_iterator.hasNext())
+                return false;
+
+            _current    = _iterator.next();
+
+            return true;
+        }
+
+        @Override
+        public int target() {
+            return indexOf(_current);
+        }
+
+        @Override
+        public float weight() {
+            return edge().getWeight();
+        }
+
+        @Override
+        public Edge edge() {
+            return getEdge(_vertex, _current);
+        }
+    }
+
 }
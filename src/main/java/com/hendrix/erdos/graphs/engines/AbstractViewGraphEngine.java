@@ -0,0 +1,451 @@
+package com.hendrix.erdos.graphs.engines;
+
+import com.hendrix.erdos.exceptions.GraphException;
+import com.hendrix.erdos.exceptions.VertexNotFoundException;
+import com.hendrix.erdos.graphs.IGraph;
+import com.hendrix.erdos.types.Edge;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.IVertex;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Abstract read only graph engine, that views the engine of another graph without copying it.<br/>
+ * every query is answered by the viewed engine, so the view follows the changes of the viewed graph:
+ * <ul>
+ *     <li/>by default the view has the vertices of the viewed graph, with the same dense indices.
+ *     <li/>the collections of the view are computed while they are iterated, and are read only.
+ *     <li/>every mutating operation throws {@link UnsupportedOperationException}.
+ * </ul>
+ *
+ * @author Tomer Shalev
+ * @see ReversedGraphEngine
+ * @see UndirectedViewGraphEngine
+ * @see SubgraphGraphEngine
+ */
+@SuppressWarnings("UnusedDeclaration")
+abstract public class AbstractViewGraphEngine extends AbstractGraphEngine {
+    /**
+     * the viewed engine
+     */
+    protected IGraphEngine _source;
+
+    /**
+     * the edge direction of the view
+     */
+    protected EDGE_DIRECTION _direction;
+
+    /**
+     * @param source    the viewed engine, it has to be attached to its graph
+     * @param direction the edge direction of the view
+     */
+    protected AbstractViewGraphEngine(IGraphEngine source, EDGE_DIRECTION direction) {
+        if(source == null || source.getGraph() == null)
+            throw new IllegalArgumentException("a view needs an engine that is attached to a graph");
+
+        _source     = source;
+        _direction  = direction;
+    }
+
+    /**
+     * @return the viewed engine
+     */
+    public IGraphEngine source() {
+        return _source;
+    }
+
+    /**
+     * set the graph that this engine works for.
+     *
+     * @param graph the graph
+     */
+    @Override
+    public void setGraph(IGraph graph) {
+        super.setGraph(graph);
+
+        if(graph.getGraphType() != _direction)
+            throw new GraphException("view engine was built as " + _direction + " graph", graph);
+    }
+
+    /**
+     * @return <code>GraphType.DIRECTED</code> or <code>GraphType.UNDIRECTED</code>
+     */
+    @Override
+    public EDGE_DIRECTION getGraphType() {
+        return _direction;
+    }
+
+    /**
+     * @return {@code true} if the viewed graph may have more than one edge between two vertices
+     */
+    protected boolean sourceHasMultiEdges() {
+        return _source.getGraph().hasMultiEdges();
+    }
+
+    /**
+     * @return the edges from {@code u} to {@code v} in the viewed graph, also if it does not support multi edges
+     */
+    protected Collection<Edge> sourceEdgesOf(IVertex u, IVertex v) {
+        if(sourceHasMultiEdges())
+            return _source.getMultiEdges(u, v);
+
+        Edge edge = _source.getEdge(u, v);
+
+        return (edge == null) ? Collections.<Edge>emptyList() : Collections.singletonList(edge);
+    }
+
+    @Override
+    public Iterator<IVertex> iterator() {
+        return vertices().iterator();
+    }
+
+    @Override
+    public Collection<IVertex> vertices() {
+        return _source.vertices();
+    }
+
+    @Override
+    public boolean hasVertex(IVertex vertex) {
+        return _source.hasVertex(vertex);
+    }
+
+    @Override
+    public int indexOf(IVertex vertex) {
+        return _source.indexOf(vertex);
+    }
+
+    @Override
+    public IVertex vertexAt(int index) {
+        return _source.vertexAt(index);
+    }
+
+    @Override
+    public int numVertices() {
+        return _source.numVertices();
+    }
+
+    @Override
+    public int numEdges() {
+        return edges().size();
+    }
+
+    /**
+     * @return true if graph is empty, False - otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return numVertices() == 0;
+    }
+
+    /**
+     * @param vertex the vertex in question
+     * @return the number of distinct vertices the vertex goes out to
+     */
+    @Override
+    public int outDegreeOfVertex(IVertex vertex) {
+        validateVertex(vertex);
+
+        return getNeighborsOf(vertex).size();
+    }
+
+    /**
+     * @param vertex the vertex in question
+     * @return the number of edges that go into the vertex
+     */
+    @Override
+    public int inDegreeOfVertex(IVertex vertex) {
+        validateVertex(vertex);
+
+        return getIncidenceInListOf(vertex).size();
+    }
+
+    /**
+     * a view does not own its vertices, it only lets go of the viewed engine
+     */
+    @Override
+    public void dispose() {
+        _source = null;
+    }
+
+    @Override
+    public boolean addVertex(IVertex vertex) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addAll(Collection<IVertex> vertices, Collection<Edge> edges) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeVertex(IVertex vertex) {
+        throw readOnly();
+    }
+
+    @Override
+    public Edge addEdge(IVertex v1, IVertex v2) {
+        throw readOnly();
+    }
+
+    @Override
+    public Edge addEdge(IVertex v1, IVertex v2, float weight) {
+        throw readOnly();
+    }
+
+    @Override
+    public Edge addEdge(Edge edge) {
+        throw readOnly();
+    }
+
+    @Override
+    public Edge removeEdge(IVertex v1, IVertex v2) {
+        throw readOnly();
+    }
+
+    @Override
+    public Edge removeEdge(Edge edge) {
+        throw readOnly();
+    }
+
+    @Override
+    public Collection<Edge> removeMultiEdges(IVertex u, IVertex v) {
+        throw readOnly();
+    }
+
+    @Override
+    public void clear() {
+        throw readOnly();
+    }
+
+    protected UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("graph views are read only!! modify the graph they view instead");
+    }
+
+    /**
+     * validates if a vertex is in the graph and throws an error otherwise
+     *
+     * @param vertex the vertex
+     * @return the index of the vertex
+     * @throws VertexNotFoundException
+     */
+    protected int validateVertex(IVertex vertex) {
+        int index = indexOf(vertex);
+
+        if(index == -1)
+            throw new VertexNotFoundException(vertex, getGraph());
+
+        return index;
+    }
+
+    /**
+     * a read only view of the elements of a collection that pass a filter, that is counted
+     * every time its size is queried
+     */
+    protected static class FilteredView<T> extends AbstractCollection<T> {
+        private final Collection<T>         _elements;
+        private final Predicate<? super T>  _filter;
+
+        public FilteredView(Collection<T> elements, Predicate<? super T> filter) {
+            _elements   = elements;
+            _filter     = filter;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<T>() {
+                private final Iterator<T> _iterator = _elements.iterator();
+                private T _next = advance();
+
+                private T advance() {
+                    while (_iterator.hasNext()) {
+                        T element = _iterator.next();
+
+                        if(_filter.test(element))
+                            return element;
+                    }
+
+                    return null;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return _next != null;
+                }
+
+                @Override
+                public T next() {
+                    if(_next == null)
+                        throw new NoSuchElementException();
+
+                    T current   = _next;
+                    _next       = advance();
+
+                    return current;
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException("graph views are read only");
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+
+            for (T element : _elements) {
+                if(_filter.test(element))
+                    size++;
+            }
+
+            return size;
+        }
+    }
+
+    /**
+     * a read only view of the edges of a collection, as other edges
+     */
+    protected static class MappedEdgesView extends AbstractCollection<Edge> {
+        private final Collection<Edge>          _edges;
+        private final Function<Edge, Edge>      _mapping;
+
+        public MappedEdgesView(Collection<Edge> edges, Function<Edge, Edge> mapping) {
+            _edges      = edges;
+            _mapping    = mapping;
+        }
+
+        @Override
+        public Iterator<Edge> iterator() {
+            return new Iterator<Edge>() {
+                private final Iterator<Edge> _iterator = _edges.iterator();
+
+                @Override
+                public boolean hasNext() {
+                    return _iterator.hasNext();
+                }
+
+                @Override
+                public Edge next() {
+                    return _mapping.apply(_iterator.next());
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException("graph views are read only");
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return _edges.size();
+        }
+    }
+
+    /**
+     * a read only view of the neighbors of a vertex, the other endpoints of the edges of one or two
+     * incidence lists of the viewed engine, every neighbor once
+     */
+    protected class NeighborsView extends AbstractCollection<IVertex> {
+        private final IVertex               _vertex;
+        private final Collection<Edge>      _first;
+        private final Collection<Edge>      _second;
+        private final Predicate<Edge>       _filter;
+        /**
+         * without multi edges, a single incidence list has every neighbor once
+         */
+        private final boolean               _distinct;
+
+        /**
+         * @param vertex the vertex
+         * @param first  an incidence list of the vertex
+         * @param second another incidence list of the vertex, or {@code null}
+         * @param filter the edges to follow, or {@code null} for all of them
+         */
+        public NeighborsView(IVertex vertex, Collection<Edge> first, Collection<Edge> second, Predicate<Edge> filter) {
+            _vertex     = vertex;
+            _first      = first;
+            _second     = second;
+            _filter     = filter;
+            _distinct   = second == null && !sourceHasMultiEdges();
+        }
+
+        @Override
+        public Iterator<IVertex> iterator() {
+            return new Iterator<IVertex>() {
+                private Iterator<Edge>          _iterator   = _first.iterator();
+                private boolean                 _onSecond   = false;
+                private final HashSet<IVertex>  _seen       = _distinct ? null : new HashSet<>();
+                private IVertex                 _next       = advance();
+
+                private IVertex advance() {
+                    while (true) {
+                        while (_iterator.hasNext()) {
+                            Edge edge           = _iterator.next();
+
+                            if(_filter != null && !_filter.test(edge))
+                                continue;
+
+                            IVertex neighbor    = _vertex.equals(edge.getV1()) ? edge.getV2() : edge.getV1();
+
+                            if(_seen == null || _seen.add(neighbor))
+                                return neighbor;
+                        }
+
+                        if(_onSecond || _second == null)
+                            return null;
+
+                        _onSecond   = true;
+                        _iterator   = _second.iterator();
+                    }
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return _next != null;
+                }
+
+                @Override
+                public IVertex next() {
+                    if(_next == null)
+                        throw new NoSuchElementException();
+
+                    IVertex current = _next;
+                    _next           = advance();
+
+                    return current;
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException("graph views are read only");
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+
+            for (Iterator<IVertex> iterator = iterator(); iterator.hasNext(); iterator.next()) {
+                size++;
+            }
+
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return (o instanceof IVertex) && hasEdge(_vertex, (IVertex) o);
+        }
+    }
+
+}
@@ -1,20 +1,24 @@
 package com.hendrix.erdos.graphs.engines;
 
+import com.hendrix.collection.LongObjectHashMap;
 import com.hendrix.erdos.graphs.IGraph;
 import com.hendrix.erdos.exceptions.VertexNotFoundException;
 import com.hendrix.erdos.types.IVertex;
 import com.hendrix.erdos.types.Edge;
 import com.hendrix.erdos.types.Edge.*;
+import com.hendrix.erdos.types.EdgeKey;
 
 import java.util.AbstractCollection;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
 
 /**
  * a graph engine implementation that uses both <b>Adjacency list</b> and <b>Incidence list</b><br/>
@@ -27,9 +31,9 @@ import java.util.LinkedHashSet;
  */
 public class AdjIncidenceGraphEngine extends AbstractGraphEngine {
     /**
-     * the Vertices list of the Graph G=(V, E)
+     * the Vertices list of the Graph G=(V, E), with their dense indices
      */
-    protected LinkedHashMap<String, IVertex> _vertices = null;
+    protected VertexIndex _vertices = null;
 
     /**
      * the Vertices Adj list
@@ -40,9 +44,9 @@ public class AdjIncidenceGraphEngine extends AbstractGraphEngine {
      */
     protected LinkedHashSet<Edge> _setEdges = null;
     /**
-     * the presence map
+     * the presence map, keyed by the {@link EdgeKey} of the dense vertex indices
      */
-    protected HashMap<String, ArrayList<Edge>> _mapPresenceEdges = null;
+    protected LongObjectHashMap<ArrayList<Edge>> _mapPresenceEdges = null;
     /**
      * the incidence in list
      */
@@ -51,17 +55,28 @@ public class AdjIncidenceGraphEngine extends AbstractGraphEngine {
      * the incidence out list
      */
     protected HashMap<IVertex, HashSet<Edge>> _outEdges = null;
+    /**
+     * the dense neighbor lists of the cursors, by vertex index. they are updated by every change
+     * of the adjacency, next to the adjacency lists, so reads never write into the engine.
+     */
+    protected Neighbors[] _neighbors = null;
+    /**
+     * the edge counts of every vertex, and their histograms. unlike {@link #outDegreeOfVertex(IVertex)},
+     * that counts the distinct neighbors, multi edges are counted
+     */
+    protected DegreeIndex _degrees = new DegreeIndex(true);
 
     /**
      *
      */
     public AdjIncidenceGraphEngine() {
-        _vertices           = new LinkedHashMap<>();
+        _vertices           = new VertexIndex();
         _colAdjLists        = new HashMap<>();
         _setEdges           = new LinkedHashSet<>();
-        _mapPresenceEdges   = new HashMap<>();
+        _mapPresenceEdges   = new LongObjectHashMap<>();
         _inEdges            = new HashMap<>();
         _outEdges           = new HashMap<>();
+        _neighbors          = new Neighbors[16];
     }
 
     /**
@@ -75,6 +90,8 @@ public class AdjIncidenceGraphEngine extends AbstractGraphEngine {
 
         if (getGraphType() == EDGE_DIRECTION.UNDIRECTED)
             _inEdges = _outEdges;
+
+        _degrees.setDirected(getGraphType() == EDGE_DIRECTION.DIRECTED);
     }
 
 
@@ -151,6 +168,27 @@ public class AdjIncidenceGraphEngine extends AbstractGraphEngine {
         return new IncidenceInView(vertex);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachNeighbor(int vertexIndex, IntConsumer consumer) {
+        Neighbors neighbors = internal_neighborsAt(vertexIndex);
+        int[] targets       = neighbors.targets;
+
+        for (int i = 0; i < neighbors.size; i++) {
+            consumer.accept(targets[i]);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public NeighborCursor neighborCursor() {
+        return new AdjNeighborCursor();
+    }
+
     /**
      * check whether <code>vertex</code> belongs to the graph's vertex list
      *
@@ -159,7 +197,23 @@ public class AdjIncidenceGraphEngine extends AbstractGraphEngine {
      */
     @Override
     public boolean hasVertex(IVertex vertex) {
-        return _vertices.containsValue(vertex);
+        return _vertices.contains(vertex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int indexOf(IVertex vertex) {
+        return _vertices.indexOf(vertex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IVertex vertexAt(int index) {
+        return _vertices.vertexAt(index);
     }
 
     /**
@@ -169,10 +223,15 @@ public class AdjIncidenceGraphEngine extends AbstractGraphEngine {
      */
     @Override
     public boolean addVertex(IVertex vertex) {
-        if (hasVertex(vertex))
+        int index = _vertices.add(vertex);
+
+        if (index == -1)
             return false;
 
-        _vertices.put(vertex.getId(), vertex);
+        if (index == _neighbors.length)
+            _neighbors = Arrays.copyOf(_neighbors, index << 1);
+
+        _neighbors[index] = new Neighbors(4);
 
         if (_colAdjLists.get(vertex) == null)
             _colAdjLists.put(vertex, new HashSet<IVertex>());
@@ -180,6 +239,8 @@ public class AdjIncidenceGraphEngine extends AbstractGraphEngine {
         _inEdges.put(vertex, new HashSet<Edge>());
         _outEdges.put(vertex, new HashSet<Edge>());
 
+        _degrees.addVertex();
+
         return true;
     }
 
@@ -192,7 +253,25 @@ public class AdjIncidenceGraphEngine extends AbstractGraphEngine {
     public boolean removeVertex(IVertex vertex) {
         internal_removeEdgeNeighborsOfVertex(vertex);
 
-        return _vertices.values().remove(vertex);
+        int index = _vertices.remove(vertex);
+
+        if (index == -1)
+            return false;
+
+        _degrees.removeVertex(index);
+
+        // the last vertex was moved into the freed index
+        int last = _vertices.size();
+
+        _neighbors[index] = _neighbors[last];
+        _neighbors[last] = null;
+
+        if (index < last) {
+            internal_rekeyPresenceList(_vertices.vertexAt(index), last);
+            internal_rekeyNeighbors(_vertices.vertexAt(index), last, index);
+        }
+
+        return true;
     }
 
     /**
@@ -206,11 +285,6 @@ public class AdjIncidenceGraphEngine extends AbstractGraphEngine {
      * vertices view
      */
     public class VerticesView extends AbstractCollection<IVertex> {
-        private final Collection<IVertex> _values;
-
-        public VerticesView() {
-            _values = _vertices.values();
-        }
 
         @SuppressWarnings("NullableProblems")
         @Override
@@ -219,11 +293,11 @@ public class AdjIncidenceGraphEngine extends AbstractGraphEngine {
         }
 
         public int size() {
-            return _values.size();
+            return _vertices.size();
         }
 
         public boolean contains(Object o) {
-            return _values.contains(o);
+            return (o instanceof IVertex) && hasVertex((IVertex) o);
         }
 
         public boolean add(IVertex vertex) {
@@ -235,29 +309,40 @@ public class AdjIncidenceGraphEngine extends AbstractGraphEngine {
         }
     }
 
+    /**
+     * iterates the vertices by their index. removing a vertex moves the last
+     * vertex into its index, so the iterator visits that index again.
+     */
     protected class VerticesIterator implements Iterator<IVertex> {
-        private Iterator<IVertex> _iteratorParent;
+        private int _cursor;
         private IVertex _current;
 
         public VerticesIterator() {
-            _iteratorParent = _vertices.values().iterator();
+            _cursor = 0;
             _current = null;
         }
 
         @Override
         public boolean hasNext() {
-            return _iteratorParent.hasNext();
+            return _cursor < _vertices.size();
         }
 
         @Override
         public IVertex next() {
-            return _current = _iteratorParent.next();
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            return _current = _vertices.vertexAt(_cursor++);
         }
 
         @Override
         public void remove() {
-            internal_removeEdgeNeighborsOfVertex(_current);
-            _iteratorParent.remove();
+            if (_current == null)
+                throw new IllegalStateException();
+
+            removeVertex(_current);
+            _current = null;
+            _cursor--;
         }
     }
 
@@ -296,6 +381,48 @@ public class AdjIncidenceGraphEngine extends AbstractGraphEngine {
         }
     }
 
+    /**
+     * neighbor cursor over the neighbor lists
+     */
+    protected class AdjNeighborCursor implements NeighborCursor {
+        private int[] _targets;
+        private Edge[] _edges;
+        private int _size;
+        private int _position;
+
+        @Override
+        public NeighborCursor reset(int vertexIndex) {
+            Neighbors neighbors = internal_neighborsAt(vertexIndex);
+
+            _size = neighbors.size;
+            _targets = neighbors.targets;
+            _edges = neighbors.edges;
+            _position = -1;
+
+            return this;
+        }
+
+        @Override
+        public boolean next() {
+            return ++_position < _size;
+        }
+
+        @Override
+        public int target() {
+            return _targets[_position];
+        }
+
+        @Override
+        public float weight() {
+            return _edges[_position].getWeight();
+        }
+
+        @Override
+        public Edge edge() {
+            return _edges[_position];
+        }
+    }
+
     protected class EdgesIterator implements Iterator<Edge> {
         private Iterator<Edge> _iterParent;
         private Edge _current;
@@ -322,6 +449,7 @@ public class AdjIncidenceGraphEngine extends AbstractGraphEngine {
             // incidence lists update
             internal_removeEdge_incidenceList(_current);
             internal_removeEdge_presenceList(_current);
+            _degrees.removeEdge(indexOf(_current.getV1()), indexOf(_current.getV2()));
             // remove from main edge list
             _iterParent.remove();
         }
@@ -458,7 +586,7 @@ public class AdjIncidenceGraphEngine extends AbstractGraphEngine {
 
         @SuppressWarnings("NullableProblems")
         public Iterator<Edge> iterator() {
-            return new IncidenceOutViewIterator(_vertex);
+            return new IncidenceInViewIterator(_vertex);
         }
 
         public int size() {
@@ -581,6 +709,9 @@ public class AdjIncidenceGraphEngine extends AbstractGraphEngine {
         if (hasEdge(v1, v2) && !isMultiEdgesSupported())
             return null;
 
+        if (internal_hasEdge(edge))
+            return null;
+
         if (v1.equals(v2) && !isSelfLoopsSupported())
             return null;
 
@@ -596,10 +727,20 @@ public class AdjIncidenceGraphEngine extends AbstractGraphEngine {
         // edge list update
         _setEdges.add(edge);
 
-        // edge description
-        ArrayList<Edge> edges = _mapPresenceEdges.get(edge.getDesc());
-        if (edges == null)
-            _mapPresenceEdges.put(edge.getDesc(), edges = new ArrayList<>());
+        // presence map update
+        int index1 = indexOf(v1);
+        int index2 = indexOf(v2);
+        long key = EdgeKey.of(index1, index2, getGraphType());
+        ArrayList<Edge> edges = _mapPresenceEdges.get(key);
+        if (edges == null) {
+            _mapPresenceEdges.put(key, edges = new ArrayList<>(1));
+
+            // the vertices just became adjacent
+            _neighbors[index1].add(index2, edge);
+
+            if (getGraphType() == EDGE_DIRECTION.UNDIRECTED && index1 != index2)
+                _neighbors[index2].add(index1, edge);
+        }
 
         edges.add(edge);
 
@@ -607,9 +748,137 @@ public class AdjIncidenceGraphEngine extends AbstractGraphEngine {
         _outEdges.get(v1).add(edge);
         _inEdges.get(v2).add(edge);
 
+        _degrees.addEdge(index1, index2);
+
         return edge;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * the vertex index is adopted, every adjacency and incidence set is presized with the degree
+     * of its vertex, and the edges are linked without validation.
+     */
+    @Override
+    protected void load(VertexIndex vertices, int[] sources, int[] targets, float[] weights, int numEdges) {
+        EDGE_DIRECTION direction    = getGraphType();
+        boolean undirected          = direction == EDGE_DIRECTION.UNDIRECTED;
+        int n                       = vertices.size();
+        int[] outDegrees            = new int[n];
+        int[] inDegrees             = undirected ? outDegrees : new int[n];
+
+        for (int e = 0; e < numEdges; e++) {
+            outDegrees[sources[e]]++;
+
+            if(!undirected || sources[e] != targets[e])
+                inDegrees[targets[e]]++;
+        }
+
+        _vertices                   = vertices;
+        _colAdjLists                = new HashMap<>(capacityOf(n));
+        _outEdges                   = new HashMap<>(capacityOf(n));
+        _inEdges                    = undirected ? _outEdges : new HashMap<>(capacityOf(n));
+        _setEdges                   = new LinkedHashSet<>(capacityOf(numEdges));
+        _mapPresenceEdges           = new LongObjectHashMap<>(numEdges);
+
+        for (int i = 0; i < n; i++) {
+            IVertex vertex          = vertices.vertexAt(i);
+
+            _colAdjLists.put(vertex, new HashSet<IVertex>(capacityOf(outDegrees[i])));
+            _outEdges.put(vertex, new HashSet<Edge>(capacityOf(outDegrees[i])));
+
+            if(!undirected)
+                _inEdges.put(vertex, new HashSet<Edge>(capacityOf(inDegrees[i])));
+        }
+
+        _neighbors                  = new Neighbors[Math.max(n, 16)];
+
+        for (int i = 0; i < n; i++) {
+            _neighbors[i]           = new Neighbors(Math.max(outDegrees[i], 1));
+        }
+
+        ArrayList<Edge> presence    = null;
+        long previous               = EdgeKey.NONE;
+
+        for (int e = 0; e < numEdges; e++) {
+            IVertex v1              = vertices.vertexAt(sources[e]);
+            IVertex v2              = vertices.vertexAt(targets[e]);
+            Edge edge               = new Edge(v1, v2, direction, (weights == null) ? 0f : weights[e]);
+
+            _colAdjLists.get(v1).add(v2);
+
+            if(undirected)
+                _colAdjLists.get(v2).add(v1);
+
+            _setEdges.add(edge);
+
+            // multi edges are adjacent, and share a presence list
+            long key                = EdgeKey.of(sources[e], targets[e]);
+
+            if(key != previous) {
+                _mapPresenceEdges.put(previous = key, presence = new ArrayList<>(1));
+
+                _neighbors[sources[e]].add(targets[e], edge);
+
+                if(undirected && sources[e] != targets[e])
+                    _neighbors[targets[e]].add(sources[e], edge);
+            }
+
+            presence.add(edge);
+
+            _outEdges.get(v1).add(edge);
+            _inEdges.get(v2).add(edge);
+        }
+
+        _degrees.load(n, sources, targets, numEdges);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * the maps and sets are copied right away, presized, without validating or hashing the
+     * edges of the graph again one by one.
+     */
+    @Override
+    public AdjIncidenceGraphEngine copy(boolean copyOnWrite) {
+        AdjIncidenceGraphEngine copy    = new AdjIncidenceGraphEngine();
+        int n                           = _vertices.size();
+        boolean undirected              = _inEdges == _outEdges;
+
+        copy._vertices                  = new VertexIndex(_vertices);
+        copy._colAdjLists               = new HashMap<>(capacityOf(n));
+        copy._outEdges                  = new HashMap<>(capacityOf(n));
+        copy._inEdges                   = undirected ? copy._outEdges : new HashMap<>(capacityOf(n));
+
+        for (int i = 0; i < n; i++) {
+            IVertex vertex              = _vertices.vertexAt(i);
+
+            copy._colAdjLists.put(vertex, new HashSet<>(_colAdjLists.get(vertex)));
+            copy._outEdges.put(vertex, new HashSet<>(_outEdges.get(vertex)));
+
+            if(!undirected)
+                copy._inEdges.put(vertex, new HashSet<>(_inEdges.get(vertex)));
+        }
+
+        copy._setEdges                  = new LinkedHashSet<>(_setEdges);
+        copy._mapPresenceEdges          = new LongObjectHashMap<>(_mapPresenceEdges, ArrayList::new);
+        copy._degrees                   = _degrees.copy();
+        copy._neighbors                 = new Neighbors[_neighbors.length];
+
+        for (int i = 0; i < n; i++) {
+            copy._neighbors[i]          = new Neighbors(_neighbors[i]);
+        }
+
+        return copy;
+    }
+
+    /**
+     * @return the initial capacity of a hash collection that holds {@code size} entries without resizing
+     */
+    private static int capacityOf(int size) {
+        return (int) (size / 0.75f) + 1;
+    }
+
     /**
      * remove edge (v1, v2) from the graph
      *
@@ -653,9 +922,9 @@ public class AdjIncidenceGraphEngine extends AbstractGraphEngine {
     {
         validateMultiEdgeSupport();
 
-        Collection<Edge> multiEdges = _mapPresenceEdges.get(Edge.getEdgeDesc(u, v, getGraphType()));
+        Collection<Edge> multiEdges = internal_presenceList(u, v);
 
-        multiEdges = new ArrayList<>(multiEdges);
+        multiEdges = (multiEdges == null) ? new ArrayList<Edge>() : new ArrayList<>(multiEdges);
 
         // we can remove
         for (Edge edge : multiEdges) {
@@ -676,7 +945,7 @@ public class AdjIncidenceGraphEngine extends AbstractGraphEngine {
      */
     @Override
     public Edge getEdge(IVertex v1, IVertex v2) {
-        ArrayList<Edge> edges = _mapPresenceEdges.get(Edge.getEdgeDesc(v1, v2, getGraphType()));
+        ArrayList<Edge> edges = internal_presenceList(v1, v2);
 
         if (edges != null && edges.size() > 0)
             return edges.get(0);
@@ -697,19 +966,34 @@ public class AdjIncidenceGraphEngine extends AbstractGraphEngine {
     @Override
     public Collection<Edge> getMultiEdges(IVertex u, IVertex v) {
        validateMultiEdgeSupport();
-       return Collections.unmodifiableList(_mapPresenceEdges.get(Edge.getEdgeDesc(u, v, getGraphType())));
+       ArrayList<Edge> edges = internal_presenceList(u, v);
+
+       return (edges == null) ? Collections.<Edge>emptyList() : Collections.unmodifiableList(edges);
     }
 
     private void validateMultiEdgeSupport() {
 
     }
 
+    /**
+     * freeze the current state of the graph into an immutable {@link CsrGraphEngine}.
+     * the vertices and edges are referenced and not cloned, and further changes
+     * to this engine are not reflected in the frozen one.
+     *
+     * @return a new CSR graph engine, it still has to be attached to a graph
+     *
+     * @see com.hendrix.erdos.Erdos#freezeGraphOf(IGraph)
+     */
+    public CsrGraphEngine freeze() {
+        return new CsrGraphEngine(this);
+    }
+
     /**
      * @return the number of vertices in the Graph
      */
     @Override
     public int numVertices() {
-        return vertices().size();
+        return _vertices.size();
     }
 
     /**
@@ -718,15 +1002,28 @@ public class AdjIncidenceGraphEngine extends AbstractGraphEngine {
     @Override
     public void clear() {
         _setEdges.clear();
+        _mapPresenceEdges.clear();
         _vertices.clear();
         _colAdjLists.clear();
         _inEdges.clear();
         _outEdges.clear();
+        _degrees.clear();
+
+        _neighbors = new Neighbors[16];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DegreeIndex degrees() {
+        return _degrees;
     }
 
     /**
      * @param vertex the vertex in question
-     * @return the out degree of  the vertex
+     * @return the number of distinct vertices the vertex goes out to, see {@link #degrees()}
+     *         for the number of out edges
      */
     public int outDegreeOfVertex(IVertex vertex) {
         return _colAdjLists.get(vertex).size();
@@ -747,14 +1044,15 @@ public class AdjIncidenceGraphEngine extends AbstractGraphEngine {
      */
     @Override
     public void dispose() {
-        for (IVertex vertex : _vertices.values()) {
-            vertex.dispose();
+        for (int index = 0; index < _vertices.size(); index++) {
+            _vertices.vertexAt(index).dispose();
         }
 
         _vertices.clear();
         _colAdjLists.clear();
 
         _vertices = null;
+        _neighbors = null;
     }
 
     /**
@@ -820,12 +1118,17 @@ public class AdjIncidenceGraphEngine extends AbstractGraphEngine {
      * @return the removed edge, or null if not found
      */
     private Edge internal_removeEdge(Edge edge) {
+        if (!internal_hasEdge(edge))
+            return null;
+
         // adj list update
         internal_removeEdge_adjList(edge);
         // incidence lists update
         internal_removeEdge_incidenceList(edge);
         // edge list update
         _setEdges.remove(edge);
+        _degrees.removeEdge(indexOf(edge.getV1()), indexOf(edge.getV2()));
+
         internal_removeEdge_presenceList(edge);
         return edge;
     }
@@ -847,13 +1150,36 @@ public class AdjIncidenceGraphEngine extends AbstractGraphEngine {
         if (!hasVertex(v1) || !hasVertex(v2))
             return null;
 
+        int index1 = indexOf(v1);
+        int index2 = indexOf(v2);
+        boolean undirected = getGraphType() == EDGE_DIRECTION.UNDIRECTED;
+
+        // the vertices stay adjacent while other multi edges connect them, the presence list
+        // still holds this edge. the neighbor lists move on to the next edge of the pair.
+        ArrayList<Edge> edges = internal_presenceList(v1, v2);
+
+        if (edges != null && edges.size() > 1) {
+            if (edges.get(0) == edge) {
+                _neighbors[index1].replace(index2, edges.get(1));
+
+                if (undirected && index1 != index2)
+                    _neighbors[index2].replace(index1, edges.get(1));
+            }
+
+            return edge;
+        }
+
         // adj list update
         _colAdjLists.get(v1).remove(v2);
+        _neighbors[index1].remove(index2);
 
-
-        if (getGraphType() == EDGE_DIRECTION.UNDIRECTED)
+        if (undirected) {
             _colAdjLists.get(v2).remove(v1);
 
+            if (index1 != index2)
+                _neighbors[index2].remove(index1);
+        }
+
         return edge;
     }
 
@@ -885,10 +1211,176 @@ public class AdjIncidenceGraphEngine extends AbstractGraphEngine {
     }
 
     private Edge internal_removeEdge_presenceList(Edge edge) {
-        ArrayList<Edge> edges = _mapPresenceEdges.get(edge.getDesc());
-        edges.remove(edge);
+        long key = keyOf(edge.getV1(), edge.getV2());
+
+        if (key == EdgeKey.NONE)
+            return null;
+
+        ArrayList<Edge> edges = _mapPresenceEdges.get(key);
+
+        if (edges == null || !edges.remove(edge))
+            return null;
+
+        if (edges.isEmpty())
+            _mapPresenceEdges.remove(key);
 
         return edge;
     }
 
-}
\ No newline at end of file
+    /**
+     * @param index the index of the vertex
+     *
+     * @return the neighbor list of the vertex
+     */
+    private Neighbors internal_neighborsAt(int index) {
+        if (index < 0 || index >= _vertices.size())
+            throw new IndexOutOfBoundsException("vertex index " + index + " out of " + _vertices.size());
+
+        return _neighbors[index];
+    }
+
+    /**
+     * point the neighbor lists that hold a moved vertex at its new index. the vertex is listed
+     * by the sources of its in edges, that are all of its neighbors in an undirected graph.
+     *
+     * @param moved the vertex that was moved
+     * @param from  the previous index of the vertex
+     * @param to    the current index of the vertex
+     */
+    private void internal_rekeyNeighbors(IVertex moved, int from, int to) {
+        for (Edge edge : _inEdges.get(moved)) {
+            IVertex other = (edge.getV1() == moved) ? edge.getV2() : edge.getV1();
+
+            // multi edges list their source once, it may have been re-keyed already
+            _neighbors[_vertices.indexOf(other)].rekey(from, to);
+        }
+    }
+
+    /**
+     * @param v1 the first vertex
+     * @param v2 the second vertex
+     *
+     * @return the edges that connect the vertices, or null if none
+     */
+    private ArrayList<Edge> internal_presenceList(IVertex v1, IVertex v2) {
+        long key = keyOf(v1, v2);
+
+        return (key == EdgeKey.NONE) ? null : _mapPresenceEdges.get(key);
+    }
+
+    /**
+     * re-key the presence lists of the edges of a vertex, after it was moved from
+     * index {@code from} into its current index.
+     *
+     * @param moved the vertex that was moved
+     * @param from  the previous index of the vertex
+     */
+    private void internal_rekeyPresenceList(IVertex moved, int from) {
+        internal_rekeyPresenceList(_outEdges.get(moved), moved, from);
+
+        if (_inEdges != _outEdges)
+            internal_rekeyPresenceList(_inEdges.get(moved), moved, from);
+    }
+
+    private void internal_rekeyPresenceList(Collection<Edge> edges, IVertex moved, int from) {
+        for (Edge edge : edges) {
+            IVertex v1 = edge.getV1();
+            IVertex v2 = edge.getV2();
+
+            int index1 = (v1 == moved) ? from : _vertices.indexOf(v1);
+            int index2 = (v2 == moved) ? from : _vertices.indexOf(v2);
+
+            // multi edges and self loops share a list, that may have been moved already
+            ArrayList<Edge> list = _mapPresenceEdges.remove(EdgeKey.of(index1, index2, getGraphType()));
+
+            if (list != null)
+                _mapPresenceEdges.put(keyOf(v1, v2), list);
+        }
+    }
+
+    /**
+     * @param v1 the first vertex
+     * @param v2 the second vertex
+     *
+     * @return the {@link EdgeKey} of {@code (v1, v2)}, or {@link EdgeKey#NONE} if
+     *         one of the vertices is not in the graph
+     */
+    private long keyOf(IVertex v1, IVertex v2) {
+        int index1 = _vertices.indexOf(v1);
+        int index2 = _vertices.indexOf(v2);
+
+        if (index1 == -1 || index2 == -1)
+            return EdgeKey.NONE;
+
+        return EdgeKey.of(index1, index2, getGraphType());
+    }
+
+    /**
+     * the distinct neighbors of a vertex, by index, and the edge that {@link #getEdge(IVertex, IVertex)}
+     * returns for every one of them. a neighbor is found by a scan of the indices, which is a tight
+     * loop over an {@code int} array.
+     */
+    protected static final class Neighbors {
+        int[] targets;
+        Edge[] edges;
+        int size = 0;
+
+        Neighbors(int capacity) {
+            targets = new int[capacity];
+            edges = new Edge[capacity];
+        }
+
+        Neighbors(Neighbors source) {
+            targets = Arrays.copyOf(source.targets, Math.max(source.size, 1));
+            edges = Arrays.copyOf(source.edges, Math.max(source.size, 1));
+            size = source.size;
+        }
+
+        void add(int target, Edge edge) {
+            if (size == targets.length) {
+                targets = Arrays.copyOf(targets, Math.max(size << 1, 4));
+                edges = Arrays.copyOf(edges, targets.length);
+            }
+
+            targets[size] = target;
+            edges[size++] = edge;
+        }
+
+        void remove(int target) {
+            int slot = slotOf(target);
+
+            if (slot == -1)
+                return;
+
+            // the last neighbor fills the slot
+            size--;
+            targets[slot] = targets[size];
+            edges[slot] = edges[size];
+            edges[size] = null;
+        }
+
+        void replace(int target, Edge edge) {
+            int slot = slotOf(target);
+
+            if (slot != -1)
+                edges[slot] = edge;
+        }
+
+        void rekey(int from, int to) {
+            int slot = slotOf(from);
+
+            if (slot != -1)
+                targets[slot] = to;
+        }
+
+        private int slotOf(int target) {
+            for (int i = 0; i < size; i++) {
+                if (targets[i] == target)
+                    return i;
+            }
+
+            return -1;
+        }
+    }
+
+}
@@ -0,0 +1,1275 @@
+package com.hendrix.erdos.graphs.engines;
+
+import com.hendrix.collection.LongObjectHashMap;
+import com.hendrix.erdos.exceptions.GraphException;
+import com.hendrix.erdos.exceptions.VertexNotFoundException;
+import com.hendrix.erdos.graphs.IGraph;
+import com.hendrix.erdos.types.Edge;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.IVertex;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/**
+ * an <b>Adjacency matrix</b> graph engine, for dense graphs. every vertex keeps its adjacency as a
+ * row of bits, one {@code long} per 64 vertices, so {@link #hasEdge(IVertex, IVertex)} is a single
+ * bit test and whole rows can be combined with word parallel {@code AND/OR}, see {@link #rowOf(int)}.
+ * <ul>
+ *     <li/>directed graphs also keep the transposed rows, for the in adjacency.
+ *     <li/>weights are kept in a parallel {@code float} matrix, that is only allocated once an edge
+ *     with a non zero weight is added.
+ *     <li/>edges are not stored, they are materialized from the bits on demand, as {@link MatrixEdge}s, so
+ *     queries return equal, but not the same, edge instances. edges are equal by their vertices, and write
+ *     their weight, tag and data through to the engine. multi edges are not supported.
+ *     <li/>the tags and data of edges are kept in a sparse map by vertex indices, that is only allocated once
+ *     an edge has a tag or data.
+ *     <li/>memory is {@code O(V^2)} bits, and {@code O(V^2)} floats for weighted graphs.
+ * </ul>
+ *
+ * @author Tomer Shalev
+ * @see com.hendrix.erdos.utils.SMatrixUtils#adjacencyBitsOf(com.hendrix.erdos.graphs.IGraph, boolean)
+ */
+@SuppressWarnings("UnusedDeclaration")
+public class BitMatrixGraphEngine extends AbstractGraphEngine {
+    private static final AtomicInteger _instances   = new AtomicInteger();
+
+    /**
+     * the vertices of the graph, with their dense indices
+     */
+    protected VertexIndex _vertices = null;
+    /**
+     * the out adjacency rows, by vertex index
+     */
+    protected long[][] _rows = null;
+    /**
+     * the in adjacency rows, the out rows for undirected graphs
+     */
+    protected long[][] _columns = null;
+    /**
+     * the weights matrix, {@code null} while all of the weights are zero
+     */
+    protected float[][] _weights = null;
+    /**
+     * the tag and data of edges by {@link #cellOf(int, int)}, {@code null} while no edge has any
+     */
+    protected LongObjectHashMap<Object[]> _attributes = null;
+    /**
+     * the number of vertices the rows can hold
+     */
+    protected int _capacity = 0;
+    protected int _numEdges = 0;
+    /**
+     * a unique number of the engine, that prefixes the identifiers of its edges
+     */
+    private final int _serial = _instances.getAndIncrement();
+
+    public BitMatrixGraphEngine() {
+        this(64);
+    }
+
+    /**
+     * @param expectedVertices the number of vertices to hold without resizing
+     */
+    public BitMatrixGraphEngine(int expectedVertices) {
+        _capacity   = Math.max(64, (expectedVertices + 63) & ~63);
+        _vertices   = new VertexIndex(expectedVertices);
+        _rows       = new long[_capacity][_capacity >>> 6];
+        _columns    = new long[_capacity][_capacity >>> 6];
+    }
+
+    /**
+     * set the graph that this engine works for.
+     *
+     * @param graph the graph
+     *
+     * @throws GraphException if the graph supports multi edges
+     */
+    @Override
+    public void setGraph(IGraph graph) {
+        super.setGraph(graph);
+
+        if(graph.hasMultiEdges())
+            throw new GraphException("bit matrix engine does not support multi edges", graph);
+
+        if(getGraphType() == EDGE_DIRECTION.UNDIRECTED)
+            _columns = _rows;
+    }
+
+    /**
+     * get the out adjacency row of a vertex, bit {@code j} is set if there is an edge to the vertex at index {@code j}.
+     * the row is backed by the engine, it must not be changed, and it is replaced when the engine grows.
+     * bits of indices {@code >= numVertices()} are clear.
+     *
+     * @param index the index of the vertex
+     *
+     * @return the row, of {@link #wordsPerRow()} words or more
+     */
+    public long[] rowOf(int index) {
+        validateIndex(index);
+
+        return _rows[index];
+    }
+
+    /**
+     * get the in adjacency row of a vertex, bit {@code j} is set if there is an edge from the vertex at index {@code j}.
+     * it is the out row for undirected graphs.
+     *
+     * @param index the index of the vertex
+     *
+     * @return the row, of {@link #wordsPerRow()} words or more
+     *
+     * @see #rowOf(int)
+     */
+    public long[] columnOf(int index) {
+        validateIndex(index);
+
+        return _columns[index];
+    }
+
+    /**
+     * @return the number of words that hold the bits of all of the vertices
+     */
+    public int wordsPerRow() {
+        return (_vertices.size() + 63) >>> 6;
+    }
+
+    /**
+     * @param i the index of the first vertex
+     * @param j the index of the second vertex
+     *
+     * @return {@code true} if there is an edge {@code (i, j)}
+     */
+    public boolean hasEdge(int i, int j) {
+        return testBit(_rows[i], j);
+    }
+
+    /**
+     * @param i the index of the first vertex
+     * @param j the index of the second vertex
+     *
+     * @return the weight of the edge {@code (i, j)}, or {@code 0} if there is none
+     */
+    public float weightAt(int i, int j) {
+        return (_weights == null) ? 0f : _weights[i][j];
+    }
+
+    /**
+     * @return {@code true} if the weights matrix was allocated
+     */
+    public boolean isWeighted() {
+        return _weights != null;
+    }
+
+    @Override
+    public Iterator<IVertex> iterator() {
+        return new VerticesIterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * changes that are made to this collection will reflect
+     * changes to the edges of the graph (removal wise)
+     */
+    @Override
+    public Collection<IVertex> vertices() {
+        return (verticesView == null) ? verticesView = new VerticesView() : verticesView;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * the edges are materialized while iterating
+     */
+    @Override
+    public Collection<Edge> edges() {
+        return (edgesView == null) ? edgesView = new EdgesView() : edgesView;
+    }
+
+    @Override
+    public Collection<IVertex> getNeighborsOf(IVertex vertex) {
+        return new NeighborsView(validateVertex(vertex));
+    }
+
+    @Override
+    public Collection<Edge> getIncidenceOutListOf(IVertex vertex) {
+        return new IncidenceView(validateVertex(vertex), false);
+    }
+
+    @Override
+    public Collection<Edge> getIncidenceInListOf(IVertex vertex) {
+        return new IncidenceView(validateVertex(vertex), true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachNeighbor(int vertexIndex, IntConsumer consumer) {
+        long[] row  = rowOf(vertexIndex);
+        int words   = wordsPerRow();
+
+        for (int k = 0; k < words; k++) {
+            for (long word = row[k]; word != 0; word &= word - 1) {
+                consumer.accept((k << 6) + Long.numberOfTrailingZeros(word));
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public NeighborCursor neighborCursor() {
+        return new BitNeighborCursor();
+    }
+
+    @Override
+    public boolean hasVertex(IVertex vertex) {
+        return _vertices.contains(vertex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int indexOf(IVertex vertex) {
+        return _vertices.indexOf(vertex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IVertex vertexAt(int index) {
+        return _vertices.vertexAt(index);
+    }
+
+    @Override
+    public boolean addVertex(IVertex vertex) {
+        if(_vertices.size() == _capacity && !hasVertex(vertex))
+            grow(_capacity << 1);
+
+        return _vertices.add(vertex) != -1;
+    }
+
+    @Override
+    public boolean removeVertex(IVertex vertex) {
+        int index       = indexOf(vertex);
+
+        if(index == -1)
+            return false;
+
+        boolean directed = _columns != _rows;
+
+        // unlink the vertex
+        _numEdges       -= countEdgesOf(index, directed);
+
+        if(_attributes != null) {
+            forEachBit(_rows[index], j -> _attributes.remove(cellOf(index, j)));
+            forEachBit(_columns[index], j -> _attributes.remove(cellOf(j, index)));
+        }
+
+        forEachBit(_rows[index], j -> {
+            if(j != index)
+                clearBit(_columns[j], index);
+        });
+
+        forEachBit(_columns[index], j -> {
+            if(j != index)
+                clearBit(_rows[j], index);
+
+            if(_weights != null)
+                _weights[j][index] = 0f;
+        });
+
+        Arrays.fill(_rows[index], 0L);
+        Arrays.fill(_columns[index], 0L);
+
+        if(_weights != null)
+            Arrays.fill(_weights[index], 0f);
+
+        _vertices.remove(vertex);
+
+        int last        = _vertices.size();
+
+        if(index != last)
+            relabel(last, index, directed);
+
+        return true;
+    }
+
+    @Override
+    public boolean hasEdge(IVertex v1, IVertex v2) {
+        int i = indexOf(v1);
+        int j = indexOf(v2);
+
+        return i != -1 && j != -1 && testBit(_rows[i], j);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * edges are compared by their vertices, since they are not stored
+     */
+    @Override
+    public boolean hasEdge(Edge edge) {
+        return edge != null && edge.getEdgeType() == getGraphType() && hasEdge(edge.getV1(), edge.getV2());
+    }
+
+    @Override
+    public Edge addEdge(IVertex v1, IVertex v2) {
+        return addEdge(v1, v2, 0f);
+    }
+
+    @Override
+    public Edge addEdge(IVertex v1, IVertex v2, float weight) {
+        return addEdge(new Edge(v1, v2, getGraphType(), weight));
+    }
+
+    /**
+     * connect an edge (v1, v2) into the graph, v1 and v2 have to be members. the weight, tag and
+     * data of the edge are copied into the engine.
+     *
+     * @return a {@link MatrixEdge} of the stored edge, or {@code null} if the edge already exists
+     *         or is incompatible with the graph type
+     */
+    @Override
+    public Edge addEdge(Edge edge) {
+        int i = validateVertex(edge.getV1());
+        int j = validateVertex(edge.getV2());
+
+        if(testBit(_rows[i], j))
+            return null;
+
+        if(i == j && !isSelfLoopsSupported())
+            return null;
+
+        if(edge.getEdgeType() != getGraphType())
+            return null;
+
+        setBit(_rows[i], j);
+        setBit(_columns[j], i);
+        internal_setWeight(i, j, edge.getWeight());
+        internal_setAttribute(i, j, 0, edge.getTag());
+        internal_setAttribute(i, j, 1, edge.getData());
+
+        _numEdges++;
+
+        return edgeAt(i, j);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * the vertex index is adopted and the matrix is allocated once, for all of the vertices.
+     */
+    @Override
+    protected void load(VertexIndex vertices, int[] sources, int[] targets, float[] weights, int numEdges) {
+        boolean undirected  = _columns == _rows;
+
+        _capacity           = Math.max(64, (vertices.size() + 63) & ~63);
+        _vertices           = vertices;
+        _rows               = new long[_capacity][_capacity >>> 6];
+        _columns            = undirected ? _rows : new long[_capacity][_capacity >>> 6];
+        _weights            = null;
+        _attributes         = null;
+        _numEdges           = numEdges;
+
+        for (int e = 0; e < numEdges; e++) {
+            int i           = sources[e];
+            int j           = targets[e];
+            float weight    = (weights == null) ? 0f : weights[e];
+
+            setBit(_rows[i], j);
+            setBit(_columns[j], i);
+
+            if(weight != 0f && _weights == null)
+                _weights = new float[_capacity][_capacity];
+
+            if(_weights != null) {
+                _weights[i][j] = weight;
+
+                if(undirected)
+                    _weights[j][i] = weight;
+            }
+        }
+    }
+
+    @Override
+    public Edge removeEdge(IVertex v1, IVertex v2) {
+        int i = indexOf(v1);
+        int j = indexOf(v2);
+
+        if(i == -1 || j == -1 || !testBit(_rows[i], j))
+            return null;
+
+        Edge edge = edgeAt(i, j);
+
+        internal_removeEdge(i, j);
+
+        return edge;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * a {@link MatrixEdge} keeps the weight, tag and data of the edge.
+     */
+    @Override
+    public Edge removeEdge(Edge edge) {
+        if(!hasEdge(edge))
+            return null;
+
+        int i = indexOf(edge.getV1());
+        int j = indexOf(edge.getV2());
+
+        if(edge instanceof MatrixEdge)
+            ((MatrixEdge) edge).detach(i, j);
+
+        internal_removeEdge(i, j);
+
+        return edge;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * there is at most one edge between two vertices
+     */
+    @Override
+    public Collection<Edge> removeMultiEdges(IVertex u, IVertex v) {
+        Edge edge = removeEdge(u, v);
+
+        return (edge == null) ? new ArrayList<Edge>() : new ArrayList<>(Collections.singletonList(edge));
+    }
+
+    @Override
+    public Edge getEdge(IVertex v1, IVertex v2) {
+        int i = indexOf(v1);
+        int j = indexOf(v2);
+
+        if(i == -1 || j == -1 || !testBit(_rows[i], j))
+            return null;
+
+        return edgeAt(i, j);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * there is at most one edge between two vertices
+     */
+    @Override
+    public Collection<Edge> getMultiEdges(IVertex u, IVertex v) {
+        Edge edge = getEdge(u, v);
+
+        return (edge == null) ? Collections.<Edge>emptyList() : Collections.singletonList(edge);
+    }
+
+    @Override
+    public int numVertices() {
+        return _vertices.size();
+    }
+
+    @Override
+    public int numEdges() {
+        return _numEdges;
+    }
+
+    @Override
+    public void clear() {
+        for (int index = 0; index < _vertices.size(); index++) {
+            Arrays.fill(_rows[index], 0L);
+            Arrays.fill(_columns[index], 0L);
+        }
+
+        _vertices.clear();
+        _weights    = null;
+        _attributes = null;
+        _numEdges   = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * the rows and the weights are copied right away, with array copies.
+     */
+    @Override
+    public BitMatrixGraphEngine copy(boolean copyOnWrite) {
+        BitMatrixGraphEngine copy   = new BitMatrixGraphEngine(0);
+        boolean directed            = _columns != _rows;
+
+        copy._vertices              = new VertexIndex(_vertices);
+        copy._capacity              = _capacity;
+        copy._numEdges              = _numEdges;
+        copy._rows                  = new long[_capacity][];
+        copy._columns               = directed ? new long[_capacity][] : copy._rows;
+        copy._weights               = (_weights == null) ? null : new float[_capacity][];
+        copy._attributes            = (_attributes == null) ? null : new LongObjectHashMap<>(_attributes, Object[]::clone);
+
+        for (int i = 0; i < _capacity; i++) {
+            copy._rows[i]           = _rows[i].clone();
+
+            if(directed)
+                copy._columns[i]    = _columns[i].clone();
+
+            if(_weights != null)
+                copy._weights[i]    = _weights[i].clone();
+        }
+
+        return copy;
+    }
+
+    /**
+     * @param vertex the vertex in question
+     * @return the out degree of the vertex
+     */
+    @Override
+    public int outDegreeOfVertex(IVertex vertex) {
+        return bitCount(_rows[validateVertex(vertex)]);
+    }
+
+    /**
+     * @param vertex the vertex in question
+     * @return the in degree of the vertex
+     */
+    @Override
+    public int inDegreeOfVertex(IVertex vertex) {
+        return bitCount(_columns[validateVertex(vertex)]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void dispose() {
+        for (int index = 0; index < _vertices.size(); index++) {
+            _vertices.vertexAt(index).dispose();
+        }
+
+        _vertices.clear();
+        _rows       = new long[0][];
+        _columns    = _rows;
+        _weights    = null;
+        _attributes = null;
+        _capacity   = 0;
+        _numEdges   = 0;
+    }
+
+    /**
+     * @return a new edge for the bit {@code (i, j)}
+     */
+    protected Edge edgeAt(int i, int j) {
+        return new MatrixEdge(i, j);
+    }
+
+    private void internal_removeEdge(int i, int j) {
+        clearBit(_rows[i], j);
+        clearBit(_columns[j], i);
+
+        if(_weights != null) {
+            _weights[i][j] = 0f;
+            _weights[j][i] = (_columns == _rows) ? 0f : _weights[j][i];
+        }
+
+        if(_attributes != null)
+            _attributes.remove(cellOf(i, j));
+
+        _numEdges--;
+    }
+
+    private void internal_setWeight(int i, int j, float weight) {
+        if(weight != 0f && _weights == null)
+            _weights = new float[_capacity][_capacity];
+
+        if(_weights != null) {
+            _weights[i][j] = weight;
+
+            if(_columns == _rows)
+                _weights[j][i] = weight;
+        }
+    }
+
+    /**
+     * @return the tag ({@code 0}) or data ({@code 1}) of the edge {@code (i, j)}
+     */
+    private Object internal_attribute(int i, int j, int attribute) {
+        Object[] attributes = (_attributes == null) ? null : _attributes.get(cellOf(i, j));
+
+        return (attributes == null) ? null : attributes[attribute];
+    }
+
+    private void internal_setAttribute(int i, int j, int attribute, Object value) {
+        long cell           = cellOf(i, j);
+        Object[] attributes = (_attributes == null) ? null : _attributes.get(cell);
+
+        if(attributes == null) {
+            if(value == null)
+                return;
+
+            if(_attributes == null)
+                _attributes = new LongObjectHashMap<>();
+
+            _attributes.put(cell, attributes = new Object[2]);
+        }
+
+        attributes[attribute] = value;
+
+        if(attributes[0] == null && attributes[1] == null)
+            _attributes.remove(cell);
+    }
+
+    /**
+     * @return the key of the edge {@code (i, j)} in the attributes, the vertices of undirected edges are ordered
+     */
+    private long cellOf(int i, int j) {
+        if(_columns == _rows && j < i)
+            return ((long) j << 32) | i;
+
+        return ((long) i << 32) | j;
+    }
+
+    /**
+     * @return the number of edges of a vertex, a self loop is counted once
+     */
+    private int countEdgesOf(int index, boolean directed) {
+        int count   = bitCount(_rows[index]);
+
+        if(directed)
+            count   += bitCount(_columns[index]) - (testBit(_rows[index], index) ? 1 : 0);
+
+        return count;
+    }
+
+    /**
+     * move the last vertex from index {@code from} into the freed index {@code to}
+     */
+    private void relabel(int from, int to, boolean directed) {
+        if(_attributes != null && !_attributes.isEmpty()) {
+            forEachBit(_rows[from], j -> moveAttributes(cellOf(from, j), cellOf(to, (j == from) ? to : j)));
+
+            if(directed) {
+                forEachBit(_columns[from], j -> {
+                    if(j != from)
+                        moveAttributes(cellOf(j, from), cellOf(j, to));
+                });
+            }
+        }
+
+        forEachBit(_rows[from], j -> {
+            if(j != from) {
+                clearBit(_columns[j], from);
+                setBit(_columns[j], to);
+            }
+        });
+
+        forEachBit(_columns[from], j -> {
+            if(j != from) {
+                clearBit(_rows[j], from);
+                setBit(_rows[j], to);
+
+                if(_weights != null) {
+                    _weights[j][to]     = _weights[j][from];
+                    _weights[j][from]   = 0f;
+                }
+            }
+        });
+
+        swap(_rows, from, to);
+
+        if(directed)
+            swap(_columns, from, to);
+
+        if(_weights != null)
+            swap(_weights, from, to);
+
+        if(testBit(_rows[to], from)) {
+            clearBit(_rows[to], from);
+            setBit(_rows[to], to);
+
+            if(directed) {
+                clearBit(_columns[to], from);
+                setBit(_columns[to], to);
+            }
+
+            if(_weights != null) {
+                _weights[to][to]    = _weights[to][from];
+                _weights[to][from]  = 0f;
+            }
+        }
+    }
+
+    private void moveAttributes(long from, long to) {
+        Object[] attributes = _attributes.remove(from);
+
+        if(attributes != null)
+            _attributes.put(to, attributes);
+    }
+
+    private void grow(int capacity) {
+        int words       = capacity >>> 6;
+        long[][] rows   = new long[capacity][];
+
+        for (int i = 0; i < capacity; i++) {
+            rows[i]     = (i < _capacity) ? Arrays.copyOf(_rows[i], words) : new long[words];
+        }
+
+        if(_columns != _rows) {
+            long[][] columns = new long[capacity][];
+
+            for (int i = 0; i < capacity; i++) {
+                columns[i] = (i < _capacity) ? Arrays.copyOf(_columns[i], words) : new long[words];
+            }
+
+            _columns    = columns;
+        } else {
+            _columns    = rows;
+        }
+
+        _rows           = rows;
+
+        if(_weights != null) {
+            float[][] weights = new float[capacity][];
+
+            for (int i = 0; i < capacity; i++) {
+                weights[i] = (i < _capacity) ? Arrays.copyOf(_weights[i], capacity) : new float[capacity];
+            }
+
+            _weights    = weights;
+        }
+
+        _capacity       = capacity;
+    }
+
+    private int validateVertex(IVertex vertex) {
+        int index = indexOf(vertex);
+
+        if(index == -1)
+            throw new VertexNotFoundException(vertex, getGraph());
+
+        return index;
+    }
+
+    private void validateIndex(int index) {
+        if(index < 0 || index >= _vertices.size())
+            throw new IndexOutOfBoundsException("vertex index " + index + ", size " + _vertices.size());
+    }
+
+    private void forEachBit(long[] row, IntConsumer consumer) {
+        int words = wordsPerRow();
+
+        for (int k = 0; k < words; k++) {
+            for (long word = row[k]; word != 0; word &= word - 1) {
+                consumer.accept((k << 6) + Long.numberOfTrailingZeros(word));
+            }
+        }
+    }
+
+    private int bitCount(long[] row) {
+        int count = 0;
+        int words = wordsPerRow();
+
+        for (int k = 0; k < words; k++) {
+            count += Long.bitCount(row[k]);
+        }
+
+        return count;
+    }
+
+    private static <T> void swap(T[] array, int i, int j) {
+        T tmp       = array[i];
+
+        array[i]    = array[j];
+        array[j]    = tmp;
+    }
+
+    private static boolean testBit(long[] row, int bit) {
+        return (row[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    private static void setBit(long[] row, int bit) {
+        row[bit >>> 6] |= 1L << bit;
+    }
+
+    private static void clearBit(long[] row, int bit) {
+        row[bit >>> 6] &= ~(1L << bit);
+    }
+
+    /**
+     * an edge that is materialized from the bits. its weight, tag and data are read from, and written to,
+     * the engine, as long as its vertices are connected. edges of the same vertices are equal, and have the
+     * same identifier.
+     * <p/>
+     * once the edge is removed, it keeps the weight, tag and data it was materialized with, or that were
+     * set through it, in its own fields, like any other edge.
+     */
+    public final class MatrixEdge extends Edge {
+        private final BitMatrixGraphEngine _engine = BitMatrixGraphEngine.this;
+
+        private MatrixEdge(int i, int j) {
+            super(vertexAt(i), vertexAt(j), getGraphType(), null);
+
+            detach(i, j);
+        }
+
+        @Override
+        public float getWeight() {
+            int i = indexOf(_v1);
+            int j = indexOf(_v2);
+
+            return isEdge(i, j) ? weightAt(i, j) : super.getWeight();
+        }
+
+        @Override
+        public void setWeight(float weight) {
+            int i = indexOf(_v1);
+            int j = indexOf(_v2);
+
+            if(isEdge(i, j))
+                internal_setWeight(i, j, weight);
+
+            super.setWeight(weight);
+        }
+
+        @Override
+        public String getTag() {
+            int i = indexOf(_v1);
+            int j = indexOf(_v2);
+
+            return isEdge(i, j) ? (String) internal_attribute(i, j, 0) : super.getTag();
+        }
+
+        @Override
+        public void setTag(String tag) {
+            int i = indexOf(_v1);
+            int j = indexOf(_v2);
+
+            if(isEdge(i, j))
+                internal_setAttribute(i, j, 0, tag);
+
+            super.setTag(tag);
+        }
+
+        @Override
+        public Object getData() {
+            int i = indexOf(_v1);
+            int j = indexOf(_v2);
+
+            return isEdge(i, j) ? internal_attribute(i, j, 1) : super.getData();
+        }
+
+        @Override
+        public void setData(Object data) {
+            int i = indexOf(_v1);
+            int j = indexOf(_v2);
+
+            if(isEdge(i, j))
+                internal_setAttribute(i, j, 1, data);
+
+            super.setData(data);
+        }
+
+        /**
+         * the identifier is made of the engine and the vertices, so it is created on demand
+         */
+        @Override
+        public String getId() {
+            return "m" + _serial + "." + getDesc();
+        }
+
+        @Override
+        public boolean hasId() {
+            return true;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if(this == o)
+                return true;
+
+            if(!(o instanceof MatrixEdge))
+                return false;
+
+            MatrixEdge other = (MatrixEdge) o;
+
+            if(other._engine != _engine)
+                return false;
+
+            return (other._v1.equals(_v1) && other._v2.equals(_v2))
+                    || (getEdgeType() == EDGE_DIRECTION.UNDIRECTED && other._v1.equals(_v2) && other._v2.equals(_v1));
+        }
+
+        @Override
+        public int hashCode() {
+            // symmetric for undirected edges
+            return (getEdgeType() == EDGE_DIRECTION.UNDIRECTED) ? _v1.hashCode() + _v2.hashCode()
+                                                                : 31 * _v1.hashCode() + _v2.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            String tag = getTag();
+
+            return (tag != null) ? tag : super.toString();
+        }
+
+        private boolean isEdge(int i, int j) {
+            return i != -1 && j != -1 && testBit(_rows[i], j);
+        }
+
+        /**
+         * copy the state of the edge {@code (i, j)} into the fields of the edge
+         */
+        void detach(int i, int j) {
+            super.setWeight(weightAt(i, j));
+            super.setTag((String) internal_attribute(i, j, 0));
+            super.setData(internal_attribute(i, j, 1));
+        }
+    }
+
+    /**
+     * responsive/modifiable collection views for iteration outside
+     * the class.
+     */
+    transient volatile Collection<IVertex> verticesView;
+    transient volatile Collection<Edge> edgesView;
+
+    /**
+     * vertices view
+     */
+    public class VerticesView extends AbstractCollection<IVertex> {
+
+        @SuppressWarnings("NullableProblems")
+        @Override
+        public Iterator<IVertex> iterator() {
+            return new VerticesIterator();
+        }
+
+        public int size() {
+            return _vertices.size();
+        }
+
+        public boolean contains(Object o) {
+            return (o instanceof IVertex) && hasVertex((IVertex) o);
+        }
+
+        public boolean add(IVertex vertex) {
+            return addVertex(vertex);
+        }
+
+        public boolean remove(Object o) {
+            return (o instanceof IVertex) && removeVertex((IVertex) o);
+        }
+    }
+
+    /**
+     * iterates the vertices by their index. removing a vertex moves the last
+     * vertex into its index, so the iterator visits that index again.
+     */
+    protected class VerticesIterator implements Iterator<IVertex> {
+        private int _cursor = 0;
+        private IVertex _current = null;
+
+        @Override
+        public boolean hasNext() {
+            return _cursor < _vertices.size();
+        }
+
+        @Override
+        public IVertex next() {
+            if(!hasNext())
+                throw new NoSuchElementException();
+
+            return _current = _vertices.vertexAt(_cursor++);
+        }
+
+        @Override
+        public void remove() {
+            if(_current == null)
+                throw new IllegalStateException();
+
+            removeVertex(_current);
+            _current = null;
+            _cursor--;
+        }
+    }
+
+    /**
+     * iterates the set bits of a row
+     */
+    protected class BitIterator {
+        private final long[] _row;
+        private final int _words;
+        private int _word = 0;
+        private long _bits;
+
+        public BitIterator(long[] row) {
+            _row    = row;
+            _words  = wordsPerRow();
+            _bits   = (_words > 0) ? row[0] : 0L;
+        }
+
+        public boolean hasNext() {
+            while (_bits == 0) {
+                if(++_word >= _words)
+                    return false;
+
+                _bits = _row[_word];
+            }
+
+            return true;
+        }
+
+        /**
+         * @return the next set bit
+         */
+        public int next() {
+            if(!hasNext())
+                throw new NoSuchElementException();
+
+            int bit = (_word << 6) + Long.numberOfTrailingZeros(_bits);
+
+            _bits   &= _bits - 1;
+
+            return bit;
+        }
+    }
+
+    /**
+     * edges view, undirected edges are reported once, from their lower index
+     */
+    public class EdgesView extends AbstractCollection<Edge> {
+
+        @SuppressWarnings("NullableProblems")
+        @Override
+        public Iterator<Edge> iterator() {
+            return new Iterator<Edge>() {
+                private int _source = -1;
+                private BitIterator _bits = null;
+                private int _nextTarget = -1;
+                private Edge _current = null;
+
+                @Override
+                public boolean hasNext() {
+                    while (_nextTarget == -1) {
+                        while (_bits == null || !_bits.hasNext()) {
+                            if(++_source >= _vertices.size())
+                                return false;
+
+                            _bits = new BitIterator(_rows[_source]);
+                        }
+
+                        int target = _bits.next();
+
+                        if(_columns != _rows || target >= _source)
+                            _nextTarget = target;
+                    }
+
+                    return true;
+                }
+
+                @Override
+                public Edge next() {
+                    if(!hasNext())
+                        throw new NoSuchElementException();
+
+                    _current    = edgeAt(_source, _nextTarget);
+                    _nextTarget = -1;
+
+                    return _current;
+                }
+
+                @Override
+                public void remove() {
+                    if(_current == null)
+                        throw new IllegalStateException();
+
+                    internal_removeEdge(indexOf(_current.getV1()), indexOf(_current.getV2()));
+                    _current = null;
+                }
+            };
+        }
+
+        public int size() {
+            return _numEdges;
+        }
+
+        public boolean contains(Object o) {
+            return (o instanceof Edge) && hasEdge((Edge) o);
+        }
+
+        public boolean add(Edge edge) {
+            return addEdge(edge) != null;
+        }
+
+        public boolean remove(Object o) {
+            return (o instanceof Edge) && removeEdge((Edge) o) != null;
+        }
+    }
+
+    /**
+     * read only view of the neighbors of a vertex
+     */
+    public class NeighborsView extends AbstractCollection<IVertex> {
+        private final int _index;
+
+        public NeighborsView(int index) {
+            _index = index;
+        }
+
+        @SuppressWarnings("NullableProblems")
+        @Override
+        public Iterator<IVertex> iterator() {
+            final BitIterator bits = new BitIterator(_rows[_index]);
+
+            return new Iterator<IVertex>() {
+                @Override
+                public boolean hasNext() {
+                    return bits.hasNext();
+                }
+
+                @Override
+                public IVertex next() {
+                    return vertexAt(bits.next());
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException("removing a vertex directly to the adj list is not supported!! use graph methods instead");
+                }
+            };
+        }
+
+        public int size() {
+            return bitCount(_rows[_index]);
+        }
+
+        public boolean contains(Object o) {
+            int index = (o instanceof IVertex) ? indexOf((IVertex) o) : -1;
+
+            return index != -1 && testBit(_rows[_index], index);
+        }
+    }
+
+    /**
+     * read only view of the incident edges of a vertex
+     */
+    public class IncidenceView extends AbstractCollection<Edge> {
+        private final int _index;
+        private final boolean _in;
+
+        public IncidenceView(int index, boolean in) {
+            _index  = index;
+            _in     = in && _columns != _rows;
+        }
+
+        @SuppressWarnings("NullableProblems")
+        @Override
+        public Iterator<Edge> iterator() {
+            final BitIterator bits = new BitIterator(_in ? _columns[_index] : _rows[_index]);
+
+            return new Iterator<Edge>() {
+                @Override
+                public boolean hasNext() {
+                    return bits.hasNext();
+                }
+
+                @Override
+                public Edge next() {
+                    int other = bits.next();
+
+                    return _in ? edgeAt(other, _index) : edgeAt(_index, other);
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException("removing an edge directly from the incidence list is not supported!! use graph methods instead");
+                }
+            };
+        }
+
+        public int size() {
+            return bitCount(_in ? _columns[_index] : _rows[_index]);
+        }
+
+        public boolean contains(Object o) {
+            if(!(o instanceof Edge))
+                return false;
+
+            Edge edge   = (Edge) o;
+            int i       = indexOf(edge.getV1());
+            int j       = indexOf(edge.getV2());
+
+            if(i == -1 || j == -1 || edge.getEdgeType() != getGraphType())
+                return false;
+
+            if(_columns == _rows)
+                return (i == _index || j == _index) && testBit(_rows[i], j);
+
+            return (_in ? j : i) == _index && testBit(_rows[i], j);
+        }
+    }
+
+    /**
+     * neighbor cursor over the bits of a row
+     */
+    protected class BitNeighborCursor implements NeighborCursor {
+        private int _source;
+        private long[] _row;
+        private int _words;
+        private int _word;
+        private long _bits;
+        private int _target;
+
+        @Override
+        public NeighborCursor reset(int vertexIndex) {
+            _source = vertexIndex;
+            _row    = rowOf(vertexIndex);
+            _words  = wordsPerRow();
+            _word   = 0;
+            _bits   = (_words > 0) ? _row[0] : 0L;
+
+            return this;
+        }
+
+        @Override
+        public boolean next() {
+            while (_bits == 0) {
+                if(++_word >= _words)
+                    return false;
+
+                _bits = _row[_word];
+            }
+
+            _target = (_word << 6) + Long.numberOfTrailingZeros(_bits);
+            _bits   &= _bits - 1;
+
+            return true;
+        }
+
+        @Override
+        public int target() {
+            return _target;
+        }
+
+        @Override
+        public float weight() {
+            return weightAt(_source, _target);
+        }
+
+        @Override
+        public Edge edge() {
+            return edgeAt(_source, _target);
+        }
+    }
+
+}
@@ -0,0 +1,1227 @@
+package com.hendrix.erdos.graphs.engines;
+
+import com.hendrix.erdos.exceptions.VertexNotFoundException;
+import com.hendrix.erdos.graphs.IGraph;
+import com.hendrix.erdos.types.Edge;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.IVertex;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/**
+ * a graph engine for very large graphs, that keeps its edges in an {@link EdgeStore}, a set of
+ * parallel primitive columns indexed by edge number, instead of as objects:
+ * <ul>
+ *     <li/>every vertex keeps the edge numbers of its edges, in an {@code int} array per direction.
+ *     the edges of multi edges are kept next to each other.
+ *     <li/>{@link Edge} instances are created on demand, when the public API returns them, as
+ *     {@link ColumnarEdge} flyweights that read and write the columns of their edge. the
+ *     {@link NeighborCursor} and {@link #forEachNeighbor(int, IntConsumer)} do not create them at all.
+ *     <li/>an edge has a single flyweight, that is kept once it is created, until the edge is removed.
+ *     every removal detaches it, so the edges that callers hold keep their weight, tag and data, and
+ *     never read the columns of another edge that reuses the edge number.
+ *     <li/>edges that are passed to the engine are copied into the columns, and are matched by
+ *     their vertices, so in multi edge graphs they stand for the first edge between them.
+ * </ul>
+ * an unweighted edge takes 16 bytes, the columns and its number in both of its vertices. edge
+ * queries scan the edges of the endpoint with the lower degree.
+ *
+ * @author Tomer Shalev
+ * @see EdgeStore
+ */
+@SuppressWarnings("UnusedDeclaration")
+public class ColumnarGraphEngine extends AbstractGraphEngine {
+    private static final int[] NO_EDGES             = new int[0];
+    private static final AtomicInteger _instances   = new AtomicInteger();
+
+    /**
+     * the vertices of the graph, with their dense indices
+     */
+    protected VertexIndex _vertices = null;
+    protected EdgeStore _store = null;
+    /**
+     * the flyweights that were created, by edge number, {@code null} until the first one is created
+     */
+    protected ColumnarEdge[] _flyweights = null;
+    /**
+     * the out edge numbers of every vertex by vertex index, and the number of them
+     */
+    protected int[][] _out = null;
+    protected int[] _outSizes = null;
+    /**
+     * the number of distinct out neighbors of every vertex
+     */
+    protected int[] _outDistinct = null;
+    /**
+     * the in edge numbers of every vertex, the out edge numbers for undirected graphs
+     */
+    protected int[][] _in = null;
+    protected int[] _inSizes = null;
+    /**
+     * the edge counts of every vertex, and their histograms
+     */
+    protected DegreeIndex _degrees = new DegreeIndex(true);
+    /**
+     * a unique number of the engine, that prefixes the identifiers of its edges
+     */
+    private final int _serial = _instances.getAndIncrement();
+
+    public ColumnarGraphEngine() {
+        this(16, 16);
+    }
+
+    /**
+     * @param expectedVertices the initial capacity of vertices
+     * @param expectedEdges    the initial capacity of edges
+     */
+    public ColumnarGraphEngine(int expectedVertices, int expectedEdges) {
+        int capacity    = Math.max(expectedVertices, 16);
+
+        _vertices       = new VertexIndex();
+        _store          = new EdgeStore(expectedEdges);
+        _out            = new int[capacity][];
+        _outSizes       = new int[capacity];
+        _outDistinct    = new int[capacity];
+        _in             = new int[capacity][];
+        _inSizes        = new int[capacity];
+    }
+
+    /**
+     * set the graph that this engine works for.
+     *
+     * @param graph the graph
+     */
+    @Override
+    public void setGraph(IGraph graph) {
+        super.setGraph(graph);
+
+        if(getGraphType() == EDGE_DIRECTION.UNDIRECTED) {
+            _in         = _out;
+            _inSizes    = _outSizes;
+        }
+
+        _degrees.setDirected(_in != _out);
+    }
+
+    /**
+     * the edge columns of the graph, the weight, tag and data of edges may be changed through
+     * them, their endpoints are managed by the engine
+     *
+     * @return the edge store
+     */
+    public EdgeStore edgeStore() {
+        return _store;
+    }
+
+    /**
+     * @param number an edge number
+     *
+     * @return a flyweight of the edge
+     *
+     * @throws IndexOutOfBoundsException if the number does not belong to an edge
+     */
+    public ColumnarEdge edgeAt(int number) {
+        return flyweightOf(number);
+    }
+
+    @Override
+    public Iterator<IVertex> iterator() {
+        return new VerticesIterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * changes that are made to this collection will reflect
+     * changes to the edges of the graph (removal wise)
+     */
+    @Override
+    public Collection<IVertex> vertices() {
+        return (verticesView == null) ? verticesView = new VerticesView() : verticesView;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * changes that are made to this collection will reflect
+     * changes to the vertices of the graph
+     */
+    @Override
+    public Collection<Edge> edges() {
+        return (edgesView == null) ? edgesView = new EdgesView() : edgesView;
+    }
+
+    @Override
+    public Collection<IVertex> getNeighborsOf(IVertex vertex) {
+        return new NeighborsView(validateVertex(vertex));
+    }
+
+    @Override
+    public Collection<Edge> getIncidenceOutListOf(IVertex vertex) {
+        return new IncidenceView(validateVertex(vertex), false);
+    }
+
+    @Override
+    public Collection<Edge> getIncidenceInListOf(IVertex vertex) {
+        return new IncidenceView(validateVertex(vertex), true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachNeighbor(int vertexIndex, IntConsumer consumer) {
+        validateIndex(vertexIndex);
+
+        int[] numbers   = _out[vertexIndex];
+        int size        = _outSizes[vertexIndex];
+        int previous    = -1;
+
+        for (int position = 0; position < size; position++) {
+            int target  = _store.internal_other(numbers[position], vertexIndex);
+
+            // the edges to a neighbor are next to each other
+            if(target != previous)
+                consumer.accept(target);
+
+            previous    = target;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public NeighborCursor neighborCursor() {
+        return new ColumnarNeighborCursor();
+    }
+
+    @Override
+    public boolean hasVertex(IVertex vertex) {
+        return _vertices.contains(vertex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int indexOf(IVertex vertex) {
+        return _vertices.indexOf(vertex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IVertex vertexAt(int index) {
+        return _vertices.vertexAt(index);
+    }
+
+    @Override
+    public boolean addVertex(IVertex vertex) {
+        int index = _vertices.add(vertex);
+
+        if(index == -1)
+            return false;
+
+        if(index == _out.length)
+            growVertices(index << 1);
+
+        _out[index]         = NO_EDGES;
+        _outSizes[index]    = 0;
+        _outDistinct[index] = 0;
+
+        if(_in != _out) {
+            _in[index]      = NO_EDGES;
+            _inSizes[index] = 0;
+        }
+
+        _degrees.addVertex();
+
+        return true;
+    }
+
+    @Override
+    public boolean removeVertex(IVertex vertex) {
+        int index           = indexOf(vertex);
+
+        if(index == -1)
+            return false;
+
+        boolean directed    = _in != _out;
+
+        // unlink the edges of the vertex from its neighbors, a self loop is removed once
+        for (int position = 0; position < _outSizes[index]; position++) {
+            int number      = _out[index][position];
+            int target      = _store.internal_other(number, index);
+
+            if(target != index) {
+                if(directed)
+                    unlink(_in, _inSizes, null, target, number);
+                else
+                    unlink(_out, _outSizes, _outDistinct, target, number);
+            }
+
+            _degrees.removeEdge(index, target);
+            release(number);
+        }
+
+        if(directed) {
+            for (int position = 0; position < _inSizes[index]; position++) {
+                int number  = _in[index][position];
+                int source  = _store.contains(number) ? _store.source(number) : index;
+
+                if(source != index) {
+                    unlink(_out, _outSizes, _outDistinct, source, number);
+                    _degrees.removeEdge(source, index);
+                    release(number);
+                }
+            }
+        }
+
+        _vertices.remove(vertex);
+        _degrees.removeVertex(index);
+
+        int last            = _vertices.size();
+
+        // the last vertex moves into the freed index, its neighbors keep edge numbers, not indices
+        if(index != last) {
+            _out[index]         = _out[last];
+            _outSizes[index]    = _outSizes[last];
+            _outDistinct[index] = _outDistinct[last];
+
+            for (int position = 0; position < _outSizes[index]; position++) {
+                _store.relabel(_out[index][position], last, index);
+            }
+
+            if(directed) {
+                _in[index]      = _in[last];
+                _inSizes[index] = _inSizes[last];
+
+                for (int position = 0; position < _inSizes[index]; position++) {
+                    _store.relabel(_in[index][position], last, index);
+                }
+            }
+        }
+
+        _out[last]          = null;
+        _in[last]           = null;
+
+        return true;
+    }
+
+    @Override
+    public boolean hasEdge(IVertex v1, IVertex v2) {
+        int i = indexOf(v1);
+        int j = indexOf(v2);
+
+        return i != -1 && j != -1 && numberOf(i, j) != -1;
+    }
+
+    @Override
+    public boolean hasEdge(Edge edge) {
+        return numberOf(edge) != -1;
+    }
+
+    @Override
+    public Edge addEdge(IVertex v1, IVertex v2) {
+        return addEdge(v1, v2, 0f);
+    }
+
+    @Override
+    public Edge addEdge(IVertex v1, IVertex v2, float weight) {
+        int i = validateVertex(v1);
+        int j = validateVertex(v2);
+
+        return add(i, j, weight, null, null);
+    }
+
+    /**
+     * connect an edge (v1, v2) into the graph, v1 and v2 have to be members. the weight, tag and
+     * data of the edge are copied into the columns.
+     *
+     * @return a flyweight of the stored edge, or {@code null} if the edge already exists
+     *         or is incompatible with the graph type
+     */
+    @Override
+    public Edge addEdge(Edge edge) {
+        int i = validateVertex(edge.getV1());
+        int j = validateVertex(edge.getV2());
+
+        if(edge.getEdgeType() != getGraphType())
+            return null;
+
+        if(edge instanceof ColumnarEdge && ((ColumnarEdge) edge).isAttachedTo(this))
+            return null;
+
+        return add(i, j, edge.getWeight(), edge.getTag(), edge.getData());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * the vertex index is adopted, and the columns and edge numbers of every vertex are allocated
+     * once, at their final size.
+     */
+    @Override
+    protected void load(VertexIndex vertices, int[] sources, int[] targets, float[] weights, int numEdges) {
+        int n               = vertices.size();
+        int capacity        = Math.max(n, 16);
+        boolean directed    = _in != _out;
+
+        releaseAll();
+
+        _vertices           = vertices;
+        _store              = new EdgeStore(numEdges);
+        _out                = new int[capacity][];
+        _outSizes           = new int[capacity];
+        _outDistinct        = new int[capacity];
+        _in                 = directed ? new int[capacity][] : _out;
+        _inSizes            = directed ? new int[capacity] : _outSizes;
+
+        for (int e = 0; e < numEdges; e++) {
+            _outSizes[sources[e]]++;
+
+            if(directed || sources[e] != targets[e])
+                _inSizes[targets[e]]++;
+        }
+
+        for (int i = 0; i < n; i++) {
+            _out[i]         = new int[_outSizes[i]];
+            _outSizes[i]    = 0;
+
+            if(directed) {
+                _in[i]      = new int[_inSizes[i]];
+                _inSizes[i] = 0;
+            }
+        }
+
+        // the edges are sorted and distinct, so every edge is to a new neighbor
+        for (int e = 0; e < numEdges; e++) {
+            int i           = sources[e];
+            int j           = targets[e];
+            int number      = _store.add(i, j, (weights == null) ? 0f : weights[e]);
+
+            _out[i][_outSizes[i]++] = number;
+            _outDistinct[i]++;
+
+            if(directed)
+                _in[j][_inSizes[j]++]   = number;
+            else if(i != j) {
+                _out[j][_outSizes[j]++] = number;
+                _outDistinct[j]++;
+            }
+        }
+
+        _degrees.load(n, sources, targets, numEdges);
+    }
+
+    @Override
+    public Edge removeEdge(IVertex v1, IVertex v2) {
+        int i       = indexOf(v1);
+        int j       = indexOf(v2);
+        int number  = (i == -1 || j == -1) ? -1 : numberOf(i, j);
+
+        return (number == -1) ? null : remove(number, flyweightOf(number));
+    }
+
+    /**
+     * remove an edge from the graph
+     *
+     * @param edge an edge that already belong to the graph
+     *
+     * @return the edge if success, or null if failed. the flyweight of the edge is detached from the
+     *         columns, and keeps the weight, tag and data of the edge
+     */
+    @Override
+    public Edge removeEdge(Edge edge) {
+        int number = numberOf(edge);
+
+        return (number == -1) ? null : remove(number, edge);
+    }
+
+    @Override
+    public Collection<Edge> removeMultiEdges(IVertex u, IVertex v) {
+        ArrayList<Edge> edges = new ArrayList<>(getMultiEdges(u, v));
+
+        for (Edge edge : edges) {
+            removeEdge(edge);
+        }
+
+        return edges;
+    }
+
+    @Override
+    public Edge getEdge(IVertex v1, IVertex v2) {
+        int i       = indexOf(v1);
+        int j       = indexOf(v2);
+        int number  = (i == -1 || j == -1) ? -1 : numberOf(i, j);
+
+        return (number == -1) ? null : flyweightOf(number);
+    }
+
+    @Override
+    public Collection<Edge> getMultiEdges(IVertex u, IVertex v) {
+        int i = indexOf(u);
+        int j = indexOf(v);
+
+        if(i == -1 || j == -1)
+            return Collections.emptyList();
+
+        ArrayList<Edge> edges   = new ArrayList<>(1);
+        int[] numbers           = _out[i];
+        int size                = _outSizes[i];
+
+        for (int position = find(numbers, size, i, j); position != -1 && position < size; position++) {
+            if(_store.internal_other(numbers[position], i) != j)
+                break;
+
+            edges.add(flyweightOf(numbers[position]));
+        }
+
+        return edges;
+    }
+
+    @Override
+    public int numVertices() {
+        return _vertices.size();
+    }
+
+    @Override
+    public int numEdges() {
+        return _store.size();
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(_out, 0, _vertices.size(), null);
+        Arrays.fill(_in, 0, _vertices.size(), null);
+
+        releaseAll();
+
+        _vertices.clear();
+        _store.clear();
+        _degrees.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * the columns and the edge numbers of every vertex are copied right away, with array copies.
+     * the edges of the copy are flyweights of its own columns, so they are equal to the edges of
+     * this engine by endpoints, weight, tag and data, but not by identifier.
+     */
+    @Override
+    public ColumnarGraphEngine copy(boolean copyOnWrite) {
+        ColumnarGraphEngine copy    = new ColumnarGraphEngine(0, 0);
+        int n                       = _vertices.size();
+        boolean directed            = _in != _out;
+
+        copy._vertices              = new VertexIndex(_vertices);
+        copy._store                 = new EdgeStore(_store);
+        copy._out                   = new int[_out.length][];
+        copy._outSizes              = _outSizes.clone();
+        copy._outDistinct           = _outDistinct.clone();
+        copy._in                    = directed ? new int[_in.length][] : copy._out;
+        copy._inSizes               = directed ? _inSizes.clone() : copy._outSizes;
+        copy._degrees               = _degrees.copy();
+
+        for (int i = 0; i < n; i++) {
+            copy._out[i]            = (_outSizes[i] == 0) ? NO_EDGES : Arrays.copyOf(_out[i], _outSizes[i]);
+
+            if(directed)
+                copy._in[i]         = (_inSizes[i] == 0) ? NO_EDGES : Arrays.copyOf(_in[i], _inSizes[i]);
+        }
+
+        return copy;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DegreeIndex degrees() {
+        return _degrees;
+    }
+
+    /**
+     * @param vertex the vertex in question
+     * @return the number of vertices the vertex goes out to
+     */
+    @Override
+    public int outDegreeOfVertex(IVertex vertex) {
+        return _outDistinct[validateVertex(vertex)];
+    }
+
+    /**
+     * @param vertex the vertex in question
+     * @return the number of edges that go into the vertex
+     */
+    @Override
+    public int inDegreeOfVertex(IVertex vertex) {
+        return _inSizes[validateVertex(vertex)];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void dispose() {
+        for (int index = 0; index < _vertices.size(); index++) {
+            _vertices.vertexAt(index).dispose();
+        }
+
+        clear();
+    }
+
+    private Edge add(int i, int j, float weight, String tag, Object data) {
+        if(i == j && !isSelfLoopsSupported())
+            return null;
+
+        boolean multiEdges  = isMultiEdgesSupported();
+
+        if(!multiEdges && numberOf(i, j) != -1)
+            return null;
+
+        int number          = _store.add(i, j, weight);
+
+        _store.setTag(number, tag);
+        _store.setData(number, data);
+
+        link(_out, _outSizes, _outDistinct, i, number, j, multiEdges);
+
+        if(_in != _out)
+            link(_in, _inSizes, null, j, number, i, multiEdges);
+        else if(i != j)
+            link(_out, _outSizes, _outDistinct, j, number, i, multiEdges);
+
+        _degrees.addEdge(i, j);
+
+        return flyweightOf(number);
+    }
+
+    private Edge remove(int number, Edge edge) {
+        int i = _store.source(number);
+        int j = _store.target(number);
+
+        unlink(_out, _outSizes, _outDistinct, i, number);
+
+        if(_in != _out)
+            unlink(_in, _inSizes, null, j, number);
+        else if(i != j)
+            unlink(_out, _outSizes, _outDistinct, j, number);
+
+        _degrees.removeEdge(i, j);
+        release(number);
+
+        return edge;
+    }
+
+    /**
+     * @return the flyweight of an edge, it is created once, and kept until the edge is removed
+     *
+     * @throws IndexOutOfBoundsException if the number does not belong to an edge
+     */
+    private ColumnarEdge flyweightOf(int number) {
+        if(_flyweights == null || number >= _flyweights.length) {
+            if(!_store.contains(number))
+                throw new IndexOutOfBoundsException("edge number " + number + " is not in the store");
+
+            int capacity    = Math.max(_store.limit(), (_flyweights == null) ? 16 : _flyweights.length << 1);
+
+            _flyweights     = (_flyweights == null) ? new ColumnarEdge[capacity] : Arrays.copyOf(_flyweights, capacity);
+        }
+
+        ColumnarEdge edge   = _flyweights[number];
+
+        if(edge == null)
+            _flyweights[number] = edge = new ColumnarEdge(number);
+
+        return edge;
+    }
+
+    /**
+     * detach the flyweight of an edge, if it was created, and free the edge number
+     */
+    private void release(int number) {
+        if(_flyweights != null && number < _flyweights.length && _flyweights[number] != null) {
+            _flyweights[number].detach(this);
+            _flyweights[number] = null;
+        }
+
+        _store.remove(number);
+    }
+
+    /**
+     * detach all of the flyweights, before the columns are dropped
+     */
+    private void releaseAll() {
+        if(_flyweights == null)
+            return;
+
+        for (ColumnarEdge edge : _flyweights) {
+            if(edge != null)
+                edge.detach(this);
+        }
+
+        _flyweights = null;
+    }
+
+    /**
+     * @return the first edge number between two vertex indices, or {@code -1}. the edges of the
+     *         vertex with the lower degree are scanned
+     */
+    private int numberOf(int i, int j) {
+        int position;
+
+        if(_inSizes[j] < _outSizes[i])
+            return ((position = find(_in[j], _inSizes[j], j, i)) == -1) ? -1 : _in[j][position];
+
+        return ((position = find(_out[i], _outSizes[i], i, j)) == -1) ? -1 : _out[i][position];
+    }
+
+    /**
+     * @return the edge number of an edge of the graph, or {@code -1}. flyweights of the engine
+     *         are resolved by their number, other edges by their vertices
+     */
+    private int numberOf(Edge edge) {
+        if(edge == null || edge.getEdgeType() != getGraphType())
+            return -1;
+
+        if(edge instanceof ColumnarEdge && ((ColumnarEdge) edge)._engine == this)
+            return ((ColumnarEdge) edge).isAttachedTo(this) ? ((ColumnarEdge) edge)._number : -1;
+
+        int i = indexOf(edge.getV1());
+        int j = indexOf(edge.getV2());
+
+        return (i == -1 || j == -1) ? -1 : numberOf(i, j);
+    }
+
+    /**
+     * @return the first position of an edge of a vertex to a neighbor, or {@code -1}
+     */
+    private int find(int[] numbers, int size, int vertex, int target) {
+        for (int position = 0; position < size; position++) {
+            if(_store.internal_other(numbers[position], vertex) == target)
+                return position;
+        }
+
+        return -1;
+    }
+
+    /**
+     * add an edge number to a vertex, after the other edges to the same neighbor
+     */
+    private void link(int[][] lists, int[] sizes, int[] distinct, int vertex, int number, int target, boolean multiEdges) {
+        int[] numbers   = lists[vertex];
+        int size        = sizes[vertex];
+        int position    = multiEdges ? find(numbers, size, vertex, target) : -1;
+
+        if(position == -1) {
+            position    = size;
+
+            if(distinct != null)
+                distinct[vertex]++;
+        }
+        else {
+            while (position < size && _store.internal_other(numbers[position], vertex) == target) {
+                position++;
+            }
+        }
+
+        if(size == numbers.length)
+            numbers     = lists[vertex] = Arrays.copyOf(numbers, Math.max(2, size + (size >>> 1)));
+
+        System.arraycopy(numbers, position, numbers, position + 1, size - position);
+        numbers[position] = number;
+        sizes[vertex]   = size + 1;
+    }
+
+    /**
+     * remove an edge number from a vertex, the following edge numbers are shifted back, so the
+     * edges to a neighbor stay next to each other
+     */
+    private void unlink(int[][] lists, int[] sizes, int[] distinct, int vertex, int number) {
+        int[] numbers   = lists[vertex];
+        int size        = sizes[vertex] - 1;
+        int position    = 0;
+
+        while (numbers[position] != number) {
+            position++;
+        }
+
+        if(distinct != null) {
+            int target  = _store.internal_other(number, vertex);
+            boolean before  = position > 0 && _store.internal_other(numbers[position - 1], vertex) == target;
+            boolean after   = position < size && _store.internal_other(numbers[position + 1], vertex) == target;
+
+            if(!before && !after)
+                distinct[vertex]--;
+        }
+
+        System.arraycopy(numbers, position + 1, numbers, position, size - position);
+        sizes[vertex]   = size;
+
+        // release the arrays of vertices that lost most of their edges
+        if(size < numbers.length >>> 2 && numbers.length > 8)
+            lists[vertex] = Arrays.copyOf(numbers, size << 1);
+    }
+
+    private void growVertices(int capacity) {
+        boolean directed    = _in != _out;
+
+        _out                = Arrays.copyOf(_out, capacity);
+        _outSizes           = Arrays.copyOf(_outSizes, capacity);
+        _outDistinct        = Arrays.copyOf(_outDistinct, capacity);
+        _in                 = directed ? Arrays.copyOf(_in, capacity) : _out;
+        _inSizes            = directed ? Arrays.copyOf(_inSizes, capacity) : _outSizes;
+    }
+
+    private int validateVertex(IVertex vertex) {
+        int index = indexOf(vertex);
+
+        if(index == -1)
+            throw new VertexNotFoundException(vertex, getGraph());
+
+        return index;
+    }
+
+    private void validateIndex(int index) {
+        if(index < 0 || index >= _vertices.size())
+            throw new IndexOutOfBoundsException("vertex index " + index + ", size " + _vertices.size());
+    }
+
+    /**
+     * a flyweight of an edge of the store. its weight, tag and data are read from, and written
+     * to, the columns of the edge, and it is valid as long as the edge belongs to the graph.
+     * the engine creates a single flyweight per edge.
+     * <p/>
+     * once the edge is removed, in any way, the flyweight is detached, and keeps the weight, tag
+     * and data of the edge in its own fields, like any other edge.
+     */
+    public final class ColumnarEdge extends Edge {
+        private final ColumnarGraphEngine _engine = ColumnarGraphEngine.this;
+        private final int _number;
+        private boolean _detached = false;
+
+        private ColumnarEdge(int number) {
+            super(vertexAt(_store.source(number)), vertexAt(_store.target(number)), getGraphType(), null);
+
+            _number = number;
+        }
+
+        /**
+         * @return the edge number in the store
+         */
+        public int number() {
+            return _number;
+        }
+
+        /**
+         * @return {@code true} if the flyweight still reads the columns of its edge
+         */
+        public boolean isAttached() {
+            return isAttachedTo(_engine);
+        }
+
+        @Override
+        public float getWeight() {
+            return isAttached() ? _store.weight(_number) : super.getWeight();
+        }
+
+        @Override
+        public void setWeight(float weight) {
+            if(isAttached())
+                _store.setWeight(_number, weight);
+            else
+                super.setWeight(weight);
+        }
+
+        @Override
+        public String getTag() {
+            return isAttached() ? _store.tag(_number) : super.getTag();
+        }
+
+        @Override
+        public void setTag(String tag) {
+            if(isAttached())
+                _store.setTag(_number, tag);
+            else
+                super.setTag(tag);
+        }
+
+        @Override
+        public Object getData() {
+            return isAttached() ? _store.data(_number) : super.getData();
+        }
+
+        @Override
+        public void setData(Object data) {
+            if(isAttached())
+                _store.setData(_number, data);
+            else
+                super.setData(data);
+        }
+
+        /**
+         * the identifier is made of the engine and the edge number, so it is created on demand
+         */
+        @Override
+        public String getId() {
+            return "e" + _serial + "." + _number;
+        }
+
+        @Override
+        public boolean hasId() {
+            return true;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if(this == o)
+                return true;
+
+            if(!(o instanceof ColumnarEdge))
+                return false;
+
+            ColumnarEdge other = (ColumnarEdge) o;
+
+            return other._engine == _engine && other._number == _number && other._detached == _detached
+                    && other._v1 == _v1 && other._v2 == _v2;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * _serial + _number;
+        }
+
+        @Override
+        public String toString() {
+            String tag = getTag();
+
+            return (tag != null) ? tag : super.toString();
+        }
+
+        /**
+         * the edge number could have been reused by another edge, so the vertices are compared too
+         */
+        boolean isAttachedTo(ColumnarGraphEngine engine) {
+            return !_detached && _engine == engine && _store.contains(_number)
+                    && vertexAt(_store.source(_number)) == _v1 && vertexAt(_store.target(_number)) == _v2;
+        }
+
+        /**
+         * copy the state of the edge into the fields of the flyweight
+         */
+        void detach(ColumnarGraphEngine engine) {
+            if(!isAttachedTo(engine))
+                return;
+
+            super.setWeight(_store.weight(_number));
+            super.setTag(_store.tag(_number));
+            super.setData(_store.data(_number));
+            _detached = true;
+        }
+    }
+
+    /**
+     * responsive/modifiable collection views for iteration outside
+     * the class.
+     */
+    transient volatile Collection<IVertex> verticesView;
+    transient volatile Collection<Edge> edgesView;
+
+    /**
+     * vertices view
+     */
+    public class VerticesView extends AbstractCollection<IVertex> {
+
+        @SuppressWarnings("NullableProblems")
+        @Override
+        public Iterator<IVertex> iterator() {
+            return new VerticesIterator();
+        }
+
+        public int size() {
+            return _vertices.size();
+        }
+
+        public boolean contains(Object o) {
+            return (o instanceof IVertex) && hasVertex((IVertex) o);
+        }
+
+        public boolean add(IVertex vertex) {
+            return addVertex(vertex);
+        }
+
+        public boolean remove(Object o) {
+            return (o instanceof IVertex) && removeVertex((IVertex) o);
+        }
+    }
+
+    /**
+     * iterates the vertices by their index. removing a vertex moves the last
+     * vertex into its index, so the iterator visits that index again.
+     */
+    protected class VerticesIterator implements Iterator<IVertex> {
+        private int _cursor = 0;
+        private IVertex _current = null;
+
+        @Override
+        public boolean hasNext() {
+            return _cursor < _vertices.size();
+        }
+
+        @Override
+        public IVertex next() {
+            if(!hasNext())
+                throw new NoSuchElementException();
+
+            return _current = _vertices.vertexAt(_cursor++);
+        }
+
+        @Override
+        public void remove() {
+            if(_current == null)
+                throw new IllegalStateException();
+
+            removeVertex(_current);
+            _current = null;
+            _cursor--;
+        }
+    }
+
+    /**
+     * edges view, by edge number. removed edge numbers are only reused by edges that are added,
+     * so removing edges while iterating does not skip any.
+     */
+    public class EdgesView extends AbstractCollection<Edge> {
+
+        @SuppressWarnings("NullableProblems")
+        @Override
+        public Iterator<Edge> iterator() {
+            return new Iterator<Edge>() {
+                private int _number = -1;
+                private ColumnarEdge _current = null;
+
+                @Override
+                public boolean hasNext() {
+                    for (int number = _number + 1; number < _store.limit(); number++) {
+                        if(_store.contains(number))
+                            return true;
+                    }
+
+                    return false;
+                }
+
+                @Override
+                public Edge next() {
+                    while (++_number < _store.limit()) {
+                        if(_store.contains(_number))
+                            return _current = flyweightOf(_number);
+                    }
+
+                    throw new NoSuchElementException();
+                }
+
+                @Override
+                public void remove() {
+                    if(_current == null)
+                        throw new IllegalStateException();
+
+                    removeEdge(_current);
+                    _current = null;
+                }
+            };
+        }
+
+        public int size() {
+            return _store.size();
+        }
+
+        public boolean contains(Object o) {
+            return (o instanceof Edge) && hasEdge((Edge) o);
+        }
+
+        public boolean add(Edge edge) {
+            return addEdge(edge) != null;
+        }
+
+        public boolean remove(Object o) {
+            return (o instanceof Edge) && removeEdge((Edge) o) != null;
+        }
+    }
+
+    /**
+     * read only view of the neighbors of a vertex, every neighbor once
+     */
+    public class NeighborsView extends AbstractCollection<IVertex> {
+        private final int _vertex;
+
+        NeighborsView(int vertex) {
+            _vertex = vertex;
+        }
+
+        @SuppressWarnings("NullableProblems")
+        @Override
+        public Iterator<IVertex> iterator() {
+            return new Iterator<IVertex>() {
+                private final NeighborCursor _cursor = neighborCursor().reset(_vertex);
+                private boolean _hasNext = _cursor.next();
+
+                @Override
+                public boolean hasNext() {
+                    return _hasNext;
+                }
+
+                @Override
+                public IVertex next() {
+                    if(!hasNext())
+                        throw new NoSuchElementException();
+
+                    IVertex next    = vertexAt(_cursor.target());
+                    _hasNext        = _cursor.next();
+
+                    return next;
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException("removing a vertex directly to the adj list is not supported!! use graph methods instead");
+                }
+            };
+        }
+
+        public int size() {
+            return _outDistinct[_vertex];
+        }
+
+        public boolean contains(Object o) {
+            int index = (o instanceof IVertex) ? indexOf((IVertex) o) : -1;
+
+            return index != -1 && find(_out[_vertex], _outSizes[_vertex], _vertex, index) != -1;
+        }
+    }
+
+    /**
+     * read only view of the incident edges of a vertex, in one direction
+     */
+    public class IncidenceView extends AbstractCollection<Edge> {
+        private final int _vertex;
+        private final boolean _incoming;
+
+        IncidenceView(int vertex, boolean incoming) {
+            _vertex     = vertex;
+            _incoming   = incoming;
+        }
+
+        @SuppressWarnings("NullableProblems")
+        @Override
+        public Iterator<Edge> iterator() {
+            return new Iterator<Edge>() {
+                private int _position = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return _position < size();
+                }
+
+                @Override
+                public Edge next() {
+                    if(!hasNext())
+                        throw new NoSuchElementException();
+
+                    return flyweightOf(numbers()[_position++]);
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException("removing an edge directly from the incidence list is not supported!! use graph methods instead");
+                }
+            };
+        }
+
+        public int size() {
+            return _incoming ? _inSizes[_vertex] : _outSizes[_vertex];
+        }
+
+        public boolean contains(Object o) {
+            int number      = (o instanceof Edge) ? numberOf((Edge) o) : -1;
+            int[] numbers   = numbers();
+
+            for (int position = 0; number != -1 && position < size(); position++) {
+                if(numbers[position] == number)
+                    return true;
+            }
+
+            return false;
+        }
+
+        private int[] numbers() {
+            return _incoming ? _in[_vertex] : _out[_vertex];
+        }
+    }
+
+    /**
+     * neighbor cursor over the edge numbers, every neighbor once, without creating edges
+     * until {@link #edge()} is called
+     */
+    protected class ColumnarNeighborCursor implements NeighborCursor {
+        private int _vertex;
+        private int _position;
+        private int _target;
+
+        @Override
+        public NeighborCursor reset(int vertexIndex) {
+            validateIndex(vertexIndex);
+
+            _vertex     = vertexIndex;
+            _position   = -1;
+            _target     = -1;
+
+            return this;
+        }
+
+        @Override
+        public boolean next() {
+            int[] numbers   = _out[_vertex];
+
+            while (++_position < _outSizes[_vertex]) {
+                int target  = _store.internal_other(numbers[_position], _vertex);
+
+                // the edges to a neighbor are next to each other
+                if(target != _target) {
+                    _target = target;
+
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        @Override
+        public int target() {
+            return _target;
+        }
+
+        @Override
+        public float weight() {
+            return _store.internal_weight(_out[_vertex][_position]);
+        }
+
+        @Override
+        public Edge edge() {
+            return flyweightOf(_out[_vertex][_position]);
+        }
+    }
+
+}
@@ -0,0 +1,1071 @@
+package com.hendrix.erdos.graphs.engines;
+
+import com.hendrix.collection.LongObjectHashMap;
+import com.hendrix.erdos.exceptions.GraphException;
+import com.hendrix.erdos.exceptions.VertexNotFoundException;
+import com.hendrix.erdos.graphs.IGraph;
+import com.hendrix.erdos.types.Edge;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.IVertex;
+import com.hendrix.erdos.utils.SEdgeUtils;
+import com.hendrix.erdos.utils.SVarIntUtils;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+
+/**
+ * an immutable graph engine that keeps the adjacency <b>compressed</b>, in the spirit of WebGraph.
+ * every row is sorted by the neighbor index and stored as the gaps between consecutive neighbors,
+ * in a variable length encoding, so neighbors with close indices take a single byte. the rows are
+ * decoded on the fly while iterating.
+ * <ul>
+ *     <li/>a row is {@code count, zigzag(first - source), gap, gap, ...}, every value is a varint, see
+ *     {@link SVarIntUtils}. a gap of zero is a multi edge.
+ *     <li/>if any edge has a non zero weight, every entry is followed by its 4 bytes weight.
+ *     <li/>directed graphs also keep the reversed rows, for the in adjacency.
+ *     <li/>edges are materialized on demand, like in {@link OffHeapGraphEngine}, so they do not have an
+ *     identity, and an edge belongs to the graph if its vertices are connected. edge ids, tags and data
+ *     are not kept.
+ *     <li/>edge queries scan the shorter of the two rows of the vertices.
+ * </ul>
+ * an engine created with {@link #CompressedGraphEngine()} starts out <b>loading</b>: it accepts vertices and
+ * edges, so it can be returned by {@link IGraph#graphEngineFactory()}. the first adjacency query seals it,
+ * the staged edges are compressed, and from then on it is immutable.
+ *
+ * @author Tomer Shalev
+ * @see CsrGraphEngine
+ */
+@SuppressWarnings("UnusedDeclaration")
+public class CompressedGraphEngine extends AbstractGraphEngine {
+    /**
+     * the edge direction of the graph, {@code null} until a loading engine is attached to a graph
+     */
+    protected EDGE_DIRECTION _direction = null;
+    /**
+     * the vertices of the graph, with their dense indices
+     */
+    protected VertexIndex _vertices = null;
+    /**
+     * the encoded rows
+     */
+    protected byte[] _rows = null;
+    /**
+     * the byte offset of every row, the row of vertex {@code i} is {@code [offsets[i], offsets[i+1])}
+     */
+    protected int[] _offsets = null;
+    /**
+     * the encoded reversed rows, the rows for undirected graphs
+     */
+    protected byte[] _inRows = null;
+    /**
+     * the byte offset of every reversed row, the row offsets for undirected graphs
+     */
+    protected int[] _inOffsets = null;
+    /**
+     * are the weights stored
+     */
+    protected boolean _weighted = false;
+    protected int _numEdges = 0;
+    /**
+     * was the adjacency compressed
+     */
+    protected volatile boolean _sealed = false;
+
+    // the staged edges of a loading engine
+    private int[] _stagedSources = null;
+    private int[] _stagedTargets = null;
+    private float[] _stagedWeights = null;
+    private LongObjectHashMap<Boolean> _stagedKeys = null;
+
+    /**
+     * create an empty loading engine, that is sealed by the first adjacency query
+     */
+    public CompressedGraphEngine() {
+        _vertices       = new VertexIndex();
+        _stagedSources  = new int[16];
+        _stagedTargets  = new int[16];
+        _stagedWeights  = new float[16];
+        _stagedKeys     = new LongObjectHashMap<>();
+    }
+
+    /**
+     * compress a graph representation into a new sealed engine. the vertices are referenced,
+     * the edges are copied.
+     *
+     * @param source the graph (or graph engine) to compress
+     */
+    public CompressedGraphEngine(IGraphRepresentation source) {
+        _direction          = source.getGraphType();
+        _vertices           = new VertexIndex(source.numVertices());
+
+        for (IVertex vertex : source.vertices()) {
+            _vertices.add(vertex);
+        }
+
+        Edge[] edges        = source.edges().toArray(new Edge[0]);
+        int m               = edges.length;
+        int[] sources       = new int[m];
+        int[] targets       = new int[m];
+        float[] weights     = new float[m];
+
+        for (int e = 0; e < m; e++) {
+            sources[e]      = indexOfOrThrow(edges[e].getV1());
+            targets[e]      = indexOfOrThrow(edges[e].getV2());
+            weights[e]      = edges[e].getWeight();
+        }
+
+        compress(sources, targets, weights, m);
+
+        _sealed             = true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * the vertex index is adopted and the edges are compressed right away, so the engine is sealed.
+     *
+     * @throws UnsupportedOperationException if the engine is sealed
+     */
+    @Override
+    protected synchronized void load(VertexIndex vertices, int[] sources, int[] targets, float[] weights, int numEdges) {
+        if(_sealed)
+            throw immutable();
+
+        _vertices       = vertices;
+
+        compress(sources, targets, weights, numEdges);
+
+        _stagedSources  = null;
+        _stagedTargets  = null;
+        _stagedWeights  = null;
+        _stagedKeys     = null;
+        _sealed         = true;
+    }
+
+    /**
+     * set the graph that this engine works for.
+     *
+     * @param graph the graph
+     *
+     * @throws GraphException if the engine was compressed from a graph of another direction
+     */
+    @Override
+    public void setGraph(IGraph graph) {
+        super.setGraph(graph);
+
+        if(_direction == null)
+            _direction = graph.getGraphType();
+        else if(graph.getGraphType() != _direction)
+            throw new GraphException("compressed engine was built as " + _direction + " graph", graph);
+    }
+
+    /**
+     * @return <code>GraphType.DIRECTED</code> or <code>GraphType.UNDIRECTED</code>
+     */
+    @Override
+    public EDGE_DIRECTION getGraphType() {
+        return _direction;
+    }
+
+    /**
+     * @return {@code true} if the adjacency was compressed, and the engine is immutable
+     */
+    public boolean isSealed() {
+        return _sealed;
+    }
+
+    /**
+     * @return {@code true} if the edge weights are stored
+     */
+    public boolean isWeighted() {
+        seal();
+
+        return _weighted;
+    }
+
+    /**
+     * @return the number of bytes of the compressed rows and their offsets, the vertices are not included
+     */
+    public long sizeInBytes() {
+        seal();
+
+        long size = _rows.length + 4L * _offsets.length;
+
+        if(_inRows != _rows)
+            size += _inRows.length + 4L * _inOffsets.length;
+
+        return size;
+    }
+
+    /**
+     * compress the staged edges of a loading engine, once
+     */
+    protected void seal() {
+        if(_sealed)
+            return;
+
+        synchronized (this) {
+            if(_sealed)
+                return;
+
+            compress(_stagedSources, _stagedTargets, _stagedWeights, _numEdges);
+
+            _stagedSources  = null;
+            _stagedTargets  = null;
+            _stagedWeights  = null;
+            _stagedKeys     = null;
+            _sealed         = true;
+        }
+    }
+
+    /**
+     * build the encoded rows out of a list of edges
+     *
+     * @param sources the source index of every edge
+     * @param targets the target index of every edge
+     * @param weights the weight of every edge, or {@code null} if all of the weights are zero
+     * @param count   the number of edges
+     */
+    private void compress(int[] sources, int[] targets, float[] weights, int count) {
+        int n                       = _vertices.size();
+
+        _numEdges                   = count;
+        _weighted                   = false;
+
+        for (int e = 0; weights != null && e < count && !_weighted; e++) {
+            _weighted               = weights[e] != 0f;
+        }
+
+        if(_direction == EDGE_DIRECTION.DIRECTED) {
+            _offsets                = new int[n + 1];
+            _rows                   = encode(sources, targets, weights, count, n, _offsets);
+            _inOffsets              = new int[n + 1];
+            _inRows                 = encode(targets, sources, weights, count, n, _inOffsets);
+
+            return;
+        }
+
+        // half edges: an undirected edge is seen from both of its vertices, a self loop only once
+
+        int h                       = count;
+
+        for (int e = 0; e < count; e++) {
+            if(sources[e] != targets[e])
+                h++;
+        }
+
+        int[] src                   = Arrays.copyOf(sources, h);
+        int[] dst                   = Arrays.copyOf(targets, h);
+        float[] w                   = _weighted ? Arrays.copyOf(weights, h) : null;
+
+        for (int e = 0, k = count; e < count; e++) {
+            if(sources[e] != targets[e]) {
+                if(w != null)
+                    w[k] = weights[e];
+
+                src[k] = targets[e]; dst[k++] = sources[e];
+            }
+        }
+
+        _offsets                    = new int[n + 1];
+        _rows                       = encode(src, dst, w, h, n, _offsets);
+        _inOffsets                  = _offsets;
+        _inRows                     = _rows;
+    }
+
+    /**
+     * encode the rows of a list of entries, sorted by {@code (major, minor)}. the first pass only
+     * measures the rows, the second one writes them.
+     *
+     * @param offsets filled with the byte offset of every row
+     *
+     * @return the encoded rows
+     */
+    private byte[] encode(int[] major, int[] minor, float[] weights, int count, int n, int[] offsets) {
+        int[] order     = SEdgeUtils.sortedOrderOf(major, minor, count, n);
+        byte[] stream   = new byte[encodeRows(major, minor, weights, order, n, offsets, null)];
+
+        encodeRows(major, minor, weights, order, n, offsets, stream);
+
+        return stream;
+    }
+
+    /**
+     * @param stream the buffer to write into, or {@code null} to only measure the rows
+     *
+     * @return the number of bytes of the rows
+     */
+    private int encodeRows(int[] major, int[] minor, float[] weights, int[] order, int n, int[] offsets, byte[] stream) {
+        int position        = 0;
+        int k               = 0;
+
+        for (int row = 0; row < n; row++) {
+            int start       = k;
+
+            while (k < order.length && major[order[k]] == row)
+                k++;
+
+            offsets[row]    = position;
+            position        = put(stream, position, k - start);
+
+            int previous    = row;
+
+            for (int e = start; e < k; e++) {
+                int target  = minor[order[e]];
+                int value   = (e == start) ? SVarIntUtils.zigZag(target - row) : target - previous;
+
+                position    = put(stream, position, value);
+                previous    = target;
+
+                if(!_weighted)
+                    continue;
+
+                if(stream != null) {
+                    int bits            = Float.floatToRawIntBits(weights[order[e]]);
+
+                    stream[position]     = (byte) bits;
+                    stream[position + 1] = (byte) (bits >>> 8);
+                    stream[position + 2] = (byte) (bits >>> 16);
+                    stream[position + 3] = (byte) (bits >>> 24);
+                }
+
+                position   += 4;
+            }
+        }
+
+        offsets[n]          = position;
+
+        return position;
+    }
+
+    private static int put(byte[] stream, int position, int value) {
+        return (stream == null) ? position + SVarIntUtils.sizeOf(value) : SVarIntUtils.write(stream, position, value);
+    }
+
+    /**
+     * @param index    the index of a vertex
+     * @param reversed read the reversed row
+     *
+     * @return the number of entries of the row
+     */
+    protected int degreeOf(int index, boolean reversed) {
+        return reversed ? SVarIntUtils.read(_inRows, _inOffsets[index]) : SVarIntUtils.read(_rows, _offsets[index]);
+    }
+
+    /**
+     * position a reader on the first entry of the edges {@code (u, v)}, scanning the shorter
+     * of the row of {@code u} and the reversed row of {@code v}
+     *
+     * @param reader a reader
+     * @param u      the source vertex index
+     * @param v      the target vertex index
+     *
+     * @return {@code true} if there is such an edge
+     */
+    protected boolean seek(RowReader reader, int u, int v) {
+        if(u == -1 || v == -1)
+            return false;
+
+        boolean reversed    = degreeOf(v, true) < degreeOf(u, false);
+        int key             = reversed ? u : v;
+
+        reader.reset(reversed ? v : u, reversed);
+
+        while (reader.next()) {
+            if(reader.target() >= key)
+                return reader.target() == key;
+        }
+
+        return false;
+    }
+
+    /**
+     * materialize an edge, undirected edges go from the lower vertex index to the higher one
+     *
+     * @param u      the source vertex index
+     * @param v      the target vertex index
+     * @param weight the weight
+     *
+     * @return a new edge
+     */
+    protected Edge edgeOf(int u, int v, float weight) {
+        if(_direction == EDGE_DIRECTION.UNDIRECTED && v < u)
+            return new Edge(vertexAt(v), vertexAt(u), _direction, weight);
+
+        return new Edge(vertexAt(u), vertexAt(v), _direction, weight);
+    }
+
+    @Override
+    public Iterator<IVertex> iterator() {
+        return new Iterator<IVertex>() {
+            private int _index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return _index < numVertices();
+            }
+
+            @Override
+            public IVertex next() {
+                if(!hasNext())
+                    throw new NoSuchElementException();
+
+                return vertexAt(_index++);
+            }
+
+            @Override
+            public void remove() {
+                throw immutable();
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * the collection is read only
+     */
+    @Override
+    public Collection<IVertex> vertices() {
+        return new AbstractCollection<IVertex>() {
+            @SuppressWarnings("NullableProblems")
+            @Override
+            public Iterator<IVertex> iterator() {
+                return CompressedGraphEngine.this.iterator();
+            }
+
+            @Override
+            public int size() {
+                return numVertices();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof IVertex && hasVertex((IVertex) o);
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * the collection is read only, the edges are materialized while iterating. an undirected
+     * edge is visited from the row of its lower vertex.
+     */
+    @Override
+    public Collection<Edge> edges() {
+        seal();
+
+        return new EdgesView();
+    }
+
+    @Override
+    public Collection<IVertex> getNeighborsOf(IVertex vertex) {
+        seal();
+
+        return new NeighborsView(validateVertex(vertex));
+    }
+
+    @Override
+    public Collection<Edge> getIncidenceOutListOf(IVertex vertex) {
+        seal();
+
+        return new IncidenceView(validateVertex(vertex), false);
+    }
+
+    @Override
+    public Collection<Edge> getIncidenceInListOf(IVertex vertex) {
+        seal();
+
+        return new IncidenceView(validateVertex(vertex), true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachNeighbor(int vertexIndex, IntConsumer consumer) {
+        seal();
+
+        RowReader reader    = new RowReader().reset(vertexIndex, false);
+        int previous        = -1;
+
+        while (reader.next()) {
+            // multi edges are adjacent in the sorted row
+            if(reader.target() != previous)
+                consumer.accept(previous = reader.target());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public NeighborCursor neighborCursor() {
+        seal();
+
+        return new CompressedNeighborCursor();
+    }
+
+    @Override
+    public boolean hasVertex(IVertex vertex) {
+        return indexOf(vertex) != -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int indexOf(IVertex vertex) {
+        return _vertices.indexOf(vertex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IVertex vertexAt(int index) {
+        return _vertices.vertexAt(index);
+    }
+
+    @Override
+    public boolean hasEdge(IVertex v1, IVertex v2) {
+        seal();
+
+        return seek(new RowReader(), indexOf(v1), indexOf(v2));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * edges are compared by their vertices, since they are not stored
+     */
+    @Override
+    public boolean hasEdge(Edge edge) {
+        return edge != null && edge.getEdgeType() == _direction && hasEdge(edge.getV1(), edge.getV2());
+    }
+
+    @Override
+    public Edge getEdge(IVertex v1, IVertex v2) {
+        seal();
+
+        int u               = indexOf(v1);
+        int v               = indexOf(v2);
+        RowReader reader    = new RowReader();
+
+        return seek(reader, u, v) ? edgeOf(u, v, reader.weight()) : null;
+    }
+
+    @Override
+    public Collection<Edge> getMultiEdges(IVertex u, IVertex v) {
+        seal();
+
+        int u_index             = indexOf(u);
+        int v_index             = indexOf(v);
+        RowReader reader        = new RowReader();
+        ArrayList<Edge> result  = new ArrayList<>();
+
+        if(seek(reader, u_index, v_index)) {
+            int key = reader.target();
+
+            do {
+                result.add(edgeOf(u_index, v_index, reader.weight()));
+            } while (reader.next() && reader.target() == key);
+        }
+
+        return Collections.unmodifiableList(result);
+    }
+
+    @Override
+    public int numVertices() {
+        return _vertices.size();
+    }
+
+    @Override
+    public int numEdges() {
+        return _numEdges;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return numVertices() == 0;
+    }
+
+    @Override
+    public int outDegreeOfVertex(IVertex vertex) {
+        seal();
+
+        return degreeOf(validateVertex(vertex), false);
+    }
+
+    @Override
+    public int inDegreeOfVertex(IVertex vertex) {
+        seal();
+
+        return degreeOf(validateVertex(vertex), true);
+    }
+
+    /**
+     * add a vertex to a loading engine
+     *
+     * @throws UnsupportedOperationException if the engine is sealed
+     */
+    @Override
+    public boolean addVertex(IVertex vertex) {
+        if(_sealed)
+            throw immutable();
+
+        return _vertices.add(vertex) != -1;
+    }
+
+    @Override
+    public Edge addEdge(IVertex v1, IVertex v2) {
+        return addEdge(v1, v2, 0f);
+    }
+
+    @Override
+    public Edge addEdge(IVertex v1, IVertex v2, float weight) {
+        return addEdge(new Edge(v1, v2, getGraphType(), weight));
+    }
+
+    /**
+     * stage an edge (v1, v2) in a loading engine, v1 and v2 have to be members. once the engine is sealed,
+     * the edge is materialized again on demand, so queries return equal, but not the same, edge instances.
+     *
+     * @return the edge, or {@code null} if the edge already exists or is incompatible
+     *         with the graph type
+     *
+     * @throws UnsupportedOperationException if the engine is sealed
+     */
+    @Override
+    public synchronized Edge addEdge(Edge edge) {
+        if(_sealed)
+            throw immutable();
+
+        int u = validateVertex(edge.getV1());
+        int v = validateVertex(edge.getV2());
+
+        if(u == v && !isSelfLoopsSupported())
+            return null;
+
+        if(edge.getEdgeType() != getGraphType())
+            return null;
+
+        if(!isMultiEdgesSupported()) {
+            boolean undirected  = _direction == EDGE_DIRECTION.UNDIRECTED;
+            long key            = undirected ? ((long) Math.min(u, v) << 32) | Math.max(u, v) : ((long) u << 32) | v;
+
+            if(_stagedKeys.put(key, Boolean.TRUE) != null)
+                return null;
+        }
+
+        if(_numEdges == _stagedSources.length) {
+            int capacity    = _numEdges << 1;
+
+            _stagedSources  = Arrays.copyOf(_stagedSources, capacity);
+            _stagedTargets  = Arrays.copyOf(_stagedTargets, capacity);
+            _stagedWeights  = Arrays.copyOf(_stagedWeights, capacity);
+        }
+
+        _stagedSources[_numEdges]   = u;
+        _stagedTargets[_numEdges]   = v;
+        _stagedWeights[_numEdges]   = edge.getWeight();
+        _numEdges++;
+
+        return edge;
+    }
+
+    @Override
+    public boolean removeVertex(IVertex vertex) {
+        throw immutable();
+    }
+
+    @Override
+    public Edge removeEdge(IVertex v1, IVertex v2) {
+        throw immutable();
+    }
+
+    @Override
+    public Edge removeEdge(Edge edge) {
+        throw immutable();
+    }
+
+    @Override
+    public Collection<Edge> removeMultiEdges(IVertex u, IVertex v) {
+        throw immutable();
+    }
+
+    @Override
+    public void clear() {
+        throw immutable();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void dispose() {
+        _vertices       = null;
+        _rows           = null;
+        _offsets        = null;
+        _inRows         = null;
+        _inOffsets      = null;
+        _stagedSources  = null;
+        _stagedTargets  = null;
+        _stagedWeights  = null;
+        _stagedKeys     = null;
+    }
+
+    protected UnsupportedOperationException immutable() {
+        return new UnsupportedOperationException("compressed graph engine only supports adding vertices and edges before it is queried!!");
+    }
+
+    /**
+     * validates if a vertex is in the graph and throws an error otherwise
+     *
+     * @param vertex the vertex
+     * @return the index of the vertex
+     * @throws VertexNotFoundException
+     */
+    protected int validateVertex(IVertex vertex) {
+        int index = indexOf(vertex);
+
+        if(index == -1)
+            throw new VertexNotFoundException(vertex, getGraph());
+
+        return index;
+    }
+
+    private int indexOfOrThrow(IVertex vertex) {
+        int index = indexOf(vertex);
+
+        if(index == -1)
+            throw new IllegalArgumentException("edge vertex " + vertex.getId() + " is not a vertex of the compressed graph");
+
+        return index;
+    }
+
+    /**
+     * decodes a row, entry by entry
+     */
+    protected final class RowReader {
+        private byte[] _stream;
+        private int _position;
+        private int _remaining;
+        private int _source;
+        private int _target;
+        private float _weight;
+        private boolean _started;
+
+        /**
+         * @param index    the index of the vertex of the row
+         * @param reversed read the reversed row
+         *
+         * @return this reader, before the first entry
+         */
+        public RowReader reset(int index, boolean reversed) {
+            _stream     = reversed ? _inRows : _rows;
+            _position   = reversed ? _inOffsets[index] : _offsets[index];
+            _remaining  = readVarInt();
+            _source     = index;
+            _target     = index;
+            _weight     = 0f;
+            _started    = false;
+
+            return this;
+        }
+
+        /**
+         * @return {@code true} if the reader moved to the next entry of the row
+         */
+        public boolean next() {
+            if(_remaining == 0)
+                return false;
+
+            _remaining--;
+
+            int value   = readVarInt();
+
+            _target     = _started ? _target + value : _source + SVarIntUtils.unZigZag(value);
+            _started    = true;
+
+            if(_weighted) {
+                byte[] s    = _stream;
+                int p       = _position;
+
+                _weight     = Float.intBitsToFloat((s[p] & 0xFF) | (s[p + 1] & 0xFF) << 8 | (s[p + 2] & 0xFF) << 16 | (s[p + 3] & 0xFF) << 24);
+                _position   = p + 4;
+            }
+
+            return true;
+        }
+
+        /**
+         * @return the vertex index of the current entry
+         */
+        public int target() {
+            return _target;
+        }
+
+        /**
+         * @return the weight of the current entry
+         */
+        public float weight() {
+            return _weight;
+        }
+
+        /**
+         * @return the index of the vertex of the row
+         */
+        public int source() {
+            return _source;
+        }
+
+        private int readVarInt() {
+            int value   = 0;
+            int shift   = 0;
+            byte b;
+
+            do {
+                b       = _stream[_position++];
+                value  |= (b & 0x7F) << shift;
+                shift  += 7;
+            } while (b < 0);
+
+            return value;
+        }
+    }
+
+    /**
+     * neighbor cursor that decodes a row. rows are sorted, so multi edges are adjacent and
+     * only the first entry of every target is visited.
+     */
+    protected class CompressedNeighborCursor implements NeighborCursor {
+        private final RowReader _reader = new RowReader();
+        private int _previous;
+
+        @Override
+        public NeighborCursor reset(int vertexIndex) {
+            _reader.reset(vertexIndex, false);
+            _previous = -1;
+
+            return this;
+        }
+
+        @Override
+        public boolean next() {
+            while (_reader.next()) {
+                if(_reader.target() != _previous) {
+                    _previous = _reader.target();
+
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        @Override
+        public int target() {
+            return _reader.target();
+        }
+
+        @Override
+        public float weight() {
+            return _reader.weight();
+        }
+
+        @Override
+        public Edge edge() {
+            return edgeOf(_reader.source(), _reader.target(), _reader.weight());
+        }
+    }
+
+    /**
+     * the edges of the graph, read only
+     */
+    protected class EdgesView extends AbstractCollection<Edge> {
+        @SuppressWarnings("NullableProblems")
+        @Override
+        public Iterator<Edge> iterator() {
+            return new Iterator<Edge>() {
+                private final RowReader _reader = new RowReader();
+                private int _row                = -1;
+                private boolean _hasNext        = false;
+
+                {
+                    advance();
+                }
+
+                private void advance() {
+                    boolean undirected = _direction == EDGE_DIRECTION.UNDIRECTED;
+
+                    while (true) {
+                        while (_row != -1 && _reader.next()) {
+                            if(!undirected || _reader.target() >= _row) {
+                                _hasNext = true;
+
+                                return;
+                            }
+                        }
+
+                        if(++_row >= numVertices()) {
+                            _hasNext = false;
+
+                            return;
+                        }
+
+                        _reader.reset(_row, false);
+                    }
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return _hasNext;
+                }
+
+                @Override
+                public Edge next() {
+                    if(!_hasNext)
+                        throw new NoSuchElementException();
+
+                    Edge edge = edgeOf(_row, _reader.target(), _reader.weight());
+
+                    advance();
+
+                    return edge;
+                }
+
+                @Override
+                public void remove() {
+                    throw immutable();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return _numEdges;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Edge && hasEdge((Edge) o);
+        }
+    }
+
+    /**
+     * the distinct neighbors of a vertex, read only.
+     * rows are sorted, so multi edges are adjacent and skipped.
+     */
+    protected class NeighborsView extends AbstractCollection<IVertex> {
+        private final int _index;
+
+        public NeighborsView(int index) {
+            _index = index;
+        }
+
+        @SuppressWarnings("NullableProblems")
+        @Override
+        public Iterator<IVertex> iterator() {
+            return new Iterator<IVertex>() {
+                private final NeighborCursor _cursor    = new CompressedNeighborCursor().reset(_index);
+                private boolean _hasNext                = _cursor.next();
+
+                @Override
+                public boolean hasNext() {
+                    return _hasNext;
+                }
+
+                @Override
+                public IVertex next() {
+                    if(!_hasNext)
+                        throw new NoSuchElementException();
+
+                    IVertex vertex  = vertexAt(_cursor.target());
+                    _hasNext        = _cursor.next();
+
+                    return vertex;
+                }
+
+                @Override
+                public void remove() {
+                    throw immutable();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            NeighborCursor cursor   = new CompressedNeighborCursor().reset(_index);
+            int size                = 0;
+
+            while (cursor.next()) {
+                size++;
+            }
+
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return (o instanceof IVertex) && seek(new RowReader(), _index, indexOf((IVertex) o));
+        }
+    }
+
+    /**
+     * the incidence list of a vertex, read only. the edges are materialized while iterating.
+     */
+    protected class IncidenceView extends AbstractCollection<Edge> {
+        private final int _index;
+        private final boolean _reversed;
+
+        public IncidenceView(int index, boolean reversed) {
+            _index      = index;
+            _reversed   = reversed;
+        }
+
+        @SuppressWarnings("NullableProblems")
+        @Override
+        public Iterator<Edge> iterator() {
+            return new Iterator<Edge>() {
+                private final RowReader _reader = new RowReader().reset(_index, _reversed);
+                private boolean _hasNext        = _reader.next();
+
+                @Override
+                public boolean hasNext() {
+                    return _hasNext;
+                }
+
+                @Override
+                public Edge next() {
+                    if(!_hasNext)
+                        throw new NoSuchElementException();
+
+                    int target  = _reader.target();
+                    Edge edge   = _reversed ? edgeOf(target, _index, _reader.weight()) : edgeOf(_index, target, _reader.weight());
+                    _hasNext    = _reader.next();
+
+                    return edge;
+                }
+
+                @Override
+                public void remove() {
+                    throw immutable();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return degreeOf(_index, _reversed);
+        }
+    }
+
+}
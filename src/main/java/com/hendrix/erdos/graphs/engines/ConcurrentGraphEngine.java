@@ -0,0 +1,969 @@
+package com.hendrix.erdos.graphs.engines;
+
+import com.hendrix.erdos.exceptions.VertexNotFoundException;
+import com.hendrix.erdos.types.Edge;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.IVertex;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntConsumer;
+
+/**
+ * a thread safe graph engine, that lets many threads add and remove edges in parallel.
+ * <ul>
+ *     <li/>every vertex keeps its adjacency in concurrent maps of neighbor to the edges that
+ *     connect them. the edges of a pair are kept in a copy on write array, so reads never lock.
+ *     <li/>edge changes lock the two stripes of their vertices, out of a fixed array of
+ *     striped locks. changes of disjoint vertices do not contend.
+ *     <li/>adding a vertex takes a short registry lock, that assigns its dense index.
+ *     <li/>removing a vertex and clearing the graph are rare, and lock all of the stripes.
+ * </ul>
+ * reads, views and cursors are weakly consistent, they reflect some state of the graph at, or since,
+ * their creation, and never throw {@link java.util.ConcurrentModificationException}.
+ * removing a vertex changes the index of the last vertex, algorithms that keep their state in arrays
+ * should not run concurrently with vertex removal.
+ *
+ * @author Tomer Shalev
+ * @see AdjIncidenceGraphEngine
+ */
+@SuppressWarnings("UnusedDeclaration")
+public class ConcurrentGraphEngine extends AbstractGraphEngine {
+    private static final Edge[] NO_EDGES = new Edge[0];
+
+    /**
+     * the vertex records
+     */
+    protected final ConcurrentHashMap<IVertex, Node> _nodes;
+    /**
+     * the edges of the graph
+     */
+    protected final Set<Edge> _edges;
+    /**
+     * the striped locks of the vertices
+     */
+    protected final ReentrantLock[] _stripes;
+    /**
+     * guards the dense indices of the vertices
+     */
+    protected final Object _registryLock = new Object();
+    /**
+     * the vertices by dense index, the array is replaced when it grows. readers read {@link #_size} first.
+     */
+    protected volatile IVertex[] _byIndex;
+    /**
+     * the number of vertices
+     */
+    protected volatile int _size = 0;
+
+    /**
+     * create an engine with a stripe count that fits the available processors
+     */
+    public ConcurrentGraphEngine() {
+        this(Runtime.getRuntime().availableProcessors() * 16);
+    }
+
+    /**
+     * @param concurrencyLevel the expected number of concurrently locked vertices, it is rounded
+     *                         up to a power of two stripes
+     */
+    public ConcurrentGraphEngine(int concurrencyLevel) {
+        int stripes     = Integer.highestOneBit(Math.max(concurrencyLevel, 1) - 1) << 1;
+
+        _stripes        = new ReentrantLock[Math.max(stripes, 1)];
+        _nodes          = new ConcurrentHashMap<>(64, 0.75f, _stripes.length);
+        _edges          = ConcurrentHashMap.newKeySet();
+        _byIndex        = new IVertex[16];
+
+        for (int i = 0; i < _stripes.length; i++) {
+            _stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * iterator over the vertices of the graph, by index
+     *
+     * @return the vertices iterator
+     */
+    @Override
+    public Iterator<IVertex> iterator() {
+        return new VerticesIterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * changes that are made to this collection will reflect
+     * changes to the edges of the graph (removal wise)
+     */
+    @Override
+    public Collection<IVertex> vertices() {
+        return (verticesView == null) ? verticesView = new VerticesView() : verticesView;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * changes that are made to this collection will reflect
+     * changes to the vertices of the graph
+     */
+    @Override
+    public Collection<Edge> edges() {
+        return (edgesView == null) ? edgesView = new EdgesView() : edgesView;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * a lock free, read only view
+     */
+    @Override
+    public Collection<IVertex> getNeighborsOf(IVertex vertex) {
+        return Collections.unmodifiableSet(validateVertex(vertex).out.keySet());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * a lock free, read only view
+     */
+    @Override
+    public Collection<Edge> getIncidenceOutListOf(IVertex vertex) {
+        Node node = validateVertex(vertex);
+
+        return new IncidenceView(node, node.out);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * a lock free, read only view
+     */
+    @Override
+    public Collection<Edge> getIncidenceInListOf(IVertex vertex) {
+        Node node = validateVertex(vertex);
+
+        return new IncidenceView(node, node.in);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachNeighbor(int vertexIndex, IntConsumer consumer) {
+        for (IVertex neighbor : nodeAt(vertexIndex).out.keySet()) {
+            int index = indexOf(neighbor);
+
+            // the neighbor may have been removed meanwhile
+            if(index != -1)
+                consumer.accept(index);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public NeighborCursor neighborCursor() {
+        return new ConcurrentNeighborCursor();
+    }
+
+    @Override
+    public boolean hasVertex(IVertex vertex) {
+        return vertex != null && _nodes.containsKey(vertex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int indexOf(IVertex vertex) {
+        Node node = (vertex == null) ? null : _nodes.get(vertex);
+
+        return (node == null) ? -1 : node.index;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IVertex vertexAt(int index) {
+        int size            = _size;
+        IVertex[] byIndex   = _byIndex;
+
+        if(index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("vertex index " + index + ", size " + size);
+
+        return byIndex[index];
+    }
+
+    /**
+     * add <code>vertex</code> into the graph
+     *
+     * @return true if success
+     */
+    @Override
+    public boolean addVertex(IVertex vertex) {
+        synchronized (_registryLock) {
+            if(_nodes.containsKey(vertex))
+                return false;
+
+            int index       = _size;
+
+            if(index == _byIndex.length)
+                _byIndex    = Arrays.copyOf(_byIndex, index << 1);
+
+            _byIndex[index] = vertex;
+            vertex.setIndex(index);
+            _nodes.put(vertex, new Node(vertex, index, getGraphType() == EDGE_DIRECTION.DIRECTED));
+
+            _size           = index + 1;
+        }
+
+        return true;
+    }
+
+    /**
+     * remove <code>vertex</code> and its edges from the graph. locks all of the stripes.
+     *
+     * @return true if success
+     */
+    @Override
+    public boolean removeVertex(IVertex vertex) {
+        if(!hasVertex(vertex))
+            return false;
+
+        lockAll();
+
+        try {
+            synchronized (_registryLock) {
+                Node node           = _nodes.get(vertex);
+
+                if(node == null)
+                    return false;
+
+                internal_unlink(node.out, node, true);
+
+                if(node.in != node.out)
+                    internal_unlink(node.in, node, false);
+
+                _nodes.remove(vertex);
+
+                int last            = _size - 1;
+
+                // move the last vertex into the freed index
+                if(node.index != last) {
+                    IVertex moved   = _byIndex[last];
+
+                    _byIndex[node.index] = moved;
+                    _nodes.get(moved).index = node.index;
+                    moved.setIndex(node.index);
+                }
+
+                _byIndex[last]      = null;
+                _size               = last;
+            }
+        } finally {
+            unlockAll();
+        }
+
+        return true;
+    }
+
+    @Override
+    public int numEdges() {
+        return _edges.size();
+    }
+
+    @Override
+    public int numVertices() {
+        return _size;
+    }
+
+    @Override
+    public boolean hasEdge(IVertex v1, IVertex v2) {
+        return getEdge(v1, v2) != null;
+    }
+
+    @Override
+    public boolean hasEdge(Edge edge) {
+        return edge != null && _edges.contains(edge);
+    }
+
+    @Override
+    public Edge addEdge(IVertex v1, IVertex v2) {
+        return addEdge(v1, v2, 0f);
+    }
+
+    @Override
+    public Edge addEdge(IVertex v1, IVertex v2, float weight) {
+        return addEdge(new Edge(v1, v2, getGraphType(), weight));
+    }
+
+    /**
+     * connect an edge (v1, v2) into the graph, v1 and v2 have to be members.
+     * locks the stripes of the two vertices.
+     *
+     * @return the edge so use can query the id, or {@code null} if the edge is incompatible
+     *         with the graph type
+     */
+    @Override
+    public Edge addEdge(Edge edge) {
+        IVertex v1  = edge.getV1();
+        IVertex v2  = edge.getV2();
+
+        validateVertex(v1);
+        validateVertex(v2);
+
+        if(edge.getEdgeType() != getGraphType())
+            return null;
+
+        if(v1.equals(v2) && !isSelfLoopsSupported())
+            return null;
+
+        lock(v1, v2);
+
+        try {
+            // the vertices may have been removed while waiting for the locks
+            Node n1 = validateVertex(v1);
+            Node n2 = validateVertex(v2);
+
+            if(!isMultiEdgesSupported() && n1.out.containsKey(v2))
+                return null;
+
+            if(!_edges.add(edge))
+                return null;
+
+            n1.append(n1.out, v2, edge);
+
+            if(n1 != n2 || n1.in != n1.out)
+                n2.append(n2.in, v1, edge);
+        } finally {
+            unlock(v1, v2);
+        }
+
+        return edge;
+    }
+
+    @Override
+    public Edge removeEdge(IVertex v1, IVertex v2) {
+        Edge edge = getEdge(v1, v2);
+
+        return (edge == null) ? null : removeEdge(edge);
+    }
+
+    /**
+     * remove an edge from the graph. locks the stripes of the two vertices.
+     *
+     * @param edge an edge that already belong to the graph
+     *
+     * @return the edge if success, or null if failed
+     */
+    @Override
+    public Edge removeEdge(Edge edge) {
+        if(!hasEdge(edge))
+            return null;
+
+        IVertex v1 = edge.getV1();
+        IVertex v2 = edge.getV2();
+
+        lock(v1, v2);
+
+        try {
+            if(!_edges.remove(edge))
+                return null;
+
+            internal_detach(edge);
+        } finally {
+            unlock(v1, v2);
+        }
+
+        return edge;
+    }
+
+    @Override
+    public Collection<Edge> removeMultiEdges(IVertex u, IVertex v) {
+        if(!hasVertex(u) || !hasVertex(v))
+            return new ArrayList<>();
+
+        lock(u, v);
+
+        try {
+            Node node               = _nodes.get(u);
+            ArrayList<Edge> removed = new ArrayList<>();
+
+            if(node == null)
+                return removed;
+
+            for (Edge edge : node.edgesTo(v)) {
+                if(_edges.remove(edge)) {
+                    internal_detach(edge);
+                    removed.add(edge);
+                }
+            }
+
+            return removed;
+        } finally {
+            unlock(u, v);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * lock free
+     */
+    @Override
+    public Edge getEdge(IVertex v1, IVertex v2) {
+        Node node   = (v1 == null) ? null : _nodes.get(v1);
+        Edge[] list = (node == null || v2 == null) ? null : node.out.get(v2);
+
+        return (list == null) ? null : list[0];
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * lock free, the collection is a snapshot
+     */
+    @Override
+    public Collection<Edge> getMultiEdges(IVertex u, IVertex v) {
+        Node node = (u == null) ? null : _nodes.get(u);
+
+        if(node == null || v == null)
+            return Collections.emptyList();
+
+        return Collections.unmodifiableList(Arrays.asList(node.edgesTo(v)));
+    }
+
+    /**
+     * clear the graph into an empty graph. locks all of the stripes.
+     */
+    @Override
+    public void clear() {
+        lockAll();
+
+        try {
+            synchronized (_registryLock) {
+                _edges.clear();
+                _nodes.clear();
+                Arrays.fill(_byIndex, null);
+                _size = 0;
+            }
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * @param vertex the vertex in question
+     * @return the out degree of the vertex
+     */
+    @Override
+    public int outDegreeOfVertex(IVertex vertex) {
+        return validateVertex(vertex).out.size();
+    }
+
+    /**
+     * @param vertex the vertex in question
+     * @return the number of edges that go into the vertex
+     */
+    @Override
+    public int inDegreeOfVertex(IVertex vertex) {
+        return validateVertex(vertex).inEdges;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void dispose() {
+        int size = _size;
+
+        for (int index = 0; index < size; index++) {
+            _byIndex[index].dispose();
+        }
+
+        clear();
+    }
+
+    /**
+     * @return the number of lock stripes
+     */
+    public int getStripeCount() {
+        return _stripes.length;
+    }
+
+    /**
+     * remove an edge from the adjacency of its vertices, the caller holds their stripes
+     */
+    private void internal_detach(Edge edge) {
+        IVertex v1  = edge.getV1();
+        IVertex v2  = edge.getV2();
+        Node n1     = _nodes.get(v1);
+        Node n2     = _nodes.get(v2);
+
+        if(n1 != null)
+            n1.detach(n1.out, v2, edge);
+
+        if(n2 != null && (n1 != n2 || n2.in != n2.out))
+            n2.detach(n2.in, v1, edge);
+    }
+
+    /**
+     * remove the edges of a vertex that is being removed, from the adjacency of its neighbors.
+     * the caller holds all of the stripes.
+     *
+     * @param adjacency the out or the in adjacency of the vertex
+     * @param node      the vertex
+     * @param out       whether the adjacency is the out adjacency
+     */
+    private void internal_unlink(ConcurrentHashMap<IVertex, Edge[]> adjacency, Node node, boolean out) {
+        for (Edge[] list : adjacency.values()) {
+            for (Edge edge : list) {
+                if(!_edges.remove(edge))
+                    continue;
+
+                IVertex other   = out ? edge.getV2() : edge.getV1();
+
+                // undirected edges are stored from both of their vertices
+                if(other == node.vertex)
+                    other       = out ? edge.getV1() : edge.getV2();
+
+                Node neighbor   = _nodes.get(other);
+
+                if(neighbor != null && neighbor != node)
+                    neighbor.detach(out ? neighbor.in : neighbor.out, node.vertex, edge);
+            }
+        }
+
+        adjacency.clear();
+    }
+
+    private Node validateVertex(IVertex vertex) {
+        Node node = (vertex == null) ? null : _nodes.get(vertex);
+
+        if(node == null)
+            throw new VertexNotFoundException(vertex, getGraph());
+
+        return node;
+    }
+
+    private Node nodeAt(int index) {
+        Node node = _nodes.get(vertexAt(index));
+
+        if(node == null)
+            throw new IndexOutOfBoundsException("vertex index " + index + " was removed");
+
+        return node;
+    }
+
+    private int stripeOf(IVertex vertex) {
+        int h = vertex.hashCode();
+
+        return (h ^ (h >>> 16)) & (_stripes.length - 1);
+    }
+
+    /**
+     * lock the stripes of two vertices, the lower stripe first
+     */
+    private void lock(IVertex v1, IVertex v2) {
+        int s1 = stripeOf(v1);
+        int s2 = stripeOf(v2);
+
+        _stripes[Math.min(s1, s2)].lock();
+
+        if(s1 != s2)
+            _stripes[Math.max(s1, s2)].lock();
+    }
+
+    private void unlock(IVertex v1, IVertex v2) {
+        int s1 = stripeOf(v1);
+        int s2 = stripeOf(v2);
+
+        if(s1 != s2)
+            _stripes[Math.max(s1, s2)].unlock();
+
+        _stripes[Math.min(s1, s2)].unlock();
+    }
+
+    private void lockAll() {
+        for (ReentrantLock stripe : _stripes) {
+            stripe.lock();
+        }
+    }
+
+    private void unlockAll() {
+        for (int i = _stripes.length - 1; i >= 0; i--) {
+            _stripes[i].unlock();
+        }
+    }
+
+    /**
+     * the record of a vertex
+     */
+    protected static class Node {
+        final IVertex vertex;
+        /**
+         * the dense index, changed only under all of the stripes
+         */
+        volatile int index;
+        /**
+         * neighbor to the edges that go out to it
+         */
+        final ConcurrentHashMap<IVertex, Edge[]> out;
+        /**
+         * neighbor to the edges that come in from it, the out map for undirected graphs
+         */
+        final ConcurrentHashMap<IVertex, Edge[]> in;
+        /**
+         * the number of edges in {@link #out} and {@link #in}, written under the stripe of the vertex
+         */
+        volatile int outEdges = 0;
+        volatile int inEdges = 0;
+
+        Node(IVertex vertex, int index, boolean directed) {
+            this.vertex = vertex;
+            this.index  = index;
+            this.out    = new ConcurrentHashMap<>(4, 0.75f, 1);
+            this.in     = directed ? new ConcurrentHashMap<IVertex, Edge[]>(4, 0.75f, 1) : out;
+        }
+
+        Edge[] edgesTo(IVertex vertex) {
+            Edge[] list = out.get(vertex);
+
+            return (list == null) ? NO_EDGES : list;
+        }
+
+        void append(ConcurrentHashMap<IVertex, Edge[]> adjacency, IVertex neighbor, Edge edge) {
+            Edge[] list     = adjacency.get(neighbor);
+
+            if(list == null) {
+                list        = new Edge[] {edge};
+            } else {
+                list        = Arrays.copyOf(list, list.length + 1);
+                list[list.length - 1] = edge;
+            }
+
+            adjacency.put(neighbor, list);
+            count(adjacency, 1);
+        }
+
+        void detach(ConcurrentHashMap<IVertex, Edge[]> adjacency, IVertex neighbor, Edge edge) {
+            Edge[] list     = adjacency.get(neighbor);
+
+            if(list == null)
+                return;
+
+            int at          = -1;
+
+            for (int i = 0; i < list.length && at == -1; i++) {
+                if(list[i] == edge)
+                    at      = i;
+            }
+
+            if(at == -1)
+                return;
+
+            if(list.length == 1) {
+                adjacency.remove(neighbor);
+            } else {
+                Edge[] copy = new Edge[list.length - 1];
+
+                System.arraycopy(list, 0, copy, 0, at);
+                System.arraycopy(list, at + 1, copy, at, copy.length - at);
+                adjacency.put(neighbor, copy);
+            }
+
+            count(adjacency, -1);
+        }
+
+        private void count(ConcurrentHashMap<IVertex, Edge[]> adjacency, int delta) {
+            if(adjacency == out)
+                outEdges += delta;
+
+            if(adjacency == in)
+                inEdges += delta;
+        }
+    }
+
+    /**
+     * responsive/modifiable collection views for iteration outside
+     * the class.
+     */
+    transient volatile Collection<IVertex> verticesView;
+    transient volatile Collection<Edge> edgesView;
+
+    /**
+     * vertices view
+     */
+    public class VerticesView extends AbstractCollection<IVertex> {
+
+        @SuppressWarnings("NullableProblems")
+        @Override
+        public Iterator<IVertex> iterator() {
+            return new VerticesIterator();
+        }
+
+        public int size() {
+            return _size;
+        }
+
+        public boolean contains(Object o) {
+            return (o instanceof IVertex) && hasVertex((IVertex) o);
+        }
+
+        public boolean add(IVertex vertex) {
+            return addVertex(vertex);
+        }
+
+        public boolean remove(Object o) {
+            return (o instanceof IVertex) && removeVertex((IVertex) o);
+        }
+    }
+
+    /**
+     * iterates the vertices by their index. removing a vertex moves the last
+     * vertex into its index, so the iterator visits that index again.
+     */
+    protected class VerticesIterator implements Iterator<IVertex> {
+        private int _cursor = 0;
+        private IVertex _current = null;
+        private IVertex _next = null;
+
+        @Override
+        public boolean hasNext() {
+            while (_next == null) {
+                int size            = _size;
+                IVertex[] byIndex   = _byIndex;
+
+                if(_cursor >= size)
+                    return false;
+
+                _next               = byIndex[_cursor++];
+            }
+
+            return true;
+        }
+
+        @Override
+        public IVertex next() {
+            if(!hasNext())
+                throw new NoSuchElementException();
+
+            _current    = _next;
+            _next       = null;
+
+            return _current;
+        }
+
+        @Override
+        public void remove() {
+            if(_current == null)
+                throw new IllegalStateException();
+
+            if(removeVertex(_current) && _cursor > 0)
+                _cursor--;
+
+            _current    = null;
+        }
+    }
+
+    /**
+     * edges view, backed by the concurrent edge set
+     */
+    public class EdgesView extends AbstractCollection<Edge> {
+
+        @SuppressWarnings("NullableProblems")
+        @Override
+        public Iterator<Edge> iterator() {
+            return new EdgesIterator();
+        }
+
+        public int size() {
+            return _edges.size();
+        }
+
+        public boolean contains(Object o) {
+            return _edges.contains(o);
+        }
+
+        public boolean add(Edge edge) {
+            return addEdge(edge) != null;
+        }
+
+        public boolean remove(Object o) {
+            return (o instanceof Edge) && removeEdge((Edge) o) != null;
+        }
+    }
+
+    protected class EdgesIterator implements Iterator<Edge> {
+        private final Iterator<Edge> _iterParent = _edges.iterator();
+        private Edge _current = null;
+
+        @Override
+        public boolean hasNext() {
+            return _iterParent.hasNext();
+        }
+
+        @Override
+        public Edge next() {
+            return _current = _iterParent.next();
+        }
+
+        @Override
+        public void remove() {
+            if(_current == null)
+                throw new IllegalStateException();
+
+            removeEdge(_current);
+            _current = null;
+        }
+    }
+
+    /**
+     * incidence view of a vertex, flattens the edge arrays of its adjacency map.
+     * <p/>
+     * removal/addition of elements are not supported
+     */
+    public class IncidenceView extends AbstractCollection<Edge> {
+        private final Node _node;
+        private final ConcurrentHashMap<IVertex, Edge[]> _adjacency;
+
+        public IncidenceView(Node node, ConcurrentHashMap<IVertex, Edge[]> adjacency) {
+            _node       = node;
+            _adjacency  = adjacency;
+        }
+
+        @SuppressWarnings("NullableProblems")
+        @Override
+        public Iterator<Edge> iterator() {
+            final Iterator<Edge[]> lists = _adjacency.values().iterator();
+
+            return new Iterator<Edge>() {
+                private Edge[] _list = NO_EDGES;
+                private int _position = 0;
+
+                @Override
+                public boolean hasNext() {
+                    while (_position == _list.length) {
+                        if(!lists.hasNext())
+                            return false;
+
+                        _list       = lists.next();
+                        _position   = 0;
+                    }
+
+                    return true;
+                }
+
+                @Override
+                public Edge next() {
+                    if(!hasNext())
+                        throw new NoSuchElementException();
+
+                    return _list[_position++];
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException("removing an edge directly from the incidence list is not supported!! use graph methods instead");
+                }
+            };
+        }
+
+        public int size() {
+            return (_adjacency == _node.out) ? _node.outEdges : _node.inEdges;
+        }
+
+        public boolean contains(Object o) {
+            if(!(o instanceof Edge))
+                return false;
+
+            Edge edge   = (Edge) o;
+
+            for (IVertex end : new IVertex[] {edge.getV1(), edge.getV2()}) {
+                Edge[] list = _adjacency.get(end);
+
+                for (int i = 0; list != null && i < list.length; i++) {
+                    if(list[i] == edge)
+                        return true;
+                }
+            }
+
+            return false;
+        }
+
+        public boolean add(Edge edge) {
+            throw new UnsupportedOperationException("adding an edge directly to the incidence list is not supported!! use graph methods instead");
+        }
+
+        public boolean remove(Object o) {
+            throw new UnsupportedOperationException("removing an edge directly from the incidence list is not supported!! use graph methods instead");
+        }
+    }
+
+    /**
+     * neighbor cursor over a snapshot of the adjacency of a vertex, the snapshot
+     * arrays are reused between vertices.
+     */
+    protected class ConcurrentNeighborCursor implements NeighborCursor {
+        private int[] _targets = new int[16];
+        private Edge[] _edges = new Edge[16];
+        private int _size;
+        private int _position;
+
+        @Override
+        public NeighborCursor reset(int vertexIndex) {
+            _size       = 0;
+            _position   = -1;
+
+            for (Map.Entry<IVertex, Edge[]> entry : nodeAt(vertexIndex).out.entrySet()) {
+                int index = indexOf(entry.getKey());
+
+                if(index == -1)
+                    continue;
+
+                if(_size == _targets.length) {
+                    _targets    = Arrays.copyOf(_targets, _size << 1);
+                    _edges      = Arrays.copyOf(_edges, _size << 1);
+                }
+
+                _targets[_size] = index;
+                _edges[_size++] = entry.getValue()[0];
+            }
+
+            return this;
+        }
+
+        @Override
+        public boolean next() {
+            return ++_position < _size;
+        }
+
+        @Override
+        public int target() {
+            return _targets[_position];
+        }
+
+        @Override
+        public float weight() {
+            return _edges[_position].getWeight();
+        }
+
+        @Override
+        public Edge edge() {
+            return _edges[_position];
+        }
+    }
+
+}
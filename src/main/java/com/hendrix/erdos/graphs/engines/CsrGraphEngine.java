@@ -0,0 +1,414 @@
+package com.hendrix.erdos.graphs.engines;
+
+import com.hendrix.erdos.graphs.IGraph;
+import com.hendrix.erdos.types.Edge;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.IVertex;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * an immutable graph engine based on the <b>Compressed Sparse Row</b> representation, on heap arrays.<br/>
+ * the adjacency of vertex {@code i} lives in the slots {@code [offsets[i], offsets[i+1])} of the
+ * {@code targets} and {@code weights} arrays.
+ * <ul>
+ *     <li/>the vertices and edges are the instances of the frozen graph, unless the edges are copied,
+ *     see {@link #CsrGraphEngine(IGraphRepresentation, boolean)}.
+ *     <li/>edge weights are captured when the engine is built.
+ * </ul>
+ * use {@link AdjIncidenceGraphEngine#freeze()} or {@link com.hendrix.erdos.Erdos#freezeGraphOf(IGraph)}
+ * to create one from a mutable graph.
+ *
+ * @author Tomer Shalev
+ * @see IGraph
+ */
+@SuppressWarnings("UnusedDeclaration")
+public class CsrGraphEngine extends AbstractCsrGraphEngine {
+    /**
+     * the vertices of the graph, by index
+     */
+    protected IVertex[] _vertices = null;
+    /**
+     * vertex to index registry
+     */
+    protected VertexIndex _indices = null;
+    /**
+     * the edges of the graph, in their original order
+     */
+    protected Edge[] _edges = null;
+    /**
+     * row offsets, the row of vertex {@code i} is {@code [offsets[i], offsets[i+1])}
+     */
+    protected int[] _offsets = null;
+    /**
+     * the target vertex index of every slot
+     */
+    protected int[] _targets = null;
+    /**
+     * the weight of every slot
+     */
+    protected float[] _weights = null;
+    /**
+     * the index into {@link #_edges} of every slot
+     */
+    protected int[] _edgeIds = null;
+    /**
+     * reversed row offsets (directed graphs only)
+     */
+    protected int[] _inOffsets = null;
+    /**
+     * the source vertex index of every reversed slot (directed graphs only)
+     */
+    protected int[] _inSources = null;
+    /**
+     * the forward slot of every reversed slot (directed graphs only)
+     */
+    protected int[] _inSlots = null;
+
+    /**
+     * freeze a graph representation into a new CSR engine. the vertices and edges are referenced
+     * and not cloned.
+     *
+     * @param source the graph (or graph engine) to freeze
+     */
+    public CsrGraphEngine(IGraphRepresentation source) {
+        this(source, false);
+    }
+
+    /**
+     * freeze a graph representation into a new CSR engine. the vertices are referenced and not cloned.
+     *
+     * @param source    the graph (or graph engine) to freeze
+     * @param copyEdges copy every edge into a new, plain, {@link Edge}, with the weight, tag and data of the edge,
+     *                  so later changes of the source edges, or of the engine that owns them, do not show through.
+     *                  the copies have identifiers of their own
+     */
+    public CsrGraphEngine(IGraphRepresentation source, boolean copyEdges) {
+        super(source.getGraphType());
+
+        int n                       = source.numVertices();
+
+        _indices                    = new VertexIndex(n);
+
+        for (IVertex vertex : source.vertices()) {
+            _indices.add(vertex);
+        }
+
+        _vertices                   = _indices.toArray();
+
+        _edges                      = source.edges().toArray(new Edge[0]);
+
+        for (int e = 0; copyEdges && e < _edges.length; e++) {
+            Edge edge               = _edges[e];
+            Edge copy               = new Edge(edge.getV1(), edge.getV2(), edge.getEdgeType(), edge.getWeight());
+
+            copy.setTag(edge.getTag());
+            copy.setData(edge.getData());
+
+            _edges[e]               = copy;
+        }
+
+        build();
+    }
+
+    /**
+     * build the rows out of the edges list with two counting sort passes, first by target and
+     * then by source, so every row comes out sorted by target.
+     */
+    private void build() {
+        int n                       = _vertices.length;
+        int m                       = _edges.length;
+        boolean undirected          = _direction == EDGE_DIRECTION.UNDIRECTED;
+
+        // half edges: an undirected edge is seen from both of its vertices, a self loop only once
+
+        int[] src                   = new int[undirected ? 2 * m : m];
+        int[] dst                   = new int[src.length];
+        int[] eid                   = new int[src.length];
+        int h                       = 0;
+
+        for (int e = 0; e < m; e++) {
+            int u                   = indexOfOrThrow(_edges[e].getV1());
+            int v                   = indexOfOrThrow(_edges[e].getV2());
+
+            src[h] = u; dst[h] = v; eid[h++] = e;
+
+            if(undirected && u != v) {
+                src[h] = v; dst[h] = u; eid[h++] = e;
+            }
+        }
+
+        // bucket the half edges by target
+
+        int[] byTarget              = new int[h];
+        int[] cursor                = countingOffsets(dst, h, n);
+
+        for (int k = 0; k < h; k++) {
+            byTarget[cursor[dst[k]]++] = k;
+        }
+
+        // place them into the rows of their sources, in increasing target order
+
+        _offsets                    = Arrays.copyOf(countingOffsets(src, h, n), n + 1);
+        _offsets[n]                 = h;
+        _targets                    = new int[h];
+        _weights                    = new float[h];
+        _edgeIds                    = new int[h];
+
+        cursor                      = Arrays.copyOf(_offsets, n);
+
+        for (int k : byTarget) {
+            int slot                = cursor[src[k]]++;
+
+            _targets[slot]          = dst[k];
+            _edgeIds[slot]          = eid[k];
+            _weights[slot]          = _edges[eid[k]].getWeight();
+        }
+
+        if(undirected)
+            return;
+
+        // reversed rows, sorted by source
+
+        _inOffsets                  = Arrays.copyOf(countingOffsets(dst, h, n), n + 1);
+        _inOffsets[n]               = h;
+        _inSources                  = new int[h];
+        _inSlots                    = new int[h];
+
+        cursor                      = Arrays.copyOf(_inOffsets, n);
+
+        for (int u = 0; u < n; u++) {
+            for (int slot = _offsets[u]; slot < _offsets[u + 1]; slot++) {
+                int inSlot          = cursor[_targets[slot]]++;
+
+                _inSources[inSlot]  = u;
+                _inSlots[inSlot]    = slot;
+            }
+        }
+
+    }
+
+    /**
+     * @return the start offset of every key bucket, for a counting sort
+     */
+    private static int[] countingOffsets(int[] keys, int length, int numKeys) {
+        int[] offsets               = new int[numKeys];
+
+        for (int k = 0; k < length; k++) {
+            offsets[keys[k]]++;
+        }
+
+        int sum                     = 0;
+
+        for (int i = 0; i < numKeys; i++) {
+            int count               = offsets[i];
+            offsets[i]              = sum;
+            sum                    += count;
+        }
+
+        return offsets;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int indexOf(IVertex vertex) {
+        return _indices.indexOf(vertex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IVertex vertexAt(int index) {
+        return _vertices[index];
+    }
+
+    /**
+     * @return the row offsets array, of length {@code numVertices() + 1}. do not modify.
+     */
+    public int[] getOffsets() {
+        return _offsets;
+    }
+
+    /**
+     * @return the target vertex index of every slot. do not modify.
+     */
+    public int[] getTargets() {
+        return _targets;
+    }
+
+    /**
+     * @return the weight of every slot. do not modify.
+     */
+    public float[] getWeights() {
+        return _weights;
+    }
+
+    /**
+     * @return the reversed row offsets array, or {@code null} for undirected graphs. do not modify.
+     */
+    public int[] getInOffsets() {
+        return _inOffsets;
+    }
+
+    /**
+     * @return the source vertex index of every reversed slot, or {@code null} for undirected graphs. do not modify.
+     */
+    public int[] getInSources() {
+        return _inSources;
+    }
+
+    /**
+     * @return the forward slot of every reversed slot, or {@code null} for undirected graphs. do not modify.
+     */
+    public int[] getInSlots() {
+        return _inSlots;
+    }
+
+    @Override
+    protected final int offset(int index) {
+        return _offsets[index];
+    }
+
+    @Override
+    protected final int target(int slot) {
+        return _targets[slot];
+    }
+
+    @Override
+    protected final float weight(int slot) {
+        return _weights[slot];
+    }
+
+    @Override
+    protected final boolean hasInRows() {
+        return _inOffsets != null;
+    }
+
+    @Override
+    protected final int inOffset(int index) {
+        return _inOffsets[index];
+    }
+
+    @Override
+    protected final int inSource(int inSlot) {
+        return _inSources[inSlot];
+    }
+
+    @Override
+    protected final int inSlot(int inSlot) {
+        return _inSlots[inSlot];
+    }
+
+    @Override
+    protected final Edge edgeAt(int source, int slot) {
+        return _edges[_edgeIds[slot]];
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * the collection is read only, the edges are in their original order
+     */
+    @Override
+    public Collection<Edge> edges() {
+        return new AbstractCollection<Edge>() {
+            @SuppressWarnings("NullableProblems")
+            @Override
+            public Iterator<Edge> iterator() {
+                return new ArrayIterator<>(_edges, _edges.length);
+            }
+
+            @Override
+            public int size() {
+                return _edges.length;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof Edge && hasEdge((Edge) o);
+            }
+        };
+    }
+
+    /**
+     * @return the number of vertices in the Graph
+     */
+    @Override
+    public int numVertices() {
+        return _vertices.length;
+    }
+
+    /**
+     * @return the number of edges in the graph
+     */
+    @Override
+    public int numEdges() {
+        return _edges.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void dispose() {
+        _vertices   = null;
+        _indices    = null;
+        _edges      = null;
+        _offsets    = null;
+        _targets    = null;
+        _weights    = null;
+        _edgeIds    = null;
+        _inOffsets  = null;
+        _inSources  = null;
+        _inSlots    = null;
+    }
+
+    private int indexOfOrThrow(IVertex vertex) {
+        int index = indexOf(vertex);
+
+        if(index == -1)
+            throw new IllegalArgumentException("edge vertex " + vertex.getId() + " is not a vertex of the frozen graph");
+
+        return index;
+    }
+
+    /**
+     * read only iterator over a prefix of an array
+     */
+    protected static class ArrayIterator<T> implements Iterator<T> {
+        private final T[] _array;
+        private final int _length;
+        private int _cursor = 0;
+
+        public ArrayIterator(T[] array, int length) {
+            _array  = array;
+            _length = length;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return _cursor < _length;
+        }
+
+        @Override
+        public T next() {
+            if(_cursor >= _length)
+                throw new NoSuchElementException();
+
+            return _array[_cursor++];
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("CSR graph engine is immutable!!");
+        }
+    }
+
+}
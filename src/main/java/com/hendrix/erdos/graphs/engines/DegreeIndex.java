@@ -0,0 +1,304 @@
+package com.hendrix.erdos.graphs.engines;
+
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.IVertex;
+
+import java.util.Arrays;
+
+/**
+ * the degrees of the vertices of a graph by dense vertex index, with a histogram and the maximum
+ * of every direction:
+ * <ul>
+ *     <li/>the out degree of a vertex is the number of its out edges, and the in degree is the number
+ *     of its in edges, multi edges included, like the sizes of its incidence lists.
+ *     <li/>the degrees of undirected graphs are the same in both directions, and a self loop counts once.
+ *     <li/>the histogram holds the number of vertices of every degree, so the degree distribution and
+ *     the maximum degree are known without walking the graph.
+ * </ul>
+ * engines that maintain an index update it on every mutation, in constant time, amortized for the
+ * maximum. other engines return a snapshot, see {@link #of(IGraphEngine)}.
+ *
+ * @author Tomer Shalev
+ * @see IGraphEngine#degrees()
+ */
+@SuppressWarnings("UnusedDeclaration")
+public class DegreeIndex {
+    private int[] _out          = new int[16];
+    private int[] _in           = _out;
+    /**
+     * the number of vertices of every degree
+     */
+    private int[] _outCounts    = new int[16];
+    private int[] _inCounts     = _outCounts;
+    private int _maxOut         = 0;
+    private int _maxIn          = 0;
+    private int _size           = 0;
+    private boolean _directed   = false;
+
+    /**
+     * @param directed {@code true} to keep the in degrees apart from the out degrees
+     */
+    public DegreeIndex(boolean directed) {
+        setDirected(directed);
+    }
+
+    /**
+     * count the degrees of the vertices of an engine from their incidence lists
+     *
+     * @param engine the engine
+     *
+     * @return a snapshot of the degrees, that does not follow changes to the engine
+     */
+    public static DegreeIndex of(IGraphEngine engine) {
+        boolean directed    = engine.getGraphType() == EDGE_DIRECTION.DIRECTED;
+        DegreeIndex index   = new DegreeIndex(directed);
+        int n               = engine.numVertices();
+
+        for (int i = 0; i < n; i++) {
+            IVertex vertex  = engine.vertexAt(i);
+
+            index.addVertex();
+            index.add(index._out, index._outCounts, i, engine.getIncidenceOutListOf(vertex).size(), true);
+
+            if(directed)
+                index.add(index._in, index._inCounts, i, engine.getIncidenceInListOf(vertex).size(), false);
+        }
+
+        return index;
+    }
+
+    /**
+     * @return the number of vertices
+     */
+    public int size() {
+        return _size;
+    }
+
+    /**
+     * @param index the dense index of a vertex
+     *
+     * @return the number of out edges of the vertex
+     */
+    public int outDegree(int index) {
+        validateIndex(index);
+
+        return _out[index];
+    }
+
+    /**
+     * @param index the dense index of a vertex
+     *
+     * @return the number of in edges of the vertex
+     */
+    public int inDegree(int index) {
+        validateIndex(index);
+
+        return _in[index];
+    }
+
+    public int maxOutDegree() {
+        return _maxOut;
+    }
+
+    public int maxInDegree() {
+        return _directed ? _maxIn : _maxOut;
+    }
+
+    /**
+     * @return the number of vertices with an out degree of {@code degree}
+     */
+    public int numVerticesWithOutDegree(int degree) {
+        return (degree < 0 || degree >= _outCounts.length) ? 0 : _outCounts[degree];
+    }
+
+    /**
+     * @return the number of vertices with an in degree of {@code degree}
+     */
+    public int numVerticesWithInDegree(int degree) {
+        return (degree < 0 || degree >= _inCounts.length) ? 0 : _inCounts[degree];
+    }
+
+    /**
+     * @return the number of vertices of every out degree, up to the maximum out degree
+     */
+    public int[] outDegreeHistogram() {
+        return Arrays.copyOf(_outCounts, maxOutDegree() + 1);
+    }
+
+    /**
+     * @return the number of vertices of every in degree, up to the maximum in degree
+     */
+    public int[] inDegreeHistogram() {
+        return Arrays.copyOf(_inCounts, maxInDegree() + 1);
+    }
+
+    /**
+     * @return the average out degree, {@code 0} for an empty graph
+     */
+    public double averageOutDegree() {
+        long sum = 0;
+
+        for (int degree = 1; degree <= _maxOut; degree++) {
+            sum += (long) degree * _outCounts[degree];
+        }
+
+        return (_size == 0) ? 0 : sum / (double) _size;
+    }
+
+    /**
+     * switch between a directed and an undirected index, the index has to be empty
+     */
+    void setDirected(boolean directed) {
+        if(directed == _directed && (_in != _out) == directed)
+            return;
+
+        if(_size != 0)
+            throw new IllegalStateException("the direction of a degree index can only change while it is empty");
+
+        _directed   = directed;
+        _in         = directed ? new int[_out.length] : _out;
+        _inCounts   = directed ? new int[_outCounts.length] : _outCounts;
+    }
+
+    /**
+     * add a vertex of degree zero at the next index
+     */
+    void addVertex() {
+        if(_size == _out.length) {
+            _out    = Arrays.copyOf(_out, _size << 1);
+            _in     = _directed ? Arrays.copyOf(_in, _size << 1) : _out;
+        }
+
+        _out[_size] = 0;
+        _in[_size]  = 0;
+        _outCounts[0]++;
+
+        if(_directed)
+            _inCounts[0]++;
+
+        _size++;
+    }
+
+    /**
+     * remove a vertex, whose edges are removed already, and move the last vertex into its index
+     */
+    void removeVertex(int index) {
+        validateIndex(index);
+
+        int last    = _size - 1;
+
+        if(_out[index] != 0 || _in[index] != 0)
+            throw new IllegalStateException("vertex " + index + " still has edges");
+
+        _out[index] = _out[last];
+        _in[index]  = _in[last];
+        _outCounts[0]--;
+
+        if(_directed)
+            _inCounts[0]--;
+
+        _size       = last;
+    }
+
+    void addEdge(int source, int target) {
+        add(_out, _outCounts, source, 1, true);
+
+        if(_directed)
+            add(_in, _inCounts, target, 1, false);
+        else if(source != target)
+            add(_out, _outCounts, target, 1, true);
+    }
+
+    void removeEdge(int source, int target) {
+        add(_out, _outCounts, source, -1, true);
+
+        if(_directed)
+            add(_in, _inCounts, target, -1, false);
+        else if(source != target)
+            add(_out, _outCounts, target, -1, true);
+    }
+
+    /**
+     * rebuild the index from a bulk loaded edge list, see {@link AbstractGraphEngine#load}
+     */
+    void load(int numVertices, int[] sources, int[] targets, int numEdges) {
+        clear();
+
+        for (int i = 0; i < numVertices; i++) {
+            addVertex();
+        }
+
+        for (int e = 0; e < numEdges; e++) {
+            addEdge(sources[e], targets[e]);
+        }
+    }
+
+    void clear() {
+        _out        = new int[16];
+        _outCounts  = new int[16];
+        _in         = _directed ? new int[16] : _out;
+        _inCounts   = _directed ? new int[16] : _outCounts;
+        _maxOut     = 0;
+        _maxIn      = 0;
+        _size       = 0;
+    }
+
+    /**
+     * @return a copy of the index, that does not share state with it
+     */
+    DegreeIndex copy() {
+        DegreeIndex copy    = new DegreeIndex(_directed);
+
+        copy._out           = _out.clone();
+        copy._outCounts     = _outCounts.clone();
+        copy._in            = _directed ? _in.clone() : copy._out;
+        copy._inCounts      = _directed ? _inCounts.clone() : copy._outCounts;
+        copy._maxOut        = _maxOut;
+        copy._maxIn         = _maxIn;
+        copy._size          = _size;
+
+        return copy;
+    }
+
+    /**
+     * change the degree of a vertex, and move it between the counts of its old and new degree
+     */
+    private void add(int[] degrees, int[] counts, int index, int delta, boolean out) {
+        int from            = degrees[index];
+        int to              = from + delta;
+
+        if(to >= counts.length) {
+            counts          = Arrays.copyOf(counts, Math.max(to + 1, counts.length << 1));
+
+            if(out) {
+                _outCounts  = counts;
+                _inCounts   = _directed ? _inCounts : counts;
+            }
+            else
+                _inCounts   = counts;
+        }
+
+        degrees[index]      = to;
+        counts[from]--;
+        counts[to]++;
+
+        int max             = out ? _maxOut : _maxIn;
+
+        // the maximum only drops by one, the vertex that dropped has the new maximum
+        if(to > max)
+            max             = to;
+        else if(from == max && counts[from] == 0)
+            max             = to;
+
+        if(out)
+            _maxOut         = max;
+        else
+            _maxIn          = max;
+    }
+
+    private void validateIndex(int index) {
+        if(index < 0 || index >= _size)
+            throw new IndexOutOfBoundsException("vertex index " + index + ", size " + _size);
+    }
+
+}
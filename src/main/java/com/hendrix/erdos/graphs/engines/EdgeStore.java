@@ -0,0 +1,322 @@
+package com.hendrix.erdos.graphs.engines;
+
+import java.util.Arrays;
+
+/**
+ * a columnar store of edges. every edge is an edge number, and its endpoints, weight, tag and
+ * data are kept in parallel columns, indexed by the edge number:
+ * <ul>
+ *     <li/>the endpoints are two {@code int} columns of vertex indices.
+ *     <li/>the weights are a {@code float} column, that is allocated once an edge has a weight.
+ *     <li/>the tags and data are object columns, that are allocated once an edge has a tag or data.
+ * </ul>
+ * an edge of an unweighted graph is 8 bytes. removed edge numbers are chained into a free list,
+ * and are reused by the next edges that are added, so the columns do not grow with churn.
+ *
+ * @author Tomer Shalev
+ * @see ColumnarGraphEngine
+ */
+@SuppressWarnings("UnusedDeclaration")
+public class EdgeStore {
+    /**
+     * the source of a free edge number
+     */
+    private static final int FREE = -1;
+
+    private int[] _sources;
+    /**
+     * the targets column, the next free edge number for free edge numbers
+     */
+    private int[] _targets;
+    private float[] _weights    = null;
+    private String[] _tags      = null;
+    private Object[] _data      = null;
+    /**
+     * the number of edge numbers in use or free, and the number of edges
+     */
+    private int _limit          = 0;
+    private int _size           = 0;
+    private int _free           = FREE;
+
+    public EdgeStore() {
+        this(16);
+    }
+
+    /**
+     * @param expectedEdges the initial capacity of the columns
+     */
+    public EdgeStore(int expectedEdges) {
+        if(expectedEdges < 0)
+            throw new IllegalArgumentException("expected edges " + expectedEdges);
+
+        _sources    = new int[Math.max(expectedEdges, 16)];
+        _targets    = new int[_sources.length];
+    }
+
+    /**
+     * copy constructor, the copy has the same edge numbers, and does not share state with the source.
+     * the tags and data themselves are referenced
+     *
+     * @param source the store to copy
+     */
+    public EdgeStore(EdgeStore source) {
+        _sources    = source._sources.clone();
+        _targets    = source._targets.clone();
+        _weights    = (source._weights == null) ? null : source._weights.clone();
+        _tags       = (source._tags == null) ? null : source._tags.clone();
+        _data       = (source._data == null) ? null : source._data.clone();
+        _limit      = source._limit;
+        _size       = source._size;
+        _free       = source._free;
+    }
+
+    /**
+     * add an edge
+     *
+     * @param source the index of the source vertex
+     * @param target the index of the target vertex
+     * @param weight the weight of the edge
+     *
+     * @return the edge number
+     */
+    public int add(int source, int target, float weight) {
+        int number;
+
+        if(_free != FREE) {
+            number  = _free;
+            _free   = _targets[number];
+        }
+        else {
+            if(_limit == _sources.length)
+                grow(_limit + (_limit >>> 1));
+
+            number  = _limit++;
+        }
+
+        _sources[number]    = source;
+        _targets[number]    = target;
+        _size++;
+
+        // freed edge numbers are cleared, so only weights need to be set
+        if(weight != 0f)
+            setWeight(number, weight);
+
+        return number;
+    }
+
+    /**
+     * remove an edge, its number is reused by the next edges that are added
+     *
+     * @param number the edge number
+     */
+    public void remove(int number) {
+        validate(number);
+
+        if(_weights != null)
+            _weights[number]    = 0f;
+
+        if(_tags != null)
+            _tags[number]       = null;
+
+        if(_data != null)
+            _data[number]       = null;
+
+        _sources[number]        = FREE;
+        _targets[number]        = _free;
+        _free                   = number;
+        _size--;
+    }
+
+    /**
+     * @param number an edge number
+     *
+     * @return {@code true} if the number belongs to an edge
+     */
+    public boolean contains(int number) {
+        return number >= 0 && number < _limit && _sources[number] != FREE;
+    }
+
+    public int source(int number) {
+        validate(number);
+
+        return _sources[number];
+    }
+
+    public int target(int number) {
+        validate(number);
+
+        return _targets[number];
+    }
+
+    /**
+     * @return the endpoint of an edge that is not {@code vertexIndex}, or {@code vertexIndex} for a self loop
+     */
+    public int other(int number, int vertexIndex) {
+        validate(number);
+
+        return (_sources[number] == vertexIndex) ? _targets[number] : _sources[number];
+    }
+
+    /**
+     * {@link #other(int, int)} without validation, for the hot loops of the engine over edge
+     * numbers it knows are live
+     */
+    int internal_other(int number, int vertexIndex) {
+        int source = _sources[number];
+
+        return (source == vertexIndex) ? _targets[number] : source;
+    }
+
+    /**
+     * {@link #weight(int)} without validation
+     */
+    float internal_weight(int number) {
+        return (_weights == null) ? 0f : _weights[number];
+    }
+
+    /**
+     * move an endpoint of an edge to another vertex index, both endpoints of a self loop are moved
+     *
+     * @param number the edge number
+     * @param from   the current vertex index
+     * @param to     the new vertex index
+     */
+    public void relabel(int number, int from, int to) {
+        validate(number);
+
+        if(_sources[number] == from)
+            _sources[number] = to;
+
+        if(_targets[number] == from)
+            _targets[number] = to;
+    }
+
+    public float weight(int number) {
+        validate(number);
+
+        return (_weights == null) ? 0f : _weights[number];
+    }
+
+    public void setWeight(int number, float weight) {
+        validate(number);
+
+        if(_weights == null) {
+            if(weight == 0f)
+                return;
+
+            _weights = new float[_sources.length];
+        }
+
+        _weights[number] = weight;
+    }
+
+    public String tag(int number) {
+        validate(number);
+
+        return (_tags == null) ? null : _tags[number];
+    }
+
+    public void setTag(int number, String tag) {
+        validate(number);
+
+        if(_tags == null) {
+            if(tag == null)
+                return;
+
+            _tags = new String[_sources.length];
+        }
+
+        _tags[number] = tag;
+    }
+
+    public Object data(int number) {
+        validate(number);
+
+        return (_data == null) ? null : _data[number];
+    }
+
+    public void setData(int number, Object data) {
+        validate(number);
+
+        if(_data == null) {
+            if(data == null)
+                return;
+
+            _data = new Object[_sources.length];
+        }
+
+        _data[number] = data;
+    }
+
+    /**
+     * @return the number of edges
+     */
+    public int size() {
+        return _size;
+    }
+
+    /**
+     * @return an upper bound of the edge numbers, every edge number is below it
+     */
+    public int limit() {
+        return _limit;
+    }
+
+    /**
+     * make sure the columns can hold a number of edges without growing
+     */
+    public void ensureCapacity(int capacity) {
+        if(capacity > _sources.length)
+            grow(capacity);
+    }
+
+    /**
+     * @return the number of bytes of the columns, not including the tags and data themselves
+     */
+    public long memoryUsage() {
+        long capacity   = _sources.length;
+        long bytes      = capacity * 8;
+
+        if(_weights != null)
+            bytes       += capacity * 4;
+
+        if(_tags != null)
+            bytes       += capacity * 8;
+
+        if(_data != null)
+            bytes       += capacity * 8;
+
+        return bytes;
+    }
+
+    public void clear() {
+        _sources    = new int[16];
+        _targets    = new int[16];
+        _weights    = null;
+        _tags       = null;
+        _data       = null;
+        _limit      = 0;
+        _size       = 0;
+        _free       = FREE;
+    }
+
+    private void grow(int capacity) {
+        _sources    = Arrays.copyOf(_sources, capacity);
+        _targets    = Arrays.copyOf(_targets, capacity);
+
+        if(_weights != null)
+            _weights    = Arrays.copyOf(_weights, capacity);
+
+        if(_tags != null)
+            _tags       = Arrays.copyOf(_tags, capacity);
+
+        if(_data != null)
+            _data       = Arrays.copyOf(_data, capacity);
+    }
+
+    private void validate(int number) {
+        if(!contains(number))
+            throw new IndexOutOfBoundsException("edge number " + number + " is not in the store");
+    }
+
+}
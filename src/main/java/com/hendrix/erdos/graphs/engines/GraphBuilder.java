@@ -0,0 +1,402 @@
+package com.hendrix.erdos.graphs.engines;
+
+import com.hendrix.erdos.Erdos;
+import com.hendrix.erdos.graphs.AbstractGraph;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.EdgeKey;
+import com.hendrix.erdos.types.IdSpace;
+import com.hendrix.erdos.types.IVertex;
+import com.hendrix.erdos.types.Vertex;
+import com.hendrix.erdos.utils.SEdgeUtils;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+/**
+ * bulk loads a graph out of primitive edge lists, instead of adding the vertices and edges one by one.
+ * <ul>
+ *     <li/>the vertex and edge counts are given up front, so the edge arrays are allocated once.
+ *     <li/>edges are given by the indices of their vertices, in the order the vertices were added.
+ *     <li/>the edges are sorted with a counting sort, and self loops and duplicates are dropped in the
+ *     same pass, according to the graph features, in {@code O(V + E)}. of duplicate edges, the first one
+ *     that was added is kept, unless the builder infers multi edges out of the edges, see
+ *     {@link #inferMultiEdges(boolean)}.
+ *     <li/>the engine builds its structures directly, presized, without validating every edge, see
+ *     {@link AbstractGraphEngine#load(VertexIndex, int[], int[], float[], int)}.
+ * </ul>
+ * a builder builds a single graph:
+ * <pre>
+ * GraphBuilder builder = new GraphBuilder(EDGE_DIRECTION.DIRECTED, numVertices, numEdges);
+ *
+ * builder.addVertices(numVertices);
+ * builder.addEdges(sources, targets, null, numEdges);
+ *
+ * DirectedGraph graph = (DirectedGraph) builder.build();
+ * </pre>
+ *
+ * @author Tomer Shalev
+ */
+@SuppressWarnings("UnusedDeclaration")
+public class GraphBuilder {
+    private final EDGE_DIRECTION _direction;
+    private boolean _selfLoops      = false;
+    private boolean _multiEdges     = false;
+    private boolean _inferMultiEdges = false;
+    /**
+     * the id space of the vertices the builder creates
+     */
+    private IdSpace _ids            = IdSpace.VERTICES;
+
+    private VertexIndex _vertices   = null;
+    private int[] _sources          = null;
+    private int[] _targets          = null;
+    /**
+     * the weights, {@code null} while all of the weights are zero
+     */
+    private float[] _weights        = null;
+    private int _numEdges           = 0;
+    private boolean _built          = false;
+
+    /**
+     * @param direction        the edge direction of the graph
+     * @param expectedVertices the number of vertices to hold without resizing
+     * @param expectedEdges    the number of edges to hold without resizing
+     */
+    public GraphBuilder(EDGE_DIRECTION direction, int expectedVertices, int expectedEdges) {
+        _direction  = direction;
+        _vertices   = new VertexIndex(expectedVertices);
+        _sources    = new int[Math.max(expectedEdges, 16)];
+        _targets    = new int[_sources.length];
+    }
+
+    /**
+     * @param selfLoops support for self loops, self loops are dropped otherwise
+     *
+     * @return this builder
+     */
+    public GraphBuilder selfLoops(boolean selfLoops) {
+        _selfLoops = selfLoops;
+
+        return this;
+    }
+
+    /**
+     * @param multiEdges support for multi edges, duplicate edges are dropped otherwise
+     *
+     * @return this builder
+     */
+    public GraphBuilder multiEdges(boolean multiEdges) {
+        _multiEdges = multiEdges;
+
+        return this;
+    }
+
+    /**
+     * support multi edges if an edge is added more than once, with the same source and target in the same
+     * order, like a repeated coordinate of a file. an undirected edge that is added in both orders is not a
+     * duplicate, and is added once. once multi edges are supported, every edge is kept. the duplicates are
+     * found with another counting sort of the edges, at {@link #build(Supplier)}.
+     *
+     * @param inferMultiEdges infer the support for multi edges
+     *
+     * @return this builder
+     */
+    public GraphBuilder inferMultiEdges(boolean inferMultiEdges) {
+        _inferMultiEdges = inferMultiEdges;
+
+        return this;
+    }
+
+    /**
+     * @param ids the id space to draw the identifiers of the vertices the builder creates from,
+     *            for example a space of the graph of its own
+     *
+     * @return this builder
+     *
+     * @see #addVertices(int)
+     */
+    public GraphBuilder ids(IdSpace ids) {
+        _ids = ids;
+
+        return this;
+    }
+
+    /**
+     * @return the number of vertices that were added
+     */
+    public int numVertices() {
+        return _vertices.size();
+    }
+
+    /**
+     * @return the number of edges that were added, before self loops and duplicates are dropped
+     */
+    public int numEdges() {
+        return _numEdges;
+    }
+
+    /**
+     * add a vertex at the next index
+     *
+     * @param vertex the vertex
+     *
+     * @return the index of the vertex, that edges refer to it with
+     */
+    public int addVertex(IVertex vertex) {
+        validateNotBuilt();
+
+        int index = _vertices.add(vertex);
+
+        return (index == -1) ? _vertices.indexOf(vertex) : index;
+    }
+
+    /**
+     * add vertices at the next indices, in their iteration order
+     *
+     * @param vertices the vertices
+     *
+     * @return this builder
+     */
+    public GraphBuilder addVertices(Collection<? extends IVertex> vertices) {
+        for (IVertex vertex : vertices) {
+            addVertex(vertex);
+        }
+
+        return this;
+    }
+
+    /**
+     * add new vertices at the next indices, every vertex is tagged with its index
+     *
+     * @param count the number of vertices
+     *
+     * @return this builder
+     */
+    public GraphBuilder addVertices(int count) {
+        for (int i = 0; i < count; i++) {
+            addVertex(new Vertex<>(String.valueOf(_vertices.size()), _ids));
+        }
+
+        return this;
+    }
+
+    /**
+     * add an edge
+     *
+     * @param source the index of the first vertex
+     * @param target the index of the second vertex
+     *
+     * @return this builder
+     */
+    public GraphBuilder addEdge(int source, int target) {
+        return addEdge(source, target, 0f);
+    }
+
+    /**
+     * add an edge
+     *
+     * @param source the index of the first vertex
+     * @param target the index of the second vertex
+     * @param weight the weight of the edge
+     *
+     * @return this builder
+     */
+    public GraphBuilder addEdge(int source, int target, float weight) {
+        validateNotBuilt();
+        ensureCapacity(_numEdges + 1);
+
+        _sources[_numEdges] = source;
+        _targets[_numEdges] = target;
+
+        if(weight != 0f && _weights == null)
+            _weights = new float[_sources.length];
+
+        if(_weights != null)
+            _weights[_numEdges] = weight;
+
+        _numEdges++;
+
+        return this;
+    }
+
+    /**
+     * add a list of edges
+     *
+     * @param sources the index of the first vertex of every edge
+     * @param targets the index of the second vertex of every edge
+     * @param weights the weight of every edge, or {@code null} if the weights are zero
+     * @param count   the number of edges
+     *
+     * @return this builder
+     */
+    public GraphBuilder addEdges(int[] sources, int[] targets, float[] weights, int count) {
+        validateNotBuilt();
+        ensureCapacity(_numEdges + count);
+
+        System.arraycopy(sources, 0, _sources, _numEdges, count);
+        System.arraycopy(targets, 0, _targets, _numEdges, count);
+
+        if(weights != null && _weights == null)
+            _weights = new float[_sources.length];
+
+        if(weights != null)
+            System.arraycopy(weights, 0, _weights, _numEdges, count);
+
+        _numEdges += count;
+
+        return this;
+    }
+
+    /**
+     * add a stream of unweighted edges, every edge is an {@link EdgeKey} of the indices of its vertices
+     *
+     * @param edges the edge keys
+     *
+     * @return this builder
+     *
+     * @see EdgeKey#of(int, int)
+     */
+    public GraphBuilder addEdges(LongStream edges) {
+        edges.forEachOrdered(key -> addEdge(EdgeKey.first(key), EdgeKey.second(key)));
+
+        return this;
+    }
+
+    /**
+     * build the graph with an {@link AdjIncidenceGraphEngine}
+     *
+     * @return a new {@link com.hendrix.erdos.graphs.DirectedGraph} or {@link com.hendrix.erdos.graphs.UndirectedGraph}
+     *
+     * @throws IndexOutOfBoundsException if an edge refers to a vertex index that was not added
+     */
+    public AbstractGraph build() {
+        return build(AdjIncidenceGraphEngine::new);
+    }
+
+    /**
+     * build the graph. the graph asks the factory for its engine, and so do the graphs that algorithms
+     * derive from it.
+     *
+     * @param graphEngineFactory creates a new, empty, graph engine on every call
+     *
+     * @return a new {@link com.hendrix.erdos.graphs.DirectedGraph} or {@link com.hendrix.erdos.graphs.UndirectedGraph}
+     *
+     * @throws IndexOutOfBoundsException if an edge refers to a vertex index that was not added
+     */
+    public AbstractGraph build(Supplier<? extends IGraphEngine> graphEngineFactory) {
+        validateNotBuilt();
+
+        int n                   = _vertices.size();
+        boolean undirected      = _direction == EDGE_DIRECTION.UNDIRECTED;
+
+        for (int e = 0; e < _numEdges; e++) {
+            int source          = _sources[e];
+            int target          = _targets[e];
+
+            if(source < 0 || source >= n || target < 0 || target >= n)
+                throw new IndexOutOfBoundsException("edge " + source + "->" + target + " refers to a missing vertex, size " + n);
+        }
+
+        if(_inferMultiEdges && !_multiEdges)
+            _multiEdges         = hasDuplicateEdges(n);
+
+        for (int e = 0; undirected && e < _numEdges; e++) {
+            int source          = _sources[e];
+            int target          = _targets[e];
+
+            if(target < source) {
+                _sources[e]     = target;
+                _targets[e]     = source;
+            }
+        }
+
+        // sort, then drop the self loops and the duplicates in one pass
+
+        int[] order             = SEdgeUtils.sortedOrderOf(_sources, _targets, _numEdges, n);
+        int[] sources           = new int[_numEdges];
+        int[] targets           = new int[_numEdges];
+        float[] weights         = (_weights == null) ? null : new float[_numEdges];
+        int count               = 0;
+
+        for (int k : order) {
+            int source          = _sources[k];
+            int target          = _targets[k];
+
+            if(source == target && !_selfLoops)
+                continue;
+
+            if(!_multiEdges && count > 0 && sources[count - 1] == source && targets[count - 1] == target)
+                continue;
+
+            if(weights != null)
+                weights[count]  = _weights[k];
+
+            sources[count]      = source;
+            targets[count++]    = target;
+        }
+
+        _built                  = true;
+        _sources                = null;
+        _targets                = null;
+        _weights                = null;
+
+        AbstractGraph graph     = Erdos.newGraphWithEngineFactory(graphEngineFactory, _direction, _selfLoops, _multiEdges);
+        IGraphEngine engine     = graph.getGraphEngine();
+
+        if(engine instanceof AbstractGraphEngine) {
+            ((AbstractGraphEngine) engine).load(_vertices, sources, targets, weights, count);
+        } else {
+            for (int i = 0; i < n; i++) {
+                engine.addVertex(_vertices.vertexAt(i));
+            }
+
+            for (int e = 0; e < count; e++) {
+                engine.addEdge(_vertices.vertexAt(sources[e]), _vertices.vertexAt(targets[e]), (weights == null) ? 0f : weights[e]);
+            }
+        }
+
+        return graph;
+    }
+
+    /**
+     * @return {@code true} if an edge was added more than once, in the same order. self loops count only if
+     *         they are kept
+     */
+    private boolean hasDuplicateEdges(int numVertices) {
+        int[] order             = SEdgeUtils.sortedOrderOf(_sources, _targets, _numEdges, numVertices);
+        int last                = -1;
+
+        for (int k : order) {
+            if(_sources[k] == _targets[k] && !_selfLoops)
+                continue;
+
+            if(last != -1 && _sources[k] == _sources[last] && _targets[k] == _targets[last])
+                return true;
+
+            last                = k;
+        }
+
+        return false;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if(capacity <= _sources.length)
+            return;
+
+        capacity        = Math.max(capacity, _sources.length << 1);
+
+        _sources        = Arrays.copyOf(_sources, capacity);
+        _targets        = Arrays.copyOf(_targets, capacity);
+
+        if(_weights != null)
+            _weights    = Arrays.copyOf(_weights, capacity);
+    }
+
+    private void validateNotBuilt() {
+        if(_built)
+            throw new IllegalStateException("graph builder can only build one graph");
+    }
+
+}
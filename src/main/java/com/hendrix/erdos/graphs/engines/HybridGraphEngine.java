@@ -0,0 +1,1411 @@
+package com.hendrix.erdos.graphs.engines;
+
+import com.hendrix.erdos.exceptions.VertexNotFoundException;
+import com.hendrix.erdos.graphs.IGraph;
+import com.hendrix.erdos.types.Edge;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.IVertex;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+
+/**
+ * an adaptive graph engine for skewed, power law, graphs, that picks the representation of every
+ * vertex by its degree:
+ * <ul>
+ *     <li/>a vertex of a low degree keeps its adjacency inline, as an array of neighbor indices and a
+ *     parallel array of the edges to them, that is scanned linearly. there are no per edge objects
+ *     besides the edges themselves, so the long tail of the graph stays small.
+ *     <li/>once a vertex has more than the promote threshold edges, it is promoted, and its arrays are
+ *     indexed by an open addressing hash table of positions, so {@link #hasEdge(IVertex, IVertex)} and
+ *     {@link #removeEdge(Edge)} stay constant time for hubs.
+ *     <li/>once a hub drops below the demote threshold, it is demoted, and the table is dropped. the
+ *     thresholds are apart, so a vertex that hovers around one of them is not rehashed over and over.
+ * </ul>
+ * the engine supports all types of graphs, the edges are stored as is, and removing an edge moves
+ * the last edge of the vertex into its position.
+ * <p/>
+ * in sorted mode the arrays of every vertex are kept sorted by neighbor index instead, and nothing
+ * is hashed: edge queries are a binary search, multi edges are next to each other, and the
+ * {@link ISortedAdjacency} range scans and common neighbors are a scan and a linear merge. adding
+ * and removing an edge shift the following edges of the vertex.
+ *
+ * @author Tomer Shalev
+ * @see AdjIncidenceGraphEngine
+ */
+@SuppressWarnings("UnusedDeclaration")
+public class HybridGraphEngine extends AbstractGraphEngine implements ISortedAdjacency {
+    public static final int DEFAULT_PROMOTE_THRESHOLD   = 32;
+    public static final int DEFAULT_DEMOTE_THRESHOLD    = 8;
+
+    private static final int[] NO_TARGETS   = new int[0];
+    private static final Edge[] NO_EDGES    = new Edge[0];
+
+    /**
+     * the vertices of the graph, with their dense indices
+     */
+    protected VertexIndex _vertices = null;
+    /**
+     * the out adjacency of every vertex, by vertex index
+     */
+    protected Adjacency[] _out = null;
+    /**
+     * the in adjacency of every vertex, the out adjacency for undirected graphs
+     */
+    protected Adjacency[] _in = null;
+    protected int _numEdges = 0;
+    /**
+     * the edge counts of every vertex, and their histograms
+     */
+    protected DegreeIndex _degrees = new DegreeIndex(true);
+    protected final int _promoteThreshold;
+    protected final int _demoteThreshold;
+    /**
+     * keep the adjacency of every vertex sorted by neighbor index, instead of hashing hubs
+     */
+    protected final boolean _sorted;
+
+    public HybridGraphEngine() {
+        this(DEFAULT_PROMOTE_THRESHOLD, DEFAULT_DEMOTE_THRESHOLD, false);
+    }
+
+    /**
+     * @param sorted {@code true} to keep the neighbors of every vertex sorted by their index
+     */
+    public HybridGraphEngine(boolean sorted) {
+        this(DEFAULT_PROMOTE_THRESHOLD, DEFAULT_DEMOTE_THRESHOLD, sorted);
+    }
+
+    /**
+     * @param promoteThreshold vertices with more edges than this, in one direction, are hashed
+     * @param demoteThreshold  hashed vertices with less edges than this, in one direction, are inlined
+     *
+     * @throws IllegalArgumentException if the demote threshold is not below the promote threshold
+     */
+    public HybridGraphEngine(int promoteThreshold, int demoteThreshold) {
+        this(promoteThreshold, demoteThreshold, false);
+    }
+
+    private HybridGraphEngine(int promoteThreshold, int demoteThreshold, boolean sorted) {
+        if(demoteThreshold < 0 || demoteThreshold >= promoteThreshold)
+            throw new IllegalArgumentException("demote threshold " + demoteThreshold + " should be below the promote threshold " + promoteThreshold);
+
+        _promoteThreshold   = promoteThreshold;
+        _demoteThreshold    = demoteThreshold;
+        _sorted             = sorted;
+        _vertices           = new VertexIndex();
+        _out                = new Adjacency[16];
+        _in                 = new Adjacency[16];
+    }
+
+    /**
+     * set the graph that this engine works for.
+     *
+     * @param graph the graph
+     */
+    @Override
+    public void setGraph(IGraph graph) {
+        super.setGraph(graph);
+
+        if(getGraphType() == EDGE_DIRECTION.UNDIRECTED)
+            _in = _out;
+
+        _degrees.setDirected(_in != _out);
+    }
+
+    /**
+     * @param index the index of the vertex
+     *
+     * @return {@code true} if the out adjacency of the vertex is hashed
+     */
+    public boolean isHashed(int index) {
+        validateIndex(index);
+
+        return _out[index].table != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isSorted() {
+        return _sorted;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachNeighborInRange(int vertexIndex, int from, int to, IntConsumer consumer) {
+        validateIndex(vertexIndex);
+
+        Adjacency adjacency = _out[vertexIndex];
+        boolean multiEdges  = isMultiEdgesSupported();
+
+        for (int position = _sorted ? adjacency.lowerBound(from) : 0; position < adjacency.size; position++) {
+            int target      = adjacency.targets[position];
+
+            if(_sorted && target >= to)
+                break;
+
+            if(target >= from && target < to && (!multiEdges || adjacency.isFirst(position)))
+                consumer.accept(target);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachCommonNeighbor(int u, int v, IntConsumer consumer) {
+        common(u, v, 0, consumer);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int countCommonNeighbors(int u, int v, int from) {
+        return common(u, v, from, null);
+    }
+
+    @Override
+    public Iterator<IVertex> iterator() {
+        return new VerticesIterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * changes that are made to this collection will reflect
+     * changes to the edges of the graph (removal wise)
+     */
+    @Override
+    public Collection<IVertex> vertices() {
+        return (verticesView == null) ? verticesView = new VerticesView() : verticesView;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * changes that are made to this collection will reflect
+     * changes to the vertices of the graph
+     */
+    @Override
+    public Collection<Edge> edges() {
+        return (edgesView == null) ? edgesView = new EdgesView() : edgesView;
+    }
+
+    @Override
+    public Collection<IVertex> getNeighborsOf(IVertex vertex) {
+        return new NeighborsView(_out[validateVertex(vertex)]);
+    }
+
+    @Override
+    public Collection<Edge> getIncidenceOutListOf(IVertex vertex) {
+        return new IncidenceView(_out[validateVertex(vertex)]);
+    }
+
+    @Override
+    public Collection<Edge> getIncidenceInListOf(IVertex vertex) {
+        return new IncidenceView(_in[validateVertex(vertex)]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachNeighbor(int vertexIndex, IntConsumer consumer) {
+        validateIndex(vertexIndex);
+
+        Adjacency adjacency = _out[vertexIndex];
+        boolean multiEdges  = isMultiEdgesSupported();
+
+        for (int position = 0; position < adjacency.size; position++) {
+            if(!multiEdges || adjacency.isFirst(position))
+                consumer.accept(adjacency.targets[position]);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public NeighborCursor neighborCursor() {
+        return new HybridNeighborCursor();
+    }
+
+    @Override
+    public boolean hasVertex(IVertex vertex) {
+        return _vertices.contains(vertex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int indexOf(IVertex vertex) {
+        return _vertices.indexOf(vertex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IVertex vertexAt(int index) {
+        return _vertices.vertexAt(index);
+    }
+
+    @Override
+    public boolean addVertex(IVertex vertex) {
+        int index = _vertices.add(vertex);
+
+        if(index == -1)
+            return false;
+
+        if(index == _out.length) {
+            _out    = Arrays.copyOf(_out, index << 1);
+            _in     = (getGraphType() == EDGE_DIRECTION.UNDIRECTED) ? _out : Arrays.copyOf(_in, index << 1);
+        }
+
+        _out[index] = new Adjacency(this);
+
+        if(_in != _out)
+            _in[index] = new Adjacency(this);
+
+        _degrees.addVertex();
+
+        return true;
+    }
+
+    @Override
+    public boolean removeVertex(IVertex vertex) {
+        int index           = indexOf(vertex);
+
+        if(index == -1)
+            return false;
+
+        boolean directed    = _in != _out;
+        Adjacency out       = _out[index];
+        Adjacency in        = _in[index];
+
+        // unlink the edges of the vertex from its neighbors, a self loop is counted once
+        for (int position = 0; position < out.size; position++) {
+            int target      = out.targets[position];
+            Adjacency other = directed ? _in[target] : _out[target];
+
+            if(target != index)
+                other.removeAt(other.positionOf(index, out.edges[position]));
+
+            _degrees.removeEdge(index, target);
+            _numEdges--;
+        }
+
+        if(directed) {
+            for (int position = 0; position < in.size; position++) {
+                int source  = in.targets[position];
+
+                if(source != index) {
+                    _out[source].removeAt(_out[source].positionOf(index, in.edges[position]));
+                    _degrees.removeEdge(source, index);
+                    _numEdges--;
+                }
+            }
+        }
+
+        _vertices.remove(vertex);
+        _degrees.removeVertex(index);
+
+        int last            = _vertices.size();
+
+        if(index != last)
+            relabel(last, index, directed);
+
+        _out[last]          = null;
+        _in[last]           = null;
+
+        return true;
+    }
+
+    @Override
+    public boolean hasEdge(IVertex v1, IVertex v2) {
+        int i = indexOf(v1);
+        int j = indexOf(v2);
+
+        return i != -1 && j != -1 && _out[i].find(j) != -1;
+    }
+
+    @Override
+    public boolean hasEdge(Edge edge) {
+        if(edge == null || edge.getEdgeType() != getGraphType())
+            return false;
+
+        int i = indexOf(edge.getV1());
+        int j = indexOf(edge.getV2());
+
+        return i != -1 && j != -1 && _out[i].positionOf(j, edge) != -1;
+    }
+
+    @Override
+    public Edge addEdge(IVertex v1, IVertex v2) {
+        return addEdge(v1, v2, 0f);
+    }
+
+    @Override
+    public Edge addEdge(IVertex v1, IVertex v2, float weight) {
+        return addEdge(new Edge(v1, v2, getGraphType(), weight));
+    }
+
+    /**
+     * connect an edge (v1, v2) into the graph, v1 and v2 have to be members
+     *
+     * @return the edge so use can query the id, or {@code null} if the edge already exists
+     *         or is incompatible with the graph type
+     */
+    @Override
+    public Edge addEdge(Edge edge) {
+        int i = validateVertex(edge.getV1());
+        int j = validateVertex(edge.getV2());
+
+        if(edge.getEdgeType() != getGraphType())
+            return null;
+
+        if(i == j && !isSelfLoopsSupported())
+            return null;
+
+        if(isMultiEdgesSupported() ? _out[i].positionOf(j, edge) != -1 : _out[i].find(j) != -1)
+            return null;
+
+        _out[i].add(j, edge);
+
+        if(_in != _out)
+            _in[j].add(i, edge);
+        else if(i != j)
+            _out[j].add(i, edge);
+
+        _degrees.addEdge(i, j);
+        _numEdges++;
+
+        return edge;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * the vertex index is adopted, and the arrays of every vertex are allocated once, at their
+     * final size. vertices above the promote threshold are hashed once they are filled.
+     */
+    @Override
+    protected void load(VertexIndex vertices, int[] sources, int[] targets, float[] weights, int numEdges) {
+        int n               = vertices.size();
+        boolean directed    = _in != _out;
+        int[] outDegrees    = new int[n];
+        int[] inDegrees     = directed ? new int[n] : outDegrees;
+
+        for (int e = 0; e < numEdges; e++) {
+            outDegrees[sources[e]]++;
+
+            if(directed || sources[e] != targets[e])
+                inDegrees[targets[e]]++;
+        }
+
+        _vertices           = vertices;
+        _out                = new Adjacency[Math.max(n, 16)];
+        _in                 = directed ? new Adjacency[_out.length] : _out;
+        _numEdges           = numEdges;
+
+        for (int i = 0; i < n; i++) {
+            _out[i]         = new Adjacency(this, outDegrees[i]);
+
+            if(directed)
+                _in[i]      = new Adjacency(this, inDegrees[i]);
+        }
+
+        // the edges are sorted, so the neighbors of every vertex are appended in order
+        for (int e = 0; e < numEdges; e++) {
+            int i           = sources[e];
+            int j           = targets[e];
+            Edge edge       = new Edge(vertices.vertexAt(i), vertices.vertexAt(j), getGraphType(), (weights == null) ? 0f : weights[e]);
+
+            _out[i].append(j, edge);
+
+            if(directed || i != j)
+                _in[j].append(i, edge);
+        }
+
+        for (int i = 0; i < n; i++) {
+            _out[i].adapt();
+
+            if(directed)
+                _in[i].adapt();
+        }
+
+        _degrees.load(n, sources, targets, numEdges);
+    }
+
+    @Override
+    public Edge removeEdge(IVertex v1, IVertex v2) {
+        Edge edge = getEdge(v1, v2);
+
+        return (edge == null) ? null : removeEdge(edge);
+    }
+
+    /**
+     * remove an edge from the graph
+     *
+     * @param edge an edge that already belong to the graph
+     *
+     * @return the edge if success, or null if failed
+     */
+    @Override
+    public Edge removeEdge(Edge edge) {
+        if(edge == null || edge.getEdgeType() != getGraphType())
+            return null;
+
+        int i           = indexOf(edge.getV1());
+        int j           = indexOf(edge.getV2());
+        int position    = (i == -1 || j == -1) ? -1 : _out[i].positionOf(j, edge);
+
+        if(position == -1)
+            return null;
+
+        _out[i].removeAt(position);
+
+        if(_in != _out)
+            _in[j].removeAt(_in[j].positionOf(i, edge));
+        else if(i != j)
+            _out[j].removeAt(_out[j].positionOf(i, edge));
+
+        _degrees.removeEdge(i, j);
+        _numEdges--;
+
+        return edge;
+    }
+
+    @Override
+    public Collection<Edge> removeMultiEdges(IVertex u, IVertex v) {
+        ArrayList<Edge> edges = new ArrayList<>(getMultiEdges(u, v));
+
+        for (Edge edge : edges) {
+            removeEdge(edge);
+        }
+
+        return edges;
+    }
+
+    @Override
+    public Edge getEdge(IVertex v1, IVertex v2) {
+        int i           = indexOf(v1);
+        int j           = indexOf(v2);
+        int position    = (i == -1 || j == -1) ? -1 : _out[i].find(j);
+
+        return (position == -1) ? null : _out[i].edges[position];
+    }
+
+    @Override
+    public Collection<Edge> getMultiEdges(IVertex u, IVertex v) {
+        int i = indexOf(u);
+        int j = indexOf(v);
+
+        if(i == -1 || j == -1)
+            return Collections.emptyList();
+
+        return _out[i].edgesTo(j);
+    }
+
+    @Override
+    public int numVertices() {
+        return _vertices.size();
+    }
+
+    @Override
+    public int numEdges() {
+        return _numEdges;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(_out, 0, _vertices.size(), null);
+        Arrays.fill(_in, 0, _vertices.size(), null);
+
+        _vertices.clear();
+        _degrees.clear();
+        _numEdges = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DegreeIndex degrees() {
+        return _degrees;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * with copy on write, the copy shares the arrays of every vertex with this engine, and whichever
+     * engine changes the edges of a vertex first copies its arrays then. so copying is linear in the
+     * number of vertices, and not in the number of edges.
+     */
+    @Override
+    public HybridGraphEngine copy(boolean copyOnWrite) {
+        HybridGraphEngine copy  = new HybridGraphEngine(_promoteThreshold, _demoteThreshold, _sorted);
+        int n                   = _vertices.size();
+        boolean directed        = _in != _out;
+
+        copy._vertices          = new VertexIndex(_vertices);
+        copy._out               = new Adjacency[_out.length];
+        copy._in                = directed ? new Adjacency[_in.length] : copy._out;
+
+        for (int i = 0; i < n; i++) {
+            copy._out[i]        = _out[i].copy(copy, copyOnWrite);
+
+            if(directed)
+                copy._in[i]     = _in[i].copy(copy, copyOnWrite);
+        }
+
+        copy._numEdges          = _numEdges;
+        copy._degrees           = _degrees.copy();
+
+        return copy;
+    }
+
+    /**
+     * @param vertex the vertex in question
+     * @return the number of vertices the vertex goes out to
+     */
+    @Override
+    public int outDegreeOfVertex(IVertex vertex) {
+        return _out[validateVertex(vertex)].distinct;
+    }
+
+    /**
+     * @param vertex the vertex in question
+     * @return the number of edges that go into the vertex
+     */
+    @Override
+    public int inDegreeOfVertex(IVertex vertex) {
+        return _in[validateVertex(vertex)].size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void dispose() {
+        for (int index = 0; index < _vertices.size(); index++) {
+            _vertices.vertexAt(index).dispose();
+        }
+
+        clear();
+    }
+
+    /**
+     * move the last vertex from index {@code from} into the freed index {@code to}, and retarget
+     * the adjacency of its neighbors
+     */
+    private void relabel(int from, int to, boolean directed) {
+        Adjacency out   = _out[to] = _out[from];
+        Adjacency in    = _in[to] = _in[from];
+
+        for (int position = 0; position < out.size; position++) {
+            int target  = out.targets[position];
+
+            if(target != from) {
+                Adjacency other = directed ? _in[target] : _out[target];
+
+                other.retarget(other.positionOf(from, out.edges[position]), to);
+            }
+        }
+
+        if(directed) {
+            for (int position = 0; position < in.size; position++) {
+                int source = in.targets[position];
+
+                if(source != from)
+                    _out[source].retarget(_out[source].positionOf(from, in.edges[position]), to);
+            }
+        }
+
+        // self loops
+        for (int position; (position = out.find(from)) != -1; ) {
+            out.retarget(position, to);
+        }
+
+        if(directed) {
+            for (int position; (position = in.find(from)) != -1; ) {
+                in.retarget(position, to);
+            }
+        }
+    }
+
+    /**
+     * visit and count the common neighbors of two vertices from an index, with a merge of the
+     * sorted adjacencies, or with a lookup of every neighbor of the smaller adjacency
+     */
+    private int common(int u, int v, int from, IntConsumer consumer) {
+        validateIndex(u);
+        validateIndex(v);
+
+        Adjacency a     = _out[u];
+        Adjacency b     = _out[v];
+        int count       = 0;
+
+        if(_sorted) {
+            int i       = a.lowerBound(from);
+            int j       = b.lowerBound(from);
+
+            while (i < a.size && j < b.size) {
+                int x   = a.targets[i];
+                int y   = b.targets[j];
+
+                if(x < y)
+                    i++;
+                else if(x > y)
+                    j++;
+                else {
+                    count++;
+
+                    if(consumer != null)
+                        consumer.accept(x);
+
+                    // skip the multi edges to the neighbor
+                    while (++i < a.size && a.targets[i] == x);
+                    while (++j < b.size && b.targets[j] == x);
+                }
+            }
+
+            return count;
+        }
+
+        if(b.size < a.size) {
+            Adjacency swap  = a;
+            a               = b;
+            b               = swap;
+        }
+
+        for (int position = 0; position < a.size; position++) {
+            int target  = a.targets[position];
+
+            if(target >= from && a.isFirst(position) && b.find(target) != -1) {
+                count++;
+
+                if(consumer != null)
+                    consumer.accept(target);
+            }
+        }
+
+        return count;
+    }
+
+    private int validateVertex(IVertex vertex) {
+        int index = indexOf(vertex);
+
+        if(index == -1)
+            throw new VertexNotFoundException(vertex, getGraph());
+
+        return index;
+    }
+
+    private void validateIndex(int index) {
+        if(index < 0 || index >= _vertices.size())
+            throw new IndexOutOfBoundsException("vertex index " + index + ", size " + _vertices.size());
+    }
+
+    /**
+     * the adjacency of a vertex in one direction: the neighbor index of every edge and the edge,
+     * in two parallel arrays. the neighbors of multi edges repeat. hashed adjacencies also keep an
+     * open addressing table of {@code position + 1}, keyed by the neighbor at the position,
+     * with linear probing, and removal shifts the following slots back. sorted adjacencies keep
+     * the arrays sorted by neighbor, and are never hashed.
+     */
+    protected static final class Adjacency {
+        final HybridGraphEngine engine;
+        int[] targets   = NO_TARGETS;
+        Edge[] edges    = NO_EDGES;
+        /**
+         * the number of edges, and the number of distinct neighbors
+         */
+        int size        = 0;
+        int distinct    = 0;
+        /**
+         * the hash table of positions, {@code null} while the adjacency is inline
+         */
+        int[] table     = null;
+        /**
+         * the arrays are shared with an adjacency of a copy on write copy of the engine
+         */
+        boolean shared  = false;
+
+        Adjacency(HybridGraphEngine engine) {
+            this.engine = engine;
+        }
+
+        Adjacency(HybridGraphEngine engine, int capacity) {
+            this.engine = engine;
+
+            if(capacity > 0) {
+                targets = new int[capacity];
+                edges   = new Edge[capacity];
+            }
+        }
+
+        /**
+         * @return the first position of a neighbor, or {@code -1}
+         */
+        int find(int target) {
+            if(engine._sorted) {
+                int position = lowerBound(target);
+
+                return (position < size && targets[position] == target) ? position : -1;
+            }
+
+            if(table == null) {
+                for (int position = 0; position < size; position++) {
+                    if(targets[position] == target)
+                        return position;
+                }
+
+                return -1;
+            }
+
+            int mask    = table.length - 1;
+            int first   = -1;
+
+            for (int slot = hash(target) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+                int position = table[slot] - 1;
+
+                if(targets[position] == target && (first == -1 || position < first))
+                    first = position;
+            }
+
+            return first;
+        }
+
+        /**
+         * @return the position of an edge to a neighbor, or {@code -1}
+         */
+        int positionOf(int target, Edge edge) {
+            if(engine._sorted) {
+                for (int position = lowerBound(target); position < size && targets[position] == target; position++) {
+                    if(edges[position] == edge)
+                        return position;
+                }
+
+                return -1;
+            }
+
+            if(table == null) {
+                for (int position = 0; position < size; position++) {
+                    if(edges[position] == edge && targets[position] == target)
+                        return position;
+                }
+
+                return -1;
+            }
+
+            int mask = table.length - 1;
+
+            for (int slot = hash(target) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+                int position = table[slot] - 1;
+
+                if(edges[position] == edge && targets[position] == target)
+                    return position;
+            }
+
+            return -1;
+        }
+
+        /**
+         * @return {@code true} if the position is the first of its neighbor
+         */
+        boolean isFirst(int position) {
+            if(engine._sorted)
+                return position == 0 || targets[position - 1] != targets[position];
+
+            return find(targets[position]) == position;
+        }
+
+        /**
+         * @return the first position of a sorted adjacency with a neighbor of {@code target} or above
+         */
+        int lowerBound(int target) {
+            int low     = 0;
+            int high    = size;
+
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+
+                if(targets[middle] < target)
+                    low     = middle + 1;
+                else
+                    high    = middle;
+            }
+
+            return low;
+        }
+
+        /**
+         * @return the edges to a neighbor, by position
+         */
+        ArrayList<Edge> edgesTo(int target) {
+            ArrayList<Edge> list    = new ArrayList<>(1);
+
+            if(engine._sorted) {
+                for (int position = lowerBound(target); position < size && targets[position] == target; position++) {
+                    list.add(edges[position]);
+                }
+
+                return list;
+            }
+
+            if(table == null) {
+                for (int position = 0; position < size; position++) {
+                    if(targets[position] == target)
+                        list.add(edges[position]);
+                }
+
+                return list;
+            }
+
+            int mask                = table.length - 1;
+            int[] positions         = new int[4];
+            int count               = 0;
+
+            for (int slot = hash(target) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+                int position = table[slot] - 1;
+
+                if(targets[position] == target) {
+                    if(count == positions.length)
+                        positions = Arrays.copyOf(positions, count << 1);
+
+                    positions[count++] = position;
+                }
+            }
+
+            Arrays.sort(positions, 0, count);
+
+            for (int k = 0; k < count; k++) {
+                list.add(edges[positions[k]]);
+            }
+
+            return list;
+        }
+
+        /**
+         * copy the adjacency for another engine, that shares the arrays until either adjacency changes
+         */
+        Adjacency copy(HybridGraphEngine engine, boolean copyOnWrite) {
+            Adjacency copy  = new Adjacency(engine);
+
+            copy.size       = size;
+            copy.distinct   = distinct;
+            copy.targets    = targets;
+            copy.edges      = edges;
+            copy.table      = table;
+            copy.shared     = true;
+
+            if(copyOnWrite)
+                shared      = true;
+            else
+                copy.own();
+
+            return copy;
+        }
+
+        /**
+         * copy the arrays before they are changed, if they are shared
+         */
+        private void own() {
+            targets         = targets.clone();
+            edges           = edges.clone();
+            table           = (table == null) ? null : table.clone();
+            shared          = false;
+        }
+
+        void add(int target, Edge edge) {
+            if(shared)
+                own();
+
+            if(find(target) == -1)
+                distinct++;
+
+            if(size == targets.length) {
+                int capacity    = Math.max(2, size + (size >>> 1));
+
+                targets         = Arrays.copyOf(targets, capacity);
+                edges           = Arrays.copyOf(edges, capacity);
+            }
+
+            // sorted adjacencies add the edge after the edges to the same neighbor
+            int position        = engine._sorted ? lowerBound(target + 1) : size;
+
+            System.arraycopy(targets, position, targets, position + 1, size - position);
+            System.arraycopy(edges, position, edges, position + 1, size - position);
+            targets[position]   = target;
+            edges[position]     = edge;
+            size++;
+
+            if(engine._sorted)
+                return;
+
+            if(table != null)
+                index(size - 1);
+            else if(size > engine._promoteThreshold)
+                rehash();
+        }
+
+        /**
+         * append a neighbor, that is not below the last neighbor, to a presized adjacency
+         */
+        void append(int target, Edge edge) {
+            if(size == 0 || targets[size - 1] != target)
+                distinct++;
+
+            targets[size]   = target;
+            edges[size++]   = edge;
+        }
+
+        /**
+         * hash a loaded adjacency, if it is above the promote threshold
+         */
+        void adapt() {
+            if(!engine._sorted && size > engine._promoteThreshold)
+                rehash();
+        }
+
+        /**
+         * remove the edge at a position, and move the last edge into it. sorted adjacencies shift
+         * the following edges back instead
+         */
+        void removeAt(int position) {
+            if(shared)
+                own();
+
+            int target          = targets[position];
+            int last            = size - 1;
+
+            if(table != null) {
+                unindex(slotOf(position));
+
+                if(position != last)
+                    table[slotOf(last)] = position + 1;
+            }
+
+            if(engine._sorted) {
+                System.arraycopy(targets, position + 1, targets, position, last - position);
+                System.arraycopy(edges, position + 1, edges, position, last - position);
+            }
+            else {
+                targets[position]   = targets[last];
+                edges[position]     = edges[last];
+            }
+
+            edges[last]         = null;
+            size                = last;
+
+            if(find(target) == -1)
+                distinct--;
+
+            if(table != null && size < engine._demoteThreshold)
+                table           = null;
+            else if(table != null && size << 3 < table.length && table.length > 16)
+                rehash();
+
+            // release the arrays of vertices that lost most of their edges
+            if(size < targets.length >>> 2 && targets.length > 8) {
+                targets         = Arrays.copyOf(targets, size << 1);
+                edges           = Arrays.copyOf(edges, size << 1);
+            }
+        }
+
+        /**
+         * change the neighbor at a position
+         */
+        void retarget(int position, int target) {
+            if(shared)
+                own();
+
+            if(engine._sorted) {
+                Edge edge = edges[position];
+
+                removeAt(position);
+                add(target, edge);
+
+                return;
+            }
+
+            if(table != null)
+                unindex(slotOf(position));
+
+            targets[position] = target;
+
+            if(table != null)
+                index(position);
+        }
+
+        /**
+         * rebuild the hash table, at a load factor of a half at most
+         */
+        private void rehash() {
+            table = new int[Math.max(16, Integer.highestOneBit(size) << 2)];
+
+            for (int position = 0; position < size; position++) {
+                insert(position);
+            }
+        }
+
+        private void index(int position) {
+            if(size << 1 > table.length)
+                rehash();
+            else
+                insert(position);
+        }
+
+        private void insert(int position) {
+            int mask    = table.length - 1;
+            int slot    = hash(targets[position]) & mask;
+
+            while (table[slot] != 0) {
+                slot    = (slot + 1) & mask;
+            }
+
+            table[slot] = position + 1;
+        }
+
+        private int slotOf(int position) {
+            int mask    = table.length - 1;
+            int slot    = hash(targets[position]) & mask;
+
+            while (table[slot] != position + 1) {
+                slot    = (slot + 1) & mask;
+            }
+
+            return slot;
+        }
+
+        /**
+         * free a slot, and shift the following slots of the cluster back into it
+         */
+        private void unindex(int slot) {
+            int mask        = table.length - 1;
+            int gap         = slot;
+
+            for (int next = (slot + 1) & mask; table[next] != 0; next = (next + 1) & mask) {
+                int home    = hash(targets[table[next] - 1]) & mask;
+
+                if(((next - home) & mask) >= ((next - gap) & mask)) {
+                    table[gap]  = table[next];
+                    gap         = next;
+                }
+            }
+
+            table[gap]      = 0;
+        }
+
+        private static int hash(int target) {
+            int h = target * 0x9E3779B9;
+
+            return h ^ (h >>> 16);
+        }
+    }
+
+    /**
+     * responsive/modifiable collection views for iteration outside
+     * the class.
+     */
+    transient volatile Collection<IVertex> verticesView;
+    transient volatile Collection<Edge> edgesView;
+
+    /**
+     * vertices view
+     */
+    public class VerticesView extends AbstractCollection<IVertex> {
+
+        @SuppressWarnings("NullableProblems")
+        @Override
+        public Iterator<IVertex> iterator() {
+            return new VerticesIterator();
+        }
+
+        public int size() {
+            return _vertices.size();
+        }
+
+        public boolean contains(Object o) {
+            return (o instanceof IVertex) && hasVertex((IVertex) o);
+        }
+
+        public boolean add(IVertex vertex) {
+            return addVertex(vertex);
+        }
+
+        public boolean remove(Object o) {
+            return (o instanceof IVertex) && removeVertex((IVertex) o);
+        }
+    }
+
+    /**
+     * iterates the vertices by their index. removing a vertex moves the last
+     * vertex into its index, so the iterator visits that index again.
+     */
+    protected class VerticesIterator implements Iterator<IVertex> {
+        private int _cursor = 0;
+        private IVertex _current = null;
+
+        @Override
+        public boolean hasNext() {
+            return _cursor < _vertices.size();
+        }
+
+        @Override
+        public IVertex next() {
+            if(!hasNext())
+                throw new NoSuchElementException();
+
+            return _current = _vertices.vertexAt(_cursor++);
+        }
+
+        @Override
+        public void remove() {
+            if(_current == null)
+                throw new IllegalStateException();
+
+            removeVertex(_current);
+            _current = null;
+            _cursor--;
+        }
+    }
+
+    /**
+     * edges view, undirected edges are reported once, from their lower index
+     */
+    public class EdgesView extends AbstractCollection<Edge> {
+
+        @SuppressWarnings("NullableProblems")
+        @Override
+        public Iterator<Edge> iterator() {
+            return new Iterator<Edge>() {
+                private int _source = 0;
+                private int _position = -1;
+                private Edge _current = null;
+
+                @Override
+                public boolean hasNext() {
+                    for (; _source < _vertices.size(); _source++, _position = -1) {
+                        Adjacency out = _out[_source];
+
+                        while (++_position < out.size) {
+                            if(_in != _out || out.targets[_position] >= _source) {
+                                _position--;
+
+                                return true;
+                            }
+                        }
+                    }
+
+                    return false;
+                }
+
+                @Override
+                public Edge next() {
+                    if(!hasNext())
+                        throw new NoSuchElementException();
+
+                    return _current = _out[_source].edges[++_position];
+                }
+
+                @Override
+                public void remove() {
+                    if(_current == null)
+                        throw new IllegalStateException();
+
+                    // the last edge of the vertex, or the following edges of a sorted vertex, move into the position
+                    removeEdge(_current);
+                    _current = null;
+                    _position--;
+                }
+            };
+        }
+
+        public int size() {
+            return _numEdges;
+        }
+
+        public boolean contains(Object o) {
+            return (o instanceof Edge) && hasEdge((Edge) o);
+        }
+
+        public boolean add(Edge edge) {
+            return addEdge(edge) != null;
+        }
+
+        public boolean remove(Object o) {
+            return (o instanceof Edge) && removeEdge((Edge) o) != null;
+        }
+    }
+
+    /**
+     * read only view of the neighbors of a vertex, every neighbor once
+     */
+    public class NeighborsView extends AbstractCollection<IVertex> {
+        private final Adjacency _adjacency;
+
+        NeighborsView(Adjacency adjacency) {
+            _adjacency = adjacency;
+        }
+
+        @SuppressWarnings("NullableProblems")
+        @Override
+        public Iterator<IVertex> iterator() {
+            final boolean multiEdges = isMultiEdgesSupported();
+
+            return new Iterator<IVertex>() {
+                private int _position = -1;
+                private int _next = -1;
+
+                @Override
+                public boolean hasNext() {
+                    if(_next > _position && _next < _adjacency.size)
+                        return true;
+
+                    for (_next = _position + 1; _next < _adjacency.size; _next++) {
+                        if(!multiEdges || _adjacency.isFirst(_next))
+                            return true;
+                    }
+
+                    return false;
+                }
+
+                @Override
+                public IVertex next() {
+                    if(!hasNext())
+                        throw new NoSuchElementException();
+
+                    return vertexAt(_adjacency.targets[_position = _next]);
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException("removing a vertex directly to the adj list is not supported!! use graph methods instead");
+                }
+            };
+        }
+
+        public int size() {
+            return _adjacency.distinct;
+        }
+
+        public boolean contains(Object o) {
+            int index = (o instanceof IVertex) ? indexOf((IVertex) o) : -1;
+
+            return index != -1 && _adjacency.find(index) != -1;
+        }
+    }
+
+    /**
+     * read only view of the incident edges of a vertex, in one direction
+     */
+    public class IncidenceView extends AbstractCollection<Edge> {
+        private final Adjacency _adjacency;
+
+        IncidenceView(Adjacency adjacency) {
+            _adjacency = adjacency;
+        }
+
+        @SuppressWarnings("NullableProblems")
+        @Override
+        public Iterator<Edge> iterator() {
+            return new Iterator<Edge>() {
+                private int _position = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return _position < _adjacency.size;
+                }
+
+                @Override
+                public Edge next() {
+                    if(!hasNext())
+                        throw new NoSuchElementException();
+
+                    return _adjacency.edges[_position++];
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException("removing an edge directly from the incidence list is not supported!! use graph methods instead");
+                }
+            };
+        }
+
+        public int size() {
+            return _adjacency.size;
+        }
+
+        public boolean contains(Object o) {
+            if(!(o instanceof Edge))
+                return false;
+
+            for (int position = 0; position < _adjacency.size; position++) {
+                if(_adjacency.edges[position] == o)
+                    return true;
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * neighbor cursor over the adjacency arrays, every neighbor once
+     */
+    protected class HybridNeighborCursor implements NeighborCursor {
+        private Adjacency _adjacency;
+        private boolean _multiEdges;
+        private int _position;
+
+        @Override
+        public NeighborCursor reset(int vertexIndex) {
+            validateIndex(vertexIndex);
+
+            _adjacency  = _out[vertexIndex];
+            _multiEdges = isMultiEdgesSupported();
+            _position   = -1;
+
+            return this;
+        }
+
+        @Override
+        public boolean next() {
+            while (++_position < _adjacency.size) {
+                if(!_multiEdges || _adjacency.isFirst(_position))
+                    return true;
+            }
+
+            return false;
+        }
+
+        @Override
+        public int target() {
+            return _adjacency.targets[_position];
+        }
+
+        @Override
+        public float weight() {
+            return _adjacency.edges[_position].getWeight();
+        }
+
+        @Override
+        public Edge edge() {
+            return _adjacency.edges[_position];
+        }
+    }
+
+}
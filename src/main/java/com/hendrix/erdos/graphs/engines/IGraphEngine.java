@@ -6,6 +6,7 @@ import com.hendrix.erdos.types.IVertex;
 import com.hendrix.erdos.types.Edge;
 
 import java.util.Collection;
+import java.util.function.IntConsumer;
 
 /**
  * the back bone engine of a graph vertices and edges.
@@ -53,6 +54,72 @@ public interface IGraphEngine extends IGraphRepresentation, Iterable<IVertex>, I
      * @throws java.lang.UnsupportedOperationException if the engine does not support multi edges
      */
     Collection<Edge> getMultiEdges(IVertex u, IVertex v);
+
+    /**
+     * get the dense index of a vertex, the indices of the vertices of the graph are
+     * always {@code 0..numVertices()-1}, so algorithms can keep their state in plain arrays.
+     * removing a vertex may change the index of another vertex.
+     *
+     * @param vertex the vertex
+     *
+     * @return the index of the vertex, or {@code -1} if it does not belong to the graph
+     */
+    int indexOf(IVertex vertex);
+
+    /**
+     * get the vertex at a dense index
+     *
+     * @param index the index of the vertex, in {@code 0..numVertices()-1}
+     *
+     * @return the vertex
+     *
+     * @see #indexOf(IVertex)
+     */
+    IVertex vertexAt(int index);
+
+    /**
+     * visit the neighbors of a vertex by their dense index, without allocating views or iterators
+     *
+     * @param vertexIndex the dense index of the vertex
+     * @param consumer    accepts the dense index of every neighbor
+     *
+     * @see #getNeighborsOf(IVertex)
+     */
+    void forEachNeighbor(int vertexIndex, IntConsumer consumer);
+
+    /**
+     * create a neighbor cursor, that can be reset and reused for all of the vertices of a traversal
+     *
+     * @return a new neighbor cursor
+     */
+    NeighborCursor neighborCursor();
+
+    /**
+     * get the degrees of the vertices by dense index, with the number of edges in every direction,
+     * multi edges included, and their histograms, so buffers can be presized and work can be split
+     * by degree without walking the graph.
+     *
+     * @return the degree index, engines that maintain it return a live index
+     *
+     * @see DegreeIndex
+     */
+    DegreeIndex degrees();
+
+    /**
+     * copy the structures of the engine into a new engine of the same type, instead of adding the
+     * vertices and edges of the graph one by one. the vertices and edges are referenced and not
+     * cloned, unless the engine keeps its edges itself.
+     *
+     * @param copyOnWrite share the structures with the copy, until either of the engines changes
+     *                    them, engines that do not support it copy them right away
+     *
+     * @return a new engine with the same vertices and edges, that is not attached to a graph yet,
+     *         or {@code null} if the engine can not be copied
+     *
+     * @see com.hendrix.erdos.Erdos#cloneGraphOf(IGraph, boolean)
+     */
+    IGraphEngine copy(boolean copyOnWrite);
+
     /**
      * get the graph that this engine works for
      *
@@ -0,0 +1,54 @@
+package com.hendrix.erdos.graphs.engines;
+
+import java.util.function.IntConsumer;
+
+/**
+ * an engine that can keep the neighbors of every vertex sorted by their dense index. when they are
+ * sorted, range scans are a binary search and a scan, and the common neighbors of two vertices are
+ * a linear merge of their neighbors, instead of a lookup per neighbor.
+ * <p/>
+ * the neighbors are the out neighbors, every neighbor once, like in
+ * {@link IGraphEngine#forEachNeighbor(int, IntConsumer)}.
+ *
+ * @author Tomer Shalev
+ * @see HybridGraphEngine
+ */
+@SuppressWarnings("UnusedDeclaration")
+public interface ISortedAdjacency {
+    /**
+     * @return {@code true} if the neighbors are sorted, otherwise the methods of this interface
+     *         still work, but probe every neighbor
+     */
+    boolean isSorted();
+
+    /**
+     * visit the neighbors of a vertex with an index in {@code [from, to)}, in ascending order if the
+     * neighbors are sorted
+     *
+     * @param vertexIndex the dense index of the vertex
+     * @param from        the lowest index, inclusive
+     * @param to          the highest index, exclusive
+     * @param consumer    accepts the dense index of every neighbor in the range
+     */
+    void forEachNeighborInRange(int vertexIndex, int from, int to, IntConsumer consumer);
+
+    /**
+     * visit the common neighbors of two vertices
+     *
+     * @param u        the dense index of the first vertex
+     * @param v        the dense index of the second vertex
+     * @param consumer accepts the dense index of every common neighbor
+     */
+    void forEachCommonNeighbor(int u, int v, IntConsumer consumer);
+
+    /**
+     * count the common neighbors of two vertices, with an index of {@code from} or above
+     *
+     * @param u    the dense index of the first vertex
+     * @param v    the dense index of the second vertex
+     * @param from the lowest index of a common neighbor, {@code 0} counts all of them
+     *
+     * @return the number of common neighbors
+     */
+    int countCommonNeighbors(int u, int v, int from);
+}
@@ -0,0 +1,55 @@
+package com.hendrix.erdos.graphs.engines;
+
+import com.hendrix.erdos.types.Edge;
+
+/**
+ * a reusable, allocation free cursor over the neighbors of a vertex, by dense vertex index.<br/>
+ * it visits the same neighbors as {@link IGraphEngine#getNeighborsOf(com.hendrix.erdos.types.IVertex)},
+ * every neighbor once, and exposes the edge that
+ * {@link IGraphEngine#getEdge(com.hendrix.erdos.types.IVertex, com.hendrix.erdos.types.IVertex)} returns for it.
+ * example: <br/>
+ * <code>
+ * <pre/>
+ * NeighborCursor cursor = engine.neighborCursor();
+ *
+ * for (cursor.reset(u); cursor.next(); ) {
+ *     int v = cursor.target();
+ * }
+ * </code>
+ * a cursor is only valid while the graph is not modified.
+ *
+ * @author Tomer Shalev
+ * @see IGraphEngine#neighborCursor()
+ */
+public interface NeighborCursor {
+    /**
+     * position the cursor before the first neighbor of a vertex
+     *
+     * @param vertexIndex the dense index of the vertex
+     *
+     * @return the cursor
+     */
+    NeighborCursor reset(int vertexIndex);
+
+    /**
+     * advance to the next neighbor
+     *
+     * @return {@code true} if there is a neighbor, {@code false} if the neighbors are exhausted
+     */
+    boolean next();
+
+    /**
+     * @return the dense index of the current neighbor
+     */
+    int target();
+
+    /**
+     * @return the weight of the edge to the current neighbor
+     */
+    float weight();
+
+    /**
+     * @return the edge to the current neighbor
+     */
+    Edge edge();
+}
@@ -0,0 +1,673 @@
+package com.hendrix.erdos.graphs.engines;
+
+import com.hendrix.erdos.graphs.IGraph;
+import com.hendrix.erdos.types.Edge;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.IVertex;
+import com.hendrix.erdos.types.Vertex;
+import com.hendrix.erdos.utils.SBufferUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * an immutable graph engine based on the <b>Compressed Sparse Row</b> representation, that keeps
+ * the rows, the weights and the vertex labels <b>off heap</b>, in direct (or memory mapped) buffers.
+ * the garbage collector only sees a handful of buffer objects, no matter how big the graph is.
+ * <ul>
+ *     <li/>the storage is a fixed list of little endian {@link Segment}s, one buffer per segment.
+ *     <li/>vertices are materialized on first access, as a {@link Vertex} tagged with its label,
+ *     and are then cached. engines built from a graph use the vertices of the graph instead.
+ *     the vertex to index table is an open addressing table of indices in a direct buffer, only the
+ *     references to the materialized vertices, that are heap objects, are kept on the heap.
+ *     <li/>engines built from a graph stream its edges straight into the buffers in two passes, the
+ *     degrees and then the rows, so no heap copy of the edges is made on the way.
+ *     <li/>edges are materialized every time the collection API asks for one, so they do not have
+ *     an identity, and an edge belongs to the graph if its vertices are connected. edge ids, tags
+ *     and data are not kept.
+ *     <li/>undirected edges are materialized from their lower vertex index to the higher one.
+ *     <li/>{@link #dispose()} releases the memory right away, the engine must not be used after it.
+ * </ul>
+ * the primitive API ({@link #neighborCursor()}, {@link #forEachNeighbor(int, java.util.function.IntConsumer)})
+ * does not materialize anything.
+ *
+ * @author Tomer Shalev
+ * @see CsrGraphEngine
+ */
+@SuppressWarnings("UnusedDeclaration")
+public class OffHeapGraphEngine extends AbstractCsrGraphEngine {
+    /**
+     * the segments of the storage, in their stored order
+     */
+    public enum Segment {
+        /**
+         * {@code int[numVertices + 1]} row offsets
+         */
+        OFFSETS,
+        /**
+         * {@code int[slots]} target vertex index of every slot
+         */
+        TARGETS,
+        /**
+         * {@code float[slots]} weight of every slot
+         */
+        WEIGHTS,
+        /**
+         * {@code int[numVertices + 1]} reversed row offsets, empty for undirected graphs
+         */
+        IN_OFFSETS,
+        /**
+         * {@code int[slots]} source vertex index of every reversed slot, empty for undirected graphs
+         */
+        IN_SOURCES,
+        /**
+         * {@code int[slots]} forward slot of every reversed slot, empty for undirected graphs
+         */
+        IN_SLOTS,
+        /**
+         * {@code int[numVertices + 1]} offsets of the vertex labels
+         */
+        LABEL_OFFSETS,
+        /**
+         * UTF-8 bytes of the vertex labels
+         */
+        LABELS
+    }
+
+    /**
+     * the byte order of all of the segments
+     */
+    public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    /**
+     * the buffers of the segments, owned by the engine
+     */
+    protected ByteBuffer[] _segments = null;
+
+    protected IntBuffer _offsets = null;
+    protected IntBuffer _targets = null;
+    protected FloatBuffer _weights = null;
+    protected IntBuffer _inOffsets = null;
+    protected IntBuffer _inSources = null;
+    protected IntBuffer _inSlots = null;
+    protected IntBuffer _labelOffsets = null;
+    protected ByteBuffer _labels = null;
+
+    protected int _numVertices;
+    protected int _numEdges;
+
+    /**
+     * the materialized vertices, by index
+     */
+    protected IVertex[] _vertexCache = null;
+    /**
+     * the vertex to index table of the materialized vertices, an open addressing table of
+     * {@code index + 1}, {@code 0} is a free slot
+     */
+    protected IntBuffer _vertexTable = null;
+    protected ByteBuffer _vertexTableBuffer = null;
+    protected int _vertexTableMask;
+
+    /**
+     * build an off heap engine out of a graph representation. the vertices of the source are used,
+     * and its edges are written straight into the buffers, in two passes: the degrees of the vertices
+     * give the row offsets, and then every edge is placed into its row. the rows are sorted in place.
+     *
+     * @param source the graph (or graph engine) to copy
+     */
+    public OffHeapGraphEngine(IGraphRepresentation source) {
+        this(source.getGraphType(), engineOf(source).numVertices(), source.numEdges(), segmentsOf(source));
+
+        IGraphEngine engine = engineOf(source);
+
+        for (int index = 0; index < _numVertices; index++) {
+            register(index, engine.vertexAt(index));
+        }
+    }
+
+    /**
+     * copy a CSR engine off heap. the vertices of the source are used.
+     *
+     * @param source the CSR engine
+     */
+    public OffHeapGraphEngine(CsrGraphEngine source) {
+        this(source.getGraphType(), source.numVertices(), source.numEdges(), allocateSegmentsOf(source));
+
+        for (int index = 0; index < _numVertices; index++) {
+            register(index, source.vertexAt(index));
+        }
+    }
+
+    /**
+     * wrap existing segments, for example memory mapped ones. the engine takes ownership of the
+     * buffers and releases them on {@link #dispose()}.
+     *
+     * @param direction   the edge direction of the graph
+     * @param numVertices the number of vertices
+     * @param numEdges    the number of edges
+     * @param segments    a buffer per {@link Segment}, in its order, positioned at the start of the data
+     *
+     * @throws IllegalArgumentException if the segments are inconsistent
+     */
+    public OffHeapGraphEngine(EDGE_DIRECTION direction, int numVertices, int numEdges, ByteBuffer[] segments) {
+        super(direction);
+
+        if(segments.length != Segment.values().length)
+            throw new IllegalArgumentException("expected " + Segment.values().length + " segments, got " + segments.length);
+
+        _segments       = segments;
+        _numVertices    = numVertices;
+        _numEdges       = numEdges;
+
+        _offsets        = ints(Segment.OFFSETS);
+        _targets        = ints(Segment.TARGETS);
+        _weights        = view(Segment.WEIGHTS).asFloatBuffer();
+        _labelOffsets   = ints(Segment.LABEL_OFFSETS);
+        _labels         = view(Segment.LABELS);
+
+        if(direction == EDGE_DIRECTION.DIRECTED) {
+            _inOffsets  = ints(Segment.IN_OFFSETS);
+            _inSources  = ints(Segment.IN_SOURCES);
+            _inSlots    = ints(Segment.IN_SLOTS);
+        }
+
+        validate();
+
+        _vertexCache    = new IVertex[numVertices];
+
+        // at most half full
+        int capacity        = (int) Math.min(1L << 30, Long.highestOneBit(Math.max(2L * numVertices - 1, 1)) << 1);
+
+        _vertexTableBuffer  = ByteBuffer.allocateDirect(capacity * 4).order(BYTE_ORDER);
+        _vertexTable        = _vertexTableBuffer.asIntBuffer();
+        _vertexTableMask    = capacity - 1;
+    }
+
+    /**
+     * @param segment a segment
+     *
+     * @return a read only view of the segment, positioned at its start
+     */
+    public ByteBuffer getSegment(Segment segment) {
+        return view(segment).asReadOnlyBuffer().order(BYTE_ORDER);
+    }
+
+    /**
+     * @return the number of off heap bytes of the engine
+     */
+    public long sizeInBytes() {
+        long size = 0;
+
+        for (ByteBuffer segment : _segments) {
+            size += segment.remaining();
+        }
+
+        return size;
+    }
+
+    /**
+     * @param index the index of a vertex
+     *
+     * @return the label of the vertex, without materializing it
+     */
+    public String labelOf(int index) {
+        int start       = _labelOffsets.get(index);
+        int end         = _labelOffsets.get(index + 1);
+        byte[] bytes    = new byte[end - start];
+
+        ByteBuffer labels = _labels.duplicate();
+
+        labels.position(start);
+        labels.get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int indexOf(IVertex vertex) {
+        if(vertex == null)
+            return -1;
+
+        int hint = vertex.getIndex();
+
+        if(hint >= 0 && hint < _numVertices && _vertexCache[hint] == vertex)
+            return hint;
+
+        for (int slot = hash(vertex) & _vertexTableMask, entry; (entry = _vertexTable.get(slot)) != 0; slot = (slot + 1) & _vertexTableMask) {
+            if(_vertexCache[entry - 1].equals(vertex))
+                return entry - 1;
+        }
+
+        return -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * the vertex is materialized on first access.
+     */
+    @Override
+    public IVertex vertexAt(int index) {
+        if(index < 0 || index >= _numVertices)
+            throw new IndexOutOfBoundsException("vertex index " + index + ", size " + _numVertices);
+
+        IVertex vertex = _vertexCache[index];
+
+        if(vertex == null)
+            register(index, vertex = new Vertex<>(labelOf(index)));
+
+        return vertex;
+    }
+
+    /**
+     * @return the number of vertices in the Graph
+     */
+    @Override
+    public int numVertices() {
+        return _numVertices;
+    }
+
+    /**
+     * @return the number of edges in the graph
+     */
+    @Override
+    public int numEdges() {
+        return _numEdges;
+    }
+
+    @Override
+    protected final int offset(int index) {
+        return _offsets.get(index);
+    }
+
+    @Override
+    protected final int target(int slot) {
+        return _targets.get(slot);
+    }
+
+    @Override
+    protected final float weight(int slot) {
+        return _weights.get(slot);
+    }
+
+    @Override
+    protected final boolean hasInRows() {
+        return _inOffsets != null;
+    }
+
+    @Override
+    protected final int inOffset(int index) {
+        return _inOffsets.get(index);
+    }
+
+    @Override
+    protected final int inSource(int inSlot) {
+        return _inSources.get(inSlot);
+    }
+
+    @Override
+    protected final int inSlot(int inSlot) {
+        return _inSlots.get(inSlot);
+    }
+
+    /**
+     * materialize the edge of a slot
+     */
+    @Override
+    protected Edge edgeAt(int source, int slot) {
+        int u = source;
+        int v = target(slot);
+
+        if(_direction == EDGE_DIRECTION.UNDIRECTED && v < u) {
+            u = v;
+            v = source;
+        }
+
+        return new Edge(vertexAt(u), vertexAt(v), _direction, weight(slot));
+    }
+
+    /**
+     * materialized edges have no identity, so every slot that connects the vertices matches
+     */
+    @Override
+    protected boolean isEdgeAt(int source, int slot, Edge edge) {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * releases the off heap memory right away
+     */
+    @Override
+    public void dispose() {
+        if(_segments == null)
+            return;
+
+        for (ByteBuffer segment : _segments) {
+            SBufferUtils.free(segment);
+        }
+
+        SBufferUtils.free(_vertexTableBuffer);
+
+        _segments       = null;
+        _offsets        = null;
+        _targets        = null;
+        _weights        = null;
+        _inOffsets      = null;
+        _inSources      = null;
+        _inSlots        = null;
+        _labelOffsets   = null;
+        _labels         = null;
+        _vertexCache    = null;
+        _vertexTable    = null;
+        _vertexTableBuffer = null;
+    }
+
+    private void register(int index, IVertex vertex) {
+        _vertexCache[index] = vertex;
+        vertex.setIndex(index);
+
+        int slot = hash(vertex) & _vertexTableMask;
+
+        while (_vertexTable.get(slot) != 0) {
+            slot = (slot + 1) & _vertexTableMask;
+        }
+
+        _vertexTable.put(slot, index + 1);
+    }
+
+    /**
+     * spread the bits of the hash code, linear probing is sensitive to clustered hash codes
+     */
+    private static int hash(IVertex vertex) {
+        int h = vertex.hashCode() * 0x9E3779B9;
+
+        return h ^ (h >>> 16);
+    }
+
+    private ByteBuffer view(Segment segment) {
+        return _segments[segment.ordinal()].slice().order(BYTE_ORDER);
+    }
+
+    private IntBuffer ints(Segment segment) {
+        return view(segment).asIntBuffer();
+    }
+
+    private void validate() {
+        int n = _numVertices;
+
+        if(_offsets.capacity() != n + 1 || _labelOffsets.capacity() != n + 1)
+            throw new IllegalArgumentException("offsets segments do not match " + n + " vertices");
+
+        int slots = _offsets.get(n);
+
+        if(_targets.capacity() != slots || _weights.capacity() != slots)
+            throw new IllegalArgumentException("slot segments do not match " + slots + " slots");
+
+        if(_inOffsets != null && (_inOffsets.capacity() != n + 1 || _inSources.capacity() != slots || _inSlots.capacity() != slots))
+            throw new IllegalArgumentException("reversed segments do not match " + slots + " slots");
+
+        if(_labels.capacity() != _labelOffsets.get(n))
+            throw new IllegalArgumentException("labels segment does not match its offsets");
+    }
+
+    /**
+     * @return the engine of a graph, or the graph engine itself
+     */
+    private static IGraphEngine engineOf(IGraphRepresentation source) {
+        if(source instanceof IGraphEngine)
+            return (IGraphEngine) source;
+
+        if(source instanceof IGraph)
+            return ((IGraph) source).getGraphEngine();
+
+        throw new IllegalArgumentException("not a graph or a graph engine: " + source);
+    }
+
+    private static ByteBuffer[] segmentsOf(IGraphRepresentation source) {
+        if(source instanceof CsrGraphEngine)
+            return allocateSegmentsOf((CsrGraphEngine) source);
+
+        return streamSegmentsOf(engineOf(source), source.getGraphType());
+    }
+
+    /**
+     * write the edges of an engine straight into the direct buffers of the segments, in the layout of
+     * {@link CsrGraphEngine}: rows sorted by target, multi edges in the order of {@link IGraphEngine#edges()}.
+     * besides the buffers, only a row of scratch is allocated on the heap.
+     */
+    private static ByteBuffer[] streamSegmentsOf(IGraphEngine engine, EDGE_DIRECTION direction) {
+        int n                       = engine.numVertices();
+        boolean undirected          = direction == EDGE_DIRECTION.UNDIRECTED;
+        ByteBuffer[] segments       = new ByteBuffer[Segment.values().length];
+
+        // first pass: the degrees, counted into the offsets
+
+        segments[Segment.OFFSETS.ordinal()]     = allocateInts(n + 1);
+        segments[Segment.IN_OFFSETS.ordinal()]  = allocateInts(undirected ? 0 : n + 1);
+
+        IntBuffer offsets           = segments[Segment.OFFSETS.ordinal()].asIntBuffer();
+        IntBuffer inOffsets         = segments[Segment.IN_OFFSETS.ordinal()].asIntBuffer();
+
+        for (Edge edge : engine.edges()) {
+            int u                   = indexOfOrThrow(engine, edge.getV1());
+            int v                   = indexOfOrThrow(engine, edge.getV2());
+
+            offsets.put(u + 1, offsets.get(u + 1) + 1);
+
+            if(!undirected)
+                inOffsets.put(v + 1, inOffsets.get(v + 1) + 1);
+            else if(u != v)
+                offsets.put(v + 1, offsets.get(v + 1) + 1);
+        }
+
+        for (int i = 0; i < n; i++) {
+            offsets.put(i + 1, offsets.get(i + 1) + offsets.get(i));
+
+            if(!undirected)
+                inOffsets.put(i + 1, inOffsets.get(i + 1) + inOffsets.get(i));
+        }
+
+        int slots                   = offsets.get(n);
+
+        // second pass: every half edge into the next slot of its row
+
+        segments[Segment.TARGETS.ordinal()]     = allocateInts(slots);
+        segments[Segment.WEIGHTS.ordinal()]     = allocateInts(slots);
+
+        IntBuffer targets           = segments[Segment.TARGETS.ordinal()].asIntBuffer();
+        FloatBuffer weights         = segments[Segment.WEIGHTS.ordinal()].asFloatBuffer();
+        ByteBuffer cursorBuffer     = allocateInts(n);
+        IntBuffer cursor            = cursorBuffer.asIntBuffer();
+
+        for (int i = 0; i < n; i++) {
+            cursor.put(i, offsets.get(i));
+        }
+
+        for (Edge edge : engine.edges()) {
+            int u                   = indexOfOrThrow(engine, edge.getV1());
+            int v                   = indexOfOrThrow(engine, edge.getV2());
+            int slot                = cursor.get(u);
+
+            cursor.put(u, slot + 1);
+            targets.put(slot, v);
+            weights.put(slot, edge.getWeight());
+
+            if(undirected && u != v) {
+                slot                = cursor.get(v);
+
+                cursor.put(v, slot + 1);
+                targets.put(slot, u);
+                weights.put(slot, edge.getWeight());
+            }
+        }
+
+        sortRows(offsets, targets, weights, n);
+
+        // reversed rows, sorted by source
+
+        segments[Segment.IN_SOURCES.ordinal()]  = allocateInts(undirected ? 0 : slots);
+        segments[Segment.IN_SLOTS.ordinal()]    = allocateInts(undirected ? 0 : slots);
+
+        if(!undirected) {
+            IntBuffer inSources     = segments[Segment.IN_SOURCES.ordinal()].asIntBuffer();
+            IntBuffer inSlots       = segments[Segment.IN_SLOTS.ordinal()].asIntBuffer();
+
+            for (int i = 0; i < n; i++) {
+                cursor.put(i, inOffsets.get(i));
+            }
+
+            for (int u = 0; u < n; u++) {
+                for (int slot = offsets.get(u), end = offsets.get(u + 1); slot < end; slot++) {
+                    int v           = targets.get(slot);
+                    int inSlot      = cursor.get(v);
+
+                    cursor.put(v, inSlot + 1);
+                    inSources.put(inSlot, u);
+                    inSlots.put(inSlot, slot);
+                }
+            }
+        }
+
+        SBufferUtils.free(cursorBuffer);
+
+        // labels, their lengths and then their bytes
+
+        segments[Segment.LABEL_OFFSETS.ordinal()]   = allocateInts(n + 1);
+
+        IntBuffer labelOffsets      = segments[Segment.LABEL_OFFSETS.ordinal()].asIntBuffer();
+
+        for (int index = 0; index < n; index++) {
+            int length              = Vertex.toString(engine.vertexAt(index)).getBytes(StandardCharsets.UTF_8).length;
+
+            labelOffsets.put(index + 1, labelOffsets.get(index) + length);
+        }
+
+        ByteBuffer labels           = ByteBuffer.allocateDirect(labelOffsets.get(n));
+
+        for (int index = 0; index < n; index++) {
+            labels.put(Vertex.toString(engine.vertexAt(index)).getBytes(StandardCharsets.UTF_8));
+        }
+
+        labels.flip();
+
+        segments[Segment.LABELS.ordinal()]          = labels;
+
+        return segments;
+    }
+
+    /**
+     * sort every row by target, stably, so multi edges keep their order
+     */
+    private static void sortRows(IntBuffer offsets, IntBuffer targets, FloatBuffer weights, int n) {
+        long[] keys                 = new long[0];
+        float[] row                 = new float[0];
+
+        for (int u = 0; u < n; u++) {
+            int start               = offsets.get(u);
+            int length              = offsets.get(u + 1) - start;
+            boolean sorted          = true;
+
+            for (int k = 1; k < length && sorted; k++) {
+                sorted              = targets.get(start + k - 1) <= targets.get(start + k);
+            }
+
+            if(sorted)
+                continue;
+
+            if(keys.length < length) {
+                keys                = new long[length];
+                row                 = new float[length];
+            }
+
+            // the target in the high bits, the position in the row in the low bits
+
+            for (int k = 0; k < length; k++) {
+                keys[k]             = ((long) targets.get(start + k) << 32) | k;
+                row[k]              = weights.get(start + k);
+            }
+
+            Arrays.sort(keys, 0, length);
+
+            for (int k = 0; k < length; k++) {
+                targets.put(start + k, (int) (keys[k] >>> 32));
+                weights.put(start + k, row[(int) keys[k]]);
+            }
+        }
+    }
+
+    private static int indexOfOrThrow(IGraphEngine engine, IVertex vertex) {
+        int index = engine.indexOf(vertex);
+
+        if(index == -1)
+            throw new IllegalArgumentException("edge vertex " + vertex.getId() + " is not a vertex of the graph");
+
+        return index;
+    }
+
+    private static ByteBuffer allocateInts(int length) {
+        return ByteBuffer.allocateDirect(length * 4).order(BYTE_ORDER);
+    }
+
+    /**
+     * allocate and fill the direct buffers of the segments of a CSR engine
+     */
+    private static ByteBuffer[] allocateSegmentsOf(CsrGraphEngine source) {
+        int n                       = source.numVertices();
+        ByteBuffer[] segments       = new ByteBuffer[Segment.values().length];
+
+        segments[Segment.OFFSETS.ordinal()]     = allocate(source.getOffsets());
+        segments[Segment.TARGETS.ordinal()]     = allocate(source.getTargets());
+        segments[Segment.IN_OFFSETS.ordinal()]  = allocate(source.getInOffsets());
+        segments[Segment.IN_SOURCES.ordinal()]  = allocate(source.getInSources());
+        segments[Segment.IN_SLOTS.ordinal()]    = allocate(source.getInSlots());
+
+        float[] weights             = source.getWeights();
+        ByteBuffer buffer           = ByteBuffer.allocateDirect(weights.length * 4).order(BYTE_ORDER);
+
+        buffer.asFloatBuffer().put(weights);
+        segments[Segment.WEIGHTS.ordinal()] = buffer;
+
+        // labels
+
+        byte[][] labels             = new byte[n][];
+        int[] labelOffsets          = new int[n + 1];
+
+        for (int index = 0; index < n; index++) {
+            labels[index]           = Vertex.toString(source.vertexAt(index)).getBytes(StandardCharsets.UTF_8);
+            labelOffsets[index + 1] = labelOffsets[index] + labels[index].length;
+        }
+
+        buffer                      = ByteBuffer.allocateDirect(labelOffsets[n]);
+
+        for (byte[] label : labels) {
+            buffer.put(label);
+        }
+
+        buffer.flip();
+
+        segments[Segment.LABEL_OFFSETS.ordinal()]   = allocate(labelOffsets);
+        segments[Segment.LABELS.ordinal()]          = buffer;
+
+        return segments;
+    }
+
+    private static ByteBuffer allocate(int[] values) {
+        int length          = (values == null) ? 0 : values.length;
+        ByteBuffer buffer   = ByteBuffer.allocateDirect(length * 4).order(BYTE_ORDER);
+
+        if(values != null)
+            buffer.asIntBuffer().put(values);
+
+        return buffer;
+    }
+
+}
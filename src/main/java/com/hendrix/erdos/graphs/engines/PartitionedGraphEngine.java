@@ -0,0 +1,1243 @@
+package com.hendrix.erdos.graphs.engines;
+
+import com.hendrix.collection.ObjectIntHashMap;
+import com.hendrix.erdos.exceptions.VertexNotFoundException;
+import com.hendrix.erdos.types.Edge;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.IVertex;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * a graph engine that splits its vertices into partitions, so algorithms can process every
+ * partition on a worker of its own, see {@link #forEachPartition(Consumer)}.
+ * <ul>
+ *     <li/>a vertex is assigned to a partition by its hash code, or by a contiguous range of dense
+ *     indices, see {@link PARTITIONING}.
+ *     <li/>every {@link Partition} owns the vertices it was assigned, their lookup map and their
+ *     adjacency, so there is no map that is shared by all of the vertices.
+ *     <li/>an edge between vertices of two partitions is a cut edge. every partition keeps its
+ *     boundary vertices, that have cut edges, and its ghost vertices, the vertices of other
+ *     partitions on the other side of its cut edges.
+ * </ul>
+ * the engine has a single writer, while partitions may be read in parallel between changes.
+ *
+ * @author Tomer Shalev
+ */
+@SuppressWarnings("UnusedDeclaration")
+public class PartitionedGraphEngine extends AbstractGraphEngine {
+    /**
+     * how vertices are assigned to partitions
+     */
+    public enum PARTITIONING {
+        /**
+         * by the hash code of the vertex, a vertex never moves
+         */
+        HASH,
+        /**
+         * by contiguous ranges of dense indices. removing a vertex moves the last vertex into its
+         * index, and into the partition of the index.
+         */
+        RANGE
+    }
+
+    /**
+     * adjacencies with more neighbors than this are indexed by a hash map
+     */
+    private static final int INDEX_THRESHOLD = 8;
+
+    private static final Node[] NO_NODES = new Node[0];
+    private static final Edge[][] NO_EDGE_LISTS = new Edge[0][];
+    private static final Edge[] NO_EDGES = new Edge[0];
+
+    protected final Partition[] _partitions;
+    protected final PARTITIONING _partitioning;
+    /**
+     * the number of indices of every partition, for {@link PARTITIONING#RANGE}
+     */
+    protected final int _rangeSize;
+    /**
+     * the vertex records, by dense index
+     */
+    protected Node[] _nodes;
+    protected int _size = 0;
+    protected int _numEdges = 0;
+
+    /**
+     * create a hash partitioned engine, with a partition for every available processor
+     */
+    public PartitionedGraphEngine() {
+        this(Runtime.getRuntime().availableProcessors(), PARTITIONING.HASH, 16);
+    }
+
+    /**
+     * @param numPartitions    the number of partitions
+     * @param partitioning     how vertices are assigned to partitions
+     * @param expectedVertices the number of vertices to hold without resizing, for {@link PARTITIONING#RANGE}
+     *                         the vertices are split into ranges of {@code expectedVertices / numPartitions}
+     *                         indices, and the last partition takes the rest
+     */
+    public PartitionedGraphEngine(int numPartitions, PARTITIONING partitioning, int expectedVertices) {
+        if(numPartitions < 1)
+            throw new IllegalArgumentException("number of partitions " + numPartitions + " should be positive");
+
+        _partitioning   = partitioning;
+        _partitions     = new Partition[numPartitions];
+        _rangeSize      = Math.max(1, (expectedVertices + numPartitions - 1) / numPartitions);
+        _nodes          = new Node[Math.max(expectedVertices, 16)];
+
+        for (int p = 0; p < numPartitions; p++) {
+            _partitions[p] = new Partition(p, expectedVertices / numPartitions);
+        }
+    }
+
+    /**
+     * @return the number of partitions
+     */
+    public int numPartitions() {
+        return _partitions.length;
+    }
+
+    /**
+     * @param id the id of the partition, in {@code 0..numPartitions()-1}
+     *
+     * @return the partition
+     */
+    public Partition partitionAt(int id) {
+        return _partitions[id];
+    }
+
+    /**
+     * @return the partitions, by id
+     */
+    public List<Partition> partitions() {
+        return Collections.unmodifiableList(Arrays.asList(_partitions));
+    }
+
+    /**
+     * @param vertex the vertex
+     *
+     * @return the id of the partition of the vertex
+     */
+    public int partitionOf(IVertex vertex) {
+        return validateVertex(vertex).partition;
+    }
+
+    /**
+     * process every partition on a worker of the common {@link ForkJoinPool}, and wait for all of them.
+     * the graph should not be changed meanwhile.
+     *
+     * @param action the action, it is called concurrently, once for every partition
+     */
+    public void forEachPartition(Consumer<? super Partition> action) {
+        forEachPartition(ForkJoinPool.commonPool(), action);
+    }
+
+    /**
+     * process every partition on a worker of a {@link ForkJoinPool}, and wait for all of them.
+     * the graph should not be changed meanwhile.
+     *
+     * @param pool   the pool
+     * @param action the action, it is called concurrently, once for every partition
+     */
+    public void forEachPartition(ForkJoinPool pool, Consumer<? super Partition> action) {
+        final ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[_partitions.length];
+
+        for (int p = 0; p < tasks.length; p++) {
+            final Partition partition = _partitions[p];
+
+            tasks[p] = ForkJoinTask.adapt(() -> action.accept(partition));
+        }
+
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+    }
+
+    @Override
+    public Iterator<IVertex> iterator() {
+        return new VerticesIterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * changes that are made to this collection will reflect
+     * changes to the edges of the graph (removal wise)
+     */
+    @Override
+    public Collection<IVertex> vertices() {
+        return (verticesView == null) ? verticesView = new VerticesView() : verticesView;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * changes that are made to this collection will reflect
+     * changes to the vertices of the graph
+     */
+    @Override
+    public Collection<Edge> edges() {
+        return (edgesView == null) ? edgesView = new EdgesView() : edgesView;
+    }
+
+    @Override
+    public Collection<IVertex> getNeighborsOf(IVertex vertex) {
+        return new NeighborsView(validateVertex(vertex).out);
+    }
+
+    @Override
+    public Collection<Edge> getIncidenceOutListOf(IVertex vertex) {
+        return new IncidenceView(validateVertex(vertex).out);
+    }
+
+    @Override
+    public Collection<Edge> getIncidenceInListOf(IVertex vertex) {
+        return new IncidenceView(validateVertex(vertex).in);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachNeighbor(int vertexIndex, IntConsumer consumer) {
+        Adjacency out = nodeAt(vertexIndex).out;
+
+        for (int position = 0; position < out.size; position++) {
+            consumer.accept(out.neighbors[position].index);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public NeighborCursor neighborCursor() {
+        return new PartitionedNeighborCursor();
+    }
+
+    @Override
+    public boolean hasVertex(IVertex vertex) {
+        return lookup(vertex) != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int indexOf(IVertex vertex) {
+        Node node = lookup(vertex);
+
+        return (node == null) ? -1 : node.index;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IVertex vertexAt(int index) {
+        return nodeAt(index).vertex;
+    }
+
+    @Override
+    public boolean addVertex(IVertex vertex) {
+        if(vertex == null || lookup(vertex) != null)
+            return false;
+
+        int index       = _size;
+
+        if(index == _nodes.length)
+            _nodes      = Arrays.copyOf(_nodes, index << 1);
+
+        Node node       = new Node(vertex, index, getGraphType() == EDGE_DIRECTION.DIRECTED);
+
+        _nodes[index]   = node;
+        _size           = index + 1;
+        vertex.setIndex(index);
+        _partitions[partitionFor(vertex, index)].add(node);
+
+        return true;
+    }
+
+    @Override
+    public boolean removeVertex(IVertex vertex) {
+        Node node       = lookup(vertex);
+
+        if(node == null)
+            return false;
+
+        for (Edge edge : incidentEdgesOf(node)) {
+            removeEdge(edge);
+        }
+
+        _partitions[node.partition].remove(node);
+
+        int last        = --_size;
+
+        // move the last vertex into the freed index
+        if(node.index != last) {
+            Node moved  = _nodes[last];
+
+            _nodes[node.index] = moved;
+            moved.index = node.index;
+            moved.vertex.setIndex(node.index);
+
+            int partition = partitionFor(moved.vertex, moved.index);
+
+            if(partition != moved.partition)
+                migrate(moved, partition);
+        }
+
+        _nodes[last]    = null;
+
+        return true;
+    }
+
+    @Override
+    public boolean hasEdge(IVertex v1, IVertex v2) {
+        return getEdge(v1, v2) != null;
+    }
+
+    @Override
+    public boolean hasEdge(Edge edge) {
+        if(edge == null || edge.getEdgeType() != getGraphType())
+            return false;
+
+        Node n1 = lookup(edge.getV1());
+        Node n2 = lookup(edge.getV2());
+
+        return n1 != null && n2 != null && n1.out.contains(n2, edge);
+    }
+
+    @Override
+    public Edge addEdge(IVertex v1, IVertex v2) {
+        return addEdge(v1, v2, 0f);
+    }
+
+    @Override
+    public Edge addEdge(IVertex v1, IVertex v2, float weight) {
+        return addEdge(new Edge(v1, v2, getGraphType(), weight));
+    }
+
+    /**
+     * connect an edge (v1, v2) into the graph, v1 and v2 have to be members
+     *
+     * @return the edge so use can query the id, or {@code null} if the edge already exists
+     *         or is incompatible with the graph type
+     */
+    @Override
+    public Edge addEdge(Edge edge) {
+        Node n1 = validateVertex(edge.getV1());
+        Node n2 = validateVertex(edge.getV2());
+
+        if(edge.getEdgeType() != getGraphType())
+            return null;
+
+        if(n1 == n2 && !isSelfLoopsSupported())
+            return null;
+
+        if(isMultiEdgesSupported() ? n1.out.contains(n2, edge) : n1.out.positionOf(n2) != -1)
+            return null;
+
+        n1.out.add(n2, edge);
+
+        if(n1.in != n1.out)
+            n2.in.add(n1, edge);
+        else if(n1 != n2)
+            n2.out.add(n1, edge);
+
+        cross(n1, n2, 1);
+        _numEdges++;
+
+        return edge;
+    }
+
+    @Override
+    public Edge removeEdge(IVertex v1, IVertex v2) {
+        Edge edge = getEdge(v1, v2);
+
+        return (edge == null) ? null : removeEdge(edge);
+    }
+
+    /**
+     * remove an edge from the graph
+     *
+     * @param edge an edge that already belong to the graph
+     *
+     * @return the edge if success, or null if failed
+     */
+    @Override
+    public Edge removeEdge(Edge edge) {
+        if(edge == null || edge.getEdgeType() != getGraphType())
+            return null;
+
+        Node n1 = lookup(edge.getV1());
+        Node n2 = lookup(edge.getV2());
+
+        if(n1 == null || n2 == null || !n1.out.remove(n2, edge))
+            return null;
+
+        if(n1.in != n1.out)
+            n2.in.remove(n1, edge);
+        else if(n1 != n2)
+            n2.out.remove(n1, edge);
+
+        cross(n1, n2, -1);
+        _numEdges--;
+
+        return edge;
+    }
+
+    @Override
+    public Collection<Edge> removeMultiEdges(IVertex u, IVertex v) {
+        ArrayList<Edge> edges = new ArrayList<>(getMultiEdges(u, v));
+
+        for (Edge edge : edges) {
+            removeEdge(edge);
+        }
+
+        return edges;
+    }
+
+    @Override
+    public Edge getEdge(IVertex v1, IVertex v2) {
+        Node n1     = lookup(v1);
+        Node n2     = lookup(v2);
+        Edge[] list = (n1 == null || n2 == null) ? NO_EDGES : n1.out.edgesTo(n2);
+
+        return (list.length == 0) ? null : list[0];
+    }
+
+    @Override
+    public Collection<Edge> getMultiEdges(IVertex u, IVertex v) {
+        Node n1 = lookup(u);
+        Node n2 = lookup(v);
+
+        if(n1 == null || n2 == null)
+            return Collections.emptyList();
+
+        return Collections.unmodifiableList(Arrays.asList(n1.out.edgesTo(n2)));
+    }
+
+    @Override
+    public int numVertices() {
+        return _size;
+    }
+
+    @Override
+    public int numEdges() {
+        return _numEdges;
+    }
+
+    @Override
+    public void clear() {
+        for (Partition partition : _partitions) {
+            partition.clear();
+        }
+
+        Arrays.fill(_nodes, 0, _size, null);
+        _size       = 0;
+        _numEdges   = 0;
+    }
+
+    /**
+     * @param vertex the vertex in question
+     * @return the number of vertices the vertex goes out to
+     */
+    @Override
+    public int outDegreeOfVertex(IVertex vertex) {
+        return validateVertex(vertex).out.size;
+    }
+
+    /**
+     * @param vertex the vertex in question
+     * @return the number of edges that go into the vertex
+     */
+    @Override
+    public int inDegreeOfVertex(IVertex vertex) {
+        return validateVertex(vertex).in.numEdges;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void dispose() {
+        for (int index = 0; index < _size; index++) {
+            _nodes[index].vertex.dispose();
+        }
+
+        clear();
+    }
+
+    /**
+     * @return the partition of a vertex, that is added at an index
+     */
+    private int partitionFor(IVertex vertex, int index) {
+        if(_partitioning == PARTITIONING.RANGE)
+            return Math.min(index / _rangeSize, _partitions.length - 1);
+
+        int h = vertex.hashCode() * 0x9E3779B9;
+
+        return ((h ^ (h >>> 16)) & 0x7FFFFFFF) % _partitions.length;
+    }
+
+    /**
+     * @return the record of a vertex, or {@code null} if it does not belong to the graph
+     */
+    private Node lookup(IVertex vertex) {
+        if(vertex == null)
+            return null;
+
+        if(_partitioning == PARTITIONING.HASH)
+            return _partitions[partitionFor(vertex, -1)]._lookup.get(vertex);
+
+        int hint = vertex.getIndex();
+
+        if(hint >= 0 && hint < _size && _nodes[hint].vertex == vertex)
+            return _nodes[hint];
+
+        // the hint is stale, the vertex may belong to another graph too
+        for (Partition partition : _partitions) {
+            Node node = partition._lookup.get(vertex);
+
+            if(node != null)
+                return node;
+        }
+
+        return null;
+    }
+
+    /**
+     * move a vertex into another partition, with its cut edges
+     */
+    private void migrate(Node node, int partition) {
+        List<Edge> edges = incidentEdgesOf(node);
+
+        for (Edge edge : edges) {
+            cross(lookup(edge.getV1()), lookup(edge.getV2()), -1);
+        }
+
+        _partitions[node.partition].remove(node);
+        _partitions[partition].add(node);
+
+        for (Edge edge : edges) {
+            cross(lookup(edge.getV1()), lookup(edge.getV2()), 1);
+        }
+    }
+
+    /**
+     * update the ghosts and the boundary vertices of the partitions of an edge, that was added or removed
+     */
+    private void cross(Node n1, Node n2, int delta) {
+        if(n1.partition == n2.partition)
+            return;
+
+        _partitions[n1.partition].cut(n1, n2, delta);
+        _partitions[n2.partition].cut(n2, n1, delta);
+    }
+
+    /**
+     * @return the edges of a vertex, every edge once
+     */
+    private List<Edge> incidentEdgesOf(Node node) {
+        ArrayList<Edge> edges = new ArrayList<>(node.out.numEdges);
+
+        node.out.collect(edges);
+
+        if(node.in != node.out)
+            node.in.collectUnless(node, edges);
+
+        return edges;
+    }
+
+    private Node validateVertex(IVertex vertex) {
+        Node node = lookup(vertex);
+
+        if(node == null)
+            throw new VertexNotFoundException(vertex, getGraph());
+
+        return node;
+    }
+
+    private Node nodeAt(int index) {
+        if(index < 0 || index >= _size)
+            throw new IndexOutOfBoundsException("vertex index " + index + ", size " + _size);
+
+        return _nodes[index];
+    }
+
+    /**
+     * a partition of the vertices, with their adjacency, and the bookkeeping of its cut edges.
+     * the vertices of a partition are kept in slots {@code 0..numVertices()-1}, that change when
+     * vertices are removed.
+     */
+    public final class Partition {
+        private final int _id;
+        /**
+         * the vertices of the partition, by slot
+         */
+        private Node[] _members;
+        private int _numMembers = 0;
+        /**
+         * vertex to record mapping, of the vertices of the partition
+         */
+        private final HashMap<IVertex, Node> _lookup;
+        /**
+         * the ghost vertices, with the number of cut edges to them
+         */
+        private final ObjectIntHashMap<Node> _ghosts = new ObjectIntHashMap<>(16, 0);
+        private int _numBoundary = 0;
+        private int _numCutEdges = 0;
+
+        Partition(int id, int expectedVertices) {
+            _id         = id;
+            _members    = new Node[Math.max(expectedVertices, 4)];
+            _lookup     = new HashMap<>(Math.max(expectedVertices, 4) * 4 / 3 + 1);
+        }
+
+        /**
+         * @return the id of the partition
+         */
+        public int id() {
+            return _id;
+        }
+
+        /**
+         * @return the number of vertices of the partition
+         */
+        public int numVertices() {
+            return _numMembers;
+        }
+
+        /**
+         * @param slot the slot, in {@code 0..numVertices()-1}
+         *
+         * @return the vertex at the slot
+         */
+        public IVertex vertexAt(int slot) {
+            return memberAt(slot).vertex;
+        }
+
+        /**
+         * @param slot the slot, in {@code 0..numVertices()-1}
+         *
+         * @return the dense index, in the graph, of the vertex at the slot
+         */
+        public int indexAt(int slot) {
+            return memberAt(slot).index;
+        }
+
+        /**
+         * @param vertex the vertex
+         *
+         * @return {@code true} if the vertex belongs to this partition
+         */
+        public boolean contains(IVertex vertex) {
+            return vertex != null && _lookup.containsKey(vertex);
+        }
+
+        /**
+         * visit the vertices of the partition
+         *
+         * @param consumer accepts the dense index, in the graph, of every vertex
+         */
+        public void forEachVertex(IntConsumer consumer) {
+            for (int slot = 0; slot < _numMembers; slot++) {
+                consumer.accept(_members[slot].index);
+            }
+        }
+
+        /**
+         * @param vertex a vertex of the partition
+         *
+         * @return {@code true} if the vertex has edges to vertices of other partitions
+         */
+        public boolean isBoundary(IVertex vertex) {
+            Node node = _lookup.get(vertex);
+
+            return node != null && node.cutEdges > 0;
+        }
+
+        /**
+         * @return the number of vertices of the partition that have edges to vertices of other partitions
+         */
+        public int numBoundaryVertices() {
+            return _numBoundary;
+        }
+
+        /**
+         * @param vertex the vertex
+         *
+         * @return {@code true} if the vertex belongs to another partition, and has edges to this partition
+         */
+        public boolean isGhost(IVertex vertex) {
+            Node node = lookup(vertex);
+
+            return node != null && _ghosts.containsKey(node);
+        }
+
+        /**
+         * @return the number of vertices of other partitions, that have edges to this partition
+         */
+        public int numGhosts() {
+            return _ghosts.size();
+        }
+
+        /**
+         * visit the ghost vertices of the partition
+         *
+         * @param consumer accepts the dense index, in the graph, of every ghost vertex
+         */
+        public void forEachGhost(IntConsumer consumer) {
+            _ghosts.forEach((node, count) -> consumer.accept(node.index));
+        }
+
+        /**
+         * @return a new list of the ghost vertices of the partition
+         */
+        public List<IVertex> ghosts() {
+            ArrayList<IVertex> ghosts = new ArrayList<>(_ghosts.size());
+
+            _ghosts.forEach((node, count) -> ghosts.add(node.vertex));
+
+            return ghosts;
+        }
+
+        /**
+         * @return the number of edges between the vertices of the partition and the vertices of other partitions
+         */
+        public int numCutEdges() {
+            return _numCutEdges;
+        }
+
+        @Override
+        public String toString() {
+            return "partition " + _id + " V=" + _numMembers + " ghosts=" + _ghosts.size() + " cut=" + _numCutEdges;
+        }
+
+        private Node memberAt(int slot) {
+            if(slot < 0 || slot >= _numMembers)
+                throw new IndexOutOfBoundsException("slot " + slot + ", size " + _numMembers);
+
+            return _members[slot];
+        }
+
+        private void add(Node node) {
+            if(_numMembers == _members.length)
+                _members = Arrays.copyOf(_members, _numMembers << 1);
+
+            node.partition          = _id;
+            node.slot               = _numMembers;
+            _members[_numMembers++] = node;
+            _lookup.put(node.vertex, node);
+
+            if(node.cutEdges > 0)
+                _numBoundary++;
+        }
+
+        private void remove(Node node) {
+            int last                = --_numMembers;
+
+            _members[node.slot]     = _members[last];
+            _members[node.slot].slot = node.slot;
+            _members[last]          = null;
+            _lookup.remove(node.vertex);
+
+            if(node.cutEdges > 0)
+                _numBoundary--;
+        }
+
+        /**
+         * a cut edge between a vertex of the partition and a ghost was added or removed
+         */
+        private void cut(Node local, Node ghost, int delta) {
+            int count               = _ghosts.get(ghost) + delta;
+
+            if(count == 0)
+                _ghosts.remove(ghost);
+            else
+                _ghosts.put(ghost, count);
+
+            if(local.cutEdges == 0 && delta > 0)
+                _numBoundary++;
+
+            local.cutEdges          += delta;
+
+            if(local.cutEdges == 0)
+                _numBoundary--;
+
+            _numCutEdges            += delta;
+        }
+
+        private void clear() {
+            Arrays.fill(_members, 0, _numMembers, null);
+            _numMembers             = 0;
+            _lookup.clear();
+            _ghosts.clear();
+            _numBoundary            = 0;
+            _numCutEdges            = 0;
+        }
+    }
+
+    /**
+     * the record of a vertex
+     */
+    protected static final class Node {
+        final IVertex vertex;
+        int index;
+        int partition;
+        /**
+         * the slot in the partition
+         */
+        int slot;
+        final Adjacency out;
+        /**
+         * the in adjacency, the out adjacency for undirected graphs
+         */
+        final Adjacency in;
+        /**
+         * the number of edges to vertices of other partitions
+         */
+        int cutEdges = 0;
+
+        Node(IVertex vertex, int index, boolean directed) {
+            this.vertex = vertex;
+            this.index  = index;
+            this.out    = new Adjacency();
+            this.in     = directed ? new Adjacency() : out;
+        }
+    }
+
+    /**
+     * the neighbors of a vertex in one direction, and the edges to them
+     */
+    protected static final class Adjacency {
+        Node[] neighbors    = NO_NODES;
+        Edge[][] edges      = NO_EDGE_LISTS;
+        /**
+         * the number of neighbors, and the number of edges
+         */
+        int size            = 0;
+        int numEdges        = 0;
+        /**
+         * neighbor to position, for large adjacencies
+         */
+        ObjectIntHashMap<Node> positions = null;
+
+        int positionOf(Node neighbor) {
+            if(positions != null)
+                return positions.get(neighbor);
+
+            for (int i = 0; i < size; i++) {
+                if(neighbors[i] == neighbor)
+                    return i;
+            }
+
+            return -1;
+        }
+
+        Edge[] edgesTo(Node neighbor) {
+            int position = positionOf(neighbor);
+
+            return (position == -1) ? NO_EDGES : edges[position];
+        }
+
+        boolean contains(Node neighbor, Edge edge) {
+            for (Edge current : edgesTo(neighbor)) {
+                if(current == edge)
+                    return true;
+            }
+
+            return false;
+        }
+
+        void add(Node neighbor, Edge edge) {
+            int position            = positionOf(neighbor);
+
+            numEdges++;
+
+            if(position != -1) {
+                Edge[] list         = Arrays.copyOf(edges[position], edges[position].length + 1);
+
+                list[list.length - 1] = edge;
+                edges[position]     = list;
+
+                return;
+            }
+
+            if(size == neighbors.length) {
+                int capacity        = Math.max(2, size << 1);
+
+                neighbors           = Arrays.copyOf(neighbors, capacity);
+                edges               = Arrays.copyOf(edges, capacity);
+            }
+
+            neighbors[size]         = neighbor;
+            edges[size]             = new Edge[] {edge};
+
+            if(positions != null) {
+                positions.put(neighbor, size);
+            } else if(size + 1 > INDEX_THRESHOLD) {
+                positions           = new ObjectIntHashMap<>(size << 1, -1);
+
+                for (int i = 0; i <= size; i++) {
+                    positions.put(neighbors[i], i);
+                }
+            }
+
+            size++;
+        }
+
+        boolean remove(Node neighbor, Edge edge) {
+            int position    = positionOf(neighbor);
+
+            if(position == -1)
+                return false;
+
+            Edge[] list     = edges[position];
+            int at          = -1;
+
+            for (int i = 0; i < list.length && at == -1; i++) {
+                if(list[i] == edge)
+                    at      = i;
+            }
+
+            if(at == -1)
+                return false;
+
+            numEdges--;
+
+            if(list.length > 1) {
+                Edge[] copy = new Edge[list.length - 1];
+
+                System.arraycopy(list, 0, copy, 0, at);
+                System.arraycopy(list, at + 1, copy, at, copy.length - at);
+                edges[position] = copy;
+
+                return true;
+            }
+
+            // move the last neighbor into the freed position
+            int last        = --size;
+
+            neighbors[position] = neighbors[last];
+            edges[position]     = edges[last];
+            neighbors[last]     = null;
+            edges[last]         = null;
+
+            if(positions != null) {
+                positions.remove(neighbor);
+
+                if(position != last)
+                    positions.put(neighbors[position], position);
+            }
+
+            return true;
+        }
+
+        void collect(List<Edge> list) {
+            for (int position = 0; position < size; position++) {
+                Collections.addAll(list, edges[position]);
+            }
+        }
+
+        /**
+         * collect the edges, but the ones of a neighbor
+         */
+        void collectUnless(Node neighbor, List<Edge> list) {
+            for (int position = 0; position < size; position++) {
+                if(neighbors[position] != neighbor)
+                    Collections.addAll(list, edges[position]);
+            }
+        }
+    }
+
+    /**
+     * responsive/modifiable collection views for iteration outside
+     * the class.
+     */
+    transient volatile Collection<IVertex> verticesView;
+    transient volatile Collection<Edge> edgesView;
+
+    /**
+     * vertices view
+     */
+    public class VerticesView extends AbstractCollection<IVertex> {
+
+        @SuppressWarnings("NullableProblems")
+        @Override
+        public Iterator<IVertex> iterator() {
+            return new VerticesIterator();
+        }
+
+        public int size() {
+            return _size;
+        }
+
+        public boolean contains(Object o) {
+            return (o instanceof IVertex) && hasVertex((IVertex) o);
+        }
+
+        public boolean add(IVertex vertex) {
+            return addVertex(vertex);
+        }
+
+        public boolean remove(Object o) {
+            return (o instanceof IVertex) && removeVertex((IVertex) o);
+        }
+    }
+
+    /**
+     * iterates the vertices by their index. removing a vertex moves the last
+     * vertex into its index, so the iterator visits that index again.
+     */
+    protected class VerticesIterator implements Iterator<IVertex> {
+        private int _cursor = 0;
+        private IVertex _current = null;
+
+        @Override
+        public boolean hasNext() {
+            return _cursor < _size;
+        }
+
+        @Override
+        public IVertex next() {
+            if(!hasNext())
+                throw new NoSuchElementException();
+
+            return _current = _nodes[_cursor++].vertex;
+        }
+
+        @Override
+        public void remove() {
+            if(_current == null)
+                throw new IllegalStateException();
+
+            removeVertex(_current);
+            _current = null;
+            _cursor--;
+        }
+    }
+
+    /**
+     * edges view, by the index of their first vertex
+     */
+    public class EdgesView extends AbstractCollection<Edge> {
+
+        @SuppressWarnings("NullableProblems")
+        @Override
+        public Iterator<Edge> iterator() {
+            return new Iterator<Edge>() {
+                private int _index = -1;
+                /**
+                 * the edges of the current vertex, so the graph can be changed while iterating
+                 */
+                private final ArrayList<Edge> _edges = new ArrayList<>();
+                private int _at = 0;
+                private Edge _current = null;
+
+                @Override
+                public boolean hasNext() {
+                    while (_at == _edges.size()) {
+                        if(++_index >= _size)
+                            return false;
+
+                        Node node = _nodes[_index];
+
+                        _edges.clear();
+                        _at = 0;
+
+                        for (int position = 0; position < node.out.size; position++) {
+                            for (Edge edge : node.out.edges[position]) {
+                                // undirected edges are kept by both of their vertices
+                                if(node.in != node.out || node.vertex.equals(edge.getV1()))
+                                    _edges.add(edge);
+                            }
+                        }
+                    }
+
+                    return true;
+                }
+
+                @Override
+                public Edge next() {
+                    if(!hasNext())
+                        throw new NoSuchElementException();
+
+                    return _current = _edges.get(_at++);
+                }
+
+                @Override
+                public void remove() {
+                    if(_current == null)
+                        throw new IllegalStateException();
+
+                    removeEdge(_current);
+                    _current = null;
+                }
+            };
+        }
+
+        public int size() {
+            return _numEdges;
+        }
+
+        public boolean contains(Object o) {
+            return (o instanceof Edge) && hasEdge((Edge) o);
+        }
+
+        public boolean add(Edge edge) {
+            return addEdge(edge) != null;
+        }
+
+        public boolean remove(Object o) {
+            return (o instanceof Edge) && removeEdge((Edge) o) != null;
+        }
+    }
+
+    /**
+     * read only view of the neighbors of a vertex
+     */
+    public class NeighborsView extends AbstractCollection<IVertex> {
+        private final Adjacency _adjacency;
+
+        NeighborsView(Adjacency adjacency) {
+            _adjacency = adjacency;
+        }
+
+        @SuppressWarnings("NullableProblems")
+        @Override
+        public Iterator<IVertex> iterator() {
+            return new Iterator<IVertex>() {
+                private int _position = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return _position < _adjacency.size;
+                }
+
+                @Override
+                public IVertex next() {
+                    if(!hasNext())
+                        throw new NoSuchElementException();
+
+                    return _adjacency.neighbors[_position++].vertex;
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException("removing a vertex directly to the adj list is not supported!! use graph methods instead");
+                }
+            };
+        }
+
+        public int size() {
+            return _adjacency.size;
+        }
+
+        public boolean contains(Object o) {
+            Node node = (o instanceof IVertex) ? lookup((IVertex) o) : null;
+
+            return node != null && _adjacency.positionOf(node) != -1;
+        }
+    }
+
+    /**
+     * read only view of the incident edges of a vertex, in one direction
+     */
+    public class IncidenceView extends AbstractCollection<Edge> {
+        private final Adjacency _adjacency;
+
+        IncidenceView(Adjacency adjacency) {
+            _adjacency = adjacency;
+        }
+
+        @SuppressWarnings("NullableProblems")
+        @Override
+        public Iterator<Edge> iterator() {
+            return new Iterator<Edge>() {
+                private int _position = -1;
+                private Edge[] _list = NO_EDGES;
+                private int _at = 0;
+
+                @Override
+                public boolean hasNext() {
+                    while (_at == _list.length) {
+                        if(++_position >= _adjacency.size)
+                            return false;
+
+                        _list   = _adjacency.edges[_position];
+                        _at     = 0;
+                    }
+
+                    return true;
+                }
+
+                @Override
+                public Edge next() {
+                    if(!hasNext())
+                        throw new NoSuchElementException();
+
+                    return _list[_at++];
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException("removing an edge directly from the incidence list is not supported!! use graph methods instead");
+                }
+            };
+        }
+
+        public int size() {
+            return _adjacency.numEdges;
+        }
+    }
+
+    /**
+     * neighbor cursor over the adjacency of a vertex
+     */
+    protected class PartitionedNeighborCursor implements NeighborCursor {
+        private Adjacency _adjacency;
+        private int _position;
+
+        @Override
+        public NeighborCursor reset(int vertexIndex) {
+            _adjacency  = nodeAt(vertexIndex).out;
+            _position   = -1;
+
+            return this;
+        }
+
+        @Override
+        public boolean next() {
+            return ++_position < _adjacency.size;
+        }
+
+        @Override
+        public int target() {
+            return _adjacency.neighbors[_position].index;
+        }
+
+        @Override
+        public float weight() {
+            return _adjacency.edges[_position][0].getWeight();
+        }
+
+        @Override
+        public Edge edge() {
+            return _adjacency.edges[_position][0];
+        }
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.hendrix.erdos.graphs.engines;
+
+import com.hendrix.erdos.types.Edge;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.IVertex;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * a read only view of a directed graph with every edge reversed, the transpose of the graph.<br/>
+ * the out incidence list of a vertex is its in incidence list in the viewed graph and vice versa,
+ * so nothing is copied. the edges are {@link ViewEdge}s of the viewed edges, that share their weight,
+ * tag and data.
+ *
+ * @author Tomer Shalev
+ * @see com.hendrix.erdos.Erdos#reversedViewOf(com.hendrix.erdos.graphs.IGraph)
+ */
+@SuppressWarnings("UnusedDeclaration")
+public class ReversedGraphEngine extends AbstractViewGraphEngine {
+
+    /**
+     * @param source the engine of a directed graph
+     */
+    public ReversedGraphEngine(IGraphEngine source) {
+        super(source, EDGE_DIRECTION.DIRECTED);
+
+        if(source.getGraphType() != EDGE_DIRECTION.DIRECTED)
+            throw new IllegalArgumentException("only directed graphs can be reversed");
+    }
+
+    /**
+     * @param edge an edge of the viewed graph, or {@code null}
+     *
+     * @return the reversed edge, or {@code null}
+     */
+    protected Edge reverse(Edge edge) {
+        return (edge == null) ? null : new ViewEdge(edge.getV2(), edge.getV1(), EDGE_DIRECTION.DIRECTED, edge);
+    }
+
+    @Override
+    public Collection<Edge> edges() {
+        return new MappedEdgesView(_source.edges(), this::reverse) {
+            @Override
+            public boolean contains(Object o) {
+                return (o instanceof Edge) && hasEdge((Edge) o);
+            }
+        };
+    }
+
+    @Override
+    public int numEdges() {
+        return _source.numEdges();
+    }
+
+    @Override
+    public Collection<IVertex> getNeighborsOf(IVertex vertex) {
+        return new NeighborsView(vertex, _source.getIncidenceInListOf(vertex), null, null);
+    }
+
+    @Override
+    public Collection<Edge> getIncidenceOutListOf(IVertex vertex) {
+        return new MappedEdgesView(_source.getIncidenceInListOf(vertex), this::reverse);
+    }
+
+    @Override
+    public Collection<Edge> getIncidenceInListOf(IVertex vertex) {
+        return new MappedEdgesView(_source.getIncidenceOutListOf(vertex), this::reverse);
+    }
+
+    @Override
+    public boolean hasEdge(IVertex v1, IVertex v2) {
+        return _source.hasEdge(v2, v1);
+    }
+
+    /**
+     * check whether edge instance is in graph
+     *
+     * @param edge the edge in question, a reversed edge of this view
+     * @return true if graph contains this edge
+     */
+    @Override
+    public boolean hasEdge(Edge edge) {
+        return (edge instanceof ViewEdge) && edge.getEdgeType() == EDGE_DIRECTION.DIRECTED
+                && edge.getV1().equals(((ViewEdge) edge).viewedEdge().getV2())
+                && _source.hasEdge(((ViewEdge) edge).viewedEdge());
+    }
+
+    @Override
+    public Edge getEdge(IVertex v1, IVertex v2) {
+        return reverse(_source.getEdge(v2, v1));
+    }
+
+    @Override
+    public Collection<Edge> getMultiEdges(IVertex u, IVertex v) {
+        ArrayList<Edge> result = new ArrayList<>();
+
+        for (Edge edge : _source.getMultiEdges(v, u)) {
+            result.add(reverse(edge));
+        }
+
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * @param vertex the vertex in question
+     * @return the number of edges that go into the vertex
+     */
+    @Override
+    public int inDegreeOfVertex(IVertex vertex) {
+        validateVertex(vertex);
+
+        return _source.getIncidenceOutListOf(vertex).size();
+    }
+
+}
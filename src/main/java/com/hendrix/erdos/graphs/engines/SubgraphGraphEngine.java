@@ -0,0 +1,233 @@
+package com.hendrix.erdos.graphs.engines;
+
+import com.hendrix.erdos.types.Edge;
+import com.hendrix.erdos.types.IVertex;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * a read only view of a subgraph, with the vertices and edges of a graph that pass a filter:
+ * <ul>
+ *     <li/>a vertex filter induces a subgraph, with the edges between the vertices that pass it. the vertices
+ *     are picked, and get dense indices of their own, when the view is created, so the view has to be created
+ *     again once vertices are added to or removed from the viewed graph.
+ *     <li/>an edge filter hides the edges that do not pass it, and is tested every time an edge is visited.
+ *     without a vertex filter, the view has the vertices of the viewed graph, with the same indices.
+ * </ul>
+ * the edges are the edges of the viewed graph. the number of edges of the view is counted
+ * every time it is queried.
+ *
+ * @author Tomer Shalev
+ * @see com.hendrix.erdos.Erdos#inducedSubgraphOf(com.hendrix.erdos.graphs.IGraph, Predicate)
+ * @see com.hendrix.erdos.Erdos#filteredViewOf(com.hendrix.erdos.graphs.IGraph, Predicate)
+ */
+@SuppressWarnings("UnusedDeclaration")
+public class SubgraphGraphEngine extends AbstractViewGraphEngine {
+    /**
+     * the edges to show, or {@code null} for all of them
+     */
+    private final Predicate<Edge> _edgeFilter;
+    /**
+     * the viewed index of every vertex of the view, or {@code null} without a vertex filter
+     */
+    private int[] _sourceIndices    = null;
+    /**
+     * the index in the view of every viewed index, {@code -1} for vertices that did not pass the filter
+     */
+    private int[] _indices          = null;
+
+    /**
+     * @param source       the viewed engine
+     * @param vertexFilter the vertices to show, or {@code null} for all of them
+     * @param edgeFilter   the edges to show, or {@code null} for all of them
+     */
+    public SubgraphGraphEngine(IGraphEngine source, Predicate<IVertex> vertexFilter, Predicate<Edge> edgeFilter) {
+        super(source, source.getGraphType());
+
+        _edgeFilter = edgeFilter;
+
+        if(vertexFilter != null) {
+            int n               = source.numVertices();
+            int size            = 0;
+
+            _sourceIndices      = new int[n];
+            _indices            = new int[n];
+
+            for (int index = 0; index < n; index++) {
+                if(vertexFilter.test(source.vertexAt(index))) {
+                    _indices[index]         = size;
+                    _sourceIndices[size++]  = index;
+                }
+                else
+                    _indices[index]         = -1;
+            }
+
+            _sourceIndices      = Arrays.copyOf(_sourceIndices, size);
+        }
+    }
+
+    /**
+     * @param edge an edge of the viewed graph
+     *
+     * @return {@code true} if both of the vertices and the edge pass the filters
+     */
+    protected boolean accepts(Edge edge) {
+        if(_indices != null && (indexOf(edge.getV1()) == -1 || indexOf(edge.getV2()) == -1))
+            return false;
+
+        return _edgeFilter == null || _edgeFilter.test(edge);
+    }
+
+    @Override
+    public Collection<IVertex> vertices() {
+        if(_indices == null)
+            return super.vertices();
+
+        return new AbstractCollection<IVertex>() {
+            @Override
+            public Iterator<IVertex> iterator() {
+                return new Iterator<IVertex>() {
+                    private int _index = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return _index < _sourceIndices.length;
+                    }
+
+                    @Override
+                    public IVertex next() {
+                        if(_index >= _sourceIndices.length)
+                            throw new NoSuchElementException();
+
+                        return vertexAt(_index++);
+                    }
+
+                    @Override
+                    public void remove() {
+                        throw readOnly();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return _sourceIndices.length;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return (o instanceof IVertex) && hasVertex((IVertex) o);
+            }
+        };
+    }
+
+    @Override
+    public boolean hasVertex(IVertex vertex) {
+        return indexOf(vertex) != -1;
+    }
+
+    @Override
+    public int indexOf(IVertex vertex) {
+        int index = _source.indexOf(vertex);
+
+        if(_indices == null || index == -1)
+            return index;
+
+        return (index < _indices.length) ? _indices[index] : -1;
+    }
+
+    @Override
+    public IVertex vertexAt(int index) {
+        if(_sourceIndices == null)
+            return _source.vertexAt(index);
+
+        if(index < 0 || index >= _sourceIndices.length)
+            throw new IndexOutOfBoundsException("vertex index " + index + ", size " + _sourceIndices.length);
+
+        return _source.vertexAt(_sourceIndices[index]);
+    }
+
+    @Override
+    public int numVertices() {
+        return (_sourceIndices == null) ? _source.numVertices() : _sourceIndices.length;
+    }
+
+    @Override
+    public Collection<Edge> edges() {
+        return new FilteredView<Edge>(_source.edges(), this::accepts) {
+            @Override
+            public boolean contains(Object o) {
+                return (o instanceof Edge) && hasEdge((Edge) o);
+            }
+        };
+    }
+
+    @Override
+    public Collection<IVertex> getNeighborsOf(IVertex vertex) {
+        validateVertex(vertex);
+
+        return new NeighborsView(vertex, _source.getIncidenceOutListOf(vertex), null, this::accepts);
+    }
+
+    @Override
+    public Collection<Edge> getIncidenceOutListOf(IVertex vertex) {
+        validateVertex(vertex);
+
+        return new FilteredView<>(_source.getIncidenceOutListOf(vertex), this::accepts);
+    }
+
+    @Override
+    public Collection<Edge> getIncidenceInListOf(IVertex vertex) {
+        validateVertex(vertex);
+
+        return new FilteredView<>(_source.getIncidenceInListOf(vertex), this::accepts);
+    }
+
+    @Override
+    public boolean hasEdge(IVertex v1, IVertex v2) {
+        return getEdge(v1, v2) != null;
+    }
+
+    @Override
+    public boolean hasEdge(Edge edge) {
+        return accepts(edge) && _source.hasEdge(edge);
+    }
+
+    @Override
+    public Edge getEdge(IVertex v1, IVertex v2) {
+        if(!hasVertex(v1) || !hasVertex(v2))
+            return null;
+
+        if(_edgeFilter == null)
+            return _source.getEdge(v1, v2);
+
+        for (Edge edge : sourceEdgesOf(v1, v2)) {
+            if(_edgeFilter.test(edge))
+                return edge;
+        }
+
+        return null;
+    }
+
+    @Override
+    public Collection<Edge> getMultiEdges(IVertex u, IVertex v) {
+        ArrayList<Edge> result = new ArrayList<>();
+
+        if(hasVertex(u) && hasVertex(v)) {
+            for (Edge edge : sourceEdgesOf(u, v)) {
+                if(_edgeFilter == null || _edgeFilter.test(edge))
+                    result.add(edge);
+            }
+        }
+
+        return Collections.unmodifiableList(result);
+    }
+
+}
@@ -0,0 +1,197 @@
+package com.hendrix.erdos.graphs.engines;
+
+import com.hendrix.erdos.types.Edge;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.IVertex;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * a read only undirected view of a directed graph, the union of both directions.<br/>
+ * the incidence list of a vertex is the union of its out and in incidence lists in the viewed graph,
+ * so nothing is copied:
+ * <ul>
+ *     <li/>every directed edge is an undirected {@link ViewEdge}, that shares its weight, tag and data.
+ *     <li/>two vertices that are connected in both directions have two parallel edges, so the view is
+ *     a multi graph, but they are neighbors once.
+ * </ul>
+ *
+ * @author Tomer Shalev
+ * @see com.hendrix.erdos.Erdos#undirectedViewOf(com.hendrix.erdos.graphs.IGraph)
+ */
+@SuppressWarnings("UnusedDeclaration")
+public class UndirectedViewGraphEngine extends AbstractViewGraphEngine {
+
+    /**
+     * @param source the engine of a directed graph
+     */
+    public UndirectedViewGraphEngine(IGraphEngine source) {
+        super(source, EDGE_DIRECTION.UNDIRECTED);
+
+        if(source.getGraphType() != EDGE_DIRECTION.DIRECTED)
+            throw new IllegalArgumentException("the graph is undirected already");
+    }
+
+    /**
+     * @param edge an edge of the viewed graph, or {@code null}
+     *
+     * @return the undirected edge, or {@code null}
+     */
+    protected Edge undirect(Edge edge) {
+        return (edge == null) ? null : new ViewEdge(edge.getV1(), edge.getV2(), EDGE_DIRECTION.UNDIRECTED, edge);
+    }
+
+    @Override
+    public Collection<Edge> edges() {
+        return new MappedEdgesView(_source.edges(), this::undirect) {
+            @Override
+            public boolean contains(Object o) {
+                return (o instanceof Edge) && hasEdge((Edge) o);
+            }
+        };
+    }
+
+    @Override
+    public int numEdges() {
+        return _source.numEdges();
+    }
+
+    @Override
+    public Collection<IVertex> getNeighborsOf(IVertex vertex) {
+        return new NeighborsView(vertex, _source.getIncidenceOutListOf(vertex), _source.getIncidenceInListOf(vertex), null);
+    }
+
+    /**
+     * get the edges of a vertex in both directions, a self loop once
+     *
+     * @param vertex the vertex
+     * @return the incidence list of vertex
+     */
+    @Override
+    public Collection<Edge> getIncidenceOutListOf(IVertex vertex) {
+        return new IncidenceView(vertex);
+    }
+
+    @Override
+    public Collection<Edge> getIncidenceInListOf(IVertex vertex) {
+        return new IncidenceView(vertex);
+    }
+
+    @Override
+    public boolean hasEdge(IVertex v1, IVertex v2) {
+        return _source.hasEdge(v1, v2) || _source.hasEdge(v2, v1);
+    }
+
+    /**
+     * check whether edge instance is in graph
+     *
+     * @param edge the edge in question, an undirected edge of this view
+     * @return true if graph contains this edge
+     */
+    @Override
+    public boolean hasEdge(Edge edge) {
+        return (edge instanceof ViewEdge) && edge.getEdgeType() == EDGE_DIRECTION.UNDIRECTED
+                && _source.hasEdge(((ViewEdge) edge).viewedEdge());
+    }
+
+    @Override
+    public Edge getEdge(IVertex v1, IVertex v2) {
+        Edge edge = _source.getEdge(v1, v2);
+
+        return undirect((edge != null) ? edge : _source.getEdge(v2, v1));
+    }
+
+    @Override
+    public Collection<Edge> getMultiEdges(IVertex u, IVertex v) {
+        ArrayList<Edge> result = new ArrayList<>();
+
+        for (Edge edge : sourceEdgesOf(u, v)) {
+            result.add(undirect(edge));
+        }
+
+        if(!u.equals(v)) {
+            for (Edge edge : sourceEdgesOf(v, u)) {
+                result.add(undirect(edge));
+            }
+        }
+
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * the out edges of a vertex in the viewed graph, and then its in edges, without the self loops
+     * that were visited already as out edges
+     */
+    protected class IncidenceView extends AbstractCollection<Edge> {
+        private final IVertex _vertex;
+
+        public IncidenceView(IVertex vertex) {
+            _vertex = vertex;
+        }
+
+        @Override
+        public Iterator<Edge> iterator() {
+            return new Iterator<Edge>() {
+                private Iterator<Edge>  _iterator   = _source.getIncidenceOutListOf(_vertex).iterator();
+                private boolean         _onIn       = false;
+                private Edge            _next       = advance();
+
+                private Edge advance() {
+                    while (true) {
+                        while (_iterator.hasNext()) {
+                            Edge edge = _iterator.next();
+
+                            if(!_onIn || !edge.getV1().equals(edge.getV2()))
+                                return edge;
+                        }
+
+                        if(_onIn)
+                            return null;
+
+                        _onIn       = true;
+                        _iterator   = _source.getIncidenceInListOf(_vertex).iterator();
+                    }
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return _next != null;
+                }
+
+                @Override
+                public Edge next() {
+                    if(_next == null)
+                        throw new NoSuchElementException();
+
+                    Edge current    = _next;
+                    _next           = advance();
+
+                    return undirect(current);
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException("graph views are read only");
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            int size = _source.getIncidenceOutListOf(_vertex).size();
+
+            for (Edge edge : _source.getIncidenceInListOf(_vertex)) {
+                if(!edge.getV1().equals(edge.getV2()))
+                    size++;
+            }
+
+            return size;
+        }
+    }
+
+}
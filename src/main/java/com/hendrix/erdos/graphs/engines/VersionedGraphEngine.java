@@ -0,0 +1,1081 @@
+package com.hendrix.erdos.graphs.engines;
+
+import com.hendrix.collection.ObjectIntHashMap;
+import com.hendrix.erdos.exceptions.GraphException;
+import com.hendrix.erdos.exceptions.VertexNotFoundException;
+import com.hendrix.erdos.graphs.IGraph;
+import com.hendrix.erdos.types.Edge;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.IVertex;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * a multi version graph engine, that hands out cheap, immutable {@link #snapshot()}s of its current
+ * state while it keeps changing. a snapshot shares all of its structure with the live engine:
+ * <ul>
+ *     <li/>the vertices are kept in a table of blocks of {@value #BLOCK_SIZE} vertices, and every
+ *     vertex keeps its adjacency in its own block of neighbors and the edges to them.
+ *     <li/>every block is stamped with the write epoch it was created in. taking a snapshot only
+ *     starts a new epoch, and a block of an older epoch is copied the first time it is changed.
+ *     so the live engine pays for one copy of every block it touches after a snapshot, and the
+ *     snapshot never changes.
+ *     <li/>the vertex index map is copied only when vertices are added or removed after a snapshot.
+ * </ul>
+ * changes that are applied with {@link #applyAtomically(Runnable)} are published as one: snapshots that are
+ * taken meanwhile are of the state before them, and are taken without waiting for them.
+ * <p/>
+ * the live engine has a single writer, changes and {@link #snapshot()} are synchronized, so other
+ * threads can take snapshots and run long algorithms on them while the writer keeps going.
+ *
+ * @author Tomer Shalev
+ * @see IGraph#snapshot()
+ */
+@SuppressWarnings("UnusedDeclaration")
+public class VersionedGraphEngine extends AbstractGraphEngine {
+    public static final int BLOCK_SIZE  = 64;
+    private static final int BLOCK_SHIFT = 6;
+    private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+    /**
+     * adjacency blocks with more neighbors than this are indexed by a hash map
+     */
+    private static final int INDEX_THRESHOLD = 8;
+
+    private static final Edge[] NO_EDGES = new Edge[0];
+
+    /**
+     * the table of vertex blocks
+     */
+    protected Block[] _blocks;
+    protected int _tableEpoch;
+    /**
+     * vertex to index mapping, for vertices whose index hint is stale
+     */
+    protected ObjectIntHashMap<IVertex> _indices;
+    protected int _indicesEpoch;
+    protected int _size = 0;
+    protected int _numEdges = 0;
+    /**
+     * the current write epoch, blocks of other epochs may be shared with snapshots
+     */
+    protected int _epoch = 0;
+    /**
+     * the number of changes that were applied
+     */
+    protected long _version = 0;
+    /**
+     * whether this is an immutable snapshot
+     */
+    protected final boolean _snapshot;
+    /**
+     * the direction of a snapshot, that may not be attached to a graph yet
+     */
+    protected final EDGE_DIRECTION _direction;
+    /**
+     * a snapshot of the state before the changes that are applied atomically, {@code null} otherwise
+     */
+    protected volatile VersionedGraphEngine _published = null;
+
+    public VersionedGraphEngine() {
+        _blocks         = new Block[4];
+        _indices        = new ObjectIntHashMap<>();
+        _tableEpoch     = _epoch;
+        _indicesEpoch   = _epoch;
+        _snapshot       = false;
+        _direction      = null;
+    }
+
+    /**
+     * snapshot constructor
+     */
+    private VersionedGraphEngine(VersionedGraphEngine source) {
+        _blocks         = source._blocks;
+        _indices        = source._indices;
+        _size           = source._size;
+        _numEdges       = source._numEdges;
+        _version        = source._version;
+        _epoch          = source._epoch;
+        _tableEpoch     = -1;
+        _indicesEpoch   = -1;
+        _snapshot       = true;
+        _direction      = source.getGraphType();
+    }
+
+    /**
+     * take an immutable snapshot of the current state of the engine in constant time. the snapshot
+     * is not attached to a graph, see {@link com.hendrix.erdos.Erdos#newGraphWithImmutableEngine(IGraphEngine, boolean, boolean)}.
+     *
+     * while changes are applied atomically, the snapshot of the state before them is returned right away.
+     *
+     * @return a read only engine, that is not affected by later changes of this engine
+     *
+     * @see #applyAtomically(Runnable)
+     */
+    public VersionedGraphEngine snapshot() {
+        if(_snapshot)
+            return this;
+
+        VersionedGraphEngine published = _published;
+
+        if(published != null)
+            return published;
+
+        synchronized (this) {
+            return internal_snapshot();
+        }
+    }
+
+    /**
+     * apply changes to the engine as one. a snapshot of the current state is published first, so the
+     * {@link #snapshot()}s that are taken while the changes run, by any thread, are of the state before
+     * them, and do not wait for them. once the changes are done, snapshots are of the new state.
+     * <p/>
+     * the changes are run while holding the monitor of the engine, so they are not interleaved with other
+     * changes. nested calls are part of the outer one.
+     *
+     * @param changes the changes to apply, they may throw
+     */
+    public void applyAtomically(Runnable changes) {
+        validateMutable();
+
+        synchronized (this) {
+            if(_published != null) {
+                changes.run();
+
+                return;
+            }
+
+            _published = internal_snapshot();
+
+            try {
+                changes.run();
+            } finally {
+                _published = null;
+            }
+        }
+    }
+
+    private VersionedGraphEngine internal_snapshot() {
+        VersionedGraphEngine snapshot = new VersionedGraphEngine(this);
+
+        _epoch++;
+
+        return snapshot;
+    }
+
+    /**
+     * @return the number of changes that were applied to the engine, a snapshot keeps the version it was taken at
+     */
+    public long getVersion() {
+        return _version;
+    }
+
+    /**
+     * @return {@code true} if this is an immutable snapshot
+     */
+    public boolean isSnapshot() {
+        return _snapshot;
+    }
+
+    /**
+     * set the graph that this engine works for.
+     *
+     * @param graph the graph
+     */
+    @Override
+    public void setGraph(IGraph graph) {
+        super.setGraph(graph);
+
+        if(_direction != null && graph.getGraphType() != _direction)
+            throw new GraphException("snapshot was taken of a " + _direction + " graph", graph);
+    }
+
+    /**
+     * @return <code>GraphType.DIRECTED</code> or <code>GraphType.UNDIRECTED</code>
+     */
+    @Override
+    public EDGE_DIRECTION getGraphType() {
+        return (_direction != null) ? _direction : super.getGraphType();
+    }
+
+    @Override
+    public Iterator<IVertex> iterator() {
+        return new VerticesIterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * changes that are made to this collection will reflect
+     * changes to the edges of the graph (removal wise)
+     */
+    @Override
+    public Collection<IVertex> vertices() {
+        return (verticesView == null) ? verticesView = new VerticesView() : verticesView;
+    }
+
+    @Override
+    public Collection<Edge> edges() {
+        return (edgesView == null) ? edgesView = new EdgesView() : edgesView;
+    }
+
+    @Override
+    public Collection<IVertex> getNeighborsOf(IVertex vertex) {
+        return new NeighborsView(outOf(validateVertex(vertex)));
+    }
+
+    @Override
+    public Collection<Edge> getIncidenceOutListOf(IVertex vertex) {
+        return new IncidenceView(outOf(validateVertex(vertex)));
+    }
+
+    @Override
+    public Collection<Edge> getIncidenceInListOf(IVertex vertex) {
+        return new IncidenceView(inOf(validateVertex(vertex)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public NeighborCursor neighborCursor() {
+        return new VersionedNeighborCursor();
+    }
+
+    @Override
+    public boolean hasVertex(IVertex vertex) {
+        return indexOf(vertex) != -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int indexOf(IVertex vertex) {
+        if(vertex == null)
+            return -1;
+
+        int hint = vertex.getIndex();
+
+        if(hint >= 0 && hint < _size && _blocks[hint >>> BLOCK_SHIFT].vertices[hint & BLOCK_MASK] == vertex)
+            return hint;
+
+        return _indices.get(vertex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IVertex vertexAt(int index) {
+        if(index < 0 || index >= _size)
+            throw new IndexOutOfBoundsException("vertex index " + index + ", size " + _size);
+
+        return _blocks[index >>> BLOCK_SHIFT].vertices[index & BLOCK_MASK];
+    }
+
+    @Override
+    public int numVertices() {
+        return _size;
+    }
+
+    @Override
+    public int numEdges() {
+        return _numEdges;
+    }
+
+    @Override
+    public boolean hasEdge(IVertex v1, IVertex v2) {
+        return getEdge(v1, v2) != null;
+    }
+
+    @Override
+    public boolean hasEdge(Edge edge) {
+        int index = (edge == null) ? -1 : indexOf(edge.getV1());
+
+        if(index == -1)
+            return false;
+
+        for (Edge candidate : outOf(index).edgesTo(edge.getV2())) {
+            if(candidate == edge)
+                return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public Edge getEdge(IVertex v1, IVertex v2) {
+        int index = indexOf(v1);
+
+        if(index == -1)
+            return null;
+
+        Edge[] edges = outOf(index).edgesTo(v2);
+
+        return (edges.length == 0) ? null : edges[0];
+    }
+
+    @Override
+    public Collection<Edge> getMultiEdges(IVertex u, IVertex v) {
+        int index = indexOf(u);
+
+        if(index == -1)
+            return Collections.emptyList();
+
+        return Collections.unmodifiableList(Arrays.asList(outOf(index).edgesTo(v)));
+    }
+
+    /**
+     * @param vertex the vertex in question
+     * @return the out degree of the vertex
+     */
+    @Override
+    public int outDegreeOfVertex(IVertex vertex) {
+        return outOf(validateVertex(vertex)).size;
+    }
+
+    /**
+     * @param vertex the vertex in question
+     * @return the number of edges that go into the vertex
+     */
+    @Override
+    public int inDegreeOfVertex(IVertex vertex) {
+        return inOf(validateVertex(vertex)).numEdges;
+    }
+
+    @Override
+    public synchronized boolean addVertex(IVertex vertex) {
+        validateMutable();
+
+        if(hasVertex(vertex))
+            return false;
+
+        int index           = _size;
+        int blockIndex      = index >>> BLOCK_SHIFT;
+
+        if(blockIndex == _blocks.length) {
+            _blocks         = Arrays.copyOf(_blocks, blockIndex << 1);
+            _tableEpoch     = _epoch;
+        }
+
+        if(_blocks[blockIndex] == null) {
+            writableTable()[blockIndex] = new Block(_epoch);
+        }
+
+        Block block         = writableBlock(index);
+        int slot            = index & BLOCK_MASK;
+        Adjacency out       = new Adjacency(_epoch);
+
+        block.vertices[slot] = vertex;
+        block.out[slot]     = out;
+        block.in[slot]      = (getGraphType() == EDGE_DIRECTION.DIRECTED) ? new Adjacency(_epoch) : out;
+
+        writableIndices().put(vertex, index);
+        vertex.setIndex(index);
+
+        _size++;
+        _version++;
+
+        return true;
+    }
+
+    @Override
+    public synchronized boolean removeVertex(IVertex vertex) {
+        validateMutable();
+
+        int index = indexOf(vertex);
+
+        if(index == -1)
+            return false;
+
+        ArrayList<Edge> edges = new ArrayList<>(new IncidenceView(outOf(index)));
+
+        if(inOf(index) != outOf(index))
+            edges.addAll(new IncidenceView(inOf(index)));
+
+        for (Edge edge : edges) {
+            internal_removeEdge(edge);
+        }
+
+        int last        = _size - 1;
+        Block block     = writableBlock(index);
+        int slot        = index & BLOCK_MASK;
+
+        // move the last vertex into the freed index
+        if(index != last) {
+            Block from  = _blocks[last >>> BLOCK_SHIFT];
+            int at      = last & BLOCK_MASK;
+            IVertex moved = from.vertices[at];
+
+            block.vertices[slot]    = moved;
+            block.out[slot]         = from.out[at];
+            block.in[slot]          = from.in[at];
+
+            writableIndices().put(moved, index);
+            moved.setIndex(index);
+        }
+
+        Block tail      = writableBlock(last);
+        int at          = last & BLOCK_MASK;
+
+        tail.vertices[at]   = null;
+        tail.out[at]        = null;
+        tail.in[at]         = null;
+
+        writableIndices().remove(vertex);
+
+        _size--;
+        _version++;
+
+        return true;
+    }
+
+    @Override
+    public Edge addEdge(IVertex v1, IVertex v2) {
+        return addEdge(v1, v2, 0f);
+    }
+
+    @Override
+    public Edge addEdge(IVertex v1, IVertex v2, float weight) {
+        return addEdge(new Edge(v1, v2, getGraphType(), weight));
+    }
+
+    /**
+     * connect an edge (v1, v2) into the graph, v1 and v2 have to be members
+     *
+     * @return the edge so use can query the id, or {@code null} if the edge is incompatible
+     *         with the graph type
+     */
+    @Override
+    public synchronized Edge addEdge(Edge edge) {
+        validateMutable();
+
+        IVertex v1  = edge.getV1();
+        IVertex v2  = edge.getV2();
+        int index1  = validateVertex(v1);
+        int index2  = validateVertex(v2);
+
+        if(hasEdge(v1, v2) && !isMultiEdgesSupported())
+            return null;
+
+        if(v1.equals(v2) && !isSelfLoopsSupported())
+            return null;
+
+        if(edge.getEdgeType() != getGraphType())
+            return null;
+
+        writableOut(index1).add(v2, edge);
+
+        if(index1 != index2 || getGraphType() == EDGE_DIRECTION.DIRECTED)
+            writableIn(index2).add(v1, edge);
+
+        _numEdges++;
+        _version++;
+
+        return edge;
+    }
+
+    @Override
+    public Edge removeEdge(IVertex v1, IVertex v2) {
+        Edge edge = getEdge(v1, v2);
+
+        return (edge == null) ? null : removeEdge(edge);
+    }
+
+    @Override
+    public synchronized Edge removeEdge(Edge edge) {
+        validateMutable();
+
+        if(!hasEdge(edge))
+            return null;
+
+        return internal_removeEdge(edge);
+    }
+
+    @Override
+    public synchronized Collection<Edge> removeMultiEdges(IVertex u, IVertex v) {
+        validateMutable();
+
+        Collection<Edge> edges = new ArrayList<>(getMultiEdges(u, v));
+
+        for (Edge edge : edges) {
+            internal_removeEdge(edge);
+        }
+
+        return edges;
+    }
+
+    /**
+     * clear the graph into an empty graph, snapshots are not affected
+     */
+    @Override
+    public synchronized void clear() {
+        validateMutable();
+
+        _blocks         = new Block[4];
+        _indices        = new ObjectIntHashMap<>();
+        _tableEpoch     = _epoch;
+        _indicesEpoch   = _epoch;
+        _size           = 0;
+        _numEdges       = 0;
+        _version++;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * a snapshot only releases its references, the vertices belong to the live graph
+     */
+    @Override
+    public void dispose() {
+        if(!_snapshot) {
+            for (int index = 0; index < _size; index++) {
+                vertexAt(index).dispose();
+            }
+        }
+
+        _blocks     = new Block[0];
+        _indices    = new ObjectIntHashMap<>();
+        _size       = 0;
+        _numEdges   = 0;
+    }
+
+    private Edge internal_removeEdge(Edge edge) {
+        IVertex v1  = edge.getV1();
+        IVertex v2  = edge.getV2();
+        int index1  = indexOf(v1);
+        int index2  = indexOf(v2);
+
+        if(!writableOut(index1).remove(v2, edge))
+            return null;
+
+        if(index1 != index2 || getGraphType() == EDGE_DIRECTION.DIRECTED)
+            writableIn(index2).remove(v1, edge);
+
+        _numEdges--;
+        _version++;
+
+        return edge;
+    }
+
+    private Adjacency outOf(int index) {
+        return _blocks[index >>> BLOCK_SHIFT].out[index & BLOCK_MASK];
+    }
+
+    private Adjacency inOf(int index) {
+        return _blocks[index >>> BLOCK_SHIFT].in[index & BLOCK_MASK];
+    }
+
+    private Block[] writableTable() {
+        if(_tableEpoch != _epoch) {
+            _blocks     = _blocks.clone();
+            _tableEpoch = _epoch;
+        }
+
+        return _blocks;
+    }
+
+    private Block writableBlock(int index) {
+        Block[] table   = writableTable();
+        int blockIndex  = index >>> BLOCK_SHIFT;
+        Block block     = table[blockIndex];
+
+        if(block.epoch != _epoch)
+            table[blockIndex] = block = new Block(block, _epoch);
+
+        return block;
+    }
+
+    private Adjacency writableOut(int index) {
+        return writable(index, true);
+    }
+
+    private Adjacency writableIn(int index) {
+        return writable(index, false);
+    }
+
+    private Adjacency writable(int index, boolean out) {
+        Block block         = writableBlock(index);
+        int slot            = index & BLOCK_MASK;
+        Adjacency adjacency = out ? block.out[slot] : block.in[slot];
+
+        if(adjacency.epoch == _epoch)
+            return adjacency;
+
+        Adjacency copy      = new Adjacency(adjacency, _epoch);
+
+        // undirected vertices share one adjacency for both directions
+        if(block.out[slot] == adjacency)
+            block.out[slot] = copy;
+        if(block.in[slot] == adjacency)
+            block.in[slot]  = copy;
+
+        return copy;
+    }
+
+    private ObjectIntHashMap<IVertex> writableIndices() {
+        if(_indicesEpoch != _epoch) {
+            _indices        = new ObjectIntHashMap<>(_indices);
+            _indicesEpoch   = _epoch;
+        }
+
+        return _indices;
+    }
+
+    private void validateMutable() {
+        if(_snapshot)
+            throw new UnsupportedOperationException("a graph snapshot is immutable");
+    }
+
+    /**
+     * @throws VertexNotFoundException if the vertex is not in the graph
+     */
+    private int validateVertex(IVertex vertex) {
+        int index = indexOf(vertex);
+
+        if(index == -1)
+            throw new VertexNotFoundException(vertex, getGraph());
+
+        return index;
+    }
+
+    /**
+     * a block of {@value #BLOCK_SIZE} vertices and their adjacency
+     */
+    protected static final class Block {
+        final int epoch;
+        final IVertex[] vertices;
+        final Adjacency[] out;
+        final Adjacency[] in;
+
+        Block(int epoch) {
+            this.epoch      = epoch;
+            this.vertices   = new IVertex[BLOCK_SIZE];
+            this.out        = new Adjacency[BLOCK_SIZE];
+            this.in         = new Adjacency[BLOCK_SIZE];
+        }
+
+        Block(Block source, int epoch) {
+            this.epoch      = epoch;
+            this.vertices   = source.vertices.clone();
+            this.out        = source.out.clone();
+            this.in         = source.in.clone();
+        }
+    }
+
+    /**
+     * the neighbors of a vertex in one direction, and the edges to them. the edge arrays of
+     * the neighbors are never changed in place, so a copy of the block may share them.
+     */
+    protected static final class Adjacency {
+        final int epoch;
+        IVertex[] neighbors;
+        Edge[][] edges;
+        /**
+         * the number of neighbors, and the number of edges
+         */
+        int size = 0;
+        int numEdges = 0;
+        /**
+         * neighbor to position, for large blocks
+         */
+        ObjectIntHashMap<IVertex> positions = null;
+
+        Adjacency(int epoch) {
+            this.epoch      = epoch;
+            this.neighbors  = new IVertex[2];
+            this.edges      = new Edge[2][];
+        }
+
+        Adjacency(Adjacency source, int epoch) {
+            this.epoch      = epoch;
+            this.neighbors  = source.neighbors.clone();
+            this.edges      = source.edges.clone();
+            this.size       = source.size;
+            this.numEdges   = source.numEdges;
+            this.positions  = (source.positions == null) ? null : new ObjectIntHashMap<>(source.positions);
+        }
+
+        int positionOf(IVertex neighbor) {
+            if(positions != null)
+                return positions.get(neighbor);
+
+            for (int i = 0; i < size; i++) {
+                if(neighbors[i] == neighbor)
+                    return i;
+            }
+
+            return -1;
+        }
+
+        Edge[] edgesTo(IVertex neighbor) {
+            int position = positionOf(neighbor);
+
+            return (position == -1) ? NO_EDGES : edges[position];
+        }
+
+        void add(IVertex neighbor, Edge edge) {
+            int position            = positionOf(neighbor);
+
+            numEdges++;
+
+            if(position != -1) {
+                Edge[] list         = Arrays.copyOf(edges[position], edges[position].length + 1);
+
+                list[list.length - 1] = edge;
+                edges[position]     = list;
+
+                return;
+            }
+
+            if(size == neighbors.length) {
+                neighbors           = Arrays.copyOf(neighbors, size << 1);
+                edges               = Arrays.copyOf(edges, size << 1);
+            }
+
+            neighbors[size]         = neighbor;
+            edges[size]             = new Edge[] {edge};
+
+            if(positions != null) {
+                positions.put(neighbor, size);
+            } else if(size + 1 > INDEX_THRESHOLD) {
+                positions           = new ObjectIntHashMap<>(size << 1, -1);
+
+                for (int i = 0; i <= size; i++) {
+                    positions.put(neighbors[i], i);
+                }
+            }
+
+            size++;
+        }
+
+        boolean remove(IVertex neighbor, Edge edge) {
+            int position    = positionOf(neighbor);
+
+            if(position == -1)
+                return false;
+
+            Edge[] list     = edges[position];
+            int at          = -1;
+
+            for (int i = 0; i < list.length && at == -1; i++) {
+                if(list[i] == edge)
+                    at      = i;
+            }
+
+            if(at == -1)
+                return false;
+
+            numEdges--;
+
+            if(list.length > 1) {
+                Edge[] copy = new Edge[list.length - 1];
+
+                System.arraycopy(list, 0, copy, 0, at);
+                System.arraycopy(list, at + 1, copy, at, copy.length - at);
+                edges[position] = copy;
+
+                return true;
+            }
+
+            // move the last neighbor into the freed position
+            int last        = --size;
+
+            neighbors[position] = neighbors[last];
+            edges[position]     = edges[last];
+            neighbors[last]     = null;
+            edges[last]         = null;
+
+            if(positions != null) {
+                positions.remove(neighbor);
+
+                if(position != last)
+                    positions.put(neighbors[position], position);
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * responsive/modifiable collection views for iteration outside
+     * the class.
+     */
+    transient volatile Collection<IVertex> verticesView;
+    transient volatile Collection<Edge> edgesView;
+
+    /**
+     * vertices view
+     */
+    public class VerticesView extends AbstractCollection<IVertex> {
+
+        @SuppressWarnings("NullableProblems")
+        @Override
+        public Iterator<IVertex> iterator() {
+            return new VerticesIterator();
+        }
+
+        public int size() {
+            return _size;
+        }
+
+        public boolean contains(Object o) {
+            return (o instanceof IVertex) && hasVertex((IVertex) o);
+        }
+
+        public boolean add(IVertex vertex) {
+            return addVertex(vertex);
+        }
+
+        public boolean remove(Object o) {
+            return (o instanceof IVertex) && removeVertex((IVertex) o);
+        }
+    }
+
+    /**
+     * iterates the vertices by their index. removing a vertex moves the last
+     * vertex into its index, so the iterator visits that index again.
+     */
+    protected class VerticesIterator implements Iterator<IVertex> {
+        private int _cursor = 0;
+        private IVertex _current = null;
+
+        @Override
+        public boolean hasNext() {
+            return _cursor < _size;
+        }
+
+        @Override
+        public IVertex next() {
+            if(!hasNext())
+                throw new NoSuchElementException();
+
+            return _current = vertexAt(_cursor++);
+        }
+
+        @Override
+        public void remove() {
+            if(_current == null)
+                throw new IllegalStateException();
+
+            removeVertex(_current);
+            _current = null;
+            _cursor--;
+        }
+    }
+
+    /**
+     * edges view, every edge is reported from the adjacency of its first vertex
+     */
+    public class EdgesView extends AbstractCollection<Edge> {
+
+        @SuppressWarnings("NullableProblems")
+        @Override
+        public Iterator<Edge> iterator() {
+            return new Iterator<Edge>() {
+                private int _vertex = -1;
+                private Iterator<Edge> _edges = Collections.emptyIterator();
+                private Edge _next = null;
+                private Edge _current = null;
+
+                @Override
+                public boolean hasNext() {
+                    while (_next == null) {
+                        while (!_edges.hasNext()) {
+                            if(++_vertex >= _size)
+                                return false;
+
+                            _edges = new IncidenceView(outOf(_vertex)).iterator();
+                        }
+
+                        Edge edge = _edges.next();
+
+                        if(edge.getV1() == vertexAt(_vertex))
+                            _next = edge;
+                    }
+
+                    return true;
+                }
+
+                @Override
+                public Edge next() {
+                    if(!hasNext())
+                        throw new NoSuchElementException();
+
+                    _current    = _next;
+                    _next       = null;
+
+                    return _current;
+                }
+
+                @Override
+                public void remove() {
+                    if(_current == null)
+                        throw new IllegalStateException();
+
+                    removeEdge(_current);
+                    _current = null;
+                }
+            };
+        }
+
+        public int size() {
+            return _numEdges;
+        }
+
+        public boolean contains(Object o) {
+            return (o instanceof Edge) && hasEdge((Edge) o);
+        }
+
+        public boolean add(Edge edge) {
+            return addEdge(edge) != null;
+        }
+
+        public boolean remove(Object o) {
+            return (o instanceof Edge) && removeEdge((Edge) o) != null;
+        }
+    }
+
+    /**
+     * read only view of the neighbors of a vertex
+     */
+    public class NeighborsView extends AbstractCollection<IVertex> {
+        private final Adjacency _adjacency;
+
+        NeighborsView(Adjacency adjacency) {
+            _adjacency = adjacency;
+        }
+
+        @SuppressWarnings("NullableProblems")
+        @Override
+        public Iterator<IVertex> iterator() {
+            return new Iterator<IVertex>() {
+                private int _position = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return _position < _adjacency.size;
+                }
+
+                @Override
+                public IVertex next() {
+                    if(!hasNext())
+                        throw new NoSuchElementException();
+
+                    return _adjacency.neighbors[_position++];
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException("removing a vertex directly to the adj list is not supported!! use graph methods instead");
+                }
+            };
+        }
+
+        public int size() {
+            return _adjacency.size;
+        }
+
+        public boolean contains(Object o) {
+            return (o instanceof IVertex) && _adjacency.positionOf((IVertex) o) != -1;
+        }
+    }
+
+    /**
+     * read only view of the incident edges of a vertex, in one direction
+     */
+    public class IncidenceView extends AbstractCollection<Edge> {
+        private final Adjacency _adjacency;
+
+        IncidenceView(Adjacency adjacency) {
+            _adjacency = adjacency;
+        }
+
+        @SuppressWarnings("NullableProblems")
+        @Override
+        public Iterator<Edge> iterator() {
+            return new Iterator<Edge>() {
+                private int _position = -1;
+                private Edge[] _list = NO_EDGES;
+                private int _at = 0;
+
+                @Override
+                public boolean hasNext() {
+                    while (_at == _list.length) {
+                        if(++_position >= _adjacency.size)
+                            return false;
+
+                        _list   = _adjacency.edges[_position];
+                        _at     = 0;
+                    }
+
+                    return true;
+                }
+
+                @Override
+                public Edge next() {
+                    if(!hasNext())
+                        throw new NoSuchElementException();
+
+                    return _list[_at++];
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException("removing an edge directly from the incidence list is not supported!! use graph methods instead");
+                }
+            };
+        }
+
+        public int size() {
+            return _adjacency.numEdges;
+        }
+    }
+
+    /**
+     * neighbor cursor over the adjacency blocks
+     */
+    protected class VersionedNeighborCursor implements NeighborCursor {
+        private Adjacency _adjacency;
+        private int _position;
+
+        @Override
+        public NeighborCursor reset(int vertexIndex) {
+            if(vertexIndex < 0 || vertexIndex >= _size)
+                throw new IndexOutOfBoundsException("vertex index " + vertexIndex + ", size " + _size);
+
+            _adjacency  = outOf(vertexIndex);
+            _position   = -1;
+
+            return this;
+        }
+
+        @Override
+        public boolean next() {
+            return ++_position < _adjacency.size;
+        }
+
+        @Override
+        public int target() {
+            return indexOf(_adjacency.neighbors[_position]);
+        }
+
+        @Override
+        public float weight() {
+            return _adjacency.edges[_position][0].getWeight();
+        }
+
+        @Override
+        public Edge edge() {
+            return _adjacency.edges[_position][0];
+        }
+    }
+
+}
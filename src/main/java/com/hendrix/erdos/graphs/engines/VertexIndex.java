@@ -0,0 +1,179 @@
+package com.hendrix.erdos.graphs.engines;
+
+import com.hendrix.collection.ObjectIntHashMap;
+import com.hendrix.erdos.types.IVertex;
+
+import java.util.Arrays;
+
+/**
+ * a registry that assigns every vertex of a graph engine a dense index in {@code 0..n-1}.
+ * <ul>
+ *     <li/>indices are assigned in insertion order.
+ *     <li/>removing a vertex moves the last vertex into its index, so the indices stay dense.
+ *     <li/>the index is also written into the vertex with {@link IVertex#setIndex(int)}. a vertex
+ *     can belong to several graphs, so it is only used as a hint, that is verified against the
+ *     registry before it is trusted.
+ * </ul>
+ * algorithms can keep their per vertex state in plain arrays indexed by {@link #indexOf(IVertex)}.
+ *
+ * @author Tomer Shalev
+ */
+@SuppressWarnings("UnusedDeclaration")
+public class VertexIndex {
+    /**
+     * the vertices by index
+     */
+    private IVertex[] _vertices;
+    /**
+     * the number of vertices
+     */
+    private int _size = 0;
+    /**
+     * vertex to index mapping
+     */
+    private ObjectIntHashMap<IVertex> _indices;
+
+    public VertexIndex() {
+        this(16);
+    }
+
+    /**
+     * @param expectedSize the number of vertices to hold without resizing
+     */
+    public VertexIndex(int expectedSize) {
+        _vertices   = new IVertex[Math.max(expectedSize, 1)];
+        _indices    = new ObjectIntHashMap<>(expectedSize, -1);
+    }
+
+    /**
+     * copy constructor, the copy has the same indices, and does not share state with the source
+     *
+     * @param source the registry to copy
+     */
+    public VertexIndex(VertexIndex source) {
+        _vertices   = source._vertices.clone();
+        _size       = source._size;
+        _indices    = new ObjectIntHashMap<>(source._indices);
+    }
+
+    /**
+     * get the index of a vertex in constant time
+     *
+     * @param vertex the vertex
+     *
+     * @return the index, or {@code -1} if the vertex is not registered
+     */
+    public int indexOf(IVertex vertex) {
+        if(vertex == null)
+            return -1;
+
+        int hint = vertex.getIndex();
+
+        if(hint >= 0 && hint < _size && _vertices[hint] == vertex)
+            return hint;
+
+        return _indices.get(vertex);
+    }
+
+    /**
+     * @param index the index
+     *
+     * @return the vertex at the index
+     *
+     * @throws IndexOutOfBoundsException if the index is not in {@code 0..size()-1}
+     */
+    public IVertex vertexAt(int index) {
+        if(index < 0 || index >= _size)
+            throw new IndexOutOfBoundsException("vertex index " + index + ", size " + _size);
+
+        return _vertices[index];
+    }
+
+    /**
+     * @param vertex the vertex
+     *
+     * @return {@code true} if the vertex is registered
+     */
+    public boolean contains(IVertex vertex) {
+        return indexOf(vertex) != -1;
+    }
+
+    /**
+     * register a vertex at the next free index
+     *
+     * @param vertex the vertex
+     *
+     * @return the new index, or {@code -1} if the vertex is already registered
+     */
+    public int add(IVertex vertex) {
+        if(contains(vertex))
+            return -1;
+
+        if(_size == _vertices.length)
+            _vertices = Arrays.copyOf(_vertices, _size << 1);
+
+        int index           = _size++;
+
+        _vertices[index]    = vertex;
+        _indices.put(vertex, index);
+        vertex.setIndex(index);
+
+        return index;
+    }
+
+    /**
+     * unregister a vertex. the last vertex is moved into the freed index,
+     * so after the call {@code vertexAt(index)} is the moved vertex, unless
+     * the removed vertex was the last one.
+     *
+     * @param vertex the vertex
+     *
+     * @return the index the vertex had, or {@code -1} if the vertex is not registered
+     */
+    public int remove(IVertex vertex) {
+        int index           = indexOf(vertex);
+
+        if(index == -1)
+            return -1;
+
+        _indices.remove(vertex);
+
+        int last            = --_size;
+
+        if(index != last) {
+            IVertex moved   = _vertices[last];
+
+            _vertices[index] = moved;
+            _indices.put(moved, index);
+            moved.setIndex(index);
+        }
+
+        _vertices[last]     = null;
+
+        return index;
+    }
+
+    /**
+     * @return the number of registered vertices
+     */
+    public int size() {
+        return _size;
+    }
+
+    /**
+     * unregister all of the vertices
+     */
+    public void clear() {
+        Arrays.fill(_vertices, 0, _size, null);
+        _indices.clear();
+        _size = 0;
+    }
+
+    /**
+     * @return a copy of the vertices, by index
+     */
+    public IVertex[] toArray() {
+        return Arrays.copyOf(_vertices, _size);
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.hendrix.erdos.graphs.engines;
+
+import com.hendrix.erdos.types.Edge;
+import com.hendrix.erdos.types.IVertex;
+
+/**
+ * an edge of a graph view, that shows an edge of the viewed graph with other endpoints or another
+ * direction. the weight, tag and data are read from and written to the viewed edge, and views of
+ * the same edge in the same direction are equal.
+ *
+ * @author Tomer Shalev
+ * @see ReversedGraphEngine
+ * @see UndirectedViewGraphEngine
+ */
+@SuppressWarnings("UnusedDeclaration")
+public final class ViewEdge extends Edge {
+    private final Edge _edge;
+
+    /**
+     * @param v1       the first vertex of the view
+     * @param v2       the second vertex of the view
+     * @param edgeType the direction of the view
+     * @param edge     the viewed edge
+     */
+    public ViewEdge(IVertex v1, IVertex v2, EDGE_DIRECTION edgeType, Edge edge) {
+        super(v1, v2, edgeType, null);
+
+        _edge = edge;
+    }
+
+    /**
+     * @return the viewed edge
+     */
+    public Edge viewedEdge() {
+        return _edge;
+    }
+
+    @Override
+    public float getWeight() {
+        return _edge.getWeight();
+    }
+
+    @Override
+    public void setWeight(float weight) {
+        _edge.setWeight(weight);
+    }
+
+    @Override
+    public String getId() {
+        return _edge.getId();
+    }
+
+    @Override
+    public boolean hasId() {
+        return _edge.hasId();
+    }
+
+    @Override
+    public void setTag(String tag) {
+        _edge.setTag(tag);
+    }
+
+    @Override
+    public String getTag() {
+        return _edge.getTag();
+    }
+
+    @Override
+    public void setData(Object data) {
+        _edge.setData(data);
+    }
+
+    @Override
+    public Object getData() {
+        return _edge.getData();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o)
+            return true;
+
+        if(!(o instanceof ViewEdge))
+            return false;
+
+        ViewEdge other = (ViewEdge) o;
+
+        return other._edge == _edge && other.getEdgeType() == getEdgeType();
+    }
+
+    @Override
+    public int hashCode() {
+        return _edge.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        String tag = _edge.getTag();
+
+        return (tag != null) ? tag : super.toString();
+    }
+
+}
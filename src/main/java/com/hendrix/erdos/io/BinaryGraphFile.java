@@ -0,0 +1,435 @@
+package com.hendrix.erdos.io;
+
+import com.hendrix.erdos.graphs.AbstractGraph;
+import com.hendrix.erdos.graphs.IGraph;
+import com.hendrix.erdos.graphs.engines.AdjIncidenceGraphEngine;
+import com.hendrix.erdos.graphs.engines.GraphBuilder;
+import com.hendrix.erdos.graphs.engines.IGraphEngine;
+import com.hendrix.erdos.types.Edge;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.IVertex;
+import com.hendrix.erdos.types.Vertex;
+import com.hendrix.erdos.utils.SEdgeUtils;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.function.Supplier;
+
+/**
+ * the binary graph format, a compact stream of columns that checkpoints a graph of any engine, and restores
+ * it into any engine through the bulk load path of {@link GraphBuilder}. unlike a {@link CsrGraphFile}, that
+ * is mapped as is, the stream is written and read sequentially, through a direct buffer, so it can also be
+ * sent over a pipe or a socket.
+ * <p/>
+ * layout, little endian:
+ * <pre>
+ * {@code
+ * 0   int   magic "ERDB"
+ * 4   int   version
+ * 8   int   flags: 1 directed, 2 self loops, 4 multi edges
+ * 12  int   sections, see the SECTION_ flags
+ * 16  int   number of vertices
+ * 20  int   number of edges
+ * 24  the sections that are present, in order:
+ *     float[V]  vertex weights
+ *     string[V] vertex tags
+ *     bytes[V]  vertex data
+ *     int[E]    edge sources, the vertex indices
+ *     int[E]    edge targets
+ *     float[E]  edge weights
+ *     string[E] edge tags
+ *     bytes[E]  edge data
+ * ... int   magic "ERDB", the end of the stream
+ * }
+ * </pre>
+ * strings are UTF-8 and bytes are prefixed with their length, {@code -1} for {@code null}. the edges are sorted
+ * by their vertex indices, undirected edges have {@code source <= target}, so the columns are loaded as is.
+ * sections that only hold defaults, zero weights and {@code null} tags and data, are left out.
+ * <p/>
+ * the vertices and edges are restored as new {@link Vertex} and {@link Edge} instances, with new identifiers.
+ * vertex and edge data are written only with a {@link DataCodec}.
+ *
+ * @author Tomer Shalev
+ * @see CsrGraphFile
+ */
+@SuppressWarnings("UnusedDeclaration")
+public class BinaryGraphFile {
+    public static final int MAGIC                   = 0x42445245; // "ERDB"
+    public static final int VERSION                 = 1;
+
+    public static final int FLAG_DIRECTED           = 1;
+    public static final int FLAG_SELF_LOOPS         = 2;
+    public static final int FLAG_MULTI_EDGES        = 4;
+
+    public static final int SECTION_VERTEX_WEIGHTS  = 1;
+    public static final int SECTION_VERTEX_TAGS     = 2;
+    public static final int SECTION_VERTEX_DATA     = 4;
+    public static final int SECTION_EDGE_WEIGHTS    = 8;
+    public static final int SECTION_EDGE_TAGS       = 16;
+    public static final int SECTION_EDGE_DATA       = 32;
+
+    /**
+     * encodes the data of vertices and edges into bytes, and decodes it back
+     */
+    public interface DataCodec {
+        /**
+         * @param data the data of a vertex or an edge, not {@code null}
+         *
+         * @return the bytes of the data
+         */
+        byte[] encode(Object data);
+
+        /**
+         * @param bytes the bytes of the data
+         *
+         * @return the data
+         */
+        Object decode(byte[] bytes);
+    }
+
+    private BinaryGraphFile() {}
+
+    /**
+     * write a graph into a binary file, without the data of the vertices and edges.
+     * see {@link #write(IGraph, Path, DataCodec)}.
+     */
+    static public void write(IGraph graph, Path path) throws IOException {
+        write(graph, path, null);
+    }
+
+    /**
+     * write a graph into a binary file. the file is written next to the destination and then moved
+     * over it, so a failed checkpoint does not destroy the previous one.
+     *
+     * @param graph the graph
+     * @param path  the destination file
+     * @param codec encodes the data of the vertices and edges, or {@code null} to leave it out
+     *
+     * @throws IOException if the file can not be written
+     */
+    static public void write(IGraph graph, Path path, DataCodec codec) throws IOException {
+        Path directory  = path.toAbsolutePath().getParent();
+        Path temp       = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                write(graph, channel, codec);
+
+                channel.force(true);
+            }
+
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * stream a graph into a channel. the channel is not closed.
+     *
+     * @param graph   the graph
+     * @param channel the channel
+     * @param codec   encodes the data of the vertices and edges, or {@code null} to leave it out
+     *
+     * @throws IOException if the channel can not be written
+     */
+    static public void write(IGraph graph, WritableByteChannel channel, DataCodec codec) throws IOException {
+        IGraphEngine engine     = graph.getGraphEngine();
+        boolean undirected      = graph.getGraphType() == EDGE_DIRECTION.UNDIRECTED;
+        int n                   = engine.numVertices();
+        int m                   = engine.numEdges();
+
+        int[] sources           = new int[m];
+        int[] targets           = new int[m];
+        Edge[] edges            = new Edge[m];
+        int count               = 0;
+        int sections            = 0;
+
+        for (int i = 0; i < n; i++) {
+            IVertex vertex      = engine.vertexAt(i);
+
+            if(vertex.getWeight() != 0f)
+                sections       |= SECTION_VERTEX_WEIGHTS;
+            if(vertex.getTag() != null)
+                sections       |= SECTION_VERTEX_TAGS;
+            if(codec != null && vertex.getData() != null)
+                sections       |= SECTION_VERTEX_DATA;
+        }
+
+        for (Edge edge : engine.edges()) {
+            if(count == m)
+                throw new IllegalStateException("the graph has more edges than it reports, " + m);
+
+            int source          = engine.indexOf(edge.getV1());
+            int target          = engine.indexOf(edge.getV2());
+
+            if(undirected && target < source) {
+                int swap        = source;
+                source          = target;
+                target          = swap;
+            }
+
+            if(edge.getWeight() != 0f)
+                sections       |= SECTION_EDGE_WEIGHTS;
+            if(edge.getTag() != null)
+                sections       |= SECTION_EDGE_TAGS;
+            if(codec != null && edge.getData() != null)
+                sections       |= SECTION_EDGE_DATA;
+
+            sources[count]      = source;
+            targets[count]      = target;
+            edges[count++]      = edge;
+        }
+
+        if(count != m)
+            throw new IllegalStateException("the graph has less edges than it reports, " + m);
+
+        int[] order             = SEdgeUtils.sortedOrderOf(sources, targets, m, n);
+        int flags               = undirected ? 0 : FLAG_DIRECTED;
+
+        if(graph.hasSelfLoops())
+            flags              |= FLAG_SELF_LOOPS;
+        if(graph.hasMultiEdges())
+            flags              |= FLAG_MULTI_EDGES;
+
+        ChannelWriter out       = new ChannelWriter(channel);
+
+        out.putInt(MAGIC).putInt(VERSION).putInt(flags).putInt(sections).putInt(n).putInt(m);
+
+        // the vertex table
+
+        if((sections & SECTION_VERTEX_WEIGHTS) != 0) {
+            for (int i = 0; i < n; i++)
+                out.putFloat(engine.vertexAt(i).getWeight());
+        }
+
+        if((sections & SECTION_VERTEX_TAGS) != 0) {
+            for (int i = 0; i < n; i++)
+                out.putString(engine.vertexAt(i).getTag());
+        }
+
+        if((sections & SECTION_VERTEX_DATA) != 0) {
+            for (int i = 0; i < n; i++)
+                out.putBytes(encode(codec, engine.vertexAt(i).getData()));
+        }
+
+        // the edge columns
+
+        for (int k : order)
+            out.putInt(sources[k]);
+
+        for (int k : order)
+            out.putInt(targets[k]);
+
+        if((sections & SECTION_EDGE_WEIGHTS) != 0) {
+            for (int k : order)
+                out.putFloat(edges[k].getWeight());
+        }
+
+        if((sections & SECTION_EDGE_TAGS) != 0) {
+            for (int k : order)
+                out.putString(edges[k].getTag());
+        }
+
+        if((sections & SECTION_EDGE_DATA) != 0) {
+            for (int k : order)
+                out.putBytes(encode(codec, edges[k].getData()));
+        }
+
+        out.putInt(MAGIC);
+        out.flush();
+    }
+
+    /**
+     * read a binary file into a graph with an {@link AdjIncidenceGraphEngine}, without the data of the
+     * vertices and edges
+     */
+    static public AbstractGraph read(Path path) throws IOException {
+        return read(path, AdjIncidenceGraphEngine::new, null);
+    }
+
+    /**
+     * read a binary file into a graph
+     *
+     * @param path               the file
+     * @param graphEngineFactory creates a new, empty, graph engine on every call
+     * @param codec              decodes the data of the vertices and edges, or {@code null} to skip it
+     *
+     * @return a new {@link com.hendrix.erdos.graphs.DirectedGraph} or {@link com.hendrix.erdos.graphs.UndirectedGraph}
+     *
+     * @throws IOException if the file can not be read, or is not a binary graph file
+     */
+    static public AbstractGraph read(Path path, Supplier<? extends IGraphEngine> graphEngineFactory, DataCodec codec) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(channel, graphEngineFactory, codec);
+        } catch (IOException e) {
+            throw new IOException(path + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * read a graph out of a channel. the channel is not closed.
+     *
+     * @param channel            the channel
+     * @param graphEngineFactory creates a new, empty, graph engine on every call
+     * @param codec              decodes the data of the vertices and edges, or {@code null} to skip it
+     *
+     * @return a new {@link com.hendrix.erdos.graphs.DirectedGraph} or {@link com.hendrix.erdos.graphs.UndirectedGraph}
+     *
+     * @throws IOException if the channel can not be read, or does not hold a binary graph
+     */
+    @SuppressWarnings("unchecked")
+    static public AbstractGraph read(ReadableByteChannel channel, Supplier<? extends IGraphEngine> graphEngineFactory,
+                                     DataCodec codec) throws IOException {
+        ChannelReader in        = new ChannelReader(channel);
+
+        if(in.getInt() != MAGIC)
+            throw new IOException("not a binary graph stream");
+
+        int version             = in.getInt();
+
+        if(version != VERSION)
+            throw new IOException("unsupported binary graph version " + version);
+
+        int flags               = in.getInt();
+        int sections            = in.getInt();
+        int n                   = in.getInt();
+        int m                   = in.getInt();
+
+        if(n < 0 || m < 0)
+            throw new IOException("corrupted binary graph: " + n + " vertices, " + m + " edges");
+
+        EDGE_DIRECTION direction = (flags & FLAG_DIRECTED) != 0 ? EDGE_DIRECTION.DIRECTED : EDGE_DIRECTION.UNDIRECTED;
+        GraphBuilder builder    = new GraphBuilder(direction, n, m).selfLoops((flags & FLAG_SELF_LOOPS) != 0)
+                                                                   .multiEdges((flags & FLAG_MULTI_EDGES) != 0);
+
+        // the vertex table
+
+        IVertex[] vertices      = new IVertex[n];
+
+        for (int i = 0; i < n; i++)
+            vertices[i]         = new Vertex<>();
+
+        if((sections & SECTION_VERTEX_WEIGHTS) != 0) {
+            for (IVertex vertex : vertices)
+                vertex.assignWeight(in.getFloat());
+        }
+
+        if((sections & SECTION_VERTEX_TAGS) != 0) {
+            for (IVertex vertex : vertices)
+                vertex.setTag(in.getString());
+        }
+
+        if((sections & SECTION_VERTEX_DATA) != 0) {
+            for (IVertex vertex : vertices)
+                vertex.setData(decode(codec, in.getBytes()));
+        }
+
+        for (IVertex vertex : vertices)
+            builder.addVertex(vertex);
+
+        // the edge columns
+
+        int[] sources           = new int[m];
+        int[] targets           = new int[m];
+        float[] weights         = null;
+
+        in.getInts(sources, 0, m);
+        in.getInts(targets, 0, m);
+
+        for (int e = 0; e < m; e++) {
+            if(sources[e] < 0 || sources[e] >= n || targets[e] < 0 || targets[e] >= n)
+                throw new IOException("corrupted binary graph: edge " + sources[e] + "->" + targets[e]);
+        }
+
+        if((sections & SECTION_EDGE_WEIGHTS) != 0) {
+            weights             = new float[m];
+
+            in.getFloats(weights, 0, m);
+        }
+
+        String[] tags           = null;
+        Object[] data           = null;
+
+        if((sections & SECTION_EDGE_TAGS) != 0) {
+            tags                = new String[m];
+
+            for (int e = 0; e < m; e++)
+                tags[e]         = in.getString();
+        }
+
+        if((sections & SECTION_EDGE_DATA) != 0) {
+            data                = new Object[m];
+
+            for (int e = 0; e < m; e++)
+                data[e]         = decode(codec, in.getBytes());
+        }
+
+        if(in.getInt() != MAGIC)
+            throw new IOException("corrupted binary graph: missing end of stream");
+
+        AbstractGraph graph     = builder.addEdges(sources, targets, weights, m).build(graphEngineFactory);
+
+        if(tags != null || data != null)
+            restoreEdges(graph.getGraphEngine(), vertices, sources, targets, weights, tags, data, m);
+
+        return graph;
+    }
+
+    /**
+     * set the tags and data of the loaded edges, that are sorted by their vertex indices, with
+     * {@code source <= target} for undirected edges. the edges of a multi edge are interchangeable, so they
+     * get the weights, tags and data of the group in the order the engine returns them.
+     */
+    static void restoreEdges(IGraphEngine engine, IVertex[] vertices, int[] sources, int[] targets,
+                             float[] weights, String[] tags, Object[] data, int m) {
+        for (int start = 0, end; start < m; start = end) {
+            end                 = start + 1;
+
+            while (end < m && sources[end] == sources[start] && targets[end] == targets[start])
+                end++;
+
+            IVertex u           = vertices[sources[start]];
+            IVertex v           = vertices[targets[start]];
+
+            if(end - start == 1) {
+                restoreEdge(engine.getEdge(u, v), start, null, tags, data);
+                continue;
+            }
+
+            Iterator<Edge> group = new ArrayList<>(engine.getMultiEdges(u, v)).iterator();
+
+            for (int e = start; e < end && group.hasNext(); e++)
+                restoreEdge(group.next(), e, weights, tags, data);
+        }
+    }
+
+    private static void restoreEdge(Edge edge, int e, float[] weights, String[] tags, Object[] data) {
+        if(edge == null)
+            return;
+
+        if(weights != null)
+            edge.setWeight(weights[e]);
+        if(tags != null)
+            edge.setTag(tags[e]);
+        if(data != null)
+            edge.setData(data[e]);
+    }
+
+    private static byte[] encode(DataCodec codec, Object data) {
+        return (data == null) ? null : codec.encode(data);
+    }
+
+    private static Object decode(DataCodec codec, byte[] bytes) {
+        return (bytes == null || codec == null) ? null : codec.decode(bytes);
+    }
+
+}
@@ -0,0 +1,404 @@
+package com.hendrix.erdos.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * the parsing core of the text graph formats. it walks the lines of a buffer of ASCII or UTF-8 text,
+ * and the tokens of every line, and parses numbers right out of the bytes, so no {@code String} is
+ * created per token. tokens are separated by spaces, tabs and commas. the text is either a whole buffer,
+ * like a mapped chunk of a file, or is streamed out of a channel through a buffer, that only holds the
+ * current line and the lines after it, and grows only for a line that is longer than the buffer.
+ * <pre>
+ * ByteTokenizer tokens = new ByteTokenizer(buffer);
+ *
+ * while (tokens.nextLine()) {
+ *     if(tokens.nextToken())
+ *         long id = tokens.parseLong();
+ * }
+ * </pre>
+ *
+ * @author Tomer Shalev
+ */
+final class ByteTokenizer {
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final ReadableByteChannel _channel;
+    private ByteBuffer _buffer;
+    private int _limit;
+    private boolean _eof;
+    /**
+     * the number of bytes that were streamed out of the buffer
+     */
+    private long _base          = 0;
+    /**
+     * the position of the next line
+     */
+    private int _next;
+    private long _lineNumber    = 0;
+    private int _lineStart      = 0;
+    private int _lineEnd        = 0;
+    private int _position       = 0;
+    private int _tokenStart     = 0;
+    private int _tokenEnd       = 0;
+
+    /**
+     * @param buffer the text, from its position to its limit. the position of the buffer is not changed
+     */
+    ByteTokenizer(ByteBuffer buffer) {
+        _channel    = null;
+        _buffer     = buffer;
+        _next       = buffer.position();
+        _limit      = buffer.limit();
+        _eof        = true;
+    }
+
+    /**
+     * @param channel    the text, that is read on demand. the channel is not closed
+     * @param bufferSize the initial size of the buffer
+     */
+    ByteTokenizer(ReadableByteChannel channel, int bufferSize) {
+        _channel    = channel;
+        _buffer     = ByteBuffer.allocate(Math.max(bufferSize, 64));
+        _next       = 0;
+        _limit      = 0;
+        _eof        = false;
+    }
+
+    ByteBuffer buffer() {
+        return _buffer;
+    }
+
+    /**
+     * advance to the next line, that is not blank
+     *
+     * @return {@code false} at the end of the text
+     *
+     * @throws IOException if the channel can not be read
+     */
+    boolean nextLine() throws IOException {
+        while (true) {
+            int start   = _next;
+            int end     = start;
+
+            while (true) {
+                while (end < _limit && _buffer.get(end) != '\n')
+                    end++;
+
+                if(end < _limit || _eof)
+                    break;
+
+                // the line goes on past the buffered text
+
+                fill(start);
+
+                end    -= start;
+                start   = 0;
+            }
+
+            if(start >= _limit)
+                return false;
+
+            _next       = end + 1;
+            _lineNumber++;
+
+            if(end > start && _buffer.get(end - 1) == '\r')
+                end--;
+
+            _lineStart  = start;
+            _lineEnd    = end;
+            _position   = start;
+
+            skipSeparators();
+
+            if(_position < _lineEnd)
+                return true;
+        }
+    }
+
+    /**
+     * @return the number of the current line, counting from {@code 1}, blank lines included
+     */
+    long lineNumber() {
+        return _lineNumber;
+    }
+
+    /**
+     * @return the offset of the current line in the text
+     */
+    long lineOffset() {
+        return _base + _lineStart;
+    }
+
+    /**
+     * @return the offset of the current line in the buffer
+     */
+    int lineStart() {
+        return _lineStart;
+    }
+
+    /**
+     * @return the current line, for error messages
+     */
+    String line() {
+        byte[] bytes = new byte[_lineEnd - _lineStart];
+
+        for (int i = 0; i < bytes.length; i++)
+            bytes[i] = _buffer.get(_lineStart + i);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param prefix an ASCII character
+     *
+     * @return {@code true} if the first token of the line starts with the character, like a comment marker
+     */
+    boolean lineStartsWith(char prefix) {
+        return _position < _lineEnd && _buffer.get(_position) == prefix;
+    }
+
+    /**
+     * advance to the next token of the line
+     *
+     * @return {@code false} at the end of the line
+     */
+    boolean nextToken() {
+        skipSeparators();
+
+        if(_position >= _lineEnd)
+            return false;
+
+        _tokenStart     = _position;
+
+        while (_position < _lineEnd && !isSeparator(_buffer.get(_position)))
+            _position++;
+
+        _tokenEnd       = _position;
+
+        return true;
+    }
+
+    int tokenStart() {
+        return _tokenStart;
+    }
+
+    int tokenEnd() {
+        return _tokenEnd;
+    }
+
+    /**
+     * @return the current token, for error messages and for the rare tokens that are not numbers
+     */
+    String token() {
+        byte[] bytes = new byte[_tokenEnd - _tokenStart];
+
+        for (int i = 0; i < bytes.length; i++)
+            bytes[i] = _buffer.get(_tokenStart + i);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param text an ASCII text
+     *
+     * @return {@code true} if the current token is the text, ignoring case
+     */
+    boolean tokenEquals(String text) {
+        if(_tokenEnd - _tokenStart != text.length())
+            return false;
+
+        for (int i = 0; i < text.length(); i++) {
+            if(Character.toLowerCase((char) _buffer.get(_tokenStart + i)) != Character.toLowerCase(text.charAt(i)))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * @return {@code true} if the current token is a decimal integer in its canonical form, an optional
+     *         minus sign and up to 18 digits, without leading zeros, so it can be used as a numeric key
+     */
+    boolean isCanonicalLong() {
+        int start   = _tokenStart;
+        int length  = _tokenEnd - _tokenStart;
+
+        if(length > 0 && _buffer.get(start) == '-') {
+            start++;
+            length--;
+        }
+
+        if(length < 1 || length > 18 || (length > 1 && _buffer.get(start) == '0'))
+            return false;
+
+        if(start > _tokenStart && _buffer.get(start) == '0')
+            return false;
+
+        for (int i = start; i < _tokenEnd; i++) {
+            byte b = _buffer.get(i);
+
+            if(b < '0' || b > '9')
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * @return the current token as a decimal integer
+     *
+     * @throws NumberFormatException if the token is not an integer
+     */
+    long parseLong() {
+        int position    = _tokenStart;
+        boolean minus   = false;
+        long value      = 0;
+
+        if(position < _tokenEnd && (_buffer.get(position) == '-' || _buffer.get(position) == '+'))
+            minus       = _buffer.get(position++) == '-';
+
+        if(position == _tokenEnd || _tokenEnd - position > 18)
+            return Long.parseLong(token());
+
+        for (; position < _tokenEnd; position++) {
+            int digit   = _buffer.get(position) - '0';
+
+            if(digit < 0 || digit > 9)
+                throw new NumberFormatException("not an integer: " + token());
+
+            value       = value * 10 + digit;
+        }
+
+        return minus ? -value : value;
+    }
+
+    /**
+     * @return the current token as an integer
+     *
+     * @throws NumberFormatException if the token is not an integer, or does not fit into an int
+     */
+    int parseInt() {
+        long value = parseLong();
+
+        if(value != (int) value)
+            throw new NumberFormatException("integer out of range: " + token());
+
+        return (int) value;
+    }
+
+    /**
+     * @return the current token as a decimal floating point number, with an optional exponent
+     *
+     * @throws NumberFormatException if the token is not a number
+     */
+    float parseFloat() {
+        int position    = _tokenStart;
+        boolean minus   = false;
+        long mantissa   = 0;
+        int digits      = 0;
+        int exponent    = 0;
+        boolean any     = false;
+
+        if(position < _tokenEnd && (_buffer.get(position) == '-' || _buffer.get(position) == '+'))
+            minus       = _buffer.get(position++) == '-';
+
+        for (boolean fraction = false; position < _tokenEnd; position++) {
+            byte b      = _buffer.get(position);
+
+            if(b == '.' && !fraction) {
+                fraction    = true;
+                continue;
+            }
+
+            if(b < '0' || b > '9')
+                break;
+
+            any         = true;
+
+            if(digits < 18) {
+                mantissa    = mantissa * 10 + (b - '0');
+
+                if(mantissa != 0)
+                    digits++;
+
+                if(fraction)
+                    exponent--;
+            }
+            else if(!fraction) {
+                exponent++;
+            }
+        }
+
+        if(any && position < _tokenEnd && (_buffer.get(position) == 'e' || _buffer.get(position) == 'E')) {
+            int saved   = _tokenStart;
+
+            _tokenStart = position + 1;
+
+            try {
+                exponent   += parseInt();
+            } finally {
+                _tokenStart = saved;
+            }
+
+            position    = _tokenEnd;
+        }
+
+        // nan, infinity and other rare forms
+
+        if(!any || position != _tokenEnd)
+            return Float.parseFloat(token());
+
+        double value    = mantissa;
+
+        if(exponent < 0)
+            value       = (-exponent < POWERS_OF_TEN.length) ? value / POWERS_OF_TEN[-exponent] : value / Math.pow(10, -exponent);
+        else if(exponent > 0)
+            value       = (exponent < POWERS_OF_TEN.length) ? value * POWERS_OF_TEN[exponent] : value * Math.pow(10, exponent);
+
+        return (float) (minus ? -value : value);
+    }
+
+    /**
+     * move the text from a position on to the start of the buffer, growing it if it is full, and read more of
+     * the channel after it
+     */
+    private void fill(int from) throws IOException {
+        _buffer.limit(_limit).position(from);
+        _buffer.compact();
+
+        _base  += from;
+
+        if(!_buffer.hasRemaining()) {
+            ByteBuffer buffer   = ByteBuffer.allocate(_buffer.capacity() << 1);
+
+            _buffer.flip();
+            buffer.put(_buffer);
+
+            _buffer             = buffer;
+        }
+
+        int read    = 0;
+
+        while (read == 0)
+            read    = _channel.read(_buffer);
+
+        _eof        = read == -1;
+        _limit      = _buffer.position();
+    }
+
+    private void skipSeparators() {
+        while (_position < _lineEnd && isSeparator(_buffer.get(_position)))
+            _position++;
+    }
+
+    private static boolean isSeparator(byte b) {
+        return b == ' ' || b == '\t' || b == ',' || b == '\r';
+    }
+
+}
@@ -0,0 +1,150 @@
+package com.hendrix.erdos.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * a streaming, little endian, reader of primitives out of a channel, through a direct buffer.
+ * the buffer is refilled from the channel whenever it runs out.
+ *
+ * @author Tomer Shalev
+ * @see ChannelWriter
+ */
+final class ChannelReader {
+    private final ReadableByteChannel _channel;
+    private final ByteBuffer _buffer;
+
+    ChannelReader(ReadableByteChannel channel) {
+        this(channel, ChannelWriter.DEFAULT_BUFFER_SIZE);
+    }
+
+    ChannelReader(ReadableByteChannel channel, int bufferSize) {
+        _channel    = channel;
+        _buffer     = ByteBuffer.allocateDirect(Math.max(bufferSize, 64)).order(ByteOrder.LITTLE_ENDIAN);
+
+        _buffer.flip();
+    }
+
+    int getInt() throws IOException {
+        require(4);
+
+        return _buffer.getInt();
+    }
+
+    long getLong() throws IOException {
+        require(8);
+
+        return _buffer.getLong();
+    }
+
+    float getFloat() throws IOException {
+        require(4);
+
+        return _buffer.getFloat();
+    }
+
+    /**
+     * read a column of ints in bulk
+     */
+    void getInts(int[] values, int offset, int length) throws IOException {
+        while (length > 0) {
+            require(4);
+
+            int count   = Math.min(_buffer.remaining() >>> 2, length);
+
+            _buffer.asIntBuffer().get(values, offset, count);
+            _buffer.position(_buffer.position() + (count << 2));
+
+            offset     += count;
+            length     -= count;
+        }
+    }
+
+    /**
+     * read a column of floats in bulk
+     */
+    void getFloats(float[] values, int offset, int length) throws IOException {
+        while (length > 0) {
+            require(4);
+
+            int count   = Math.min(_buffer.remaining() >>> 2, length);
+
+            _buffer.asFloatBuffer().get(values, offset, count);
+            _buffer.position(_buffer.position() + (count << 2));
+
+            offset     += count;
+            length     -= count;
+        }
+    }
+
+    void getBytes(byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            require(1);
+
+            int count   = Math.min(_buffer.remaining(), length);
+
+            _buffer.get(bytes, offset, count);
+
+            offset     += count;
+            length     -= count;
+        }
+    }
+
+    /**
+     * read a length prefixed byte array
+     *
+     * @return the bytes, or {@code null}
+     */
+    byte[] getBytes() throws IOException {
+        int length      = getInt();
+
+        if(length < -1)
+            throw new IOException("corrupted length " + length);
+
+        if(length == -1)
+            return null;
+
+        byte[] bytes    = new byte[length];
+
+        getBytes(bytes, 0, length);
+
+        return bytes;
+    }
+
+    /**
+     * read a length prefixed UTF-8 string
+     *
+     * @return the string, or {@code null}
+     */
+    String getString() throws IOException {
+        byte[] bytes = getBytes();
+
+        return (bytes == null) ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * make sure that at least {@code bytes} bytes are buffered, reading from the channel if needed
+     *
+     * @throws EOFException if the channel ends first
+     */
+    private void require(int bytes) throws IOException {
+        if(_buffer.remaining() >= bytes)
+            return;
+
+        _buffer.compact();
+
+        try {
+            while (_buffer.position() < bytes) {
+                if(_channel.read(_buffer) == -1)
+                    throw new EOFException("unexpected end of stream");
+            }
+        } finally {
+            _buffer.flip();
+        }
+    }
+
+}
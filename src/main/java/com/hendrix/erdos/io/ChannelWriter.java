@@ -0,0 +1,133 @@
+package com.hendrix.erdos.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * a streaming, little endian, writer of primitives into a channel, through a direct buffer.
+ * the buffer is written to the channel whenever it fills up, and by {@link #flush()}.
+ *
+ * @author Tomer Shalev
+ * @see ChannelReader
+ */
+final class ChannelWriter {
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    private final WritableByteChannel _channel;
+    private final ByteBuffer _buffer;
+    private long _written                       = 0;
+
+    ChannelWriter(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    ChannelWriter(WritableByteChannel channel, int bufferSize) {
+        _channel    = channel;
+        _buffer     = ByteBuffer.allocateDirect(Math.max(bufferSize, 64)).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * @return the number of bytes that were written, including the bytes that were not flushed yet
+     */
+    long position() {
+        return _written + _buffer.position();
+    }
+
+    ChannelWriter putInt(int value) throws IOException {
+        ensure(4);
+        _buffer.putInt(value);
+
+        return this;
+    }
+
+    ChannelWriter putLong(long value) throws IOException {
+        ensure(8);
+        _buffer.putLong(value);
+
+        return this;
+    }
+
+    ChannelWriter putFloat(float value) throws IOException {
+        ensure(4);
+        _buffer.putFloat(value);
+
+        return this;
+    }
+
+    /**
+     * write a column of ints in bulk
+     */
+    ChannelWriter putInts(int[] values, int offset, int length) throws IOException {
+        while (length > 0) {
+            ensure(4);
+
+            int count       = Math.min(_buffer.remaining() >>> 2, length);
+            IntBuffer view  = _buffer.asIntBuffer();
+
+            view.put(values, offset, count);
+            _buffer.position(_buffer.position() + (count << 2));
+
+            offset         += count;
+            length         -= count;
+        }
+
+        return this;
+    }
+
+    ChannelWriter putBytes(byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            ensure(1);
+
+            int count       = Math.min(_buffer.remaining(), length);
+
+            _buffer.put(bytes, offset, count);
+
+            offset         += count;
+            length         -= count;
+        }
+
+        return this;
+    }
+
+    /**
+     * write a length prefixed byte array, {@code null} is written as length {@code -1}
+     */
+    ChannelWriter putBytes(byte[] bytes) throws IOException {
+        if(bytes == null)
+            return putInt(-1);
+
+        putInt(bytes.length);
+
+        return putBytes(bytes, 0, bytes.length);
+    }
+
+    /**
+     * write a length prefixed UTF-8 string, {@code null} is written as length {@code -1}
+     */
+    ChannelWriter putString(String value) throws IOException {
+        return putBytes((value == null) ? null : value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * write the buffered bytes to the channel
+     */
+    void flush() throws IOException {
+        _buffer.flip();
+
+        while (_buffer.hasRemaining()) {
+            _written += _channel.write(_buffer);
+        }
+
+        _buffer.clear();
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if(_buffer.remaining() < bytes)
+            flush();
+    }
+
+}
@@ -0,0 +1,220 @@
+package com.hendrix.erdos.io;
+
+import com.hendrix.erdos.Erdos;
+import com.hendrix.erdos.graphs.AbstractGraph;
+import com.hendrix.erdos.graphs.IGraph;
+import com.hendrix.erdos.graphs.engines.IGraphRepresentation;
+import com.hendrix.erdos.graphs.engines.OffHeapGraphEngine;
+import com.hendrix.erdos.graphs.engines.OffHeapGraphEngine.Segment;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.utils.SBufferUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * the on disk <b>CSR</b> graph format. the file holds the {@link Segment}s of an {@link OffHeapGraphEngine}
+ * as is, so opening a graph maps the segments into memory instead of rebuilding it edge by edge.
+ * the pages are loaded lazily by the operating system, and read only mappings of the same file are
+ * shared by all of the processes of the host through the page cache.
+ * <p/>
+ * layout, little endian:
+ * <pre>
+ * {@code
+ * 0   int   magic "ERDC"
+ * 4   int   version
+ * 8   int   flags: 1 directed, 2 self loops, 4 multi edges
+ * 12  int   number of vertices
+ * 16  int   number of edges
+ * 20  int   number of segments
+ * 24  long  offset, long length of every segment
+ * ... the segments, every one aligned to 8 bytes
+ * }
+ * </pre>
+ * every segment is mapped on its own, so a segment is limited to 2GB.
+ *
+ * @author Tomer Shalev
+ * @see OffHeapGraphEngine
+ */
+@SuppressWarnings("UnusedDeclaration")
+public class CsrGraphFile {
+    public static final int MAGIC               = 0x43445245; // "ERDC"
+    public static final int VERSION             = 1;
+
+    public static final int FLAG_DIRECTED       = 1;
+    public static final int FLAG_SELF_LOOPS     = 2;
+    public static final int FLAG_MULTI_EDGES    = 4;
+
+    private static final int HEADER_SIZE        = 24 + 16 * Segment.values().length;
+
+    private CsrGraphFile() {}
+
+    /**
+     * write a graph into a CSR file. the file is written next to the destination and then moved
+     * over it, so processes that have the previous version mapped are not affected.
+     *
+     * @param graph the graph
+     * @param path  the destination file
+     *
+     * @throws IOException if the file can not be written
+     */
+    static public void write(IGraph graph, Path path) throws IOException {
+        int flags = graph.getGraphType() == EDGE_DIRECTION.DIRECTED ? FLAG_DIRECTED : 0;
+
+        if(graph.hasSelfLoops())
+            flags |= FLAG_SELF_LOOPS;
+        if(graph.hasMultiEdges())
+            flags |= FLAG_MULTI_EDGES;
+
+        write(graph.getGraphEngine(), flags, path);
+    }
+
+    /**
+     * write a graph representation into a CSR file
+     *
+     * @param source the graph representation, an {@link OffHeapGraphEngine} is written without a copy
+     * @param flags  the graph flags, the direction flag is taken from the source
+     * @param path   the destination file
+     *
+     * @throws IOException if the file can not be written
+     */
+    static public void write(IGraphRepresentation source, int flags, Path path) throws IOException {
+        boolean copy                = !(source instanceof OffHeapGraphEngine);
+        OffHeapGraphEngine engine   = copy ? new OffHeapGraphEngine(source) : (OffHeapGraphEngine) source;
+
+        flags                       = (flags & ~FLAG_DIRECTED) | (engine.getGraphType() == EDGE_DIRECTION.DIRECTED ? FLAG_DIRECTED : 0);
+
+        Path directory              = path.toAbsolutePath().getParent();
+        Path temp                   = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer header   = ByteBuffer.allocate(HEADER_SIZE).order(OffHeapGraphEngine.BYTE_ORDER);
+
+                header.putInt(MAGIC).putInt(VERSION).putInt(flags);
+                header.putInt(engine.numVertices()).putInt(engine.numEdges()).putInt(Segment.values().length);
+
+                long position       = align(HEADER_SIZE);
+
+                for (Segment segment : Segment.values()) {
+                    ByteBuffer data = engine.getSegment(segment);
+
+                    header.putLong(position).putLong(data.remaining());
+
+                    for (long at = position; data.hasRemaining(); ) {
+                        at += channel.write(data, at);
+                    }
+
+                    position        = align(position + data.capacity());
+                }
+
+                header.flip();
+
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+
+                channel.force(true);
+            }
+
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+
+            if(copy)
+                engine.dispose();
+        }
+    }
+
+    /**
+     * open a CSR file as a read only graph. see {@link #open(Path)}.
+     *
+     * @param path the file
+     *
+     * @return a read only {@link com.hendrix.erdos.graphs.DirectedGraph} or {@link com.hendrix.erdos.graphs.UndirectedGraph}
+     *
+     * @throws IOException if the file can not be read, or is not a CSR file
+     */
+    static public AbstractGraph openGraph(Path path) throws IOException {
+        int flags                   = readHeader(path).getInt(8);
+
+        return Erdos.newGraphWithImmutableEngine(open(path), (flags & FLAG_SELF_LOOPS) != 0, (flags & FLAG_MULTI_EDGES) != 0);
+    }
+
+    /**
+     * open a CSR file by memory mapping its segments, nothing is read up front.
+     * the mapping stays valid after the file is replaced, and is released by {@link OffHeapGraphEngine#dispose()}.
+     *
+     * @param path the file
+     *
+     * @return an off heap graph engine over the mapped file
+     *
+     * @throws IOException if the file can not be read, or is not a CSR file
+     */
+    static public OffHeapGraphEngine open(Path path) throws IOException {
+        ByteBuffer header           = readHeader(path);
+
+        int flags                   = header.getInt(8);
+        int numVertices             = header.getInt(12);
+        int numEdges                = header.getInt(16);
+
+        ByteBuffer[] segments       = new ByteBuffer[Segment.values().length];
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size               = channel.size();
+
+            for (int index = 0; index < segments.length; index++) {
+                long offset         = header.getLong(24 + 16 * index);
+                long length         = header.getLong(32 + 16 * index);
+
+                if(offset < HEADER_SIZE || length < 0 || offset + length > size || length > Integer.MAX_VALUE)
+                    throw new IOException("corrupted CSR graph file " + path + ": segment " + Segment.values()[index]);
+
+                segments[index]     = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+            }
+        } catch (IOException | RuntimeException e) {
+            for (ByteBuffer segment : segments) {
+                SBufferUtils.free(segment);
+            }
+
+            throw e;
+        }
+
+        EDGE_DIRECTION direction    = (flags & FLAG_DIRECTED) != 0 ? EDGE_DIRECTION.DIRECTED : EDGE_DIRECTION.UNDIRECTED;
+
+        try {
+            return new OffHeapGraphEngine(direction, numVertices, numEdges, segments);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("corrupted CSR graph file " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static ByteBuffer readHeader(Path path) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(OffHeapGraphEngine.BYTE_ORDER);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (header.hasRemaining() && channel.read(header, header.position()) != -1);
+        }
+
+        if(header.hasRemaining() || header.getInt(0) != MAGIC)
+            throw new IOException(path + " is not a CSR graph file");
+
+        if(header.getInt(4) != VERSION)
+            throw new IOException("unsupported CSR graph file version " + header.getInt(4) + " of " + path);
+
+        if(header.getInt(20) != Segment.values().length)
+            throw new IOException("corrupted CSR graph file " + path + ": segment count");
+
+        return header;
+    }
+
+    private static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+
+}
@@ -0,0 +1,796 @@
+package com.hendrix.erdos.io;
+
+import com.hendrix.collection.ObjectIntHashMap;
+import com.hendrix.erdos.Erdos;
+import com.hendrix.erdos.exceptions.GraphException;
+import com.hendrix.erdos.graphs.AbstractGraph;
+import com.hendrix.erdos.graphs.DirectedGraph;
+import com.hendrix.erdos.graphs.IGraph;
+import com.hendrix.erdos.graphs.UndirectedGraph;
+import com.hendrix.erdos.graphs.engines.AbstractGraphEngine;
+import com.hendrix.erdos.graphs.engines.DegreeIndex;
+import com.hendrix.erdos.graphs.engines.IGraphEngine;
+import com.hendrix.erdos.graphs.engines.NeighborCursor;
+import com.hendrix.erdos.io.BinaryGraphFile.DataCodec;
+import com.hendrix.erdos.types.Edge;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.IVertex;
+import com.hendrix.erdos.types.Vertex;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * a durable graph engine, that keeps the graph in an in memory engine and logs every change of it
+ * into a {@link WriteAheadLog} in a directory, so the graph survives a crash of the process.
+ * <ul>
+ *     <li/>reads go straight to the in memory engine. its views are read only, changes go through the graph.
+ *     <li/>a change is applied to the in memory engine first, and logged only if it changed the graph.
+ *     changes are serialized by a lock, so the log is in the order they were applied.
+ *     <li/>by default, a change returns once its record is forced to the disk. concurrent writers share
+ *     the {@code fsync}s, see {@link WriteAheadLog#sync(long)}. with a {@link #syncInterval(long)}, changes
+ *     return right away and a background thread syncs the log, so a crash may lose the last interval.
+ *     <li/>once the log outgrows {@link #checkpointBytes(long)}, the graph is written into a compact
+ *     {@link BinaryGraphFile} checkpoint and the log starts over. {@link #checkpoint()} does it on demand.
+ *     <li/>{@link #open(Path, Supplier, EDGE_DIRECTION, boolean, boolean, DataCodec)} loads the latest
+ *     checkpoint and replays the log after it, up to its torn tail.
+ * </ul>
+ * the log records vertices and edges as they are added, with their tags, weights and data. later changes
+ * of tags, weights and data are kept by the next checkpoint only. if the log fails to write, the change
+ * that failed is applied in memory but not durable, and later changes throw {@link IllegalStateException}.
+ * <p/>
+ * copies of the engine, see {@link IGraphEngine#copy(boolean)}, and graphs that algorithms derive from
+ * the graph, are plain in memory graphs.
+ *
+ * @author Tomer Shalev
+ * @see WriteAheadLog
+ */
+@SuppressWarnings("UnusedDeclaration")
+public class DurableGraphEngine extends AbstractGraphEngine implements Closeable {
+    public static final long DEFAULT_CHECKPOINT_BYTES   = 64L << 20;
+
+    /**
+     * the in memory engine
+     */
+    protected final IGraphEngine _engine;
+    protected final Path _directory;
+    protected final DataCodec _codec;
+    /**
+     * serializes the changes, so they are logged in the order they are applied
+     */
+    protected final ReentrantLock _changeLock           = new ReentrantLock();
+    /**
+     * the keys of the vertices in the log. a checkpoint resets them to the vertex indices,
+     * that it keeps, and new vertices get the next keys
+     */
+    protected final ObjectIntHashMap<IVertex> _keys;
+    protected int _nextKey;
+    protected WriteAheadLog _log;
+
+    private volatile boolean _syncOnChange              = true;
+    private volatile long _checkpointBytes              = DEFAULT_CHECKPOINT_BYTES;
+
+    private Collection<IVertex> _verticesView           = null;
+    private Collection<Edge> _edgesView                 = null;
+
+    private DurableGraphEngine(Path directory, IGraphEngine engine, DataCodec codec) {
+        _directory  = directory;
+        _engine     = engine;
+        _codec      = codec;
+        _keys       = new ObjectIntHashMap<>(Math.max(engine.numVertices(), 16), -1);
+
+        rekey();
+    }
+
+    /**
+     * open a durable graph in a directory, without the data of the vertices and edges
+     */
+    static public AbstractGraph open(Path directory, Supplier<? extends IGraphEngine> graphEngineFactory,
+                                     EDGE_DIRECTION direction, boolean selfLoops, boolean multiEdges) throws IOException {
+        return open(directory, graphEngineFactory, direction, selfLoops, multiEdges, null);
+    }
+
+    /**
+     * open a durable graph in a directory. the latest checkpoint of the directory is loaded, and the log
+     * after it is replayed, or an empty graph is started if the directory is empty. get the engine with
+     * {@link IGraph#getGraphEngine()} to checkpoint, sync or close it.
+     *
+     * @param directory          the directory of the checkpoints and the log, it is created if needed
+     * @param graphEngineFactory creates a new, empty, in memory graph engine on every call
+     * @param direction          the direction of the graph
+     * @param selfLoops          support for self loops
+     * @param multiEdges         support for multi edges
+     * @param codec              encodes the data of the vertices and edges, or {@code null} to leave it out
+     *
+     * @return a new {@link DirectedGraph} or {@link UndirectedGraph}, with a {@link DurableGraphEngine}
+     *
+     * @throws IOException if the directory can not be read, or holds a graph of another kind
+     */
+    static public AbstractGraph open(Path directory, Supplier<? extends IGraphEngine> graphEngineFactory,
+                                     final EDGE_DIRECTION direction, final boolean selfLoops, final boolean multiEdges,
+                                     DataCodec codec) throws IOException {
+        Files.createDirectories(directory);
+
+        long generation             = WriteAheadLog.latestGeneration(directory);
+        AbstractGraph state;
+
+        if(generation == 0) {
+            state                   = Erdos.newGraphWithEngineFactory(graphEngineFactory, direction, selfLoops, multiEdges);
+        } else {
+            state                   = BinaryGraphFile.read(WriteAheadLog.checkpointOf(directory, generation), graphEngineFactory, codec);
+
+            if(state.getGraphType() != direction || state.hasSelfLoops() != selfLoops || state.hasMultiEdges() != multiEdges)
+                throw new IOException(directory + ": holds a " + state.getGraphType() + " graph, self loops " +
+                                      state.hasSelfLoops() + ", multi edges " + state.hasMultiEdges());
+        }
+
+        DurableGraphEngine engine   = new DurableGraphEngine(directory, state.getGraphEngine(), codec);
+
+        engine.replay(generation);
+
+        switch (direction) {
+            case DIRECTED:
+                return new DirectedGraph(engine) {
+                    @Override
+                    public boolean hasMultiEdges() {
+                        return multiEdges;
+                    }
+
+                    @Override
+                    public boolean hasSelfLoops() {
+                        return selfLoops;
+                    }
+
+                    @Override
+                    public IGraphEngine graphEngineFactory() {
+                        return graphEngineFactory.get();
+                    }
+                };
+            case UNDIRECTED:
+                return new UndirectedGraph(engine) {
+                    @Override
+                    public boolean hasMultiEdges() {
+                        return multiEdges;
+                    }
+
+                    @Override
+                    public boolean hasSelfLoops() {
+                        return selfLoops;
+                    }
+
+                    @Override
+                    public IGraphEngine graphEngineFactory() {
+                        return graphEngineFactory.get();
+                    }
+                };
+        }
+
+        throw new IllegalArgumentException("unknown direction " + direction);
+    }
+
+    /**
+     * @param millis {@code 0} to make every change wait for its record to be forced to the disk, the default,
+     *               or the interval of a background thread that syncs the log, while changes return right away
+     *
+     * @return this engine
+     */
+    public DurableGraphEngine syncInterval(long millis) {
+        if(millis < 0)
+            throw new IllegalArgumentException("negative sync interval " + millis);
+
+        _syncOnChange       = millis == 0;
+        _log.syncEvery(millis);
+
+        return this;
+    }
+
+    /**
+     * @param bytes the size of the log that triggers a checkpoint, or {@link Long#MAX_VALUE} to
+     *              checkpoint on demand only
+     *
+     * @return this engine
+     */
+    public DurableGraphEngine checkpointBytes(long bytes) {
+        if(bytes <= 0)
+            throw new IllegalArgumentException("non positive checkpoint size " + bytes);
+
+        _checkpointBytes    = bytes;
+
+        return this;
+    }
+
+    /**
+     * @return the directory of the checkpoints and the log
+     */
+    public Path getDirectory() {
+        return _directory;
+    }
+
+    /**
+     * @return the generation of the latest checkpoint, {@code 0} before the first one
+     */
+    public long getGeneration() {
+        return _log.generation();
+    }
+
+    /**
+     * @return the size of the log since the latest checkpoint, in bytes
+     */
+    public long logSize() {
+        return _log.size();
+    }
+
+    /**
+     * force every logged change to the disk
+     *
+     * @throws IOException if the log failed to write
+     */
+    public void sync() throws IOException {
+        _log.sync(_log.sequence());
+    }
+
+    /**
+     * write the graph into a new checkpoint and start a new log. changes wait meanwhile.
+     *
+     * @throws IOException if the checkpoint or the new log can not be written. the previous checkpoint
+     *                     and log stay in place if the checkpoint fails.
+     */
+    public void checkpoint() throws IOException {
+        _changeLock.lock();
+
+        try {
+            _log.ensureWritable();
+
+            long generation = _log.generation() + 1;
+
+            _log.sync(_log.sequence());
+
+            BinaryGraphFile.write(getGraph(), WriteAheadLog.checkpointOf(_directory, generation), _codec);
+
+            _log.rotate(generation);
+
+            rekey();
+        } finally {
+            _changeLock.unlock();
+        }
+    }
+
+    /**
+     * sync and close the log, the graph is no longer changeable, but can still be read
+     */
+    @Override
+    public void close() throws IOException {
+        _changeLock.lock();
+
+        try {
+            _log.close();
+        } finally {
+            _changeLock.unlock();
+        }
+    }
+
+    /**
+     * set the graph that this engine works for, it must be of the kind of the in memory engine
+     *
+     * @param graph the graph
+     */
+    @Override
+    public void setGraph(IGraph graph) {
+        IGraph state = _engine.getGraph();
+
+        if(graph.getGraphType() != state.getGraphType() || graph.hasSelfLoops() != state.hasSelfLoops() ||
+           graph.hasMultiEdges() != state.hasMultiEdges())
+            throw new GraphException("durable engine holds a " + state.getGraphType() + " graph, self loops " +
+                                     state.hasSelfLoops() + ", multi edges " + state.hasMultiEdges(), graph);
+
+        super.setGraph(graph);
+    }
+
+    @Override
+    public Iterator<IVertex> iterator() {
+        return vertices().iterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * a read only view
+     */
+    @Override
+    public Collection<IVertex> vertices() {
+        return (_verticesView == null) ? _verticesView = Collections.unmodifiableCollection(_engine.vertices()) : _verticesView;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * a read only view
+     */
+    @Override
+    public Collection<Edge> edges() {
+        return (_edgesView == null) ? _edgesView = Collections.unmodifiableCollection(_engine.edges()) : _edgesView;
+    }
+
+    @Override
+    public Collection<IVertex> getNeighborsOf(IVertex vertex) {
+        return Collections.unmodifiableCollection(_engine.getNeighborsOf(vertex));
+    }
+
+    @Override
+    public Collection<Edge> getIncidenceOutListOf(IVertex vertex) {
+        return Collections.unmodifiableCollection(_engine.getIncidenceOutListOf(vertex));
+    }
+
+    @Override
+    public Collection<Edge> getIncidenceInListOf(IVertex vertex) {
+        return Collections.unmodifiableCollection(_engine.getIncidenceInListOf(vertex));
+    }
+
+    @Override
+    public Collection<Edge> getMultiEdges(IVertex u, IVertex v) {
+        return Collections.unmodifiableCollection(_engine.getMultiEdges(u, v));
+    }
+
+    @Override
+    public void forEachNeighbor(int vertexIndex, IntConsumer consumer) {
+        _engine.forEachNeighbor(vertexIndex, consumer);
+    }
+
+    @Override
+    public NeighborCursor neighborCursor() {
+        return _engine.neighborCursor();
+    }
+
+    @Override
+    public DegreeIndex degrees() {
+        return _engine.degrees();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * the copy is a copy of the in memory engine, it is not durable
+     */
+    @Override
+    public IGraphEngine copy(boolean copyOnWrite) {
+        return _engine.copy(copyOnWrite);
+    }
+
+    @Override
+    public boolean hasVertex(IVertex vertex) {
+        return _engine.hasVertex(vertex);
+    }
+
+    @Override
+    public int indexOf(IVertex vertex) {
+        return _engine.indexOf(vertex);
+    }
+
+    @Override
+    public IVertex vertexAt(int index) {
+        return _engine.vertexAt(index);
+    }
+
+    @Override
+    public boolean hasEdge(IVertex v1, IVertex v2) {
+        return _engine.hasEdge(v1, v2);
+    }
+
+    @Override
+    public boolean hasEdge(Edge edge) {
+        return _engine.hasEdge(edge);
+    }
+
+    @Override
+    public Edge getEdge(IVertex v1, IVertex v2) {
+        return _engine.getEdge(v1, v2);
+    }
+
+    @Override
+    public int outDegreeOfVertex(IVertex vertex) {
+        return _engine.outDegreeOfVertex(vertex);
+    }
+
+    @Override
+    public int inDegreeOfVertex(IVertex vertex) {
+        return _engine.inDegreeOfVertex(vertex);
+    }
+
+    @Override
+    public int numVertices() {
+        return _engine.numVertices();
+    }
+
+    @Override
+    public int numEdges() {
+        return _engine.numEdges();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return _engine.isEmpty();
+    }
+
+    @Override
+    public boolean addVertex(IVertex vertex) {
+        long sequence;
+
+        _changeLock.lock();
+
+        try {
+            _log.ensureWritable();
+
+            if(!_engine.addVertex(vertex))
+                return false;
+
+            int key         = _nextKey++;
+
+            _keys.put(vertex, key);
+
+            sequence        = _log.addVertex(key, vertex.getTag(), vertex.getWeight(), encode(vertex.getData()));
+        } finally {
+            _changeLock.unlock();
+        }
+
+        commit(sequence);
+
+        return true;
+    }
+
+    @Override
+    public boolean removeVertex(IVertex vertex) {
+        long sequence;
+
+        _changeLock.lock();
+
+        try {
+            _log.ensureWritable();
+
+            int key         = _keys.get(vertex);
+
+            if(!_engine.removeVertex(vertex))
+                return false;
+
+            _keys.remove(vertex);
+
+            sequence        = _log.removeVertex(key);
+        } finally {
+            _changeLock.unlock();
+        }
+
+        commit(sequence);
+
+        return true;
+    }
+
+    @Override
+    public Edge addEdge(IVertex v1, IVertex v2) {
+        return addEdge(v1, v2, 0f);
+    }
+
+    @Override
+    public Edge addEdge(IVertex v1, IVertex v2, float weight) {
+        long sequence;
+        Edge edge;
+
+        _changeLock.lock();
+
+        try {
+            _log.ensureWritable();
+
+            if((edge = _engine.addEdge(v1, v2, weight)) == null)
+                return null;
+
+            sequence        = logAdded(edge);
+        } finally {
+            _changeLock.unlock();
+        }
+
+        commit(sequence);
+
+        return edge;
+    }
+
+    @Override
+    public Edge addEdge(Edge edge) {
+        long sequence;
+        Edge added;
+
+        _changeLock.lock();
+
+        try {
+            _log.ensureWritable();
+
+            if((added = _engine.addEdge(edge)) == null)
+                return null;
+
+            sequence        = logAdded(added);
+        } finally {
+            _changeLock.unlock();
+        }
+
+        commit(sequence);
+
+        return added;
+    }
+
+    @Override
+    public Edge removeEdge(IVertex v1, IVertex v2) {
+        long sequence;
+        Edge edge;
+
+        _changeLock.lock();
+
+        try {
+            _log.ensureWritable();
+
+            if((edge = _engine.removeEdge(v1, v2)) == null)
+                return null;
+
+            sequence        = _log.removeEdge(_keys.get(edge.getV1()), _keys.get(edge.getV2()), edge.getWeight());
+        } finally {
+            _changeLock.unlock();
+        }
+
+        commit(sequence);
+
+        return edge;
+    }
+
+    @Override
+    public Edge removeEdge(Edge edge) {
+        long sequence;
+        Edge removed;
+
+        _changeLock.lock();
+
+        try {
+            _log.ensureWritable();
+
+            if((removed = _engine.removeEdge(edge)) == null)
+                return null;
+
+            sequence        = _log.removeEdge(_keys.get(removed.getV1()), _keys.get(removed.getV2()), removed.getWeight());
+        } finally {
+            _changeLock.unlock();
+        }
+
+        commit(sequence);
+
+        return removed;
+    }
+
+    @Override
+    public Collection<Edge> removeMultiEdges(IVertex u, IVertex v) {
+        long sequence;
+        Collection<Edge> removed;
+
+        _changeLock.lock();
+
+        try {
+            _log.ensureWritable();
+
+            removed         = _engine.removeMultiEdges(u, v);
+
+            if(removed.isEmpty())
+                return removed;
+
+            sequence        = _log.removeMultiEdges(_keys.get(u), _keys.get(v));
+        } finally {
+            _changeLock.unlock();
+        }
+
+        commit(sequence);
+
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        long sequence;
+
+        _changeLock.lock();
+
+        try {
+            _log.ensureWritable();
+
+            _engine.clear();
+            _keys.clear();
+
+            _nextKey        = 0;
+            sequence        = _log.clear();
+        } finally {
+            _changeLock.unlock();
+        }
+
+        commit(sequence);
+    }
+
+    /**
+     * close the log and dispose the in memory engine
+     */
+    @Override
+    public void dispose() {
+        try {
+            close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            _engine.dispose();
+        }
+    }
+
+    /**
+     * the caller holds the change lock
+     */
+    private long logAdded(Edge edge) {
+        return _log.addEdge(_keys.get(edge.getV1()), _keys.get(edge.getV2()), edge.getWeight(),
+                            edge.getTag(), encode(edge.getData()));
+    }
+
+    /**
+     * wait for a logged change to be durable, unless a background thread syncs the log, and checkpoint
+     * if the log has grown too big
+     */
+    private void commit(long sequence) {
+        try {
+            if(_syncOnChange)
+                _log.sync(sequence);
+
+            if(_log.size() < _checkpointBytes)
+                return;
+
+            _changeLock.lock();
+
+            try {
+                // another thread may have taken the checkpoint meanwhile
+                if(_log.size() >= _checkpointBytes)
+                    checkpoint();
+            } finally {
+                _changeLock.unlock();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * key the vertices by their indices, as a checkpoint keeps them
+     */
+    private void rekey() {
+        int n       = _engine.numVertices();
+
+        _keys.clear();
+
+        for (int i = 0; i < n; i++) {
+            _keys.put(_engine.vertexAt(i), i);
+        }
+
+        _nextKey    = n;
+    }
+
+    private byte[] encode(Object data) {
+        return (data == null || _codec == null) ? null : _codec.encode(data);
+    }
+
+    private Object decode(byte[] bytes) {
+        return (bytes == null || _codec == null) ? null : _codec.decode(bytes);
+    }
+
+    /**
+     * replay the log of a generation into the in memory engine, and key its vertices
+     */
+    private void replay(long generation) throws IOException {
+        IVertex[][] byKey   = { new IVertex[Math.max(_nextKey, 16)] };
+        boolean multiEdges  = _engine.getGraph().hasMultiEdges();
+
+        for (int i = 0; i < _nextKey; i++) {
+            byKey[0][i]     = _engine.vertexAt(i);
+        }
+
+        _log                = WriteAheadLog.open(_directory, generation, new WriteAheadLog.Replay() {
+            @Override
+            public void addVertex(int key, String tag, float weight, byte[] data) throws IOException {
+                IVertex<Object> vertex = new Vertex<>();
+
+                vertex.setTag(tag);
+                vertex.assignWeight(weight);
+                vertex.setData(decode(data));
+
+                if(key < 0 || !_engine.addVertex(vertex))
+                    throw new IOException("can not replay vertex " + key);
+
+                if(key >= byKey[0].length)
+                    byKey[0]    = Arrays.copyOf(byKey[0], Math.max(byKey[0].length << 1, key + 1));
+
+                byKey[0][key]   = vertex;
+                _nextKey        = Math.max(_nextKey, key + 1);
+            }
+
+            @Override
+            public void removeVertex(int key) throws IOException {
+                _engine.removeVertex(vertexOf(key));
+
+                byKey[0][key]   = null;
+            }
+
+            @Override
+            public void addEdge(int source, int target, float weight, String tag, byte[] data) throws IOException {
+                Edge edge       = _engine.addEdge(vertexOf(source), vertexOf(target), weight);
+
+                if(edge == null)
+                    throw new IOException("can not replay edge " + source + " -> " + target);
+
+                edge.setTag(tag);
+                edge.setData(decode(data));
+            }
+
+            @Override
+            public void removeEdge(int source, int target, float weight) throws IOException {
+                IVertex u       = vertexOf(source);
+                IVertex v       = vertexOf(target);
+
+                if(!multiEdges) {
+                    _engine.removeEdge(u, v);
+                    return;
+                }
+
+                // the edges of a multi edge are told apart by their weights only
+
+                Edge first      = null;
+
+                for (Edge edge : _engine.getMultiEdges(u, v)) {
+                    if(Float.compare(edge.getWeight(), weight) == 0) {
+                        first   = edge;
+                        break;
+                    }
+
+                    if(first == null)
+                        first   = edge;
+                }
+
+                if(first != null)
+                    _engine.removeEdge(first);
+            }
+
+            @Override
+            public void removeMultiEdges(int source, int target) throws IOException {
+                _engine.removeMultiEdges(vertexOf(source), vertexOf(target));
+            }
+
+            @Override
+            public void clear() {
+                _engine.clear();
+
+                Arrays.fill(byKey[0], null);
+            }
+
+            private IVertex vertexOf(int key) throws IOException {
+                IVertex vertex  = (key >= 0 && key < byKey[0].length) ? byKey[0][key] : null;
+
+                if(vertex == null)
+                    throw new IOException("unknown vertex " + key);
+
+                return vertex;
+            }
+        });
+
+        _keys.clear();
+
+        for (int key = 0; key < _nextKey; key++) {
+            if(byKey[0][key] != null)
+                _keys.put(byKey[0][key], key);
+        }
+    }
+
+}
@@ -0,0 +1,326 @@
+package com.hendrix.erdos.io;
+
+import com.hendrix.erdos.graphs.AbstractGraph;
+import com.hendrix.erdos.graphs.engines.AdjIncidenceGraphEngine;
+import com.hendrix.erdos.graphs.engines.GraphBuilder;
+import com.hendrix.erdos.graphs.engines.IGraphEngine;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.Vertex;
+import com.hendrix.erdos.utils.SBufferUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
+
+/**
+ * imports a graph out of an edge list text file, a line {@code source target [weight]} per edge, in parallel:
+ * <ul>
+ *     <li/>the file is memory mapped, and split into chunks that end at the end of a line.
+ *     <li/>the chunks are parsed on the workers of a {@link ForkJoinPool}, straight out of the mapped bytes,
+ *     without creating a {@code String} per token.
+ *     <li/>the identifiers of the vertices, integers or any other token, are mapped to dense vertex indices
+ *     by a concurrent interning table, and the vertices are tagged with their identifiers.
+ *     <li/>the edge lists of the chunks, in the order of the file, are bulk loaded with a {@link GraphBuilder}.
+ * </ul>
+ * tokens are separated by spaces, tabs or commas, so CSV files are read too. blank lines and lines that start
+ * with {@code #} or {@code %} are skipped, and so are the columns after the weight. the dense indices of the
+ * vertices depend on the order the workers meet them in, and may differ between imports of the same file.
+ * <pre>
+ * AbstractGraph graph = new EdgeListImporter(EDGE_DIRECTION.DIRECTED).multiEdges(true)
+ *                                                                   .read(path, HybridGraphEngine::new);
+ * </pre>
+ *
+ * @author Tomer Shalev
+ * @see GraphBuilder
+ */
+@SuppressWarnings("UnusedDeclaration")
+public class EdgeListImporter {
+    public static final int MIN_CHUNK_SIZE  = 1 << 20;
+    public static final int MAX_CHUNK_SIZE  = 1 << 28;
+
+    private final EDGE_DIRECTION _direction;
+    private boolean _selfLoops              = false;
+    private boolean _multiEdges             = false;
+    private boolean _header                 = false;
+    /**
+     * the size of the chunks, {@code 0} to pick it by the size of the file and the parallelism
+     */
+    private int _chunkSize                  = 0;
+
+    /**
+     * @param direction the edge direction of the graph
+     */
+    public EdgeListImporter(EDGE_DIRECTION direction) {
+        _direction = direction;
+    }
+
+    /**
+     * @param selfLoops support for self loops, self loops are dropped otherwise
+     *
+     * @return this importer
+     */
+    public EdgeListImporter selfLoops(boolean selfLoops) {
+        _selfLoops = selfLoops;
+
+        return this;
+    }
+
+    /**
+     * @param multiEdges support for multi edges, duplicate edges are dropped otherwise
+     *
+     * @return this importer
+     */
+    public EdgeListImporter multiEdges(boolean multiEdges) {
+        _multiEdges = multiEdges;
+
+        return this;
+    }
+
+    /**
+     * @param header {@code true} to skip the first line of the file, like the column names of a CSV file
+     *
+     * @return this importer
+     */
+    public EdgeListImporter header(boolean header) {
+        _header = header;
+
+        return this;
+    }
+
+    /**
+     * @param chunkSize the size of the chunks in bytes, the last line of a chunk may exceed it
+     *
+     * @return this importer
+     *
+     * @throws IllegalArgumentException if the size is not between {@code 1} and {@link #MAX_CHUNK_SIZE}
+     */
+    public EdgeListImporter chunkSize(int chunkSize) {
+        if(chunkSize < 1 || chunkSize > MAX_CHUNK_SIZE)
+            throw new IllegalArgumentException("chunk size " + chunkSize + " should be between 1 and " + MAX_CHUNK_SIZE);
+
+        _chunkSize = chunkSize;
+
+        return this;
+    }
+
+    /**
+     * import a graph with an {@link AdjIncidenceGraphEngine}, on the common {@link ForkJoinPool}
+     */
+    public AbstractGraph read(Path path) throws IOException {
+        return read(path, AdjIncidenceGraphEngine::new, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * import a graph on the common {@link ForkJoinPool}
+     */
+    public AbstractGraph read(Path path, Supplier<? extends IGraphEngine> graphEngineFactory) throws IOException {
+        return read(path, graphEngineFactory, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * import a graph
+     *
+     * @param path               the edge list file
+     * @param graphEngineFactory creates a new, empty, graph engine on every call
+     * @param pool               the pool to parse the chunks on
+     *
+     * @return a new {@link com.hendrix.erdos.graphs.DirectedGraph} or {@link com.hendrix.erdos.graphs.UndirectedGraph}
+     *
+     * @throws IOException if the file can not be read, or has a line that is not an edge
+     */
+    public AbstractGraph read(Path path, Supplier<? extends IGraphEngine> graphEngineFactory, ForkJoinPool pool) throws IOException {
+        VertexInterner vertices = new VertexInterner();
+        List<Chunk> chunks      = new ArrayList<>();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size           = channel.size();
+            long start          = _header ? nextLineOf(channel, 0, size) : 0;
+            long chunkSize      = (_chunkSize > 0) ? _chunkSize
+                                                   : Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, size / (4L * pool.getParallelism())));
+
+            while (start < size) {
+                long end        = nextLineOf(channel, Math.min(start + chunkSize, size) - 1, size);
+
+                if(end - start > Integer.MAX_VALUE)
+                    throw new IOException(path + ": line at " + start + " is too long");
+
+                chunks.add(new Chunk(start, (int) (end - start)));
+
+                start           = end;
+            }
+
+            ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[chunks.size()];
+
+            for (int c = 0; c < tasks.length; c++) {
+                final Chunk chunk   = chunks.get(c);
+
+                tasks[c]            = ForkJoinTask.adapt(() -> {
+                    try {
+                        chunk.parse(channel, vertices.newCache());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(new IOException(path + ": " + e.getMessage(), e));
+                    }
+                });
+            }
+
+            pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+        } catch (UncheckedIOException e) {
+            throw ioExceptionOf(e);
+        }
+
+        // bulk load the edges, in the order of the file
+
+        String[] names          = vertices.names();
+        int numEdges            = 0;
+
+        for (Chunk chunk : chunks)
+            numEdges           += chunk._count;
+
+        GraphBuilder builder    = new GraphBuilder(_direction, names.length, numEdges).selfLoops(_selfLoops)
+                                                                                     .multiEdges(_multiEdges);
+
+        for (String name : names)
+            builder.addVertex(new Vertex<>(name));
+
+        for (Chunk chunk : chunks) {
+            builder.addEdges(chunk._sources, chunk._targets, chunk._weights, chunk._count);
+            chunk.clear();
+        }
+
+        return builder.build(graphEngineFactory);
+    }
+
+    /**
+     * @return the start of the line that follows the line of the position, or the size of the file
+     */
+    private static long nextLineOf(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+
+        for (long at = position; at < size; ) {
+            buffer.clear();
+
+            int read = channel.read(buffer, at);
+
+            if(read <= 0)
+                break;
+
+            for (int i = 0; i < read; i++) {
+                if(buffer.get(i) == '\n')
+                    return at + i + 1;
+            }
+
+            at += read;
+        }
+
+        return size;
+    }
+
+    /**
+     * the pool may rethrow the exception of a worker wrapped in an exception of the same type
+     */
+    private static IOException ioExceptionOf(UncheckedIOException e) {
+        Throwable cause = e;
+
+        while (cause instanceof UncheckedIOException)
+            cause = cause.getCause();
+
+        return (cause instanceof IOException) ? (IOException) cause : new IOException(e);
+    }
+
+    /**
+     * a range of lines of the file, and the edges that were parsed out of it
+     */
+    private static final class Chunk {
+        private final long _start;
+        private final int _length;
+        private int[] _sources      = null;
+        private int[] _targets      = null;
+        /**
+         * the weights, {@code null} while all of the weights are zero
+         */
+        private float[] _weights    = null;
+        private int _count          = 0;
+
+        Chunk(long start, int length) {
+            _start  = start;
+            _length = length;
+        }
+
+        void parse(FileChannel channel, VertexInterner.Cache vertices) throws IOException {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, _start, _length);
+
+            try {
+                ByteTokenizer tokens    = new ByteTokenizer(buffer);
+                int capacity            = Math.max(16, _length >>> 4);
+
+                _sources                = new int[capacity];
+                _targets                = new int[capacity];
+
+                while (tokens.nextLine()) {
+                    if(tokens.lineStartsWith('#') || tokens.lineStartsWith('%'))
+                        continue;
+
+                    tokens.nextToken();
+
+                    int source          = vertices.intern(tokens);
+
+                    if(!tokens.nextToken())
+                        throw new IOException("edge without a target at " + (_start + tokens.lineStart()) + ": " + tokens.line());
+
+                    int target          = vertices.intern(tokens);
+                    float weight        = 0f;
+
+                    if(tokens.nextToken()) {
+                        try {
+                            weight      = tokens.parseFloat();
+                        } catch (NumberFormatException e) {
+                            throw new IOException("bad weight at " + (_start + tokens.lineStart()) + ": " + tokens.line(), e);
+                        }
+                    }
+
+                    add(source, target, weight);
+                }
+            } finally {
+                SBufferUtils.free(buffer);
+            }
+        }
+
+        private void add(int source, int target, float weight) {
+            if(_count == _sources.length) {
+                int capacity    = _count << 1;
+
+                _sources        = Arrays.copyOf(_sources, capacity);
+                _targets        = Arrays.copyOf(_targets, capacity);
+
+                if(_weights != null)
+                    _weights    = Arrays.copyOf(_weights, capacity);
+            }
+
+            if(weight != 0f && _weights == null)
+                _weights        = new float[_sources.length];
+
+            if(_weights != null)
+                _weights[_count] = weight;
+
+            _sources[_count]    = source;
+            _targets[_count++]  = target;
+        }
+
+        void clear() {
+            _sources    = null;
+            _targets    = null;
+            _weights    = null;
+        }
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.hendrix.erdos.io;
+
+import com.hendrix.erdos.graphs.IGraph;
+import com.hendrix.erdos.graphs.engines.IGraphEngine;
+import com.hendrix.erdos.graphs.engines.NeighborCursor;
+import com.hendrix.erdos.types.Edge;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+
+import java.io.IOException;
+
+/**
+ * visits the edges of a graph by the dense indices of their vertices, for the text writers. the edges are
+ * walked through the neighbor cursor of the engine, so no edge list or {@code String} is built on the way.
+ *
+ * @author Tomer Shalev
+ * @see NeighborCursor
+ */
+@FunctionalInterface
+interface EdgeVisitor {
+    /**
+     * @param source the dense index of the source vertex
+     * @param target the dense index of the target vertex
+     * @param weight the weight of the edge
+     */
+    void visit(int source, int target, float weight) throws IOException;
+
+    /**
+     * visit every edge of a graph once. undirected edges are visited with {@code source <= target},
+     * and multi edges are visited one by one.
+     *
+     * @param graph   the graph
+     * @param visitor the visitor
+     */
+    static void forEachEdge(IGraph graph, EdgeVisitor visitor) throws IOException {
+        IGraphEngine engine     = graph.getGraphEngine();
+        NeighborCursor cursor   = engine.neighborCursor();
+        boolean undirected      = graph.getGraphType() == EDGE_DIRECTION.UNDIRECTED;
+        boolean multiEdges      = graph.hasMultiEdges();
+        int n                   = engine.numVertices();
+
+        for (int u = 0; u < n; u++) {
+            for (cursor.reset(u); cursor.next(); ) {
+                int v           = cursor.target();
+
+                if(undirected && v < u)
+                    continue;
+
+                if(!multiEdges) {
+                    visitor.visit(u, v, cursor.weight());
+                    continue;
+                }
+
+                for (Edge edge : engine.getMultiEdges(engine.vertexAt(u), engine.vertexAt(v)))
+                    visitor.visit(u, v, edge.getWeight());
+            }
+        }
+    }
+}
@@ -0,0 +1,396 @@
+package com.hendrix.erdos.io;
+
+import com.hendrix.erdos.graphs.AbstractGraph;
+import com.hendrix.erdos.graphs.IGraph;
+import com.hendrix.erdos.graphs.engines.AdjIncidenceGraphEngine;
+import com.hendrix.erdos.graphs.engines.IGraphEngine;
+import com.hendrix.erdos.types.Edge;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.IVertex;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * the GEXF format of Gephi, streamed with StAX, so neither the file nor the graph is ever held as a DOM:
+ * <pre>
+ * {@code
+ * <gexf xmlns="http://gexf.net/1.3" version="1.3">
+ *   <graph defaultedgetype="directed">
+ *     <attributes class="node">
+ *       <attribute id="weight" title="weight" type="float"/>
+ *     </attributes>
+ *     <nodes>
+ *       <node id="0" label="a"><attvalues><attvalue for="weight" value="2.0"/></attvalues></node>
+ *     </nodes>
+ *     <edges>
+ *       <edge id="0" source="0" target="0" weight="1.5" label="loop"/>
+ *     </edges>
+ *   </graph>
+ * </gexf>
+ * }
+ * </pre>
+ * <ul>
+ *     <li/>the labels are the tags of the vertices and edges, and the edge weights are the weights of the edges.
+ *     edges without a weight weigh {@code 1}, like in Gephi.
+ *     <li/>the attributes titled {@code weight}, of the nodes, and {@code data} are mapped to the weights of the
+ *     vertices and to the data, that goes through a {@link TextDataCodec}. other attributes are skipped.
+ *     <li/>the {@code defaultedgetype} of the graph is its direction, {@code mutual} is read as undirected.
+ *     the type of single edges is ignored, and so are the dynamics of the graph.
+ * </ul>
+ *
+ * @author Tomer Shalev
+ * @see GraphMLFile
+ */
+@SuppressWarnings("UnusedDeclaration")
+public class GexfFile {
+    public static final String NAMESPACE    = "http://gexf.net/1.3";
+
+    private static final int WEIGHT         = 1;
+    private static final int DATA           = 2;
+
+    private GexfFile() {}
+
+    /**
+     * read a GEXF file into a graph with an {@link AdjIncidenceGraphEngine}, with the data as strings
+     */
+    static public AbstractGraph read(Path path) throws IOException {
+        return read(path, AdjIncidenceGraphEngine::new, TextDataCodec.STRINGS);
+    }
+
+    /**
+     * read a GEXF file into a graph
+     *
+     * @param path               the file
+     * @param graphEngineFactory creates a new, empty, graph engine on every call
+     * @param codec              parses the data of the vertices and edges
+     *
+     * @return a new {@link com.hendrix.erdos.graphs.DirectedGraph} or {@link com.hendrix.erdos.graphs.UndirectedGraph}
+     *
+     * @throws IOException if the file can not be read, or is not a GEXF file
+     */
+    static public AbstractGraph read(Path path, Supplier<? extends IGraphEngine> graphEngineFactory, TextDataCodec codec) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(channel, graphEngineFactory, codec);
+        } catch (IOException e) {
+            throw new IOException(path + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * read a graph out of a GEXF stream. the channel is not closed.
+     *
+     * @param channel            the channel
+     * @param graphEngineFactory creates a new, empty, graph engine on every call
+     * @param codec              parses the data of the vertices and edges
+     *
+     * @return a new {@link com.hendrix.erdos.graphs.DirectedGraph} or {@link com.hendrix.erdos.graphs.UndirectedGraph}
+     *
+     * @throws IOException if the channel can not be read, or does not hold a GEXF graph
+     */
+    static public AbstractGraph read(ReadableByteChannel channel, Supplier<? extends IGraphEngine> graphEngineFactory,
+                                     TextDataCodec codec) throws IOException {
+        GraphLoader loader                  = new GraphLoader();
+        Map<String, Integer> nodeAttributes = new HashMap<>();
+        Map<String, Integer> edgeAttributes = new HashMap<>();
+        Map<String, Integer> attributes     = null;
+        EDGE_DIRECTION direction            = null;
+        IVertex<Object> vertex              = null;
+        int edge                            = -1;
+
+        try {
+            XMLStreamReader xml             = XmlStreams.reader(channel);
+
+            try {
+                while (xml.hasNext()) {
+                    int event               = xml.next();
+
+                    if(event == XMLStreamConstants.END_ELEMENT) {
+                        if(xml.getLocalName().equals("node") || xml.getLocalName().equals("edge")) {
+                            vertex          = null;
+                            edge            = -1;
+                        }
+
+                        continue;
+                    }
+
+                    if(event != XMLStreamConstants.START_ELEMENT)
+                        continue;
+
+                    switch (xml.getLocalName()) {
+                        case "graph":
+                            if(direction != null)
+                                throw new IOException("nested graphs are not supported, at line " + xml.getLocation().getLineNumber());
+
+                            String type     = XmlStreams.attribute(xml, "defaultedgetype");
+
+                            direction       = ("undirected".equals(type) || "mutual".equals(type)) ? EDGE_DIRECTION.UNDIRECTED
+                                                                                                 : EDGE_DIRECTION.DIRECTED;
+                            break;
+
+                        case "attributes":
+                            attributes      = "edge".equals(XmlStreams.attribute(xml, "class")) ? edgeAttributes : nodeAttributes;
+                            break;
+
+                        case "attribute":
+                            Integer role    = roleOf(XmlStreams.attribute(xml, "title"), attributes == nodeAttributes);
+
+                            if(attributes != null && role != null)
+                                attributes.put(XmlStreams.attribute(xml, "id"), role);
+
+                            break;
+
+                        case "node":
+                            vertex          = loader.vertexAt(loader.vertexOf(required(xml, "id")));
+
+                            String label    = XmlStreams.attribute(xml, "label");
+
+                            if(label != null)
+                                vertex.setTag(label);
+
+                            break;
+
+                        case "edge":
+                            edge            = loader.addEdge(loader.vertexOf(required(xml, "source")),
+                                                             loader.vertexOf(required(xml, "target")));
+
+                            String weight   = XmlStreams.attribute(xml, "weight");
+                            String tag      = XmlStreams.attribute(xml, "label");
+
+                            loader.setWeight(edge, (weight == null) ? 1f : parseWeight(weight, xml));
+
+                            if(tag != null)
+                                loader.setTag(edge, tag);
+
+                            break;
+
+                        case "attvalue":
+                            String value    = XmlStreams.attribute(xml, "value");
+                            Integer owned   = (vertex != null) ? nodeAttributes.get(XmlStreams.attribute(xml, "for"))
+                                                               : edgeAttributes.get(XmlStreams.attribute(xml, "for"));
+
+                            if(owned == null || value == null || (vertex == null && edge == -1))
+                                break;
+
+                            if(owned == WEIGHT)
+                                vertex.assignWeight(parseWeight(value, xml));
+                            else if(vertex != null)
+                                vertex.setData(codec.decode(value));
+                            else
+                                loader.setData(edge, codec.decode(value));
+
+                            break;
+                    }
+                }
+            } finally {
+                xml.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("bad GEXF: " + e.getMessage(), e);
+        }
+
+        if(direction == null)
+            throw new IOException("not a GEXF graph");
+
+        return loader.build(direction, graphEngineFactory);
+    }
+
+    /**
+     * write a graph into a GEXF file, with the data as strings
+     */
+    static public void write(IGraph graph, Path path) throws IOException {
+        write(graph, path, TextDataCodec.STRINGS);
+    }
+
+    /**
+     * write a graph into a GEXF file
+     *
+     * @param graph the graph
+     * @param path  the destination file
+     * @param codec formats the data of the vertices and edges
+     *
+     * @throws IOException if the file can not be written
+     */
+    static public void write(IGraph graph, Path path, TextDataCodec codec) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(graph, channel, codec);
+        }
+    }
+
+    /**
+     * stream a graph into a channel as GEXF, with the vertex indices as the node ids. every edge is written with
+     * its weight. the channel is not closed.
+     *
+     * @param graph   the graph
+     * @param channel the channel
+     * @param codec   formats the data of the vertices and edges
+     *
+     * @throws IOException if the channel can not be written
+     */
+    static public void write(IGraph graph, WritableByteChannel channel, TextDataCodec codec) throws IOException {
+        IGraphEngine engine     = graph.getGraphEngine();
+        OutputStream out        = XmlStreams.outputOf(channel);
+
+        try {
+            XMLStreamWriter xml = XmlStreams.writer(out);
+
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeCharacters("\n");
+            xml.writeStartElement("gexf");
+            xml.writeDefaultNamespace(NAMESPACE);
+            xml.writeAttribute("version", "1.3");
+            xml.writeCharacters("\n");
+
+            xml.writeStartElement("graph");
+            xml.writeAttribute("defaultedgetype", graph.getGraphType() == EDGE_DIRECTION.UNDIRECTED ? "undirected" : "directed");
+            xml.writeCharacters("\n");
+
+            xml.writeStartElement("attributes");
+            xml.writeAttribute("class", "node");
+            writeAttribute(xml, "weight", "float");
+            writeAttribute(xml, "data", "string");
+            xml.writeEndElement();
+            xml.writeCharacters("\n");
+
+            xml.writeStartElement("attributes");
+            xml.writeAttribute("class", "edge");
+            writeAttribute(xml, "data", "string");
+            xml.writeEndElement();
+            xml.writeCharacters("\n");
+
+            xml.writeStartElement("nodes");
+            xml.writeCharacters("\n");
+
+            int n               = engine.numVertices();
+
+            for (int i = 0; i < n; i++) {
+                IVertex vertex  = engine.vertexAt(i);
+                boolean values  = vertex.getWeight() != 0f || vertex.getData() != null;
+
+                if(values)
+                    xml.writeStartElement("node");
+                else
+                    xml.writeEmptyElement("node");
+
+                xml.writeAttribute("id", Integer.toString(i));
+
+                if(vertex.getTag() != null)
+                    xml.writeAttribute("label", vertex.getTag());
+
+                if(values) {
+                    xml.writeStartElement("attvalues");
+                    writeValue(xml, "weight", (vertex.getWeight() == 0f) ? null : Float.toString(vertex.getWeight()));
+                    writeValue(xml, "data", (vertex.getData() == null) ? null : codec.encode(vertex.getData()));
+                    xml.writeEndElement();
+                    xml.writeEndElement();
+                }
+
+                xml.writeCharacters("\n");
+            }
+
+            xml.writeEndElement();
+            xml.writeCharacters("\n");
+            xml.writeStartElement("edges");
+            xml.writeCharacters("\n");
+
+            int id              = 0;
+
+            for (Edge edge : engine.edges()) {
+                boolean values  = edge.getData() != null;
+
+                if(values)
+                    xml.writeStartElement("edge");
+                else
+                    xml.writeEmptyElement("edge");
+
+                xml.writeAttribute("id", Integer.toString(id++));
+                xml.writeAttribute("source", Integer.toString(engine.indexOf(edge.getV1())));
+                xml.writeAttribute("target", Integer.toString(engine.indexOf(edge.getV2())));
+                xml.writeAttribute("weight", Float.toString(edge.getWeight()));
+
+                if(edge.getTag() != null)
+                    xml.writeAttribute("label", edge.getTag());
+
+                if(values) {
+                    xml.writeStartElement("attvalues");
+                    writeValue(xml, "data", codec.encode(edge.getData()));
+                    xml.writeEndElement();
+                    xml.writeEndElement();
+                }
+
+                xml.writeCharacters("\n");
+            }
+
+            xml.writeEndElement();
+            xml.writeCharacters("\n");
+            xml.writeEndElement();
+            xml.writeCharacters("\n");
+            xml.writeEndElement();
+            xml.writeCharacters("\n");
+            xml.writeEndDocument();
+            xml.flush();
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("can not write GEXF: " + e.getMessage(), e);
+        }
+
+        out.flush();
+    }
+
+    private static void writeAttribute(XMLStreamWriter xml, String title, String type) throws XMLStreamException {
+        xml.writeEmptyElement("attribute");
+        xml.writeAttribute("id", title);
+        xml.writeAttribute("title", title);
+        xml.writeAttribute("type", type);
+    }
+
+    private static void writeValue(XMLStreamWriter xml, String attribute, String value) throws XMLStreamException {
+        if(value == null)
+            return;
+
+        xml.writeEmptyElement("attvalue");
+        xml.writeAttribute("for", attribute);
+        xml.writeAttribute("value", value);
+    }
+
+    private static Integer roleOf(String title, boolean node) {
+        if(title == null)
+            return null;
+
+        if(node && title.equalsIgnoreCase("weight"))
+            return WEIGHT;
+
+        return title.equalsIgnoreCase("data") ? DATA : null;
+    }
+
+    private static float parseWeight(String text, XMLStreamReader xml) throws IOException {
+        try {
+            return Float.parseFloat(text.trim());
+        } catch (NumberFormatException e) {
+            throw new IOException("bad weight at line " + xml.getLocation().getLineNumber() + ": " + text, e);
+        }
+    }
+
+    private static String required(XMLStreamReader xml, String name) throws IOException {
+        String value = XmlStreams.attribute(xml, name);
+
+        if(value == null)
+            throw new IOException("<" + xml.getLocalName() + "> without " + name + " at line " + xml.getLocation().getLineNumber());
+
+        return value;
+    }
+
+}
@@ -0,0 +1,193 @@
+package com.hendrix.erdos.io;
+
+import com.hendrix.erdos.graphs.AbstractGraph;
+import com.hendrix.erdos.graphs.engines.GraphBuilder;
+import com.hendrix.erdos.graphs.engines.IGraphEngine;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.IVertex;
+import com.hendrix.erdos.types.Vertex;
+import com.hendrix.erdos.utils.SEdgeUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * collects the vertices and edges of a graph file that names its vertices, and may list an edge before its
+ * vertices, like the XML formats, and bulk loads them with a {@link GraphBuilder}. only the edge columns, and
+ * the tags and data of the edges that have any, are held until the graph is built.
+ * <ul>
+ *     <li/>a vertex is created the first time its name is met, by its declaration or by an edge.
+ *     <li/>self loops and multi edges are supported if the file has any.
+ * </ul>
+ *
+ * @author Tomer Shalev
+ * @see GraphBuilder
+ */
+final class GraphLoader {
+    private final Map<String, Integer> _indices = new HashMap<>();
+    private final List<IVertex<Object>> _vertices = new ArrayList<>();
+    private int[] _sources                      = new int[16];
+    private int[] _targets                      = new int[16];
+    private float[] _weights                    = null;
+    private String[] _tags                      = null;
+    private Object[] _data                      = null;
+    private int _numEdges                       = 0;
+
+    /**
+     * @param name the name of a vertex in the file
+     *
+     * @return the index of the vertex, that is created if it was not met yet
+     */
+    int vertexOf(String name) {
+        Integer index   = _indices.get(name);
+
+        if(index != null)
+            return index;
+
+        _indices.put(name, _vertices.size());
+        _vertices.add(new Vertex<>());
+
+        return _vertices.size() - 1;
+    }
+
+    IVertex<Object> vertexAt(int index) {
+        return _vertices.get(index);
+    }
+
+    /**
+     * @return the index of the new edge
+     */
+    int addEdge(int source, int target) {
+        if(_numEdges == _sources.length) {
+            int capacity    = _numEdges << 1;
+
+            _sources        = Arrays.copyOf(_sources, capacity);
+            _targets        = Arrays.copyOf(_targets, capacity);
+
+            if(_weights != null)
+                _weights    = Arrays.copyOf(_weights, capacity);
+            if(_tags != null)
+                _tags       = Arrays.copyOf(_tags, capacity);
+            if(_data != null)
+                _data       = Arrays.copyOf(_data, capacity);
+        }
+
+        _sources[_numEdges] = source;
+        _targets[_numEdges] = target;
+
+        return _numEdges++;
+    }
+
+    void setWeight(int edge, float weight) {
+        if(weight == 0f && _weights == null)
+            return;
+
+        if(_weights == null)
+            _weights    = new float[_sources.length];
+
+        _weights[edge]  = weight;
+    }
+
+    void setTag(int edge, String tag) {
+        if(_tags == null)
+            _tags       = new String[_sources.length];
+
+        _tags[edge]     = tag;
+    }
+
+    void setData(int edge, Object data) {
+        if(_data == null)
+            _data       = new Object[_sources.length];
+
+        _data[edge]     = data;
+    }
+
+    /**
+     * bulk load the graph
+     *
+     * @param direction          the edge direction of the graph
+     * @param graphEngineFactory creates a new, empty, graph engine on every call
+     *
+     * @return a new {@link com.hendrix.erdos.graphs.DirectedGraph} or {@link com.hendrix.erdos.graphs.UndirectedGraph}
+     */
+    AbstractGraph build(EDGE_DIRECTION direction, Supplier<? extends IGraphEngine> graphEngineFactory) {
+        int n                   = _vertices.size();
+        int m                   = _numEdges;
+
+        // sort the edges like the bulk load does, undirected edges with source <= target, to find
+        // the self loops and multi edges, and to match the loaded edges with their tags and data
+
+        if(direction == EDGE_DIRECTION.UNDIRECTED) {
+            for (int e = 0; e < m; e++) {
+                if(_sources[e] > _targets[e]) {
+                    int source  = _sources[e];
+
+                    _sources[e] = _targets[e];
+                    _targets[e] = source;
+                }
+            }
+        }
+
+        int[] order             = SEdgeUtils.sortedOrderOf(_sources, _targets, m, n);
+        int[] sources           = new int[m];
+        int[] targets           = new int[m];
+        boolean selfLoops       = false;
+        boolean multiEdges      = false;
+
+        for (int k = 0; k < m; k++) {
+            sources[k]          = _sources[order[k]];
+            targets[k]          = _targets[order[k]];
+            selfLoops          |= sources[k] == targets[k];
+            multiEdges         |= k > 0 && sources[k] == sources[k - 1] && targets[k] == targets[k - 1];
+        }
+
+        _sources                = null;
+        _targets                = null;
+
+        float[] weights         = permute(_weights, order, m);
+        String[] tags           = permute(_tags, order, m);
+        Object[] data           = permute(_data, order, m);
+        IVertex[] vertices      = _vertices.toArray(new IVertex[n]);
+
+        GraphBuilder builder    = new GraphBuilder(direction, n, m).selfLoops(selfLoops).multiEdges(multiEdges);
+
+        for (IVertex vertex : vertices)
+            builder.addVertex(vertex);
+
+        AbstractGraph graph     = builder.addEdges(sources, targets, weights, m).build(graphEngineFactory);
+
+        if(tags != null || data != null)
+            BinaryGraphFile.restoreEdges(graph.getGraphEngine(), vertices, sources, targets, weights, tags, data, m);
+
+        return graph;
+    }
+
+    private static float[] permute(float[] values, int[] order, int m) {
+        if(values == null)
+            return null;
+
+        float[] permuted    = new float[m];
+
+        for (int k = 0; k < m; k++)
+            permuted[k]     = values[order[k]];
+
+        return permuted;
+    }
+
+    private static <T> T[] permute(T[] values, int[] order, int m) {
+        if(values == null)
+            return null;
+
+        T[] permuted        = Arrays.copyOf(values, m);
+
+        for (int k = 0; k < m; k++)
+            permuted[k]     = values[order[k]];
+
+        return permuted;
+    }
+
+}
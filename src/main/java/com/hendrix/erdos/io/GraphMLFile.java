@@ -0,0 +1,375 @@
+package com.hendrix.erdos.io;
+
+import com.hendrix.erdos.graphs.AbstractGraph;
+import com.hendrix.erdos.graphs.IGraph;
+import com.hendrix.erdos.graphs.engines.AdjIncidenceGraphEngine;
+import com.hendrix.erdos.graphs.engines.IGraphEngine;
+import com.hendrix.erdos.types.Edge;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.IVertex;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * the GraphML format, streamed with StAX, so neither the file nor the graph is ever held as a DOM:
+ * <pre>
+ * {@code
+ * <graphml xmlns="http://graphml.graphdrawing.org/xmlns">
+ *   <key id="vt" for="node" attr.name="tag" attr.type="string"/>
+ *   <key id="ew" for="edge" attr.name="weight" attr.type="float"/>
+ *   <graph id="G" edgedefault="directed">
+ *     <node id="n0"><data key="vt">a</data></node>
+ *     <node id="n1"/>
+ *     <edge source="n0" target="n1"><data key="ew">1.5</data></edge>
+ *   </graph>
+ * </graphml>
+ * }
+ * </pre>
+ * <ul>
+ *     <li/>the keys named {@code tag} or {@code label}, {@code weight} and {@code data} are mapped to the tag,
+ *     the weight and the data of the vertices and edges, other keys are skipped. the data goes through a
+ *     {@link TextDataCodec}. key defaults are not applied.
+ *     <li/>the {@code edgedefault} of the graph is its direction, the direction of single edges is ignored.
+ *     <li/>a file holds a single graph, nested graphs and hyperedges are not supported.
+ * </ul>
+ * the vertices are created as they are met, by their declaration or by an edge, and the edges are bulk loaded
+ * once the file is read. writing walks the vertex table and the edges of the engine straight into the stream,
+ * without building the strings of {@link com.hendrix.erdos.graphs.engines.AbstractGraphEngine#toString()}.
+ *
+ * @author Tomer Shalev
+ * @see GexfFile
+ */
+@SuppressWarnings("UnusedDeclaration")
+public class GraphMLFile {
+    public static final String NAMESPACE    = "http://graphml.graphdrawing.org/xmlns";
+
+    private static final int TAG            = 1;
+    private static final int WEIGHT         = 2;
+    private static final int DATA           = 3;
+
+    private GraphMLFile() {}
+
+    /**
+     * read a GraphML file into a graph with an {@link AdjIncidenceGraphEngine}, with the data as strings
+     */
+    static public AbstractGraph read(Path path) throws IOException {
+        return read(path, AdjIncidenceGraphEngine::new, TextDataCodec.STRINGS);
+    }
+
+    /**
+     * read a GraphML file into a graph
+     *
+     * @param path               the file
+     * @param graphEngineFactory creates a new, empty, graph engine on every call
+     * @param codec              parses the data of the vertices and edges
+     *
+     * @return a new {@link com.hendrix.erdos.graphs.DirectedGraph} or {@link com.hendrix.erdos.graphs.UndirectedGraph}
+     *
+     * @throws IOException if the file can not be read, or is not a GraphML file
+     */
+    static public AbstractGraph read(Path path, Supplier<? extends IGraphEngine> graphEngineFactory, TextDataCodec codec) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(channel, graphEngineFactory, codec);
+        } catch (IOException e) {
+            throw new IOException(path + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * read a graph out of a GraphML stream. the channel is not closed.
+     *
+     * @param channel            the channel
+     * @param graphEngineFactory creates a new, empty, graph engine on every call
+     * @param codec              parses the data of the vertices and edges
+     *
+     * @return a new {@link com.hendrix.erdos.graphs.DirectedGraph} or {@link com.hendrix.erdos.graphs.UndirectedGraph}
+     *
+     * @throws IOException if the channel can not be read, or does not hold a GraphML graph
+     */
+    static public AbstractGraph read(ReadableByteChannel channel, Supplier<? extends IGraphEngine> graphEngineFactory,
+                                     TextDataCodec codec) throws IOException {
+        GraphLoader loader          = new GraphLoader();
+        Map<String, Integer> keys   = new HashMap<>();
+        EDGE_DIRECTION direction    = null;
+        IVertex<Object> vertex      = null;
+        int edge                    = -1;
+
+        try {
+            XMLStreamReader xml     = XmlStreams.reader(channel);
+
+            try {
+                while (xml.hasNext()) {
+                    int event       = xml.next();
+
+                    if(event == XMLStreamConstants.END_ELEMENT) {
+                        if(xml.getLocalName().equals("node") || xml.getLocalName().equals("edge")) {
+                            vertex  = null;
+                            edge    = -1;
+                        }
+
+                        continue;
+                    }
+
+                    if(event != XMLStreamConstants.START_ELEMENT)
+                        continue;
+
+                    switch (xml.getLocalName()) {
+                        case "key":
+                            keys.put(XmlStreams.attribute(xml, "id"), roleOf(XmlStreams.attribute(xml, "attr.name")));
+                            break;
+
+                        case "graph":
+                            if(direction != null)
+                                throw new IOException("nested graphs are not supported, at line " + xml.getLocation().getLineNumber());
+
+                            direction = "undirected".equals(XmlStreams.attribute(xml, "edgedefault")) ? EDGE_DIRECTION.UNDIRECTED
+                                                                                                     : EDGE_DIRECTION.DIRECTED;
+                            break;
+
+                        case "node":
+                            vertex  = loader.vertexAt(loader.vertexOf(required(xml, "id")));
+                            break;
+
+                        case "edge":
+                            edge    = loader.addEdge(loader.vertexOf(required(xml, "source")),
+                                                     loader.vertexOf(required(xml, "target")));
+                            break;
+
+                        case "hyperedge":
+                            throw new IOException("hyperedges are not supported, at line " + xml.getLocation().getLineNumber());
+
+                        case "data":
+                            Integer role    = keys.get(XmlStreams.attribute(xml, "key"));
+                            int line        = xml.getLocation().getLineNumber();
+                            String text     = xml.getElementText();
+
+                            if(role != null && (vertex != null || edge != -1))
+                                assign(loader, vertex, edge, role, text, codec, line);
+
+                            break;
+                    }
+                }
+            } finally {
+                xml.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("bad GraphML: " + e.getMessage(), e);
+        }
+
+        if(direction == null)
+            throw new IOException("not a GraphML graph");
+
+        return loader.build(direction, graphEngineFactory);
+    }
+
+    /**
+     * write a graph into a GraphML file, with the data as strings
+     */
+    static public void write(IGraph graph, Path path) throws IOException {
+        write(graph, path, TextDataCodec.STRINGS);
+    }
+
+    /**
+     * write a graph into a GraphML file
+     *
+     * @param graph the graph
+     * @param path  the destination file
+     * @param codec formats the data of the vertices and edges
+     *
+     * @throws IOException if the file can not be written
+     */
+    static public void write(IGraph graph, Path path, TextDataCodec codec) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(graph, channel, codec);
+        }
+    }
+
+    /**
+     * stream a graph into a channel as GraphML, with the vertex indices as the node ids. tags, non zero
+     * weights and data are written as data elements. the channel is not closed.
+     *
+     * @param graph   the graph
+     * @param channel the channel
+     * @param codec   formats the data of the vertices and edges
+     *
+     * @throws IOException if the channel can not be written
+     */
+    static public void write(IGraph graph, WritableByteChannel channel, TextDataCodec codec) throws IOException {
+        IGraphEngine engine     = graph.getGraphEngine();
+        OutputStream out        = XmlStreams.outputOf(channel);
+
+        try {
+            XMLStreamWriter xml = XmlStreams.writer(out);
+
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeCharacters("\n");
+            xml.writeStartElement("graphml");
+            xml.writeDefaultNamespace(NAMESPACE);
+            xml.writeCharacters("\n");
+
+            writeKey(xml, "vt", "node", "tag", "string");
+            writeKey(xml, "vw", "node", "weight", "float");
+            writeKey(xml, "vd", "node", "data", "string");
+            writeKey(xml, "et", "edge", "tag", "string");
+            writeKey(xml, "ew", "edge", "weight", "float");
+            writeKey(xml, "ed", "edge", "data", "string");
+
+            xml.writeStartElement("graph");
+            xml.writeAttribute("id", "G");
+            xml.writeAttribute("edgedefault", graph.getGraphType() == EDGE_DIRECTION.UNDIRECTED ? "undirected" : "directed");
+            xml.writeCharacters("\n");
+
+            int n               = engine.numVertices();
+
+            for (int i = 0; i < n; i++) {
+                IVertex vertex  = engine.vertexAt(i);
+                boolean empty   = vertex.getTag() == null && vertex.getWeight() == 0f && vertex.getData() == null;
+
+                if(empty)
+                    xml.writeEmptyElement("node");
+                else
+                    xml.writeStartElement("node");
+
+                xml.writeAttribute("id", "n" + i);
+
+                if(!empty) {
+                    writeData(xml, "vt", vertex.getTag());
+                    writeData(xml, "vw", (vertex.getWeight() == 0f) ? null : Float.toString(vertex.getWeight()));
+                    writeData(xml, "vd", (vertex.getData() == null) ? null : codec.encode(vertex.getData()));
+                    xml.writeEndElement();
+                }
+
+                xml.writeCharacters("\n");
+            }
+
+            for (Edge edge : engine.edges()) {
+                boolean empty   = edge.getTag() == null && edge.getWeight() == 0f && edge.getData() == null;
+
+                if(empty)
+                    xml.writeEmptyElement("edge");
+                else
+                    xml.writeStartElement("edge");
+
+                xml.writeAttribute("source", "n" + engine.indexOf(edge.getV1()));
+                xml.writeAttribute("target", "n" + engine.indexOf(edge.getV2()));
+
+                if(!empty) {
+                    writeData(xml, "et", edge.getTag());
+                    writeData(xml, "ew", (edge.getWeight() == 0f) ? null : Float.toString(edge.getWeight()));
+                    writeData(xml, "ed", (edge.getData() == null) ? null : codec.encode(edge.getData()));
+                    xml.writeEndElement();
+                }
+
+                xml.writeCharacters("\n");
+            }
+
+            xml.writeEndElement();
+            xml.writeCharacters("\n");
+            xml.writeEndElement();
+            xml.writeCharacters("\n");
+            xml.writeEndDocument();
+            xml.flush();
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("can not write GraphML: " + e.getMessage(), e);
+        }
+
+        out.flush();
+    }
+
+    private static void writeKey(XMLStreamWriter xml, String id, String owner, String name, String type) throws XMLStreamException {
+        xml.writeEmptyElement("key");
+        xml.writeAttribute("id", id);
+        xml.writeAttribute("for", owner);
+        xml.writeAttribute("attr.name", name);
+        xml.writeAttribute("attr.type", type);
+        xml.writeCharacters("\n");
+    }
+
+    private static void writeData(XMLStreamWriter xml, String key, String text) throws XMLStreamException {
+        if(text == null)
+            return;
+
+        xml.writeStartElement("data");
+        xml.writeAttribute("key", key);
+        xml.writeCharacters(text);
+        xml.writeEndElement();
+    }
+
+    private static Integer roleOf(String name) {
+        if(name == null)
+            return null;
+
+        switch (name.toLowerCase()) {
+            case "tag":
+            case "label":
+                return TAG;
+            case "weight":
+                return WEIGHT;
+            case "data":
+                return DATA;
+            default:
+                return null;
+        }
+    }
+
+    private static void assign(GraphLoader loader, IVertex<Object> vertex, int edge, int role, String text,
+                               TextDataCodec codec, int line) throws IOException {
+        switch (role) {
+            case TAG:
+                if(vertex != null)
+                    vertex.setTag(text);
+                else
+                    loader.setTag(edge, text);
+                break;
+
+            case WEIGHT:
+                float weight;
+
+                try {
+                    weight = Float.parseFloat(text.trim());
+                } catch (NumberFormatException e) {
+                    throw new IOException("bad weight at line " + line + ": " + text, e);
+                }
+
+                if(vertex != null)
+                    vertex.assignWeight(weight);
+                else
+                    loader.setWeight(edge, weight);
+                break;
+
+            case DATA:
+                Object data = codec.decode(text);
+
+                if(vertex != null)
+                    vertex.setData(data);
+                else
+                    loader.setData(edge, data);
+                break;
+        }
+    }
+
+    private static String required(XMLStreamReader xml, String name) throws IOException {
+        String value = XmlStreams.attribute(xml, name);
+
+        if(value == null)
+            throw new IOException("<" + xml.getLocalName() + "> without " + name + " at line " + xml.getLocation().getLineNumber());
+
+        return value;
+    }
+
+}
@@ -0,0 +1,271 @@
+package com.hendrix.erdos.io;
+
+import com.hendrix.erdos.graphs.AbstractGraph;
+import com.hendrix.erdos.graphs.IGraph;
+import com.hendrix.erdos.graphs.engines.AdjIncidenceGraphEngine;
+import com.hendrix.erdos.graphs.engines.GraphBuilder;
+import com.hendrix.erdos.graphs.engines.IGraphEngine;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.Vertex;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Supplier;
+
+/**
+ * the Matrix Market coordinate format, of the sparse matrix collections, as an adjacency matrix:
+ * <pre>
+ * {@code
+ * %%MatrixMarket matrix coordinate real general
+ * % comments
+ * rows columns entries
+ * row column [value]
+ * }
+ * </pre>
+ * <ul>
+ *     <li/>the rows and columns, counted from {@code 1}, are the vertices, and the values are the weights of
+ *     the edges. {@code pattern} matrices have no values, and their edges weigh {@code 0}.
+ *     <li/>{@code general} matrices are directed graphs, {@code symmetric} matrices are undirected graphs,
+ *     with an entry per edge on or below the diagonal. {@code skew-symmetric} matrices are directed graphs,
+ *     with both edges of every entry, the mirrored one with the negated weight.
+ *     <li/>a coordinate that has more than one entry makes the graph a multigraph, with an edge per entry.
+ *     otherwise, the graph has no multi edges.
+ *     <li/>a matrix that is not square has a vertex per row or column, whichever there are more of.
+ *     <li/>{@code complex} matrices and {@code array} matrices are not supported.
+ * </ul>
+ * reading streams the file through a {@link ByteTokenizer} right into a {@link GraphBuilder}, that is presized by
+ * the size line, so no more than the edge columns of the builder are held in memory. the vertices are tagged with
+ * their row numbers. writing walks the neighbor cursors of the engine, and formats the numbers straight into a
+ * buffer, without a {@code String} per edge.
+ *
+ * @author Tomer Shalev
+ * @see SnapEdgeListFile
+ */
+@SuppressWarnings("UnusedDeclaration")
+public class MatrixMarketFile {
+    public static final String BANNER   = "%%MatrixMarket";
+
+    private MatrixMarketFile() {}
+
+    /**
+     * read a Matrix Market file into a graph with an {@link AdjIncidenceGraphEngine}
+     */
+    static public AbstractGraph read(Path path) throws IOException {
+        return read(path, AdjIncidenceGraphEngine::new);
+    }
+
+    /**
+     * read a Matrix Market file into a graph
+     *
+     * @param path               the file
+     * @param graphEngineFactory creates a new, empty, graph engine on every call
+     *
+     * @return a new {@link com.hendrix.erdos.graphs.DirectedGraph} or {@link com.hendrix.erdos.graphs.UndirectedGraph}
+     *
+     * @throws IOException if the file can not be read, or is not a Matrix Market coordinate file
+     */
+    static public AbstractGraph read(Path path, Supplier<? extends IGraphEngine> graphEngineFactory) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(channel, graphEngineFactory);
+        } catch (IOException e) {
+            throw new IOException(path + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * read a graph out of a channel in the Matrix Market coordinate format. the channel is not closed.
+     *
+     * @param channel            the channel
+     * @param graphEngineFactory creates a new, empty, graph engine on every call
+     *
+     * @return a new {@link com.hendrix.erdos.graphs.DirectedGraph} or {@link com.hendrix.erdos.graphs.UndirectedGraph}
+     *
+     * @throws IOException if the channel can not be read, or does not hold a Matrix Market coordinate matrix
+     */
+    static public AbstractGraph read(ReadableByteChannel channel, Supplier<? extends IGraphEngine> graphEngineFactory) throws IOException {
+        ByteTokenizer tokens    = new ByteTokenizer(channel, ChannelWriter.DEFAULT_BUFFER_SIZE);
+
+        // the banner: %%MatrixMarket matrix coordinate <field> <symmetry>
+
+        if(!tokens.nextLine() || !tokens.nextToken() || !tokens.tokenEquals(BANNER))
+            throw new IOException("not a Matrix Market file");
+
+        String[] banner         = new String[4];
+
+        for (int i = 0; i < banner.length; i++) {
+            if(!tokens.nextToken())
+                throw new IOException("incomplete Matrix Market banner: " + tokens.line());
+
+            banner[i]           = tokens.token().toLowerCase();
+        }
+
+        if(!banner[0].equals("matrix") || !banner[1].equals("coordinate"))
+            throw new IOException("unsupported Matrix Market format: " + banner[0] + " " + banner[1]);
+
+        boolean pattern         = banner[2].equals("pattern");
+
+        if(!pattern && !banner[2].equals("real") && !banner[2].equals("double") && !banner[2].equals("integer"))
+            throw new IOException("unsupported Matrix Market field: " + banner[2]);
+
+        boolean symmetric       = banner[3].equals("symmetric");
+        boolean skew            = banner[3].equals("skew-symmetric");
+
+        if(!symmetric && !skew && !banner[3].equals("general"))
+            throw new IOException("unsupported Matrix Market symmetry: " + banner[3]);
+
+        // the size line, after the comments
+
+        boolean sized;
+
+        while ((sized = tokens.nextLine()) && tokens.lineStartsWith('%'));
+
+        if(!sized)
+            throw new IOException("Matrix Market file without a size line");
+
+        long[] size             = new long[3];
+
+        for (int i = 0; i < size.length; i++) {
+            if(!tokens.nextToken())
+                throw new IOException("bad size line " + tokens.lineNumber() + ": " + tokens.line());
+
+            size[i]             = parseLong(tokens);
+        }
+
+        long rows               = size[0];
+        long columns            = size[1];
+        long entries            = size[2];
+        long n                  = Math.max(rows, columns);
+        long m                  = skew ? entries << 1 : entries;
+
+        if(rows < 0 || columns < 0 || entries < 0 || n > Integer.MAX_VALUE || m > Integer.MAX_VALUE)
+            throw new IOException("unsupported Matrix Market size: " + tokens.line());
+
+        EDGE_DIRECTION direction = symmetric ? EDGE_DIRECTION.UNDIRECTED : EDGE_DIRECTION.DIRECTED;
+        GraphBuilder builder    = new GraphBuilder(direction, (int) n, (int) m);
+        boolean selfLoops       = false;
+        long count              = 0;
+
+        for (int i = 0; i < n; i++)
+            builder.addVertex(new Vertex<>(String.valueOf(i + 1)));
+
+        // the entries
+
+        while (tokens.nextLine()) {
+            if(tokens.lineStartsWith('%'))
+                continue;
+
+            if(++count > entries)
+                throw new IOException("more than " + entries + " entries at line " + tokens.lineNumber());
+
+            tokens.nextToken();
+
+            long row            = parseLong(tokens);
+
+            if(!tokens.nextToken())
+                throw new IOException("entry without a column at line " + tokens.lineNumber() + ": " + tokens.line());
+
+            long column         = parseLong(tokens);
+            float value         = 0f;
+
+            if(row < 1 || row > rows || column < 1 || column > columns)
+                throw new IOException("entry out of range at line " + tokens.lineNumber() + ": " + tokens.line());
+
+            if(!pattern) {
+                if(!tokens.nextToken())
+                    throw new IOException("entry without a value at line " + tokens.lineNumber() + ": " + tokens.line());
+
+                try {
+                    value       = tokens.parseFloat();
+                } catch (NumberFormatException e) {
+                    throw new IOException("bad value at line " + tokens.lineNumber() + ": " + tokens.line(), e);
+                }
+            }
+
+            int u               = (int) row - 1;
+            int v               = (int) column - 1;
+
+            selfLoops          |= u == v;
+
+            builder.addEdge(u, v, value);
+
+            if(skew && u != v)
+                builder.addEdge(v, u, -value);
+        }
+
+        if(count < entries)
+            throw new IOException("expected " + entries + " entries, found " + count);
+
+        return builder.selfLoops(selfLoops).inferMultiEdges(true).build(graphEngineFactory);
+    }
+
+    /**
+     * write a graph into a Matrix Market file
+     *
+     * @param graph the graph
+     * @param path  the destination file
+     *
+     * @throws IOException if the file can not be written
+     */
+    static public void write(IGraph graph, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(graph, channel);
+        }
+    }
+
+    /**
+     * stream a graph into a channel in the Matrix Market coordinate format. directed graphs are written as
+     * {@code general} matrices, undirected graphs as {@code symmetric} matrices, and graphs without weights
+     * as {@code pattern} matrices. the vertex indices, counted from {@code 1}, are the rows and columns.
+     * the channel is not closed.
+     *
+     * @param graph   the graph
+     * @param channel the channel
+     *
+     * @throws IOException if the channel can not be written
+     */
+    static public void write(IGraph graph, WritableByteChannel channel) throws IOException {
+        TextChannelWriter out   = new TextChannelWriter(channel);
+        IGraphEngine engine     = graph.getGraphEngine();
+        boolean undirected      = graph.getGraphType() == EDGE_DIRECTION.UNDIRECTED;
+        boolean[] weighted      = new boolean[1];
+
+        EdgeVisitor.forEachEdge(graph, (source, target, weight) -> weighted[0] |= weight != 0f);
+
+        out.put(BANNER).put(" matrix coordinate ").put(weighted[0] ? "real" : "pattern")
+           .put(undirected ? " symmetric" : " general").put('\n');
+
+        int n                   = engine.numVertices();
+
+        out.put(n).put(' ').put(n).put(' ').put(engine.numEdges()).put('\n');
+
+        // undirected edges are visited with source <= target, and are written below the diagonal
+
+        EdgeVisitor.forEachEdge(graph, (source, target, weight) -> {
+            if(undirected)
+                out.put(target + 1).put(' ').put(source + 1);
+            else
+                out.put(source + 1).put(' ').put(target + 1);
+
+            if(weighted[0])
+                out.put(' ').put(weight);
+
+            out.put('\n');
+        });
+
+        out.flush();
+    }
+
+    private static long parseLong(ByteTokenizer tokens) throws IOException {
+        try {
+            return tokens.parseLong();
+        } catch (NumberFormatException e) {
+            throw new IOException("bad integer at line " + tokens.lineNumber() + ": " + tokens.line(), e);
+        }
+    }
+
+}
@@ -0,0 +1,183 @@
+package com.hendrix.erdos.io;
+
+import com.hendrix.erdos.graphs.AbstractGraph;
+import com.hendrix.erdos.graphs.IGraph;
+import com.hendrix.erdos.graphs.engines.AdjIncidenceGraphEngine;
+import com.hendrix.erdos.graphs.engines.GraphBuilder;
+import com.hendrix.erdos.graphs.engines.IGraphEngine;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.Vertex;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Supplier;
+
+/**
+ * the edge list format of the SNAP datasets, a line {@code FromNodeId ToNodeId} per edge, after a header
+ * of comments:
+ * <pre>
+ * {@code
+ * # Directed graph (each unordered pair of nodes is saved once): web-Google.txt
+ * # Nodes: 875713 Edges: 5105039
+ * # FromNodeId	ToNodeId
+ * 0	11342
+ * }
+ * </pre>
+ * <ul>
+ *     <li/>the graph is undirected if the header says so, and directed otherwise. the counts of the header,
+ *     when present, presize the graph.
+ *     <li/>the node ids are interned into dense vertex indices, in the order they are met, and the vertices are
+ *     tagged with their ids. columns after the target, like time stamps, are skipped.
+ *     <li/>self loops are kept. an edge that is listed more than once makes the graph a multigraph, that keeps
+ *     every edge. an undirected edge that is listed in both orders is not a duplicate, and is kept once.
+ * </ul>
+ * reading streams the file through a {@link ByteTokenizer} right into a {@link GraphBuilder}. writing walks the
+ * neighbor cursors of the engine, with the vertex indices as the node ids, and leaves out the weights.
+ * {@link EdgeListImporter} reads the same files in parallel, on a machine with many cores.
+ *
+ * @author Tomer Shalev
+ * @see MatrixMarketFile
+ */
+@SuppressWarnings("UnusedDeclaration")
+public class SnapEdgeListFile {
+
+    private SnapEdgeListFile() {}
+
+    /**
+     * read a SNAP edge list file into a graph with an {@link AdjIncidenceGraphEngine}
+     */
+    static public AbstractGraph read(Path path) throws IOException {
+        return read(path, AdjIncidenceGraphEngine::new);
+    }
+
+    /**
+     * read a SNAP edge list file into a graph
+     *
+     * @param path               the file
+     * @param graphEngineFactory creates a new, empty, graph engine on every call
+     *
+     * @return a new {@link com.hendrix.erdos.graphs.DirectedGraph} or {@link com.hendrix.erdos.graphs.UndirectedGraph}
+     *
+     * @throws IOException if the file can not be read, or has a line that is not an edge
+     */
+    static public AbstractGraph read(Path path, Supplier<? extends IGraphEngine> graphEngineFactory) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(channel, graphEngineFactory);
+        } catch (IOException e) {
+            throw new IOException(path + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * read a graph out of a channel in the SNAP edge list format. the channel is not closed.
+     *
+     * @param channel            the channel
+     * @param graphEngineFactory creates a new, empty, graph engine on every call
+     *
+     * @return a new {@link com.hendrix.erdos.graphs.DirectedGraph} or {@link com.hendrix.erdos.graphs.UndirectedGraph}
+     *
+     * @throws IOException if the channel can not be read, or has a line that is not an edge
+     */
+    static public AbstractGraph read(ReadableByteChannel channel, Supplier<? extends IGraphEngine> graphEngineFactory) throws IOException {
+        ByteTokenizer tokens            = new ByteTokenizer(channel, ChannelWriter.DEFAULT_BUFFER_SIZE);
+        VertexInterner vertices         = new VertexInterner();
+        VertexInterner.Cache cache      = vertices.newCache();
+        EDGE_DIRECTION direction        = null;
+        GraphBuilder builder            = null;
+        long expectedVertices           = 0;
+        long expectedEdges              = 0;
+        boolean selfLoops               = false;
+
+        while (tokens.nextLine()) {
+            if(tokens.lineStartsWith('#')) {
+                // the header, like "# Directed graph" and "# Nodes: 875713 Edges: 5105039"
+
+                while (builder == null && tokens.nextToken()) {
+                    if(direction == null && tokens.tokenEquals("directed"))
+                        direction       = EDGE_DIRECTION.DIRECTED;
+                    else if(direction == null && tokens.tokenEquals("undirected"))
+                        direction       = EDGE_DIRECTION.UNDIRECTED;
+                    else if(tokens.tokenEquals("nodes:") && tokens.nextToken() && tokens.isCanonicalLong())
+                        expectedVertices = tokens.parseLong();
+                    else if(tokens.tokenEquals("edges:") && tokens.nextToken() && tokens.isCanonicalLong())
+                        expectedEdges   = tokens.parseLong();
+                }
+
+                continue;
+            }
+
+            if(builder == null)
+                builder                 = newBuilder(direction, expectedVertices, expectedEdges);
+
+            tokens.nextToken();
+
+            int source                  = cache.intern(tokens);
+
+            if(!tokens.nextToken())
+                throw new IOException("edge without a target at line " + tokens.lineNumber() + ": " + tokens.line());
+
+            int target                  = cache.intern(tokens);
+
+            selfLoops                  |= source == target;
+
+            builder.addEdge(source, target);
+        }
+
+        if(builder == null)
+            builder                     = newBuilder(direction, 0, 0);
+
+        for (String name : vertices.names())
+            builder.addVertex(new Vertex<>(name));
+
+        return builder.selfLoops(selfLoops).inferMultiEdges(true).build(graphEngineFactory);
+    }
+
+    /**
+     * write a graph into a SNAP edge list file
+     *
+     * @param graph the graph
+     * @param path  the destination file
+     *
+     * @throws IOException if the file can not be written
+     */
+    static public void write(IGraph graph, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(graph, channel);
+        }
+    }
+
+    /**
+     * stream a graph into a channel in the SNAP edge list format, with the vertex indices as the node ids.
+     * undirected edges are written once, with the lower index first. the channel is not closed.
+     *
+     * @param graph   the graph
+     * @param channel the channel
+     *
+     * @throws IOException if the channel can not be written
+     */
+    static public void write(IGraph graph, WritableByteChannel channel) throws IOException {
+        TextChannelWriter out   = new TextChannelWriter(channel);
+        IGraphEngine engine     = graph.getGraphEngine();
+
+        out.put(graph.getGraphType() == EDGE_DIRECTION.UNDIRECTED ? "# Undirected graph (each unordered pair of nodes is saved once)\n"
+                                                                  : "# Directed graph\n");
+        out.put("# Nodes: ").put(engine.numVertices()).put(" Edges: ").put(engine.numEdges()).put('\n');
+        out.put("# FromNodeId\tToNodeId\n");
+
+        EdgeVisitor.forEachEdge(graph, (source, target, weight) -> out.put(source).put('\t').put(target).put('\n'));
+
+        out.flush();
+    }
+
+    private static GraphBuilder newBuilder(EDGE_DIRECTION direction, long expectedVertices, long expectedEdges) {
+        return new GraphBuilder((direction == null) ? EDGE_DIRECTION.DIRECTED : direction,
+                                (int) Math.max(0, Math.min(expectedVertices, Integer.MAX_VALUE)),
+                                (int) Math.max(0, Math.min(expectedEdges, Integer.MAX_VALUE)));
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.hendrix.erdos.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * a streaming writer of text into a channel, through a buffer, the counterpart of {@link ByteTokenizer}.
+ * integers, and weights that are integers, are formatted right into the buffer, without creating
+ * a {@code String} per number.
+ *
+ * @author Tomer Shalev
+ * @see ChannelWriter
+ */
+final class TextChannelWriter {
+    private static final long MAX_EXACT_FLOAT   = 1L << 24;
+
+    private final WritableByteChannel _channel;
+    private final ByteBuffer _buffer;
+    private final byte[] _digits                = new byte[20];
+
+    TextChannelWriter(WritableByteChannel channel) {
+        this(channel, ChannelWriter.DEFAULT_BUFFER_SIZE);
+    }
+
+    TextChannelWriter(WritableByteChannel channel, int bufferSize) {
+        _channel    = channel;
+        _buffer     = ByteBuffer.allocateDirect(Math.max(bufferSize, 64));
+    }
+
+    /**
+     * @param c an ASCII character
+     */
+    TextChannelWriter put(char c) throws IOException {
+        ensure(1);
+        _buffer.put((byte) c);
+
+        return this;
+    }
+
+    /**
+     * write a text as UTF-8
+     */
+    TextChannelWriter put(String text) throws IOException {
+        byte[] bytes    = text.getBytes(StandardCharsets.UTF_8);
+
+        for (int offset = 0; offset < bytes.length; ) {
+            ensure(1);
+
+            int count   = Math.min(_buffer.remaining(), bytes.length - offset);
+
+            _buffer.put(bytes, offset, count);
+            offset     += count;
+        }
+
+        return this;
+    }
+
+    TextChannelWriter put(long value) throws IOException {
+        ensure(_digits.length);
+
+        if(value == Long.MIN_VALUE)
+            return put(Long.toString(value));
+
+        if(value < 0) {
+            _buffer.put((byte) '-');
+            value       = -value;
+        }
+
+        int count       = 0;
+
+        do {
+            _digits[count++]    = (byte) ('0' + value % 10);
+            value              /= 10;
+        } while (value != 0);
+
+        while (count > 0)
+            _buffer.put(_digits[--count]);
+
+        return this;
+    }
+
+    /**
+     * write a float, in the shortest form that is read back as the same float
+     */
+    TextChannelWriter put(float value) throws IOException {
+        if(value == (long) value && Math.abs(value) <= MAX_EXACT_FLOAT)
+            return put((long) value);
+
+        return put(Float.toString(value));
+    }
+
+    /**
+     * write the buffered text to the channel
+     */
+    void flush() throws IOException {
+        _buffer.flip();
+
+        while (_buffer.hasRemaining())
+            _channel.write(_buffer);
+
+        _buffer.clear();
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if(_buffer.remaining() < bytes)
+            flush();
+    }
+
+}
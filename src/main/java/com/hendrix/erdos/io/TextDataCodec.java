@@ -0,0 +1,38 @@
+package com.hendrix.erdos.io;
+
+/**
+ * formats the data of vertices and edges as text, for the XML graph formats, and parses it back
+ *
+ * @author Tomer Shalev
+ * @see BinaryGraphFile.DataCodec
+ */
+public interface TextDataCodec {
+    /**
+     * the default codec, that writes the data with {@link Object#toString()} and reads it back as a string
+     */
+    TextDataCodec STRINGS = new TextDataCodec() {
+        @Override
+        public String encode(Object data) {
+            return data.toString();
+        }
+
+        @Override
+        public Object decode(String text) {
+            return text;
+        }
+    };
+
+    /**
+     * @param data the data of a vertex or an edge, not {@code null}
+     *
+     * @return the text of the data
+     */
+    String encode(Object data);
+
+    /**
+     * @param text the text of the data
+     *
+     * @return the data
+     */
+    Object decode(String text);
+}
@@ -0,0 +1,257 @@
+package com.hendrix.erdos.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * a concurrent interning table, that maps the external identifiers of vertices in a text file to
+ * dense vertex indices, that are handed out as the identifiers are first met. the table is split
+ * into stripes by hash, every stripe is an open addressing table with a lock of its own, so parsers
+ * on different threads rarely wait for each other.
+ * <ul>
+ *     <li/>identifiers that are integers in their canonical form are keyed by their value, and are
+ *     interned without allocating.
+ *     <li/>other identifiers are keyed by their bytes, that are copied once, when the identifier
+ *     is first met.
+ * </ul>
+ *
+ * @author Tomer Shalev
+ */
+final class VertexInterner {
+    private static final int STRIPES    = 64;
+
+    private final Stripe[] _stripes     = new Stripe[STRIPES];
+    private final AtomicInteger _size   = new AtomicInteger();
+
+    VertexInterner() {
+        for (int i = 0; i < STRIPES; i++)
+            _stripes[i] = new Stripe();
+    }
+
+    /**
+     * @return the number of interned identifiers
+     */
+    int size() {
+        return _size.get();
+    }
+
+    /**
+     * @param tokens a tokenizer at an identifier token
+     *
+     * @return the dense index of the identifier
+     */
+    int intern(ByteTokenizer tokens) {
+        if(tokens.isCanonicalLong())
+            return intern(tokens.parseLong());
+
+        ByteBuffer buffer   = tokens.buffer();
+        int start           = tokens.tokenStart();
+        int end             = tokens.tokenEnd();
+        int hash            = 1;
+
+        for (int i = start; i < end; i++)
+            hash            = 31 * hash + buffer.get(i);
+
+        hash                = mix(hash);
+
+        Stripe stripe       = _stripes[hash >>> 26];
+
+        synchronized (stripe) {
+            return stripe.intern(hash, buffer, start, end, _size);
+        }
+    }
+
+    /**
+     * @param number an identifier, that is an integer
+     *
+     * @return the dense index of the identifier
+     */
+    int intern(long number) {
+        int hash        = mix(Long.hashCode(number));
+        Stripe stripe   = _stripes[hash >>> 26];
+
+        synchronized (stripe) {
+            return stripe.intern(hash, number, _size);
+        }
+    }
+
+    /**
+     * @return the identifier of every index. it should only be called once the parsers are done
+     */
+    String[] names() {
+        String[] names  = new String[size()];
+
+        for (Stripe stripe : _stripes) {
+            synchronized (stripe) {
+                stripe.forEach(names);
+            }
+        }
+
+        return names;
+    }
+
+    /**
+     * @return a new cache of the table, for a single thread
+     */
+    Cache newCache() {
+        return new Cache();
+    }
+
+    private static int mix(int hash) {
+        hash *= 0x9E3779B9;
+
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * a small direct mapped cache of the integer identifiers a thread interned last, so the identifiers
+     * of hubs, that appear on many lines, are found without taking the lock of their stripe.
+     */
+    final class Cache {
+        private static final int SIZE   = 4096;
+
+        private final long[] _numbers   = new long[SIZE];
+        private final int[] _indices    = new int[SIZE];
+
+        Cache() {
+            Arrays.fill(_indices, -1);
+        }
+
+        /**
+         * @param tokens a tokenizer at an identifier token
+         *
+         * @return the dense index of the identifier
+         */
+        int intern(ByteTokenizer tokens) {
+            if(!tokens.isCanonicalLong())
+                return VertexInterner.this.intern(tokens);
+
+            long number     = tokens.parseLong();
+            int slot        = mix(Long.hashCode(number)) & (SIZE - 1);
+
+            if(_indices[slot] != -1 && _numbers[slot] == number)
+                return _indices[slot];
+
+            _numbers[slot]  = number;
+
+            return _indices[slot] = VertexInterner.this.intern(number);
+        }
+    }
+
+    /**
+     * an open addressing table of a range of hashes, with linear probing. the key and the entry of a slot
+     * are next to each other in a single array, so a probe touches one cache line:
+     * <ul>
+     *     <li/>the key is the number of an integer identifier, or the hash of the name of any other identifier.
+     *     <li/>the entry is {@code (index + 1) << 1}, with the low bit set for names, or {@code 0} for a free slot.
+     * </ul>
+     */
+    private static final class Stripe {
+        private long[] _slots       = new long[32];
+        private byte[][] _names     = new byte[16][];
+        private int _count          = 0;
+
+        int intern(int hash, long number, AtomicInteger size) {
+            int mask    = (_slots.length >> 1) - 1;
+            int slot    = hash & mask;
+
+            for (long entry; (entry = _slots[(slot << 1) + 1]) != 0; slot = (slot + 1) & mask) {
+                if((entry & 1) == 0 && _slots[slot << 1] == number)
+                    return indexOf(entry);
+            }
+
+            return insert(slot, number, null, size);
+        }
+
+        int intern(int hash, ByteBuffer buffer, int start, int end, AtomicInteger size) {
+            int mask    = (_slots.length >> 1) - 1;
+            int slot    = hash & mask;
+
+            for (long entry; (entry = _slots[(slot << 1) + 1]) != 0; slot = (slot + 1) & mask) {
+                if((entry & 1) != 0 && _slots[slot << 1] == hash && equals(_names[slot], buffer, start, end))
+                    return indexOf(entry);
+            }
+
+            byte[] name = new byte[end - start];
+
+            for (int i = 0; i < name.length; i++)
+                name[i] = buffer.get(start + i);
+
+            return insert(slot, hash, name, size);
+        }
+
+        /**
+         * visit the identifiers and their indices
+         */
+        void forEach(String[] names) {
+            for (int slot = 0; slot < _names.length; slot++) {
+                long entry  = _slots[(slot << 1) + 1];
+
+                if(entry == 0)
+                    continue;
+
+                names[indexOf(entry)] = ((entry & 1) == 0) ? Long.toString(_slots[slot << 1])
+                                                           : new String(_names[slot], StandardCharsets.UTF_8);
+            }
+        }
+
+        private int insert(int slot, long key, byte[] name, AtomicInteger size) {
+            int index                   = size.getAndIncrement();
+
+            _slots[slot << 1]           = key;
+            _slots[(slot << 1) + 1]     = ((long) (index + 1) << 1) | (name == null ? 0 : 1);
+            _names[slot]                = name;
+
+            if(++_count > (_names.length >> 1) + (_names.length >> 2))
+                rehash();
+
+            return index;
+        }
+
+        private void rehash() {
+            long[] slots                = _slots;
+            byte[][] names              = _names;
+            int capacity                = names.length << 1;
+            int mask                    = capacity - 1;
+
+            _slots                      = new long[capacity << 1];
+            _names                      = new byte[capacity][];
+
+            for (int i = 0; i < names.length; i++) {
+                long key                = slots[i << 1];
+                long entry              = slots[(i << 1) + 1];
+
+                if(entry == 0)
+                    continue;
+
+                int slot                = (((entry & 1) == 0) ? mix(Long.hashCode(key)) : (int) key) & mask;
+
+                while (_slots[(slot << 1) + 1] != 0)
+                    slot                = (slot + 1) & mask;
+
+                _slots[slot << 1]       = key;
+                _slots[(slot << 1) + 1] = entry;
+                _names[slot]            = names[i];
+            }
+        }
+
+        private static int indexOf(long entry) {
+            return (int) (entry >>> 1) - 1;
+        }
+
+        private static boolean equals(byte[] name, ByteBuffer buffer, int start, int end) {
+            if(name.length != end - start)
+                return false;
+
+            for (int i = 0; i < name.length; i++) {
+                if(name[i] != buffer.get(start + i))
+                    return false;
+            }
+
+            return true;
+        }
+    }
+
+}
@@ -0,0 +1,739 @@
+package com.hendrix.erdos.io;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * the write-ahead log of a {@link DurableGraphEngine}. a directory holds one generation of the graph, a
+ * {@code checkpoint-<generation>.bin} {@link BinaryGraphFile}, and the {@code wal-<generation>.log} of the
+ * changes since. generation {@code 0} has no checkpoint, it starts from an empty graph.
+ * <p/>
+ * the log is a header, {@code int MAGIC, int VERSION, long generation}, followed by records:
+ * <pre>
+ * {@code
+ * int length, int crc32c, byte op, payload
+ * }
+ * </pre>
+ * the length and the checksum cover the op and the payload. vertices are referred to by their integer keys.
+ * replay stops at the first record that is torn or fails its checksum, the tail of a crash, and cuts it off.
+ * <p/>
+ * appends only encode the record into a buffer. {@link #sync(long)} is a group commit: the first thread that
+ * waits becomes the leader, it swaps the buffer for an empty one and writes and forces it, without holding the
+ * lock, while other threads keep appending to the next buffer and wait. so one {@code fsync} makes every record
+ * that was appended before it durable, and the number of {@code fsync}s drops as the number of writers grows.
+ *
+ * @author Tomer Shalev
+ */
+final class WriteAheadLog implements Closeable {
+    static final int MAGIC                  = 0x57445245; // "ERDW"
+    static final int VERSION                = 1;
+    static final int HEADER_SIZE            = 16;
+
+    static final byte ADD_VERTEX            = 1;
+    static final byte REMOVE_VERTEX         = 2;
+    static final byte ADD_EDGE              = 3;
+    static final byte REMOVE_EDGE           = 4;
+    static final byte REMOVE_MULTI_EDGES    = 5;
+    static final byte CLEAR                 = 6;
+
+    private static final Pattern FILE_NAME  = Pattern.compile("checkpoint-(\\d+)\\.bin|wal-(\\d+)\\.log");
+
+    /**
+     * applies the records of a log on replay
+     */
+    interface Replay {
+        void addVertex(int key, String tag, float weight, byte[] data) throws IOException;
+
+        void removeVertex(int key) throws IOException;
+
+        void addEdge(int source, int target, float weight, String tag, byte[] data) throws IOException;
+
+        void removeEdge(int source, int target, float weight) throws IOException;
+
+        void removeMultiEdges(int source, int target) throws IOException;
+
+        void clear();
+    }
+
+    private final Path _directory;
+    private final ReentrantLock _lock       = new ReentrantLock();
+    /**
+     * signalled when a flush ends
+     */
+    private final Condition _flushed        = _lock.newCondition();
+    /**
+     * wakes up the background flusher
+     */
+    private final Condition _tick           = _lock.newCondition();
+    private final CRC32C _crc               = new CRC32C();
+
+    private FileChannel _channel;
+    private long _generation;
+    /**
+     * the records that were appended and not written yet
+     */
+    private ByteBuffer _pending;
+    /**
+     * the buffer that the leader writes, it is swapped with {@link #_pending}
+     */
+    private ByteBuffer _spare;
+    private int _recordStart;
+    /**
+     * the sequence number of the last appended record
+     */
+    private long _appended                  = 0;
+    /**
+     * the sequence number of the last record that was forced to the disk
+     */
+    private long _durable                   = 0;
+    private boolean _flushing               = false;
+    /**
+     * the size of the log file, with the pending records
+     */
+    private long _size;
+    private IOException _failure            = null;
+    private boolean _closed                 = false;
+    private long _interval                  = 0;
+    private Thread _flusher                 = null;
+
+    private WriteAheadLog(Path directory, long generation, FileChannel channel, long size) {
+        _directory  = directory;
+        _generation = generation;
+        _channel    = channel;
+        _size       = size;
+        _pending    = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+        _spare      = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    static Path checkpointOf(Path directory, long generation) {
+        return directory.resolve("checkpoint-" + generation + ".bin");
+    }
+
+    static Path logOf(Path directory, long generation) {
+        return directory.resolve("wal-" + generation + ".log");
+    }
+
+    /**
+     * @return the generation of the latest checkpoint in the directory, or {@code 0} if there is none
+     */
+    static long latestGeneration(Path directory) throws IOException {
+        long latest = 0;
+
+        for (Path file : list(directory)) {
+            Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+
+            if(matcher.matches() && matcher.group(1) != null)
+                latest      = Math.max(latest, Long.parseLong(matcher.group(1)));
+        }
+
+        return latest;
+    }
+
+    /**
+     * replay the log of a generation, cut off its torn tail, remove the files of other generations and
+     * open the log for appending
+     *
+     * @param directory  the directory
+     * @param generation the generation, whose checkpoint was already loaded
+     * @param replay     applies the records
+     *
+     * @return the log, positioned after its last valid record
+     *
+     * @throws IOException if the log can not be read, or is not a log of this generation
+     */
+    static WriteAheadLog open(Path directory, long generation, Replay replay) throws IOException {
+        Path path                   = logOf(directory, generation);
+        FileChannel channel         = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                                       StandardOpenOption.WRITE);
+
+        try {
+            long size               = channel.size();
+            long end;
+
+            if(size < HEADER_SIZE) {
+                end                 = writeHeader(channel, generation);
+            } else {
+                end                 = replay(channel, generation, size, replay);
+
+                if(end < size) {
+                    channel.truncate(end);
+                    channel.force(true);
+                }
+            }
+
+            channel.position(end);
+
+            for (Path file : list(directory)) {
+                String name         = file.getFileName().toString();
+                Matcher matcher     = FILE_NAME.matcher(name);
+
+                if(matcher.matches() ? Long.parseLong(matcher.group(matcher.group(1) != null ? 1 : 2)) != generation
+                                     : name.startsWith("checkpoint-") && name.endsWith(".tmp"))
+                    Files.deleteIfExists(file);
+            }
+
+            return new WriteAheadLog(directory, generation, channel, end);
+        } catch (IOException e) {
+            channel.close();
+
+            throw new IOException(path + ": " + e.getMessage(), e);
+        }
+    }
+
+    long generation() {
+        return _generation;
+    }
+
+    /**
+     * @return the sequence number of the last appended record
+     */
+    long sequence() {
+        _lock.lock();
+
+        try {
+            return _appended;
+        } finally {
+            _lock.unlock();
+        }
+    }
+
+    /**
+     * @return the size of the log, with the records that were not written yet
+     */
+    long size() {
+        _lock.lock();
+
+        try {
+            return _size;
+        } finally {
+            _lock.unlock();
+        }
+    }
+
+    /**
+     * @throws IllegalStateException if the log was closed, or failed to write
+     */
+    void ensureWritable() {
+        _lock.lock();
+
+        try {
+            if(_closed)
+                throw new IllegalStateException("the write-ahead log is closed");
+            if(_failure != null)
+                throw new IllegalStateException("the write-ahead log failed, the graph is no longer durable", _failure);
+        } finally {
+            _lock.unlock();
+        }
+    }
+
+    long addVertex(int key, String tag, float weight, byte[] data) {
+        byte[] tagBytes = utf8(tag);
+
+        _lock.lock();
+
+        try {
+            ByteBuffer out = begin(ADD_VERTEX, 8 + sizeOf(tagBytes) + sizeOf(data));
+
+            out.putInt(key).putFloat(weight);
+            putBytes(out, tagBytes);
+            putBytes(out, data);
+
+            return end();
+        } finally {
+            _lock.unlock();
+        }
+    }
+
+    long removeVertex(int key) {
+        _lock.lock();
+
+        try {
+            begin(REMOVE_VERTEX, 4).putInt(key);
+
+            return end();
+        } finally {
+            _lock.unlock();
+        }
+    }
+
+    long addEdge(int source, int target, float weight, String tag, byte[] data) {
+        byte[] tagBytes = utf8(tag);
+
+        _lock.lock();
+
+        try {
+            ByteBuffer out = begin(ADD_EDGE, 12 + sizeOf(tagBytes) + sizeOf(data));
+
+            out.putInt(source).putInt(target).putFloat(weight);
+            putBytes(out, tagBytes);
+            putBytes(out, data);
+
+            return end();
+        } finally {
+            _lock.unlock();
+        }
+    }
+
+    long removeEdge(int source, int target, float weight) {
+        _lock.lock();
+
+        try {
+            begin(REMOVE_EDGE, 12).putInt(source).putInt(target).putFloat(weight);
+
+            return end();
+        } finally {
+            _lock.unlock();
+        }
+    }
+
+    long removeMultiEdges(int source, int target) {
+        _lock.lock();
+
+        try {
+            begin(REMOVE_MULTI_EDGES, 8).putInt(source).putInt(target);
+
+            return end();
+        } finally {
+            _lock.unlock();
+        }
+    }
+
+    long clear() {
+        _lock.lock();
+
+        try {
+            begin(CLEAR, 0);
+
+            return end();
+        } finally {
+            _lock.unlock();
+        }
+    }
+
+    /**
+     * wait until a record, and every record before it, is forced to the disk. the caller either finds
+     * its record durable already, waits for the running flush, or becomes the leader of the next one.
+     *
+     * @param sequence the sequence number of the record
+     *
+     * @throws IOException if the log failed to write
+     */
+    void sync(long sequence) throws IOException {
+        _lock.lock();
+
+        try {
+            while (_durable < sequence) {
+                if(_failure != null)
+                    throw new IOException("the write-ahead log failed", _failure);
+
+                if(_flushing) {
+                    _flushed.awaitUninterruptibly();
+                    continue;
+                }
+
+                // lead the flush of everything that was appended so far
+
+                ByteBuffer batch    = _pending;
+                long upTo           = _appended;
+                FileChannel channel = _channel;
+                IOException failure = null;
+
+                _pending            = _spare;
+                _spare              = batch;
+                _flushing           = true;
+
+                _lock.unlock();
+
+                try {
+                    batch.flip();
+
+                    while (batch.hasRemaining())
+                        channel.write(batch);
+
+                    channel.force(false);
+                } catch (IOException e) {
+                    failure         = e;
+                } finally {
+                    _lock.lock();
+                }
+
+                batch.clear();
+
+                _flushing           = false;
+
+                if(failure != null)
+                    _failure        = failure;
+                else
+                    _durable        = upTo;
+
+                _flushed.signalAll();
+            }
+        } finally {
+            _lock.unlock();
+        }
+    }
+
+    /**
+     * let a background thread sync the log every interval, instead of the writers
+     *
+     * @param millis the interval, or {@code 0} to stop the background thread
+     */
+    void syncEvery(long millis) {
+        _lock.lock();
+
+        try {
+            _interval       = Math.max(millis, 0);
+
+            if(_interval > 0 && _flusher == null && !_closed) {
+                _flusher    = new Thread(this::runFlusher, "erdos-wal-flusher");
+                _flusher.setDaemon(true);
+                _flusher.start();
+            }
+
+            _tick.signalAll();
+        } finally {
+            _lock.unlock();
+        }
+    }
+
+    /**
+     * start the next generation, after its checkpoint was written. the records of this generation
+     * are synced first, then the new log is created and the files of this generation are removed.
+     * the caller makes sure that nothing is appended meanwhile.
+     *
+     * @param generation the new generation
+     *
+     * @throws IOException if the new log can not be created, the log fails then, since its records
+     *                     are no longer replayed after the new checkpoint
+     */
+    void rotate(long generation) throws IOException {
+        sync(sequence());
+
+        FileChannel channel;
+        long size;
+
+        try {
+            channel     = FileChannel.open(logOf(_directory, generation), StandardOpenOption.CREATE,
+                                           StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            size        = writeHeader(channel, generation);
+
+            forceDirectory(_directory);
+        } catch (IOException e) {
+            fail(e);
+
+            throw e;
+        }
+
+        long previous;
+
+        _lock.lock();
+
+        try {
+            while (_flushing)
+                _flushed.awaitUninterruptibly();
+
+            _channel.close();
+
+            _channel    = channel;
+            _size       = size;
+            previous    = _generation;
+            _generation = generation;
+        } finally {
+            _lock.unlock();
+        }
+
+        Files.deleteIfExists(logOf(_directory, previous));
+        Files.deleteIfExists(checkpointOf(_directory, previous));
+    }
+
+    /**
+     * sync the log, stop the background thread and close the file
+     */
+    @Override
+    public void close() throws IOException {
+        _lock.lock();
+
+        try {
+            if(_closed)
+                return;
+        } finally {
+            _lock.unlock();
+        }
+
+        try {
+            if(_failure == null)
+                sync(sequence());
+        } finally {
+            _lock.lock();
+
+            try {
+                while (_flushing)
+                    _flushed.awaitUninterruptibly();
+
+                _closed     = true;
+
+                _tick.signalAll();
+                _channel.close();
+            } finally {
+                _lock.unlock();
+            }
+        }
+    }
+
+    private void runFlusher() {
+        _lock.lock();
+
+        try {
+            while (!_closed && _failure == null && _interval > 0) {
+                if(_tick.await(_interval, TimeUnit.MILLISECONDS) || _closed)
+                    continue;
+
+                long sequence   = _appended;
+
+                _lock.unlock();
+
+                try {
+                    sync(sequence);
+                } catch (IOException ignored) {
+                    // the failure is kept, and reported to the writers
+                } finally {
+                    _lock.lock();
+                }
+            }
+        } catch (InterruptedException ignored) {
+            // exit
+        } finally {
+            _flusher    = null;
+
+            _lock.unlock();
+        }
+    }
+
+    private void fail(IOException failure) {
+        _lock.lock();
+
+        try {
+            if(_failure == null)
+                _failure    = failure;
+        } finally {
+            _lock.unlock();
+        }
+    }
+
+    /**
+     * start a record in the pending buffer, the caller holds the lock
+     *
+     * @param op      the op
+     * @param payload an upper bound of the payload size
+     */
+    private ByteBuffer begin(byte op, int payload) {
+        int required        = 9 + payload;
+
+        if(_pending.remaining() < required) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(_pending.capacity() << 1, _pending.position() + required))
+                                         .order(ByteOrder.LITTLE_ENDIAN);
+
+            _pending.flip();
+            grown.put(_pending);
+
+            _pending        = grown;
+        }
+
+        _recordStart        = _pending.position();
+        _pending.position(_recordStart + 8);
+
+        return _pending.put(op);
+    }
+
+    /**
+     * seal the record with its length and checksum, the caller holds the lock
+     *
+     * @return the sequence number of the record
+     */
+    private long end() {
+        int body            = _recordStart + 8;
+        int length          = _pending.position() - body;
+
+        _crc.reset();
+        _crc.update(_pending.array(), _pending.arrayOffset() + body, length);
+
+        _pending.putInt(_recordStart, length).putInt(_recordStart + 4, (int) _crc.getValue());
+
+        _size              += 8 + length;
+
+        return ++_appended;
+    }
+
+    /**
+     * apply the records of a log, and find where its valid part ends
+     *
+     * @return the offset after the last valid record
+     */
+    private static long replay(FileChannel channel, long generation, long size, Replay replay) throws IOException {
+        ChannelReader in        = new ChannelReader(channel);
+        CRC32C crc              = new CRC32C();
+
+        if(in.getInt() != MAGIC)
+            throw new IOException("not a write-ahead log");
+
+        int version             = in.getInt();
+
+        if(version != VERSION)
+            throw new IOException("unsupported write-ahead log version " + version);
+
+        long logGeneration      = in.getLong();
+
+        if(logGeneration != generation)
+            throw new IOException("log of generation " + logGeneration + ", expected " + generation);
+
+        long end                = HEADER_SIZE;
+
+        while (end + 8 <= size) {
+            int length          = in.getInt();
+            int checksum        = in.getInt();
+
+            if(length < 1 || end + 8 + length > size)
+                break;
+
+            byte[] body         = new byte[length];
+
+            try {
+                in.getBytes(body, 0, length);
+            } catch (EOFException e) {
+                break;
+            }
+
+            crc.reset();
+            crc.update(body, 0, length);
+
+            if((int) crc.getValue() != checksum)
+                break;
+
+            apply(ByteBuffer.wrap(body).order(ByteOrder.LITTLE_ENDIAN), replay);
+
+            end                += 8 + length;
+        }
+
+        return end;
+    }
+
+    private static void apply(ByteBuffer in, Replay replay) throws IOException {
+        byte op = in.get();
+
+        switch (op) {
+            case ADD_VERTEX: {
+                int key         = in.getInt();
+                float weight    = in.getFloat();
+
+                replay.addVertex(key, string(getBytes(in)), weight, getBytes(in));
+                break;
+            }
+            case REMOVE_VERTEX:
+                replay.removeVertex(in.getInt());
+                break;
+            case ADD_EDGE:
+                replay.addEdge(in.getInt(), in.getInt(), in.getFloat(), string(getBytes(in)), getBytes(in));
+                break;
+            case REMOVE_EDGE:
+                replay.removeEdge(in.getInt(), in.getInt(), in.getFloat());
+                break;
+            case REMOVE_MULTI_EDGES:
+                replay.removeMultiEdges(in.getInt(), in.getInt());
+                break;
+            case CLEAR:
+                replay.clear();
+                break;
+            default:
+                throw new IOException("unknown write-ahead log record " + op);
+        }
+    }
+
+    private static long writeHeader(FileChannel channel, long generation) throws IOException {
+        ByteBuffer header   = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        header.putInt(MAGIC).putInt(VERSION).putLong(generation).flip();
+
+        channel.truncate(0);
+        channel.position(0);
+
+        while (header.hasRemaining())
+            channel.write(header);
+
+        channel.force(true);
+
+        return HEADER_SIZE;
+    }
+
+    /**
+     * sync the directory, so created, moved and deleted files survive a crash. not every platform can
+     * open a directory, the files are synced anyway.
+     */
+    static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {
+            // not supported on this platform
+        }
+    }
+
+    private static List<Path> list(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.collect(Collectors.toList());
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return (value == null) ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] bytes) {
+        return (bytes == null) ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int sizeOf(byte[] bytes) {
+        return 4 + ((bytes == null) ? 0 : bytes.length);
+    }
+
+    private static void putBytes(ByteBuffer out, byte[] bytes) {
+        if(bytes == null) {
+            out.putInt(-1);
+            return;
+        }
+
+        out.putInt(bytes.length).put(bytes);
+    }
+
+    private static byte[] getBytes(ByteBuffer in) throws IOException {
+        int length = in.getInt();
+
+        if(length < -1 || length > in.remaining())
+            throw new IOException("corrupted write-ahead log record");
+
+        if(length == -1)
+            return null;
+
+        byte[] bytes = new byte[length];
+
+        in.get(bytes);
+
+        return bytes;
+    }
+
+}
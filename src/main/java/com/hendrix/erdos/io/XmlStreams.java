@@ -0,0 +1,70 @@
+package com.hendrix.erdos.io;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * StAX readers and writers over channels, for the XML graph formats. the documents are streamed an element
+ * at a time, so a graph file never has to fit in memory as a tree. the readers do not resolve DTDs or
+ * external entities.
+ *
+ * @author Tomer Shalev
+ */
+final class XmlStreams {
+    private static final int BUFFER_SIZE                = 1 << 16;
+
+    private static final XMLInputFactory INPUT_FACTORY  = newInputFactory();
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+    private XmlStreams() {}
+
+    /**
+     * @param channel the channel, that is not closed by the reader
+     */
+    static XMLStreamReader reader(ReadableByteChannel channel) throws XMLStreamException {
+        return INPUT_FACTORY.createXMLStreamReader(new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE));
+    }
+
+    /**
+     * @param out the stream to write into, the writer should be flushed and then the stream
+     */
+    static XMLStreamWriter writer(OutputStream out) throws XMLStreamException {
+        return OUTPUT_FACTORY.createXMLStreamWriter(out, "UTF-8");
+    }
+
+    /**
+     * @param channel the channel, that is not closed
+     *
+     * @return a buffered stream into the channel, that should be flushed once written
+     */
+    static OutputStream outputOf(WritableByteChannel channel) {
+        return new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+    }
+
+    /**
+     * @return the value of an attribute of the current element, or {@code null}
+     */
+    static String attribute(XMLStreamReader xml, String name) {
+        return xml.getAttributeValue(null, name);
+    }
+
+    private static XMLInputFactory newInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+
+        return factory;
+    }
+
+}
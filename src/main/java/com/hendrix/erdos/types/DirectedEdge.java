@@ -11,4 +11,8 @@ public class DirectedEdge extends Edge {
     public DirectedEdge(IVertex v1, IVertex v2, float weight) {
         super(v1, v2, EDGE_DIRECTION.DIRECTED, weight);
     }
+
+    public DirectedEdge(IVertex v1, IVertex v2, float weight, IdSpace ids) {
+        super(v1, v2, EDGE_DIRECTION.DIRECTED, weight, ids);
+    }
 }
@@ -30,25 +30,29 @@ public class Edge implements IIdImmutable, ITag, IData<Object>
      */
     private     float           _weight     = 0f;
     /**
-     * the unique immutable identifier of the edge
+     * the unique immutable identifier of the edge, built on demand out of the number and the id space
      */
     private     String          _id         = null;
+    /**
+     * the number of the edge in its id space
+     */
+    private     final long      _number;
+    /**
+     * the id space of the edge, or {@code null} for edges that were given their identifier
+     */
+    private     final IdSpace   _ids;
     /**
      * the tag of the edge
      */
     private     String          _tag        = null;
     /**
-     * the tag of the edge
+     * the description of the edge, created lazily
      */
     private     String          _desc       = null;
     /**
      * extra data
      */
     private     Object          _data       = null;
-    /**
-     * internal automatic tag generator helper
-     */
-    private     static int _autoId = 0;
     /**
      * the edge direction
      */
@@ -101,29 +105,57 @@ public class Edge implements IIdImmutable, ITag, IData<Object>
      * @return edge description
      */
     public String getDesc() {
+        if(_desc == null)
+            _desc   = getEdgeDesc(this, _edgeType);
+
         return _desc;
     }
 
     /**
-     * automatic unique edge tag generator
-     * @return the suggested automatic tag
+     *
+     * @param v1 the first vertex
+     * @param v2 the second vertex
+     * @param edgeType <code>DIRECTED or UNDIRECTED</code>
      */
-    private static String getAutoId() {return "e" + _autoId++;}
+    public Edge(IVertex v1, IVertex v2, EDGE_DIRECTION edgeType) {
+        this(v1, v2, edgeType, 0f, IdSpace.EDGES);
+    }
 
     /**
      *
      * @param v1 the first vertex
      * @param v2 the second vertex
      * @param edgeType <code>DIRECTED or UNDIRECTED</code>
+     * @param weight the assigned weight
+     * @param ids the id space to draw the identifier of the edge from
      */
-    public Edge(IVertex v1, IVertex v2, EDGE_DIRECTION edgeType) {
+    public Edge(IVertex v1, IVertex v2, EDGE_DIRECTION edgeType, float weight, IdSpace ids) {
         _v1         = v1;
         _v2         = v2;
         _edgeType   = edgeType;
+        _weight     = weight;
 
-        _id         = getAutoId();
-        _desc       = getEdgeDesc(this, _edgeType);
-        _tag        = null;
+        _ids        = ids;
+        _number     = ids.next();
+    }
+
+    /**
+     * a constructor for edges that keep their state elsewhere, like the flyweight edges
+     * of a columnar edge store. no identifier is generated, subclasses should override
+     * {@link #getId()}, and the accessors of the state they keep.
+     *
+     * @param v1 the first vertex
+     * @param v2 the second vertex
+     * @param edgeType <code>DIRECTED or UNDIRECTED</code>
+     * @param id the identifier of the edge, or {@code null}
+     */
+    protected Edge(IVertex v1, IVertex v2, EDGE_DIRECTION edgeType, String id) {
+        _v1         = v1;
+        _v2         = v2;
+        _edgeType   = edgeType;
+        _id         = id;
+        _ids        = null;
+        _number     = -1;
     }
 
     /**
@@ -134,9 +166,7 @@ public class Edge implements IIdImmutable, ITag, IData<Object>
      * @param weight the assigned weight
      */
     public Edge(IVertex v1, IVertex v2, EDGE_DIRECTION edgeType, float weight) {
-        this(v1, v2, edgeType);
-
-        _weight = weight;
+        this(v1, v2, edgeType, weight, IdSpace.EDGES);
     }
 
     /**
@@ -189,9 +219,19 @@ public class Edge implements IIdImmutable, ITag, IData<Object>
      */
     @Override
     public String getId() {
+        if(_id == null && _ids != null)
+            _id = _ids.format(_number);
+
         return _id;
     }
 
+    /**
+     * @return the number of the edge in its id space, or {@code -1} for edges that were given their identifier
+     */
+    public long getNumber() {
+        return _number;
+    }
+
     /**
      * does object has an identifier?
      *
@@ -199,7 +239,7 @@ public class Edge implements IIdImmutable, ITag, IData<Object>
      */
     @Override
     public boolean hasId() {
-        return (_id!=null);
+        return (_id!=null) || (_ids!=null);
     }
 
     /**
@@ -0,0 +1,69 @@
+package com.hendrix.erdos.types;
+
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+
+/**
+ * primitive edge keys.<br/>
+ * an edge key packs the dense indices of the two vertices of an edge into one {@code long},
+ * the first vertex in the high 32 bits and the second vertex in the low 32 bits. it is the
+ * allocation free replacement of {@link Edge#getEdgeDesc(IVertex, IVertex, EDGE_DIRECTION)}
+ * for edge lookups.
+ * <ul>
+ *     <li/>if directed edge: {@code (v1, v2)}
+ *     <li/>if undirected edge: {@code (min(v1, v2), max(v1, v2))}
+ * </ul>
+ *
+ * @author Tomer Shalev
+ * @see com.hendrix.collection.LongObjectHashMap
+ */
+public final class EdgeKey {
+    /**
+     * a key that no pair of valid indices packs into
+     */
+    public static final long NONE = -1L;
+
+    private EdgeKey() {}
+
+    /**
+     * @param index1 the index of the first vertex
+     * @param index2 the index of the second vertex
+     *
+     * @return the directed edge key {@code index1->index2}
+     */
+    public static long of(int index1, int index2) {
+        return ((long) index1 << 32) | (index2 & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @param index1   the index of the first vertex
+     * @param index2   the index of the second vertex
+     * @param edgeType <code>DIRECTED or UNDIRECTED</code>
+     *
+     * @return the edge key, undirected keys do not depend on the order of the vertices
+     */
+    public static long of(int index1, int index2, EDGE_DIRECTION edgeType) {
+        if(edgeType == EDGE_DIRECTION.UNDIRECTED && index2 < index1)
+            return of(index2, index1);
+
+        return of(index1, index2);
+    }
+
+    /**
+     * @param key an edge key
+     *
+     * @return the index of the first vertex
+     */
+    public static int first(long key) {
+        return (int)(key >>> 32);
+    }
+
+    /**
+     * @param key an edge key
+     *
+     * @return the index of the second vertex
+     */
+    public static int second(long key) {
+        return (int) key;
+    }
+
+}
@@ -23,11 +23,14 @@ public interface IVertex<T> extends IIdImmutable, IData<T>, IDisposable, ITag, I
     void setColor(int color);
 
     /**
-     * @return the index of the vertex
+     * @return the index of the vertex inside the last graph engine it was added to,
+     *         or {@code -1} if none. it is a hint, use {@code IGraphEngine.indexOf()} for the real index.
      */
     int getIndex();
     /**
-     * @param index the index of the vertex inside the graph (remove it from here)
+     * @param index the index of the vertex inside the graph, maintained by the graph engine
+     *
+     * @return the new index
      */
     int setIndex(int index);
 
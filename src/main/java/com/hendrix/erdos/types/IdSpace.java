@@ -0,0 +1,129 @@
+package com.hendrix.erdos.types;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * a space of unique numeric identifiers, that vertices and edges draw their identifiers from.
+ * <ul>
+ *     <li/>the space is thread safe. every thread takes a block of numbers from a shared atomic
+ *     counter, and hands them out on its own, so threads that create vertices and edges at the
+ *     same time neither contend on the counter nor get the same identifier.
+ *     <li/>vertices and edges keep the number, and build the identifier string, the prefix followed
+ *     by the number, only when {@code getId()} is called.
+ *     <li/>a single thread gets consecutive numbers, {@code v0, v1, v2, ...}, like before.
+ * </ul>
+ * vertices and edges use the global {@link #VERTICES} and {@link #EDGES} spaces by default. a graph
+ * that wants identifiers of its own, for example to number its vertices from zero, creates a space
+ * and passes it to the vertex and edge constructors, or to {@code GraphBuilder.ids(..)}.
+ *
+ * @author Tomer Shalev
+ */
+@SuppressWarnings("UnusedDeclaration")
+public final class IdSpace {
+    public static final int DEFAULT_BLOCK_SIZE  = 1024;
+
+    /**
+     * the default space of vertex identifiers, {@code v0, v1, ...}
+     */
+    public static final IdSpace VERTICES        = new IdSpace("v");
+    /**
+     * the default space of edge identifiers, {@code e0, e1, ...}
+     */
+    public static final IdSpace EDGES           = new IdSpace("e");
+
+    private final String _prefix;
+    private final int _prefixHash;
+    private final int _blockSize;
+    /**
+     * the first number that was not handed to a block yet
+     */
+    private final AtomicLong _next              = new AtomicLong();
+    /**
+     * the next number and the end of the block of every thread
+     */
+    private final ThreadLocal<long[]> _blocks   = ThreadLocal.withInitial(() -> new long[2]);
+
+    /**
+     * @param prefix the prefix of the identifiers
+     */
+    public IdSpace(String prefix) {
+        this(prefix, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * @param prefix    the prefix of the identifiers
+     * @param blockSize the numbers every thread takes at once, {@code 1} hands them out one by one
+     *                  in the order they were asked for, across threads
+     *
+     * @throws IllegalArgumentException if the block size is not positive
+     */
+    public IdSpace(String prefix, int blockSize) {
+        if(blockSize < 1)
+            throw new IllegalArgumentException("block size " + blockSize + " should be positive");
+
+        _prefix     = prefix;
+        _prefixHash = prefix.hashCode();
+        _blockSize  = blockSize;
+    }
+
+    /**
+     * @return a number that was not handed out before by this space
+     */
+    public long next() {
+        if(_blockSize == 1)
+            return _next.getAndIncrement();
+
+        long[] block = _blocks.get();
+
+        if(block[0] == block[1]) {
+            block[0] = _next.getAndAdd(_blockSize);
+            block[1] = block[0] + _blockSize;
+        }
+
+        return block[0]++;
+    }
+
+    /**
+     * @return the prefix of the identifiers
+     */
+    public String prefix() {
+        return _prefix;
+    }
+
+    /**
+     * @return the numbers that were taken by threads so far, an upper bound of the numbers handed out
+     */
+    public long allocated() {
+        return _next.get();
+    }
+
+    /**
+     * @param number a number of this space
+     *
+     * @return the identifier of the number
+     */
+    public String format(long number) {
+        return _prefix + number;
+    }
+
+    /**
+     * @param number a number of this space
+     *
+     * @return the hash code of the identifier of the number, {@code format(number).hashCode()},
+     *         without building the identifier
+     */
+    public int hashOf(long number) {
+        int hash    = _prefixHash;
+        long power  = 1;
+
+        while(power <= number / 10)
+            power  *= 10;
+
+        for (; power > 0; power /= 10) {
+            hash    = 31 * hash + (char) ('0' + (number / power) % 10);
+        }
+
+        return hash;
+    }
+
+}
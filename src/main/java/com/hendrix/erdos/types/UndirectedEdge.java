@@ -11,4 +11,8 @@ public class UndirectedEdge extends Edge {
     public UndirectedEdge(IVertex v1, IVertex v2, float weight) {
         super(v1, v2, EDGE_DIRECTION.UNDIRECTED, weight);
     }
+
+    public UndirectedEdge(IVertex v1, IVertex v2, float weight, IdSpace ids) {
+        super(v1, v2, EDGE_DIRECTION.UNDIRECTED, weight, ids);
+    }
 }
@@ -9,16 +9,17 @@ package com.hendrix.erdos.types;
 public class Vertex<T> implements IVertex<T>
 {
     protected int                     _color        = 0;
+    /**
+     * the identifier, built on demand out of the number and the id space
+     */
     protected String                  _id           = null;
+    protected final long              _number;
+    protected final IdSpace           _ids;
     protected T                       _data         = null;
     protected int                     _index        = -1;
     protected float                   _weight       = 0;
     protected String                  _tag          = null;
 
-    private static int _autoId                      = 0;
-
-    private static String getAutoId() {return "v" + _autoId++;}
-
     public Vertex()
     {
         this(null);
@@ -29,9 +30,20 @@ public class Vertex<T> implements IVertex<T>
      * @param tag tag the vertex
      */
     public Vertex(String tag)
+    {
+        this(tag, IdSpace.VERTICES);
+    }
+
+    /**
+     *
+     * @param tag tag the vertex
+     * @param ids the id space to draw the identifier of the vertex from
+     */
+    public Vertex(String tag, IdSpace ids)
     {
         _tag = tag;
-        _id = getAutoId();
+        _ids = ids;
+        _number = ids.next();
     }
 
     /**
@@ -55,15 +67,11 @@ public class Vertex<T> implements IVertex<T>
         return _index;
     }
 
-    /**
-     * @param index
-     * @return the index of the vertex
-     */
     /**
      * {@inheritDoc}
      */
     public int setIndex(int index) {
-        return 0;
+        return _index = index;
     }
 
     /**
@@ -97,6 +105,9 @@ public class Vertex<T> implements IVertex<T>
      * {@inheritDoc}
      */
     public String getId() {
+        if(_id == null)
+            _id = _ids.format(_number);
+
         return _id;
     }
 
@@ -104,20 +115,28 @@ public class Vertex<T> implements IVertex<T>
      * {@inheritDoc}
      */
     public boolean hasId() {
-        return _id!=null;
+        return true;
+    }
+
+    /**
+     * @return the number of the vertex in its id space
+     */
+    public long getNumber() {
+        return _number;
     }
 
     /**
      * hashCode depends on _id, and id is immutable,
      * hence hashcode never changes, which is crucial
      * because the framework uses ALOT of HashSet and HashMap
-     * with plain hashcode.
+     * with plain hashcode. the hash of the id is computed
+     * out of its number, without building the id.
      */
     /**
      * {@inheritDoc}
      */
     public final int hashCode() {
-        return "graph_vertex".hashCode() + _id.hashCode();
+        return "graph_vertex".hashCode() + _ids.hashOf(_number);
     }
 
     /**
@@ -1,24 +1,33 @@
 package com.hendrix.erdos.utils;
 
+import com.hendrix.collection.LongObjectHashMap;
+import com.hendrix.collection.ObjectIntHashMap;
 import com.hendrix.erdos.interfaces.IDisposable;
 import com.hendrix.erdos.types.Edge;
+import com.hendrix.erdos.types.EdgeKey;
 import com.hendrix.erdos.types.IVertex;
 
 import java.util.Collection;
-import java.util.LinkedHashMap;
 
 /**
  * external edge function helper: for weights, flows, or anything that would be mapped for edges.
- * take note, does not support multi edges.
+ * take note, does not support multi edges.<br/>
+ * the function is not bound to a graph, so it numbers the vertices it sees by itself,
+ * and keys the values by the {@link EdgeKey} of these numbers.
  *
  * @author Tomer Shalev
  */
 @SuppressWarnings("UnusedDeclaration")
 public class EdgeFunction implements IDisposable {
-    protected LinkedHashMap<String, Float> _mapEdges = null;
+    protected LongObjectHashMap<Float> _mapEdges    = null;
+    /**
+     * the local numbering of the vertices
+     */
+    protected ObjectIntHashMap<IVertex> _mapVertices = null;
 
     public EdgeFunction() {
-        _mapEdges = new LinkedHashMap<>();
+        _mapEdges       = new LongObjectHashMap<>();
+        _mapVertices    = new ObjectIntHashMap<>();
     }
 
     /**
@@ -53,9 +62,7 @@ public class EdgeFunction implements IDisposable {
      * @param value the value
      */
     public void addValue(IVertex u, IVertex v, float value){
-        String edgeDesc = Edge.getEdgeDesc(u, v, Edge.EDGE_DIRECTION.DIRECTED);
-
-        _mapEdges.put(edgeDesc, value);
+        _mapEdges.put(EdgeKey.of(numberOf(u), numberOf(v)), value);
     }
 
     /**
@@ -79,9 +86,10 @@ public class EdgeFunction implements IDisposable {
      * @throws EdgeFunction.NoFunctionValueException if there is no value
      */
     public float valueOf(IVertex u, IVertex v){
-        String edgeDesc = Edge.getEdgeDesc(u, v, Edge.EDGE_DIRECTION.DIRECTED);
+        int number_u    = _mapVertices.get(u);
+        int number_v    = _mapVertices.get(v);
 
-        Float val = _mapEdges.get(edgeDesc);
+        Float val       = (number_u == -1 || number_v == -1) ? null : _mapEdges.get(EdgeKey.of(number_u, number_v));
 
         if(val == null)
             throw new NoFunctionValueException(u, v);
@@ -107,7 +115,23 @@ public class EdgeFunction implements IDisposable {
      */
     public void dispose() {
         _mapEdges.clear();
-        _mapEdges = null;
+        _mapVertices.clear();
+        _mapEdges       = null;
+        _mapVertices    = null;
+    }
+
+    /**
+     * @param vertex the vertex
+     *
+     * @return the local number of the vertex, a new one if the vertex was not seen yet
+     */
+    private int numberOf(IVertex vertex) {
+        int number = _mapVertices.get(vertex);
+
+        if(number == -1)
+            _mapVertices.put(vertex, number = _mapVertices.size());
+
+        return number;
     }
 
     /**
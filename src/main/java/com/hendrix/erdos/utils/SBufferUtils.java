@@ -0,0 +1,60 @@
+package com.hendrix.erdos.utils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+/**
+ * direct and memory mapped buffer utilities
+ *
+ * @author Tomer Shalev
+ */
+@SuppressWarnings("UnusedDeclaration")
+public class SBufferUtils {
+    /**
+     * {@code sun.misc.Unsafe.invokeCleaner(ByteBuffer)}, or {@code null} if the runtime has none
+     */
+    static private Method _invokeCleaner = null;
+    static private Object _unsafe        = null;
+
+    static {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field          = unsafeClass.getDeclaredField("theUnsafe");
+
+            field.setAccessible(true);
+
+            _unsafe              = field.get(null);
+            _invokeCleaner       = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (Exception ignored) {
+            _unsafe              = null;
+            _invokeCleaner       = null;
+        }
+    }
+
+    /**
+     * release the memory of a direct buffer, or unmap a memory mapped buffer, right away instead of
+     * when the buffer is garbage collected. if the runtime does not support it, the memory is
+     * released by the garbage collector as usual.
+     * <p/>
+     * the buffer, and every view of it, must not be accessed after the call.
+     *
+     * @param buffer a direct buffer that was allocated or mapped, and is not a slice or a duplicate
+     *
+     * @return {@code true} if the memory was released
+     */
+    static public boolean free(ByteBuffer buffer) {
+        if(buffer == null || !buffer.isDirect() || _invokeCleaner == null)
+            return false;
+
+        try {
+            _invokeCleaner.invoke(_unsafe, buffer);
+
+            return true;
+        } catch (Exception ignored) {
+            // slices and duplicates do not own their memory
+            return false;
+        }
+    }
+
+}
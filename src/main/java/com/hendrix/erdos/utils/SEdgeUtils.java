@@ -91,4 +91,55 @@ public class SEdgeUtils {
         return map;
     }
 
+    /**
+     * sort a primitive edge list by its vertex indices, with two counting sort passes,
+     * first by target and then by source, in {@code O(V + E)}. the sort is stable, so
+     * multi edges keep their order.
+     *
+     * @param sources     the source vertex index of every edge
+     * @param targets     the target vertex index of every edge
+     * @param count       the number of edges
+     * @param numVertices the number of vertices, all of the indices are below it
+     *
+     * @return the order of the edges, sorted by {@code (source, target)}
+     */
+    static public int[] sortedOrderOf(int[] sources, int[] targets, int count, int numVertices) {
+        int[] byTarget  = new int[count];
+        int[] order     = new int[count];
+        int[] cursor    = countingOffsetsOf(targets, count, numVertices);
+
+        for (int k = 0; k < count; k++) {
+            byTarget[cursor[targets[k]]++] = k;
+        }
+
+        cursor          = countingOffsetsOf(sources, count, numVertices);
+
+        for (int k : byTarget) {
+            order[cursor[sources[k]]++] = k;
+        }
+
+        return order;
+    }
+
+    /**
+     * @return the start offset of every key bucket, for a counting sort
+     */
+    static private int[] countingOffsetsOf(int[] keys, int length, int numKeys) {
+        int[] offsets   = new int[numKeys];
+
+        for (int k = 0; k < length; k++) {
+            offsets[keys[k]]++;
+        }
+
+        int sum         = 0;
+
+        for (int i = 0; i < numKeys; i++) {
+            int count   = offsets[i];
+            offsets[i]  = sum;
+            sum        += count;
+        }
+
+        return offsets;
+    }
+
 }
@@ -1,9 +1,12 @@
 package com.hendrix.erdos.utils;
 
 import com.hendrix.erdos.graphs.IGraph;
+import com.hendrix.erdos.graphs.engines.BitMatrixGraphEngine;
+import com.hendrix.erdos.graphs.engines.IGraphEngine;
+import com.hendrix.erdos.graphs.engines.NeighborCursor;
 import com.hendrix.erdos.types.Edge;
-import com.hendrix.erdos.types.IVertex;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 
@@ -61,17 +64,13 @@ public class SMatrixUtils {
 
         // fill weights or presence
 
-        HashMap<IVertex, Integer> verticesIndices = SVertexUtils.getVerticesIndices(graph);
+        IGraphEngine engine                 = graph.getGraphEngine();
 
-        IVertex v1, v2;
         int v1_index, v2_index;
 
         for (Edge edge : graph.edges()) {
-            v1                              = edge.getV1();
-            v2                              = edge.getV2();
-
-            v1_index                        = verticesIndices.get(v1);
-            v2_index                        = verticesIndices.get(v2);
+            v1_index                        = engine.indexOf(edge.getV1());
+            v2_index                        = engine.indexOf(edge.getV2());
 
             matrix[v1_index][v2_index]      = fillWeights ? edge.getWeight() : 1;
 
@@ -82,6 +81,57 @@ public class SMatrixUtils {
         return matrix;
     }
 
+    /**
+     * compute the adjacency matrix of a graph as rows of bits, bit {@code j} of row {@code i} is set if
+     * there is an edge {@code (i, j)}, by vertex indices. every row has {@code (|V| + 63) / 64} words, so
+     * rows can be combined with word parallel {@code AND/OR}. the rows of a {@link BitMatrixGraphEngine}
+     * are copied, other engines are scanned with a {@link NeighborCursor}.
+     *
+     * @param graph     the graph
+     * @param symmetric if {@code true} then bit {@code (j, i)} is set for every edge {@code (i, j)},
+     *                  i.e. the directions of the edges are ignored
+     *
+     * @return a new bit matrix, that the caller may change
+     */
+    static public long[][] adjacencyBitsOf(IGraph graph, boolean symmetric) {
+        IGraphEngine engine                 = graph.getGraphEngine();
+        int n                               = engine.numVertices();
+        int words                           = (n + 63) >>> 6;
+        long[][] bits                       = new long[n][];
+
+        if(engine instanceof BitMatrixGraphEngine) {
+            BitMatrixGraphEngine matrix     = (BitMatrixGraphEngine) engine;
+
+            for (int i = 0; i < n; i++) {
+                bits[i]                     = Arrays.copyOf(matrix.rowOf(i), words);
+            }
+        } else {
+            NeighborCursor cursor           = engine.neighborCursor();
+
+            for (int i = 0; i < n; i++) {
+                bits[i]                     = new long[words];
+
+                for (cursor.reset(i); cursor.next(); ) {
+                    bits[i][cursor.target() >>> 6] |= 1L << cursor.target();
+                }
+            }
+        }
+
+        if(symmetric && graph.getGraphType() == Edge.EDGE_DIRECTION.DIRECTED) {
+            for (int i = 0; i < n; i++) {
+                for (int k = 0; k < words; k++) {
+                    for (long word = bits[i][k]; word != 0; word &= word - 1) {
+                        int j                   = (k << 6) + Long.numberOfTrailingZeros(word);
+
+                        bits[j][i >>> 6]        |= 1L << i;
+                    }
+                }
+            }
+        }
+
+        return bits;
+    }
+
     /**
      * return the incidence matrix of a graph {@code G=<V, E>}.<br/>
      * i.e, a {@code |V|x|E|} matrix {@code M} where, {@code M(i,j)=1} if vertex with index {@code i} is incident to an edge with <br/>
@@ -107,7 +157,7 @@ public class SMatrixUtils {
 
         float[][] matrix                            = new float[numVertices][numEdges];
 
-        HashMap<Integer, IVertex> indicesVertices   = SVertexUtils.getIndicesVertices(graph);
+        IGraphEngine engine                         = graph.getGraphEngine();
         HashMap<Integer, Edge> indicesEdges         = SEdgeUtils.getIndicesEdges(graph);
 
         Collection<Edge> incidenceInListOf, incidenceOutListOf;
@@ -115,9 +165,10 @@ public class SMatrixUtils {
         Edge edge;
 
         for (int v_index = 0; v_index < matrix.length; v_index++) {
+            incidenceInListOf                       = graph.getIncidenceInListOf(engine.vertexAt(v_index));
+            incidenceOutListOf                      = graph.getIncidenceOutListOf(engine.vertexAt(v_index));
+
             for (int e_index = 0; e_index < matrix[v_index].length; e_index++) {
-                incidenceInListOf                   = graph.getIncidenceInListOf(indicesVertices.get(v_index));
-                incidenceOutListOf                  = graph.getIncidenceOutListOf(indicesVertices.get(v_index));
                 edge                                = indicesEdges.get(e_index);
 
                 if(incidenceInListOf.contains(edge) || incidenceOutListOf.contains(edge))
@@ -0,0 +1,91 @@
+package com.hendrix.erdos.utils;
+
+/**
+ * variable length integer utilities. an unsigned value is written 7 bits at a time, low bits first,
+ * and the high bit of every byte is set if more bytes follow, so small values take a single byte.
+ * signed values are zig zag encoded first, so small negative values are small too.
+ *
+ * @author Tomer Shalev
+ */
+@SuppressWarnings("UnusedDeclaration")
+public class SVarIntUtils {
+
+    /**
+     * @param value an unsigned value
+     *
+     * @return the number of bytes of the encoded value, {@code 1..5}
+     */
+    static public int sizeOf(int value) {
+        int size = 1;
+
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+
+        return size;
+    }
+
+    /**
+     * write an unsigned value
+     *
+     * @param buffer   the buffer
+     * @param position the position to write at
+     * @param value    the value
+     *
+     * @return the position after the value
+     */
+    static public int write(byte[] buffer, int position, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer[position++]  = (byte) ((value & 0x7F) | 0x80);
+            value             >>>= 7;
+        }
+
+        buffer[position++]      = (byte) value;
+
+        return position;
+    }
+
+    /**
+     * read an unsigned value
+     *
+     * @param buffer   the buffer
+     * @param position the position of the value
+     *
+     * @return the value
+     *
+     * @see #sizeOf(int)
+     */
+    static public int read(byte[] buffer, int position) {
+        int value   = 0;
+        int shift   = 0;
+        byte b;
+
+        do {
+            b       = buffer[position++];
+            value  |= (b & 0x7F) << shift;
+            shift  += 7;
+        } while (b < 0);
+
+        return value;
+    }
+
+    /**
+     * @param value a signed value
+     *
+     * @return the zig zag encoding of the value, {@code 0, -1, 1, -2, ...} become {@code 0, 1, 2, 3, ...}
+     */
+    static public int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    /**
+     * @param value a zig zag encoded value
+     *
+     * @return the signed value
+     */
+    static public int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+}
@@ -14,43 +14,34 @@ import java.util.HashMap;
 public class SVertexUtils {
 
     /**
-     * compute the index of a given vertex in a graph. it is okay for occasional query.
-     * for frequent queries use {@link #getVerticesIndices(IGraph)}
+     * get the index of a given vertex in a graph, as maintained by the graph engine.
      *
      * @param vertex the vertex whose index is wished to be found
      * @param graph the graph in which the vertex is in
      *
      * @return the index of the vertex, or -1 if none.
+     *
+     * @see com.hendrix.erdos.graphs.engines.IGraphEngine#indexOf(IVertex)
      */
     static public int indexOf(IVertex vertex, IGraph graph) {
-        int index = 0;
-        for (IVertex v : graph.vertices()) {
-            if(vertex.equals(v))
-                return index;
-            index++;
-        }
-
-        return -1;
+        return graph.getGraphEngine().indexOf(vertex);
     }
 
     /**
-     * find the vertex at a specific index. it is okay for occasional query.
-     * for frequent queries use {@link #getIndicesVertices(IGraph)}
+     * find the vertex at a specific index, as maintained by the graph engine.
      *
      * @param index the index of the vertex
      * @param graph a graph in which the vertex is in
      *
      * @return the vertex at the specified index/location, or {@code null} otherwise
+     *
+     * @see com.hendrix.erdos.graphs.engines.IGraphEngine#vertexAt(int)
      */
     static public IVertex getVertexAt(int index, IGraph graph) {
-        int idx = 0;
-        for (IVertex v : graph.vertices()) {
-            if(idx == index)
-                return v;
-            idx++;
-        }
+        if(index < 0 || index >= graph.numVertices())
+            return null;
 
-        return null;
+        return graph.getGraphEngine().vertexAt(index);
     }
 
     /**
@@ -63,7 +54,7 @@ public class SVertexUtils {
      * @see #getIndicesVertices(IGraph)
      */
     static public HashMap<IVertex, Integer> getVerticesIndices(IGraph graph) {
-        HashMap<IVertex, Integer> map = new HashMap<>();
+        HashMap<IVertex, Integer> map = new HashMap<>(graph.numVertices() * 2);
         int idx = 0;
         for (IVertex v : graph.vertices()) {
             map.put(v, idx++);
@@ -82,7 +73,7 @@ public class SVertexUtils {
      * @see #getVerticesIndices(IGraph)
      */
     static public HashMap<Integer, IVertex> getIndicesVertices(IGraph graph) {
-        HashMap<Integer, IVertex> map = new HashMap<>();
+        HashMap<Integer, IVertex> map = new HashMap<>(graph.numVertices() * 2);
         int idx = 0;
         for (IVertex v : graph.vertices()) {
             map.put(idx++, v);
@@ -0,0 +1,123 @@
+package com.hendrix.test;
+
+import com.hendrix.erdos.Erdos;
+import com.hendrix.erdos.graphs.engines.HybridGraphEngine;
+import com.hendrix.erdos.io.BinaryGraphFile;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.Pipe;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryGraphFileTest {
+    private static final BinaryGraphFile.DataCodec STRINGS = new BinaryGraphFile.DataCodec() {
+        @Override
+        public byte[] encode(Object data) {
+            return data.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Object decode(byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    @Test
+    public void restoredGraphMatchesWrittenGraph() throws IOException {
+        var graph   = Erdos.newGraphWithEngineFactory(HybridGraphEngine::new, EDGE_DIRECTION.UNDIRECTED, true, true);
+        var v1      = new Vertex<String>("1");
+        var v2      = new Vertex<String>("2");
+        var v3      = new Vertex<String>("3");
+        v2.assignWeight(2f);
+        v3.setData("three");
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        graph.addVertex(v3);
+        graph.addEdge(v2, v1, 1f).setTag("a");
+        graph.addEdge(v1, v2, 1f).setTag("b");
+        graph.addEdge(v3, v3, 4f).setData("loop");
+
+        var file    = Files.createTempFile("erdos", ".bin");
+        try {
+            BinaryGraphFile.write(graph, file, STRINGS);
+
+            var restored    = BinaryGraphFile.read(file, HybridGraphEngine::new, STRINGS);
+            var engine      = restored.getGraphEngine();
+            var a           = engine.vertexAt(0);
+            var b           = engine.vertexAt(1);
+            var c           = engine.vertexAt(2);
+
+            assertTrue(engine instanceof HybridGraphEngine);
+            assertEquals(EDGE_DIRECTION.UNDIRECTED, restored.getGraphType());
+            assertTrue(restored.hasMultiEdges());
+            assertEquals(3, restored.numEdges());
+            assertEquals("2", b.getTag());
+            assertEquals(2f, b.getWeight());
+            assertEquals("three", c.getData());
+
+            var tags        = new HashSet<String>();
+            for (var edge : engine.getMultiEdges(a, b))
+                tags.add(edge.getTag());
+            assertEquals(Set.of("a", "b"), tags);
+            assertEquals(4f, restored.getEdge(c, c).getWeight());
+            assertEquals("loop", restored.getEdge(c, c).getData());
+
+            // without a codec the data is left out
+            BinaryGraphFile.write(graph, file);
+            assertNull(BinaryGraphFile.read(file).getGraphEngine().vertexAt(2).getData());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void streamsOverChannelsAndRejectsBrokenStreams() throws Exception {
+        var graph   = Erdos.newGraphWithEngineFactory(HybridGraphEngine::new, EDGE_DIRECTION.DIRECTED, false, false);
+        var v1      = new Vertex<String>("1");
+        var v2      = new Vertex<String>("2");
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        graph.addEdge(v1, v2, 3f);
+
+        var pipe    = Pipe.open();
+        var writer  = new Thread(() -> {
+            try {
+                BinaryGraphFile.write(graph, pipe.sink(), null);
+                pipe.sink().close();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        writer.start();
+
+        var restored = BinaryGraphFile.read(pipe.source(), HybridGraphEngine::new, null);
+        writer.join();
+
+        var engine  = restored.getGraphEngine();
+        assertEquals(EDGE_DIRECTION.DIRECTED, restored.getGraphType());
+        assertEquals(3f, restored.getEdge(engine.vertexAt(0), engine.vertexAt(1)).getWeight());
+        assertFalse(restored.hasEdge(engine.vertexAt(1), engine.vertexAt(0)));
+
+        var file    = Files.createTempFile("erdos", ".bin");
+        try {
+            BinaryGraphFile.write(graph, file);
+
+            var bytes   = Files.readAllBytes(file);
+            Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+            assertThrows(IOException.class, () -> BinaryGraphFile.read(file));
+
+            Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+            assertThrows(IOException.class, () -> BinaryGraphFile.read(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
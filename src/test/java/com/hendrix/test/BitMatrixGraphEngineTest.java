@@ -0,0 +1,115 @@
+package com.hendrix.test;
+
+import com.hendrix.erdos.algorithms.TransitiveClosure;
+import com.hendrix.erdos.algorithms.TriangleCount;
+import com.hendrix.erdos.graphs.SimpleDirectedGraph;
+import com.hendrix.erdos.graphs.SimpleGraph;
+import com.hendrix.erdos.graphs.engines.BitMatrixGraphEngine;
+import com.hendrix.erdos.graphs.engines.IGraphEngine;
+import com.hendrix.erdos.io.GraphMLFile;
+import com.hendrix.erdos.io.TextDataCodec;
+import com.hendrix.erdos.types.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BitMatrixGraphEngineTest {
+    @Test
+    public void matrixGraphSupportsEdgeQueriesAndClosure() {
+        var graph = new SimpleDirectedGraph() {
+            @Override
+            public IGraphEngine graphEngineFactory() {
+                return new BitMatrixGraphEngine();
+            }
+        };
+        var v1 = new Vertex<String>("1");
+        var v2 = new Vertex<String>("2");
+        var v3 = new Vertex<String>("3");
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        graph.addVertex(v3);
+        graph.addEdge(v1, v2, 3);
+        graph.addEdge(v2, v3);
+
+        var engine = (BitMatrixGraphEngine) graph.getGraphEngine();
+        assertTrue(engine.isWeighted());
+        assertEquals(3f, graph.getEdge(v1, v2).getWeight());
+        assertNull(graph.addEdge(v1, v2));
+        assertEquals(1, graph.getIncidenceInListOf(v3).size());
+        assertEquals(0b100L, engine.rowOf(engine.indexOf(v2))[0]);
+
+        var closure = new TransitiveClosure(graph).applyAlgorithm();
+        assertTrue(closure.hasEdge(v1, v3));
+        assertFalse(closure.hasEdge(v3, v1));
+
+        graph.removeVertex(v1);
+        assertEquals(1, graph.numEdges());
+        assertTrue(graph.hasEdge(v2, v3));
+        assertEquals(0f, graph.getEdge(v2, v3).getWeight());
+    }
+
+    @Test
+    public void edgesAreEqualByVerticesAndKeepTheirTags() throws IOException {
+        var graph = new SimpleGraph() {
+            @Override
+            public IGraphEngine graphEngineFactory() {
+                return new BitMatrixGraphEngine();
+            }
+        };
+        var v1 = new Vertex<String>("1");
+        var v2 = new Vertex<String>("2");
+        var v3 = new Vertex<String>("3");
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        graph.addVertex(v3);
+        graph.addEdge(v1, v2, 2f).setTag("a");
+        graph.addEdge(v3, v2).setData("b");
+
+        var e1_2 = graph.getEdge(v1, v2);
+        assertNotSame(e1_2, graph.getEdge(v2, v1));
+        assertEquals(e1_2, graph.getEdge(v2, v1));
+        assertEquals(e1_2.hashCode(), graph.getEdge(v2, v1).hashCode());
+        assertEquals(e1_2.getId(), graph.getEdge(v2, v1).getId());
+        assertEquals("a", graph.getEdge(v2, v1).getTag());
+
+        // the tags follow the vertex that moves into the index of a removed vertex
+        graph.removeVertex(v1);
+        assertEquals("b", graph.getEdge(v2, v3).getData());
+        assertEquals("a", e1_2.getTag());
+        assertEquals(2f, e1_2.getWeight());
+
+        var file = Files.createTempFile("erdos", ".graphml");
+        try {
+            graph.getEdge(v2, v3).setTag("c");
+            GraphMLFile.write(graph, file);
+
+            var restored = GraphMLFile.read(file, BitMatrixGraphEngine::new, TextDataCodec.STRINGS);
+            var engine   = restored.getGraphEngine();
+            assertEquals("c", restored.getEdge(engine.vertexAt(0), engine.vertexAt(1)).getTag());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void trianglesAreCountedOnce() {
+        var graph = new SimpleGraph();
+        var vertices = new Vertex[5];
+        for (int i = 0; i < vertices.length; i++) {
+            vertices[i] = new Vertex<String>(String.valueOf(i));
+            graph.addVertex(vertices[i]);
+        }
+        // a complete graph on 4 vertices has 4 triangles
+        for (int i = 0; i < 4; i++) {
+            for (int j = i + 1; j < 4; j++) {
+                graph.addEdge(vertices[i], vertices[j]);
+            }
+        }
+        graph.addEdge(vertices[3], vertices[4]);
+
+        assertEquals(4L, (long) new TriangleCount(graph).applyAlgorithm());
+    }
+}
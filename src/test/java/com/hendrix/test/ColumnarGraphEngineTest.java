@@ -0,0 +1,130 @@
+package com.hendrix.test;
+
+import com.hendrix.erdos.Erdos;
+import com.hendrix.erdos.graphs.engines.ColumnarGraphEngine;
+import com.hendrix.erdos.graphs.engines.ColumnarGraphEngine.ColumnarEdge;
+import com.hendrix.erdos.types.Edge;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ColumnarGraphEngineTest {
+    @Test
+    public void edgesAreFlyweightsOfTheColumns() {
+        var graph       = Erdos.newGraphWithEngineFactory(ColumnarGraphEngine::new, EDGE_DIRECTION.UNDIRECTED, false, false);
+        var v1          = new Vertex<String>("1");
+        var v2          = new Vertex<String>("2");
+        var v3          = new Vertex<String>("3");
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        graph.addVertex(v3);
+
+        var e1_2        = graph.addEdge(v1, v2, 3f);
+        var plain       = new Edge(v2, v3, EDGE_DIRECTION.UNDIRECTED, 5f);
+        plain.setTag("e2_3");
+        var e2_3        = graph.addEdge(plain);
+
+        var engine      = (ColumnarGraphEngine) graph.getGraphEngine();
+        var store       = engine.edgeStore();
+        assertTrue(e2_3 instanceof ColumnarEdge);
+        assertNotSame(plain, e2_3);
+        assertEquals("e2_3", e2_3.getTag());
+        assertEquals(5f, store.weight(((ColumnarEdge) e2_3).number()));
+
+        // an edge has a single flyweight, that writes through to the columns
+        var e2_1        = graph.getEdge(v2, v1);
+        assertSame(e1_2, e2_1);
+        assertEquals(e1_2.getId(), e2_1.getId());
+        e2_1.setWeight(7f);
+        assertEquals(7f, e1_2.getWeight());
+        assertTrue(graph.hasEdge(plain));
+
+        // removed edges are detached, and keep their state
+        assertSame(e1_2, graph.removeEdge(e1_2));
+        assertFalse(graph.hasEdge(e2_1));
+        assertEquals(7f, e1_2.getWeight());
+        assertEquals(1, store.size());
+
+        var readded     = graph.addEdge(e1_2);
+        assertEquals(7f, readded.getWeight());
+        assertEquals(2, store.limit());
+    }
+
+    @Test
+    public void heldEdgesSurviveRemovalAndNumberReuse() {
+        var graph       = Erdos.newGraphWithEngineFactory(ColumnarGraphEngine::new, EDGE_DIRECTION.DIRECTED, false, false);
+        var v1          = new Vertex<String>("1");
+        var v2          = new Vertex<String>("2");
+        var v3          = new Vertex<String>("3");
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        graph.addVertex(v3);
+        graph.addEdge(v1, v2, 7f).setTag("old");
+        graph.addEdge(v3, v1, 2f);
+
+        // held across a removal by vertices, and a new edge that reuses the edge number
+        var held        = graph.getEdge(v1, v2);
+        var number      = ((ColumnarEdge) held).number();
+        graph.removeEdge(v1, v2);
+        assertFalse(((ColumnarEdge) held).isAttached());
+        assertEquals(7f, held.getWeight());
+        assertEquals("old", held.getTag());
+
+        var reused      = graph.addEdge(v1, v2, 1f);
+        assertEquals(number, ((ColumnarEdge) reused).number());
+        assertNotSame(held, reused);
+        assertEquals(7f, held.getWeight());
+        assertEquals("old", held.getTag());
+        assertEquals(1f, reused.getWeight());
+        assertNull(reused.getTag());
+
+        // held across the removal of a vertex, out of an incidence list
+        var in          = graph.getIncidenceOutListOf(v3).iterator().next();
+        graph.removeVertex(v1);
+        assertEquals(2f, in.getWeight());
+        assertEquals(1f, reused.getWeight());
+        assertEquals(0, graph.numEdges());
+    }
+
+    @Test
+    public void removingAVertexRelabelsItsEdges() {
+        var graph       = Erdos.newGraphWithEngineFactory(ColumnarGraphEngine::new, EDGE_DIRECTION.DIRECTED, true, true);
+        var v1          = new Vertex<String>("1");
+        var v2          = new Vertex<String>("2");
+        var v3          = new Vertex<String>("3");
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        graph.addVertex(v3);
+        graph.addEdge(v1, v3);
+        graph.addEdge(v2, v3, 1f);
+        graph.addEdge(v3, v2, 2f);
+        graph.addEdge(v2, v3, 3f);
+        graph.addEdge(v3, v3);
+
+        var engine      = (ColumnarGraphEngine) graph.getGraphEngine();
+        assertEquals(1, engine.outDegreeOfVertex(v2));
+        assertEquals(4, engine.inDegreeOfVertex(v3));
+        assertEquals(2, engine.getMultiEdges(v2, v3).size());
+
+        // v3 moves into the index of v1
+        graph.removeVertex(v1);
+        assertEquals(0, engine.indexOf(v3));
+        assertEquals(4, graph.numEdges());
+        assertTrue(graph.hasEdge(v3, v3));
+
+        var weights     = new ArrayList<Float>();
+
+        for (var cursor = engine.neighborCursor().reset(engine.indexOf(v3)); cursor.next(); ) {
+            weights.add(cursor.weight());
+            assertEquals(cursor.target(), engine.edgeStore().target(((ColumnarEdge) cursor.edge()).number()));
+        }
+
+        assertEquals(2, weights.size());
+        assertTrue(weights.contains(2f));
+        assertEquals(1f, graph.getEdge(v2, v3).getWeight());
+    }
+}
@@ -0,0 +1,64 @@
+package com.hendrix.test;
+
+import com.hendrix.erdos.Erdos;
+import com.hendrix.erdos.algorithms.BFS;
+import com.hendrix.erdos.graphs.SimpleDirectedGraph;
+import com.hendrix.erdos.graphs.SimpleGraph;
+import com.hendrix.erdos.graphs.engines.CompressedGraphEngine;
+import com.hendrix.erdos.graphs.engines.IGraphEngine;
+import com.hendrix.erdos.types.Vertex;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompressedGraphEngineTest {
+    @Test
+    public void loadingEngineIsSealedByTheFirstQuery() {
+        var graph = new SimpleDirectedGraph() {
+            @Override
+            public IGraphEngine graphEngineFactory() {
+                return new CompressedGraphEngine();
+            }
+        };
+        var v1 = new Vertex<String>("1");
+        var v2 = new Vertex<String>("2");
+        var v3 = new Vertex<String>("3");
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        graph.addVertex(v3);
+        graph.addEdge(v1, v3, 2);
+        graph.addEdge(v1, v2);
+        assertNull(graph.addEdge(v1, v2));
+
+        var engine = (CompressedGraphEngine) graph.getGraphEngine();
+        assertFalse(engine.isSealed());
+
+        assertTrue(graph.hasEdge(v1, v3));
+        assertFalse(graph.hasEdge(v3, v1));
+        assertTrue(engine.isSealed());
+        assertEquals(2f, graph.getEdge(v1, v3).getWeight());
+        assertEquals(2, graph.numEdges());
+        assertEquals(1, graph.getIncidenceInListOf(v2).size());
+        assertThrows(UnsupportedOperationException.class, () -> graph.addEdge(v2, v3));
+    }
+
+    @Test
+    public void compressedGraphKeepsTheAdjacency() {
+        var graph = new SimpleGraph();
+        var vertices = new Vertex[100];
+        for (int i = 0; i < vertices.length; i++) {
+            vertices[i] = new Vertex<String>(String.valueOf(i));
+            graph.addVertex(vertices[i]);
+        }
+        for (int i = 1; i < vertices.length; i++) {
+            graph.addEdge(vertices[i - 1], vertices[i]);
+        }
+
+        var compressed = Erdos.compressGraphOf(graph);
+
+        assertEquals(graph.numEdges(), compressed.numEdges());
+        assertEquals(2, compressed.getNeighborsOf(vertices[50]).size());
+        assertTrue(compressed.hasEdge(vertices[51], vertices[50]));
+        assertEquals(99, new BFS(compressed, vertices[0]).applyAlgorithm().getDistance(vertices[99]));
+    }
+}
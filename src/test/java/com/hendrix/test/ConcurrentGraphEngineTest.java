@@ -0,0 +1,108 @@
+package com.hendrix.test;
+
+import com.hendrix.erdos.Erdos;
+import com.hendrix.erdos.graphs.DirectedGraph;
+import com.hendrix.erdos.graphs.engines.ConcurrentGraphEngine;
+import com.hendrix.erdos.types.Edge;
+import com.hendrix.erdos.types.IVertex;
+import com.hendrix.erdos.types.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentGraphEngineTest {
+    private static final int VERTICES = 2_000;
+    private static final int EDGES_PER_THREAD = 40_000;
+
+    /**
+     * every thread adds its own edges, then removes every other one, while reading the neighbors
+     * of the vertices it touches. checks the edge counts for a growing number of threads, the
+     * throughput is measured by {@link EngineBenchmark}.
+     */
+    @Test
+    public void stressParallelAddAndRemove() throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        for (int threads = 1; threads <= Math.max(2, cores); threads <<= 1) {
+            DirectedGraph graph = Erdos.newDirectedGraphWithEngine(new ConcurrentGraphEngine(), false, true);
+            var vertices = new IVertex[VERTICES];
+            for (int i = 0; i < VERTICES; i++) {
+                vertices[i] = new Vertex<String>(String.valueOf(i));
+                graph.addVertex(vertices[i]);
+            }
+
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            List<Future<Long>> futures = new ArrayList<>();
+
+            for (int t = 0; t < threads; t++) {
+                final int seed = t;
+                futures.add(executor.submit(() -> {
+                    var random = new java.util.Random(seed);
+                    var added = new ArrayList<Edge>(EDGES_PER_THREAD);
+
+                    for (int i = 0; i < EDGES_PER_THREAD; i++) {
+                        var u = vertices[random.nextInt(VERTICES)];
+                        var v = vertices[random.nextInt(VERTICES)];
+                        if (u == v)
+                            continue;
+
+                        added.add(graph.addEdge(u, v, i));
+                        assertTrue(graph.getNeighborsOf(u).contains(v));
+                    }
+
+                    for (int i = 0; i < added.size(); i += 2) {
+                        assertSame(added.get(i), graph.removeEdge(added.get(i)));
+                    }
+
+                    return (long) added.size() - (added.size() + 1) / 2;
+                }));
+            }
+
+            long expected = 0;
+            for (Future<Long> future : futures) {
+                expected += future.get();
+            }
+
+            executor.shutdown();
+
+            assertEquals(expected, graph.numEdges());
+            long out = 0, in = 0;
+            for (IVertex vertex : graph) {
+                out += graph.getIncidenceOutListOf(vertex).size();
+                in += graph.getIncidenceInListOf(vertex).size();
+            }
+            assertEquals(expected, out);
+            assertEquals(expected, in);
+        }
+    }
+
+    @Test
+    public void removeVertexUnlinksItsEdges() {
+        DirectedGraph graph = Erdos.newDirectedGraphWithEngine(new ConcurrentGraphEngine(4), false, false);
+        var a = new Vertex<String>("a");
+        var b = new Vertex<String>("b");
+        var c = new Vertex<String>("c");
+        graph.addVertex(a);
+        graph.addVertex(b);
+        graph.addVertex(c);
+        graph.addEdge(a, b);
+        graph.addEdge(b, c);
+        graph.addEdge(c, a);
+
+        assertNull(graph.addEdge(a, b));
+        assertTrue(graph.removeVertex(a));
+
+        var engine = graph.getGraphEngine();
+        assertEquals(1, graph.numEdges());
+        assertEquals(0, graph.getIncidenceInListOf(b).size());
+        assertEquals(0, graph.getNeighborsOf(c).size());
+        assertSame(c, engine.vertexAt(engine.indexOf(c)));
+        assertEquals(2, graph.numVertices());
+    }
+}
@@ -0,0 +1,64 @@
+package com.hendrix.test;
+
+import com.hendrix.erdos.Erdos;
+import com.hendrix.erdos.algorithms.BFS;
+import com.hendrix.erdos.algorithms.DijkstraShortestPath;
+import com.hendrix.erdos.graphs.IDirectedGraph;
+import com.hendrix.erdos.graphs.SimpleDirectedGraph;
+import com.hendrix.erdos.graphs.SimpleGraph;
+import com.hendrix.erdos.graphs.engines.CsrGraphEngine;
+import com.hendrix.erdos.types.Vertex;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsrGraphEngineTest {
+    @Test
+    public void frozenDirectedGraphMatchesSource() {
+        var graph = new SimpleDirectedGraph();
+        var v1 = new Vertex<String>("1");
+        var v2 = new Vertex<String>("2");
+        var v3 = new Vertex<String>("3");
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        graph.addVertex(v3);
+        var e1_3 = graph.addEdge(v1, v3, 5);
+        var e1_2 = graph.addEdge(v1, v2, 1);
+        var e2_3 = graph.addEdge(v2, v3, 1);
+
+        var frozen = Erdos.freezeGraphOf(graph);
+
+        assertTrue(frozen.getGraphEngine() instanceof CsrGraphEngine);
+        assertEquals(3, frozen.numVertices());
+        assertEquals(3, frozen.numEdges());
+        assertSame(e1_3, frozen.getEdge(v1, v3));
+        assertSame(e2_3, frozen.getEdge(v2, v3));
+        assertNull(frozen.getEdge(v3, v1));
+        assertTrue(frozen.hasEdge(e1_2));
+        assertEquals(2, frozen.getNeighborsOf(v1).size());
+        assertEquals(2, frozen.getIncidenceInListOf(v3).size());
+        assertThrows(UnsupportedOperationException.class, () -> frozen.addVertex(new Vertex<String>()));
+
+        var tree = new DijkstraShortestPath((IDirectedGraph) frozen).setStartVertex(v1).applyAlgorithm();
+        assertEquals(2f, tree.distanceOf(v3));
+
+        var bfs = new BFS(frozen, v1).applyAlgorithm();
+        assertEquals(1, bfs.getDistance(v3));
+    }
+
+    @Test
+    public void frozenUndirectedGraphSeesBothEndpoints() {
+        var graph = new SimpleGraph();
+        var v1 = new Vertex<String>("1");
+        var v2 = new Vertex<String>("2");
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        var edge = graph.addEdge(v1, v2, 3);
+
+        var frozen = Erdos.freezeGraphOf(graph);
+
+        assertSame(edge, frozen.getEdge(v2, v1));
+        assertTrue(frozen.getNeighborsOf(v2).contains(v1));
+        assertEquals(1, frozen.edges().size());
+    }
+}
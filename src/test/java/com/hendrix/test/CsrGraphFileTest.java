@@ -0,0 +1,55 @@
+package com.hendrix.test;
+
+import com.hendrix.erdos.algorithms.BFS;
+import com.hendrix.erdos.graphs.SimpleDirectedGraph;
+import com.hendrix.erdos.io.CsrGraphFile;
+import com.hendrix.erdos.types.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsrGraphFileTest {
+    @Test
+    public void mappedFileMatchesWrittenGraph() throws IOException {
+        var graph = new SimpleDirectedGraph();
+        var v1 = new Vertex<String>("1");
+        var v2 = new Vertex<String>("2");
+        var v3 = new Vertex<String>("3");
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        graph.addVertex(v3);
+        graph.addEdge(v1, v2, 1);
+        graph.addEdge(v2, v3, 4);
+
+        var file = Files.createTempFile("erdos", ".csr");
+        try {
+            CsrGraphFile.write(graph, file);
+
+            var mapped = CsrGraphFile.openGraph(file);
+            var engine = mapped.getGraphEngine();
+            var a = engine.vertexAt(0);
+            var c = engine.vertexAt(2);
+
+            assertEquals(3, mapped.numVertices());
+            assertEquals(2, mapped.numEdges());
+            assertEquals("3", c.getTag());
+            assertEquals(4f, mapped.getEdge(engine.vertexAt(1), c).getWeight());
+            assertEquals(2, new BFS(mapped, a).applyAlgorithm().getDistance(c));
+            assertFalse(mapped.hasMultiEdges());
+
+            engine.dispose();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        var garbage = Files.createTempFile("erdos", ".csr");
+        try {
+            assertThrows(IOException.class, () -> CsrGraphFile.open(garbage));
+        } finally {
+            Files.deleteIfExists(garbage);
+        }
+    }
+}
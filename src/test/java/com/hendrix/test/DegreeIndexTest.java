@@ -0,0 +1,78 @@
+package com.hendrix.test;
+
+import com.hendrix.erdos.Erdos;
+import com.hendrix.erdos.graphs.engines.AdjIncidenceGraphEngine;
+import com.hendrix.erdos.graphs.engines.HybridGraphEngine;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DegreeIndexTest {
+    @Test
+    public void degreesFollowTheMutations() {
+        var graph       = Erdos.newGraphWithEngineFactory(HybridGraphEngine::new, EDGE_DIRECTION.DIRECTED, true, true);
+        var v1          = new Vertex<String>("1");
+        var v2          = new Vertex<String>("2");
+        var v3          = new Vertex<String>("3");
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        graph.addVertex(v3);
+        graph.addEdge(v1, v2);
+        var e1_2        = graph.addEdge(v1, v2);
+        graph.addEdge(v1, v3);
+        graph.addEdge(v3, v3);
+
+        var engine      = graph.getGraphEngine();
+        var degrees     = engine.degrees();
+        assertSame(degrees, engine.degrees());
+
+        // multi edges are counted, unlike the distinct neighbors of outDegreeOfVertex
+        assertEquals(3, degrees.outDegree(engine.indexOf(v1)));
+        assertEquals(2, engine.outDegreeOfVertex(v1));
+        assertEquals(3, degrees.maxOutDegree());
+        assertEquals(2, degrees.maxInDegree());
+        assertEquals("[1, 1, 0, 1]", Arrays.toString(degrees.outDegreeHistogram()));
+        assertEquals(4 / 3.0, degrees.averageOutDegree(), 1e-9);
+
+        graph.removeEdge(e1_2);
+        assertEquals(2, degrees.maxOutDegree());
+        assertEquals(1, degrees.numVerticesWithInDegree(2));
+
+        // v3 moves into the index of v1
+        graph.removeVertex(v1);
+        assertEquals(2, degrees.size());
+        assertEquals(1, degrees.outDegree(engine.indexOf(v3)));
+        assertEquals(1, degrees.maxOutDegree());
+        assertEquals(1, degrees.numVerticesWithInDegree(0));
+    }
+
+    @Test
+    public void frozenGraphsCountTheirDegreesOnce() {
+        var graph       = Erdos.newGraphWithEngineFactory(AdjIncidenceGraphEngine::new, EDGE_DIRECTION.UNDIRECTED, true, false);
+        var v1          = new Vertex<String>("1");
+        var v2          = new Vertex<String>("2");
+        var v3          = new Vertex<String>("3");
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        graph.addVertex(v3);
+        graph.addEdge(v1, v2);
+        graph.addEdge(v2, v3);
+        graph.addEdge(v2, v2);
+
+        var frozen      = Erdos.freezeGraphOf(graph);
+        var engine      = frozen.getGraphEngine();
+        var degrees     = engine.degrees();
+        assertSame(degrees, engine.degrees());
+        assertEquals(graph.getGraphEngine().degrees().maxOutDegree(), degrees.maxOutDegree());
+
+        // a self loop counts once, and undirected degrees are the same both ways
+        assertEquals(3, degrees.outDegree(engine.indexOf(v2)));
+        assertEquals(3, degrees.inDegree(engine.indexOf(v2)));
+        assertEquals(2, degrees.numVerticesWithOutDegree(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> degrees.outDegree(3));
+    }
+}
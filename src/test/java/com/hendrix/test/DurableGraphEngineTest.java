@@ -0,0 +1,140 @@
+package com.hendrix.test;
+
+import com.hendrix.erdos.graphs.engines.AdjIncidenceGraphEngine;
+import com.hendrix.erdos.graphs.engines.ConcurrentGraphEngine;
+import com.hendrix.erdos.io.BinaryGraphFile;
+import com.hendrix.erdos.io.DurableGraphEngine;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.IVertex;
+import com.hendrix.erdos.types.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DurableGraphEngineTest {
+    private static final BinaryGraphFile.DataCodec STRINGS = new BinaryGraphFile.DataCodec() {
+        @Override
+        public byte[] encode(Object data) {
+            return data.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Object decode(byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    @Test
+    public void changesSurviveCheckpointsAndReopening() throws IOException {
+        var directory   = Files.createTempDirectory("erdos");
+        try {
+            var graph   = DurableGraphEngine.open(directory, AdjIncidenceGraphEngine::new, EDGE_DIRECTION.UNDIRECTED, true, true, STRINGS);
+            var engine  = (DurableGraphEngine) graph.getGraphEngine();
+            var v1      = new Vertex<String>("1");
+            var v2      = new Vertex<String>("2");
+            var v3      = new Vertex<String>("3");
+            v2.setData("two");
+            graph.addVertex(v1);
+            graph.addVertex(v2);
+            graph.addVertex(v3);
+            graph.addEdge(v1, v2, 1f);
+            graph.addEdge(v2, v1, 2f);
+            graph.addEdge(v3, v3, 3f);
+
+            engine.checkpoint();
+            assertEquals(1, engine.getGeneration());
+
+            // logged after the checkpoint
+            var v4      = new Vertex<String>("4");
+            graph.addVertex(v4);
+            graph.addEdge(v4, v1, 4f);
+            graph.removeVertex(v3);
+            graph.removeEdge(graph.getEdge(v1, v2));
+            assertThrows(UnsupportedOperationException.class, () -> engine.vertices().clear());
+            engine.close();
+            assertThrows(IllegalStateException.class, () -> graph.addVertex(new Vertex<String>("5")));
+
+            var restored    = DurableGraphEngine.open(directory, ConcurrentGraphEngine::new, EDGE_DIRECTION.UNDIRECTED, true, true, STRINGS);
+            var vertices    = verticesByTag(restored.vertices());
+
+            assertEquals(3, restored.numVertices());
+            assertEquals(2, restored.numEdges());
+            assertFalse(vertices.containsKey("3"));
+            assertEquals("two", vertices.get("2").getData());
+            assertEquals(1, restored.getGraphEngine().getMultiEdges(vertices.get("1"), vertices.get("2")).size());
+            assertEquals(4f, restored.getEdge(vertices.get("1"), vertices.get("4")).getWeight());
+            assertThrows(IOException.class, () -> DurableGraphEngine.open(directory, AdjIncidenceGraphEngine::new, EDGE_DIRECTION.DIRECTED, true, true));
+
+            ((DurableGraphEngine) restored.getGraphEngine()).close();
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void tornLogTailIsCutOffOnRecovery() throws IOException {
+        var directory   = Files.createTempDirectory("erdos");
+        try {
+            var graph   = DurableGraphEngine.open(directory, AdjIncidenceGraphEngine::new, EDGE_DIRECTION.DIRECTED, false, false);
+            var engine  = (DurableGraphEngine) graph.getGraphEngine();
+            var v1      = new Vertex<String>("1");
+            var v2      = new Vertex<String>("2");
+            graph.addVertex(v1);
+            graph.addVertex(v2);
+            graph.addEdge(v1, v2, 5f);
+            var size    = engine.logSize();
+            graph.addEdge(v2, v1, 6f);
+            engine.close();
+
+            // a crash in the middle of the last record
+            var log     = directory.resolve("wal-0.log");
+            try (var channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+                channel.truncate(Files.size(log) - 3);
+            }
+
+            var restored    = DurableGraphEngine.open(directory, AdjIncidenceGraphEngine::new, EDGE_DIRECTION.DIRECTED, false, false);
+            var vertices    = verticesByTag(restored.vertices());
+            assertEquals(size, Files.size(log));
+            assertEquals(1, restored.numEdges());
+            assertEquals(5f, restored.getEdge(vertices.get("1"), vertices.get("2")).getWeight());
+
+            // garbage after the last record
+            restored.addEdge(vertices.get("2"), vertices.get("1"), 7f);
+            ((DurableGraphEngine) restored.getGraphEngine()).close();
+            Files.write(log, new byte[] {9, 0, 0, 0, 1, 2, 3, 4, 5}, StandardOpenOption.APPEND);
+
+            var again       = DurableGraphEngine.open(directory, AdjIncidenceGraphEngine::new, EDGE_DIRECTION.DIRECTED, false, false);
+            vertices        = verticesByTag(again.vertices());
+            assertEquals(2, again.numEdges());
+            assertEquals(7f, again.getEdge(vertices.get("2"), vertices.get("1")).getWeight());
+
+            ((DurableGraphEngine) again.getGraphEngine()).close();
+        } finally {
+            delete(directory);
+        }
+    }
+
+    private static Map<String, IVertex> verticesByTag(Iterable<IVertex> vertices) {
+        var map = new HashMap<String, IVertex>();
+        for (var vertex : vertices)
+            map.put(vertex.getTag(), vertex);
+        return map;
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (var files = Files.list(directory)) {
+            for (var file : (Iterable<Path>) files::iterator)
+                Files.deleteIfExists(file);
+        }
+        Files.deleteIfExists(directory);
+    }
+}
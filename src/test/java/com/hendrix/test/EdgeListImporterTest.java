@@ -0,0 +1,90 @@
+package com.hendrix.test;
+
+import com.hendrix.erdos.graphs.AbstractGraph;
+import com.hendrix.erdos.graphs.engines.ColumnarGraphEngine;
+import com.hendrix.erdos.io.EdgeListImporter;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.IVertex;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EdgeListImporterTest {
+
+    private static Map<String, IVertex> verticesByTag(AbstractGraph graph) {
+        var vertices = new HashMap<String, IVertex>();
+        for (var vertex : graph.vertices())
+            vertices.put(vertex.getTag().toString(), vertex);
+        return vertices;
+    }
+
+    @Test
+    public void csvWithHeaderAndNamedVertices() throws IOException {
+        var file = Files.createTempFile("erdos", ".csv");
+        try {
+            Files.write(file, ("source,target,weight\r\n" +
+                               "alice,bob,1.5\r\n" +
+                               "# a comment\r\n" +
+                               "bob,carol,2e-1\r\n" +
+                               "\r\n" +
+                               "carol,alice\r\n" +
+                               "alice,alice,3\r\n").getBytes(StandardCharsets.UTF_8));
+
+            var graph       = new EdgeListImporter(EDGE_DIRECTION.DIRECTED).header(true).read(file);
+            var vertices    = verticesByTag(graph);
+            var alice       = vertices.get("alice");
+            var bob         = vertices.get("bob");
+            var carol       = vertices.get("carol");
+
+            assertEquals(3, graph.numVertices());
+            assertEquals(3, graph.numEdges());
+            assertEquals(1.5f, graph.getEdge(alice, bob).getWeight());
+            assertEquals(0.2f, graph.getEdge(bob, carol).getWeight(), 1e-6f);
+            assertEquals(0f, graph.getEdge(carol, alice).getWeight());
+            assertNull(graph.getEdge(bob, alice));
+            // self loops are dropped by default
+            assertNull(graph.getEdge(alice, alice));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void numericFileInSmallChunks() throws IOException {
+        var file = Files.createTempFile("erdos", ".txt");
+        try {
+            var text = new StringBuilder();
+            for (int i = 0; i < 1000; i++)
+                text.append(i).append('\t').append((i + 1) % 1000).append('\n');
+            Files.write(file, text.toString().getBytes(StandardCharsets.UTF_8));
+
+            var pool = new ForkJoinPool(4);
+            try {
+                var importer    = new EdgeListImporter(EDGE_DIRECTION.UNDIRECTED).chunkSize(64);
+                var graph       = importer.read(file, ColumnarGraphEngine::new, pool);
+                var vertices    = verticesByTag(graph);
+
+                assertEquals(1000, graph.numVertices());
+                assertEquals(1000, graph.numEdges());
+                assertNotNull(graph.getEdge(vertices.get("999"), vertices.get("0")));
+                assertEquals(2, graph.getNeighborsOf(vertices.get("500")).size());
+
+                Files.write(file, "1 2\n3\n".getBytes(StandardCharsets.UTF_8));
+                var e = assertThrows(IOException.class, () -> importer.read(file, ColumnarGraphEngine::new, pool));
+                assertTrue(e.getMessage().contains("without a target"));
+            } finally {
+                pool.shutdown();
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+}
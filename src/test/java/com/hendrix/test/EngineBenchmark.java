@@ -0,0 +1,223 @@
+package com.hendrix.test;
+
+import com.hendrix.erdos.Erdos;
+import com.hendrix.erdos.graphs.AbstractGraph;
+import com.hendrix.erdos.graphs.engines.AdjIncidenceGraphEngine;
+import com.hendrix.erdos.graphs.engines.ColumnarGraphEngine;
+import com.hendrix.erdos.graphs.engines.ConcurrentGraphEngine;
+import com.hendrix.erdos.graphs.engines.HybridGraphEngine;
+import com.hendrix.erdos.graphs.engines.IGraphEngine;
+import com.hendrix.erdos.graphs.engines.NeighborCursor;
+import com.hendrix.erdos.types.Edge;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.IVertex;
+import com.hendrix.erdos.types.Vertex;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * compares graph engines on a power law graph, a few hubs with a large degree, and a long tail of
+ * vertices with a small one, then measures the throughput of the {@link ConcurrentGraphEngine} for a
+ * growing number of threads. it is not a unit test, run it with:
+ * <pre>
+ * java -cp build/classes/java/main:build/classes/java/test com.hendrix.test.EngineBenchmark [vertices] [edges]
+ * </pre>
+ *
+ * @author Tomer Shalev
+ */
+public class EngineBenchmark {
+    private static final int ROUNDS     = 5;
+    private static final int QUERIES    = 2_000_000;
+
+    /**
+     * keeps the results of the queries alive
+     */
+    private static long _sink           = 0;
+
+    public static void main(String[] args) throws Exception {
+        int n                           = (args.length > 0) ? Integer.parseInt(args[0]) : 200_000;
+        int m                           = (args.length > 1) ? Integer.parseInt(args[1]) : 2_000_000;
+        Map<String, Supplier<IGraphEngine>> engines = new LinkedHashMap<>();
+
+        engines.put("adjacency", AdjIncidenceGraphEngine::new);
+        engines.put("hybrid", HybridGraphEngine::new);
+        engines.put("sorted", () -> new HybridGraphEngine(true));
+        engines.put("columnar", ColumnarGraphEngine::new);
+
+        // targets are skewed towards the low indices, the vertex at index k gets about k^(-2/3) of them
+        Random random                   = new Random(1);
+        int[] sources                   = new int[m];
+        int[] targets                   = new int[m];
+
+        for (int e = 0; e < m; e++) {
+            sources[e]                  = random.nextInt(n);
+            targets[e]                  = (int) (n * Math.pow(random.nextDouble(), 3));
+        }
+
+        System.out.printf("%d vertices, %d edges%n", n, m);
+        System.out.printf("%-10s %10s %10s %12s %12s %10s %10s%n", "engine", "build ms", "heap MB", "hub query ns", "tail query ns", "scan ms", "remove ms");
+
+        for (Map.Entry<String, Supplier<IGraphEngine>> entry : engines.entrySet()) {
+            for (int round = 0; round < ROUNDS; round++) {
+                run(entry.getKey(), entry.getValue(), n, m, sources, targets, round == ROUNDS - 1);
+            }
+        }
+
+        int cores                       = Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("%n%d cores%n", cores);
+        System.out.printf("%-10s %10s %14s%n", "threads", "ms", "k edges/s");
+
+        for (int threads = 1; threads <= Math.max(2, cores); threads <<= 1) {
+            for (int round = 0; round < ROUNDS; round++) {
+                sweep(threads, n, m, sources, targets, round == ROUNDS - 1);
+            }
+        }
+    }
+
+    /**
+     * every thread adds its share of the edges into a {@link ConcurrentGraphEngine}, querying each
+     * one after adding it, then removes every other edge it added.
+     */
+    private static void sweep(int threads, int n, int m, int[] sources, int[] targets, boolean report) throws Exception {
+        AbstractGraph graph     = Erdos.newGraphWithEngineFactory(ConcurrentGraphEngine::new, EDGE_DIRECTION.DIRECTED, false, true);
+        IVertex[] vertices      = new IVertex[n];
+
+        for (int i = 0; i < n; i++) {
+            graph.addVertex(vertices[i] = new Vertex<>());
+        }
+
+        ExecutorService executor    = Executors.newFixedThreadPool(threads);
+        List<Future<Long>> futures  = new ArrayList<>(threads);
+        long start                  = System.nanoTime();
+
+        for (int t = 0; t < threads; t++) {
+            final int first     = t;
+
+            futures.add(executor.submit(() -> {
+                List<Edge> added    = new ArrayList<>(m / threads + 1);
+                long hits           = 0;
+
+                for (int e = first; e < m; e += threads) {
+                    IVertex u       = vertices[sources[e]];
+                    IVertex v       = vertices[targets[e]];
+
+                    if(u == v)
+                        continue;
+
+                    added.add(graph.addEdge(u, v));
+                    hits            += graph.hasEdge(u, v) ? 1 : 0;
+                }
+
+                for (int i = 0; i < added.size(); i += 2) {
+                    graph.removeEdge(added.get(i));
+                }
+
+                return hits;
+            }));
+        }
+
+        long hits               = 0;
+
+        for (Future<Long> future : futures) {
+            hits                += future.get();
+        }
+
+        double ms               = (System.nanoTime() - start) / 1e6;
+
+        executor.shutdown();
+
+        _sink                   += hits;
+
+        if(report)
+            System.out.printf("%-10d %10.0f %14.0f%n", threads, ms, hits / ms);
+    }
+
+    private static void run(String name, Supplier<IGraphEngine> factory, int n, int m, int[] sources, int[] targets, boolean report) {
+        long heap               = usedHeap();
+        long start              = System.nanoTime();
+        AbstractGraph graph     = Erdos.newGraphWithEngineFactory(factory, EDGE_DIRECTION.UNDIRECTED, false, false);
+        IVertex[] vertices      = new IVertex[n];
+
+        for (int i = 0; i < n; i++) {
+            graph.addVertex(vertices[i] = new Vertex<>());
+        }
+
+        for (int e = 0; e < m; e++) {
+            graph.addEdge(vertices[sources[e]], vertices[targets[e]]);
+        }
+
+        double buildMs          = (System.nanoTime() - start) / 1e6;
+        double heapMb           = (usedHeap() - heap) / (1024.0 * 1024.0);
+
+        // the hubs are the first 64 vertices
+        Random random           = new Random(2);
+        long hits               = 0;
+
+        start                   = System.nanoTime();
+
+        for (int q = 0; q < QUERIES; q++) {
+            hits                += graph.hasEdge(vertices[random.nextInt(64)], vertices[random.nextInt(n)]) ? 1 : 0;
+        }
+
+        double hubNs            = (System.nanoTime() - start) / (double) QUERIES;
+
+        start                   = System.nanoTime();
+
+        for (int q = 0; q < QUERIES; q++) {
+            hits                += graph.hasEdge(vertices[n - 1 - random.nextInt(n >>> 1)], vertices[random.nextInt(n)]) ? 1 : 0;
+        }
+
+        double tailNs           = (System.nanoTime() - start) / (double) QUERIES;
+
+        // visit every neighbor of every vertex
+        IGraphEngine engine     = graph.getGraphEngine();
+        NeighborCursor cursor   = engine.neighborCursor();
+
+        start                   = System.nanoTime();
+
+        for (int i = 0; i < n; i++) {
+            for (cursor.reset(i); cursor.next(); ) {
+                hits            += cursor.target();
+            }
+        }
+
+        double scanMs           = (System.nanoTime() - start) / 1e6;
+
+        // remove about a tenth of the edges
+        start                   = System.nanoTime();
+
+        for (int e = 0; e < m; e += 10) {
+            Edge edge           = graph.getEdge(vertices[sources[e]], vertices[targets[e]]);
+
+            if(edge != null)
+                graph.removeEdge(edge);
+        }
+
+        double removeMs         = (System.nanoTime() - start) / 1e6;
+
+        _sink                   += hits;
+
+        if(report)
+            System.out.printf("%-10s %10.0f %10.1f %12.1f %12.1f %10.1f %10.0f%n", name, buildMs, heapMb, hubNs, tailNs, scanMs, removeMs);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}
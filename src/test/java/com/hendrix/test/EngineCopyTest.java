@@ -0,0 +1,74 @@
+package com.hendrix.test;
+
+import com.hendrix.erdos.Erdos;
+import com.hendrix.erdos.graphs.engines.AdjIncidenceGraphEngine;
+import com.hendrix.erdos.graphs.engines.HybridGraphEngine;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EngineCopyTest {
+    @Test
+    public void copyOnWriteCopiesAreIndependent() {
+        var graph       = Erdos.newGraphWithEngineFactory(HybridGraphEngine::new, EDGE_DIRECTION.DIRECTED, false, false);
+        var v1          = new Vertex<String>("1");
+        var v2          = new Vertex<String>("2");
+        var v3          = new Vertex<String>("3");
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        graph.addVertex(v3);
+        var e1_2        = graph.addEdge(v1, v2);
+        graph.addEdge(v2, v3);
+
+        var copy        = Erdos.cloneGraphOf(graph, true);
+        assertTrue(copy.getGraphEngine() instanceof HybridGraphEngine);
+        assertNotSame(graph.getGraphEngine(), copy.getGraphEngine());
+        assertSame(e1_2, copy.getEdge(v1, v2));
+        assertEquals(2, copy.numEdges());
+
+        // changes to either graph do not show in the other one
+        copy.removeEdge(v1, v2);
+        copy.addEdge(v3, v1);
+        graph.addEdge(v1, v3);
+
+        assertEquals(Set.of(v2, v3), new HashSet<>(graph.getNeighborsOf(v1)));
+        assertEquals(1, graph.getIncidenceInListOf(v2).size());
+        assertFalse(graph.hasEdge(v3, v1));
+        assertEquals(Set.of(), new HashSet<>(copy.getNeighborsOf(v1)));
+        assertEquals(Set.of(v1), new HashSet<>(copy.getNeighborsOf(v3)));
+        assertEquals(3, graph.numEdges());
+        assertEquals(2, copy.numEdges());
+        assertEquals(0, copy.getGraphEngine().degrees().outDegree(0));
+        assertEquals(2, graph.getGraphEngine().degrees().outDegree(0));
+    }
+
+    @Test
+    public void copyKeepsTheGraphTypeAndFlags() {
+        var graph       = Erdos.newGraphWithEngineFactory(AdjIncidenceGraphEngine::new, EDGE_DIRECTION.UNDIRECTED, true, true);
+        var v1          = new Vertex<String>("1");
+        var v2          = new Vertex<String>("2");
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        graph.addEdge(v1, v2);
+        graph.addEdge(v2, v1);
+        graph.addEdge(v1, v1);
+
+        var copy        = Erdos.cloneGraphOf(graph);
+        assertEquals(EDGE_DIRECTION.UNDIRECTED, copy.getGraphType());
+        assertTrue(copy.hasSelfLoops());
+        assertTrue(copy.hasMultiEdges());
+        assertTrue(copy.getGraphEngine() instanceof AdjIncidenceGraphEngine);
+        assertEquals(2, copy.getGraphEngine().getMultiEdges(v2, v1).size());
+        assertEquals(Set.of(v1, v2), new HashSet<>(copy.getNeighborsOf(v1)));
+
+        copy.removeVertex(v2);
+        assertEquals(3, graph.numEdges());
+        assertEquals(1, copy.numEdges());
+        assertTrue(graph.hasEdge(v2, v1));
+    }
+}
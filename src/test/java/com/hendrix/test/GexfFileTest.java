@@ -0,0 +1,78 @@
+package com.hendrix.test;
+
+import com.hendrix.erdos.graphs.engines.GraphBuilder;
+import com.hendrix.erdos.graphs.engines.HybridGraphEngine;
+import com.hendrix.erdos.io.GexfFile;
+import com.hendrix.erdos.io.TextDataCodec;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GexfFileTest {
+
+    @Test
+    public void restoredGraphMatchesWrittenGraph() throws IOException {
+        var v2      = new Vertex<Integer>("2");
+        v2.assignWeight(3f);
+        v2.setData(42);
+        var graph   = new GraphBuilder(EDGE_DIRECTION.DIRECTED, 3, 2).addVertices(2)
+                                                                   .addVertices(List.of(v2))
+                                                                   .addEdge(0, 1)
+                                                                   .addEdge(1, 2, 4f)
+                                                                   .build();
+        var engine  = graph.getGraphEngine();
+        graph.getEdge(engine.vertexAt(1), engine.vertexAt(2)).setTag("heavy");
+
+        var file    = Files.createTempFile("erdos", ".gexf");
+        try {
+            GexfFile.write(graph, file);
+
+            var restored    = GexfFile.read(file, HybridGraphEngine::new, TextDataCodec.STRINGS);
+            var vertices    = restored.getGraphEngine();
+            var c           = vertices.vertexAt(2);
+
+            assertEquals(EDGE_DIRECTION.DIRECTED, restored.getGraphType());
+            assertEquals(2, restored.numEdges());
+            assertEquals("0", vertices.vertexAt(0).getTag());
+            assertEquals(3f, c.getWeight());
+            assertEquals("42", c.getData());
+            // a weight of zero is written, so it is not read back as the default weight of 1
+            assertEquals(0f, restored.getEdge(vertices.vertexAt(0), vertices.vertexAt(1)).getWeight());
+            assertEquals("heavy", restored.getEdge(vertices.vertexAt(1), c).getTag());
+            assertEquals(4f, restored.getEdge(vertices.vertexAt(1), c).getWeight());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void gephiFileWithoutWeights() throws IOException {
+        var file = Files.createTempFile("erdos", ".gexf");
+        try {
+            Files.write(file, ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                               "<gexf xmlns=\"http://gexf.net/1.2draft\" version=\"1.2\">\n" +
+                               "  <graph mode=\"static\" defaultedgetype=\"mutual\">\n" +
+                               "    <nodes><node id=\"x\" label=\"Hello\"/><node id=\"y\" label=\"World\"/></nodes>\n" +
+                               "    <edges><edge id=\"0\" source=\"x\" target=\"y\"/></edges>\n" +
+                               "  </graph>\n" +
+                               "</gexf>\n").getBytes(StandardCharsets.UTF_8));
+
+            var graph   = GexfFile.read(file);
+            var engine  = graph.getGraphEngine();
+
+            assertEquals(EDGE_DIRECTION.UNDIRECTED, graph.getGraphType());
+            assertEquals("World", engine.vertexAt(1).getTag());
+            assertEquals(1f, graph.getEdge(engine.vertexAt(1), engine.vertexAt(0)).getWeight());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+}
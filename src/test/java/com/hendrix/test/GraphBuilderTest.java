@@ -0,0 +1,54 @@
+package com.hendrix.test;
+
+import com.hendrix.erdos.graphs.engines.CompressedGraphEngine;
+import com.hendrix.erdos.graphs.engines.GraphBuilder;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.EdgeKey;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraphBuilderTest {
+    @Test
+    public void builderDropsDuplicatesAndSelfLoops() {
+        var builder = new GraphBuilder(EDGE_DIRECTION.UNDIRECTED, 4, 6);
+        builder.addVertices(4);
+        builder.addEdges(new int[] {0, 1, 2, 2}, new int[] {1, 0, 2, 3}, new float[] {5, 7, 1, 2}, 4);
+        builder.addEdges(LongStream.of(EdgeKey.of(3, 1), EdgeKey.of(3, 2)));
+
+        var graph   = builder.build();
+        var v0      = graph.getGraphEngine().vertexAt(0);
+        var v1      = graph.getGraphEngine().vertexAt(1);
+        var v3      = graph.getGraphEngine().vertexAt(3);
+
+        assertEquals(4, graph.numVertices());
+        assertEquals(3, graph.numEdges());
+        assertEquals(5f, graph.getEdge(v1, v0).getWeight());
+        assertTrue(graph.hasEdge(v1, v3));
+        assertThrows(IllegalStateException.class, () -> builder.addEdge(0, 3));
+
+        // graphs derived from the built graph get an engine of their own
+        assertNotSame(graph.getGraphEngine(), graph.graphEngineFactory());
+    }
+
+    @Test
+    public void builderLoadsTheEngineOfTheFactory() {
+        var builder = new GraphBuilder(EDGE_DIRECTION.DIRECTED, 3, 3).multiEdges(true);
+        builder.addVertices(3);
+        builder.addEdge(0, 1).addEdge(0, 1).addEdge(2, 0);
+
+        var graph   = builder.build(CompressedGraphEngine::new);
+        var engine  = (CompressedGraphEngine) graph.getGraphEngine();
+
+        assertTrue(engine.isSealed());
+        assertEquals(3, graph.numEdges());
+        assertEquals(2, engine.getMultiEdges(engine.vertexAt(0), engine.vertexAt(1)).size());
+        assertEquals(1, engine.inDegreeOfVertex(engine.vertexAt(0)));
+
+        var invalid = new GraphBuilder(EDGE_DIRECTION.DIRECTED, 1, 1);
+        invalid.addVertices(1).addEdge(0, 1);
+        assertThrows(IndexOutOfBoundsException.class, invalid::build);
+    }
+}
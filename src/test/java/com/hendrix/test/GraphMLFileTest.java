@@ -0,0 +1,88 @@
+package com.hendrix.test;
+
+import com.hendrix.erdos.Erdos;
+import com.hendrix.erdos.graphs.engines.ColumnarGraphEngine;
+import com.hendrix.erdos.graphs.engines.HybridGraphEngine;
+import com.hendrix.erdos.io.GraphMLFile;
+import com.hendrix.erdos.io.TextDataCodec;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraphMLFileTest {
+
+    @Test
+    public void restoredGraphMatchesWrittenGraph() throws IOException {
+        var graph   = Erdos.newGraphWithEngineFactory(HybridGraphEngine::new, EDGE_DIRECTION.UNDIRECTED, true, false);
+        var v1      = new Vertex<String>("a & b");
+        var v2      = new Vertex<String>();
+        v2.assignWeight(2f);
+        v2.setData("two");
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        graph.addEdge(v1, v2, 1.5f).setTag("<edge>");
+        graph.addEdge(v2, v2).setData("loop");
+
+        var file    = Files.createTempFile("erdos", ".graphml");
+        try {
+            GraphMLFile.write(graph, file);
+
+            var restored    = GraphMLFile.read(file, ColumnarGraphEngine::new, TextDataCodec.STRINGS);
+            var engine      = restored.getGraphEngine();
+            var a           = engine.vertexAt(0);
+            var b           = engine.vertexAt(1);
+
+            assertEquals(EDGE_DIRECTION.UNDIRECTED, restored.getGraphType());
+            assertEquals(2, restored.numEdges());
+            assertEquals("a & b", a.getTag());
+            assertNull(b.getTag());
+            assertEquals(2f, b.getWeight());
+            assertEquals("two", b.getData());
+            assertEquals(1.5f, restored.getEdge(b, a).getWeight());
+            assertEquals("<edge>", restored.getEdge(a, b).getTag());
+            assertEquals("loop", restored.getEdge(b, b).getData());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void edgesMayComeBeforeTheirNodes() throws IOException {
+        var file = Files.createTempFile("erdos", ".graphml");
+        try {
+            Files.write(file, ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                               "<graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\">\n" +
+                               "  <key id=\"w\" for=\"edge\" attr.name=\"weight\" attr.type=\"double\"/>\n" +
+                               "  <key id=\"l\" for=\"node\" attr.name=\"label\" attr.type=\"string\"/>\n" +
+                               "  <key id=\"x\" for=\"node\" attr.name=\"color\" attr.type=\"string\"/>\n" +
+                               "  <graph id=\"G\" edgedefault=\"directed\">\n" +
+                               "    <edge source=\"b\" target=\"a\"><data key=\"w\">0.25</data></edge>\n" +
+                               "    <edge source=\"b\" target=\"a\"/>\n" +
+                               "    <node id=\"a\"><data key=\"l\">A</data><data key=\"x\">red</data></node>\n" +
+                               "  </graph>\n" +
+                               "</graphml>\n").getBytes(StandardCharsets.UTF_8));
+
+            var graph   = GraphMLFile.read(file);
+            var engine  = graph.getGraphEngine();
+
+            assertEquals(2, graph.numVertices());
+            // the parallel edges are kept as multi edges
+            assertTrue(graph.hasMultiEdges());
+            assertEquals(2, graph.numEdges());
+            assertEquals("A", engine.vertexAt(1).getTag());
+            assertEquals(2, engine.getMultiEdges(engine.vertexAt(0), engine.vertexAt(1)).size());
+
+            Files.write(file, "<graphml><graph><hyperedge/></graph></graphml>".getBytes(StandardCharsets.UTF_8));
+            assertThrows(IOException.class, () -> GraphMLFile.read(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.hendrix.test;
+
+import com.hendrix.erdos.Erdos;
+import com.hendrix.erdos.graphs.SimpleDirectedGraph;
+import com.hendrix.erdos.graphs.engines.ViewEdge;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraphViewsTest {
+    @Test
+    public void reversedAndUndirectedViewsFollowTheGraph() {
+        var graph       = new SimpleDirectedGraph();
+        var v1          = new Vertex<String>("1");
+        var v2          = new Vertex<String>("2");
+        var v3          = new Vertex<String>("3");
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        graph.addVertex(v3);
+        var e1_2        = graph.addEdge(v1, v2, 4f);
+        graph.addEdge(v2, v1, 1f);
+        graph.addEdge(v2, v3, 2f);
+
+        var reversed    = Erdos.reversedViewOf(graph);
+        assertEquals(EDGE_DIRECTION.DIRECTED, reversed.getGraphType());
+        assertEquals(Set.of(v2), new HashSet<>(reversed.getNeighborsOf(v3)));
+        assertEquals(Set.of(v2), new HashSet<>(reversed.getNeighborsOf(v1)));
+
+        // reversed edges write through to the edges of the graph
+        var e2_1        = reversed.getEdge(v2, v1);
+        assertSame(v2, e2_1.getV1());
+        assertSame(e1_2, ((ViewEdge) e2_1).viewedEdge());
+        e2_1.setWeight(5f);
+        assertEquals(5f, e1_2.getWeight());
+
+        var undirected  = Erdos.undirectedViewOf(graph);
+        assertEquals(EDGE_DIRECTION.UNDIRECTED, undirected.getGraphType());
+        assertEquals(Set.of(v1, v3), new HashSet<>(undirected.getNeighborsOf(v2)));
+        assertEquals(2, undirected.getGraphEngine().getMultiEdges(v1, v2).size());
+        assertEquals(3, undirected.numEdges());
+
+        // the views follow the graph, and can not be modified
+        graph.addEdge(v3, v1);
+        assertTrue(reversed.hasEdge(v1, v3));
+        assertTrue(undirected.hasEdge(v1, v3));
+        assertThrows(UnsupportedOperationException.class, () -> reversed.addEdge(v1, v3));
+        assertThrows(IllegalArgumentException.class, () -> Erdos.reversedViewOf(undirected));
+    }
+
+    @Test
+    public void subgraphViewsFilterVerticesAndEdges() {
+        var graph       = new SimpleDirectedGraph();
+        var v1          = new Vertex<String>("1");
+        var v2          = new Vertex<String>("2");
+        var v3          = new Vertex<String>("3");
+        var v4          = new Vertex<String>("4");
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        graph.addVertex(v3);
+        graph.addVertex(v4);
+        graph.addEdge(v1, v2, 1f);
+        graph.addEdge(v2, v3, 2f);
+        graph.addEdge(v3, v4, 3f);
+        graph.addEdge(v4, v1, 4f);
+
+        // the induced subgraph has dense indices of its own
+        var induced     = Erdos.inducedSubgraphOf(graph, vertex -> vertex != v3);
+        var engine      = induced.getGraphEngine();
+        assertEquals(3, induced.numVertices());
+        assertEquals(2, induced.numEdges());
+        assertFalse(induced.hasVertex(v3));
+        assertEquals(2, engine.indexOf(v4));
+        assertSame(v4, engine.vertexAt(2));
+        assertTrue(induced.getNeighborsOf(v2).isEmpty());
+        assertEquals(-1, engine.indexOf(v3));
+
+        var heavy       = Erdos.filteredViewOf(graph, edge -> edge.getWeight() > 2f);
+        assertEquals(4, heavy.numVertices());
+        assertEquals(2, heavy.numEdges());
+        assertFalse(heavy.hasEdge(v1, v2));
+        assertNull(heavy.getEdge(v2, v3));
+        assertEquals(Set.of(v1), new HashSet<>(heavy.getNeighborsOf(v4)));
+        assertEquals(0, heavy.getIncidenceInListOf(v3).size());
+    }
+}
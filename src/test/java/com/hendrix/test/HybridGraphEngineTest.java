@@ -0,0 +1,132 @@
+package com.hendrix.test;
+
+import com.hendrix.erdos.Erdos;
+import com.hendrix.erdos.algorithms.BFS;
+import com.hendrix.erdos.algorithms.TriangleCount;
+import com.hendrix.erdos.graphs.SimpleGraph;
+import com.hendrix.erdos.graphs.engines.HybridGraphEngine;
+import com.hendrix.erdos.graphs.engines.IGraphEngine;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.IVertex;
+import com.hendrix.erdos.types.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HybridGraphEngineTest {
+    @Test
+    public void hubsArePromotedAndDemoted() {
+        var graph = new SimpleGraph() {
+            @Override
+            public IGraphEngine graphEngineFactory() {
+                return new HybridGraphEngine(4, 2);
+            }
+        };
+        var hub         = new Vertex<String>("hub");
+        var leaves      = new ArrayList<IVertex>();
+        graph.addVertex(hub);
+
+        for (int i = 0; i < 6; i++) {
+            var leaf    = new Vertex<String>("leaf" + i);
+            leaves.add(leaf);
+            graph.addVertex(leaf);
+            graph.addEdge(hub, leaf, i);
+        }
+
+        var engine      = (HybridGraphEngine) graph.getGraphEngine();
+        assertTrue(engine.isHashed(engine.indexOf(hub)));
+        assertFalse(engine.isHashed(engine.indexOf(leaves.get(0))));
+        assertEquals(5f, graph.getEdge(leaves.get(5), hub).getWeight());
+        assertNull(graph.addEdge(leaves.get(2), hub));
+        assertEquals(2, new BFS(graph, leaves.get(0)).applyAlgorithm().getDistance(leaves.get(5)));
+
+        for (int i = 0; i < 5; i++) {
+            graph.removeEdge(hub, leaves.get(i));
+        }
+
+        assertFalse(engine.isHashed(engine.indexOf(hub)));
+        assertEquals(1, engine.outDegreeOfVertex(hub));
+        assertTrue(graph.hasEdge(leaves.get(5), hub));
+        assertEquals(1, graph.numEdges());
+    }
+
+    @Test
+    public void removingAVertexRetargetsItsNeighbors() {
+        var graph       = Erdos.newGraphWithEngineFactory(() -> new HybridGraphEngine(2, 1), EDGE_DIRECTION.DIRECTED, true, true);
+        var v1          = new Vertex<String>("1");
+        var v2          = new Vertex<String>("2");
+        var v3          = new Vertex<String>("3");
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        graph.addVertex(v3);
+        var e1_3        = graph.addEdge(v1, v3);
+        graph.addEdge(v1, v3);
+        graph.addEdge(v2, v3);
+        graph.addEdge(v3, v3);
+
+        var engine      = graph.getGraphEngine();
+        assertEquals(2, engine.getMultiEdges(v1, v3).size());
+        assertEquals(1, engine.outDegreeOfVertex(v1));
+        assertEquals(4, engine.inDegreeOfVertex(v3));
+
+        // v3 moves into the index of v1
+        graph.removeVertex(v1);
+        assertEquals(0, engine.indexOf(v3));
+        assertEquals(2, graph.numEdges());
+        assertFalse(graph.hasEdge(e1_3));
+        assertTrue(graph.hasEdge(v2, v3));
+        assertTrue(graph.hasEdge(v3, v3));
+        assertEquals(2, engine.inDegreeOfVertex(v3));
+
+        var neighbors   = new ArrayList<Integer>();
+        engine.forEachNeighbor(engine.indexOf(v2), neighbors::add);
+        assertEquals(0, (int) neighbors.get(0));
+    }
+
+    @Test
+    public void sortedNeighborsAreMerged() {
+        var graph       = Erdos.newGraphWithEngineFactory(() -> new HybridGraphEngine(true), EDGE_DIRECTION.UNDIRECTED, false, true);
+        var vertices    = new ArrayList<IVertex>();
+
+        for (int i = 0; i < 6; i++) {
+            var vertex  = new Vertex<String>("v" + i);
+            vertices.add(vertex);
+            graph.addVertex(vertex);
+        }
+
+        // two triangles, {0, 1, 2} and {0, 2, 3}, and a multi edge
+        graph.addEdge(vertices.get(2), vertices.get(0));
+        graph.addEdge(vertices.get(0), vertices.get(3));
+        graph.addEdge(vertices.get(1), vertices.get(0));
+        graph.addEdge(vertices.get(2), vertices.get(1));
+        graph.addEdge(vertices.get(3), vertices.get(2));
+        graph.addEdge(vertices.get(0), vertices.get(5));
+        graph.addEdge(vertices.get(2), vertices.get(0));
+
+        var engine      = (HybridGraphEngine) graph.getGraphEngine();
+        var neighbors   = new ArrayList<Integer>();
+        engine.forEachNeighbor(0, neighbors::add);
+        assertEquals(List.of(1, 2, 3, 5), neighbors);
+        assertEquals(2, engine.getMultiEdges(vertices.get(0), vertices.get(2)).size());
+
+        var range       = new ArrayList<Integer>();
+        engine.forEachNeighborInRange(0, 2, 5, range::add);
+        assertEquals(List.of(2, 3), range);
+
+        var common      = new ArrayList<Integer>();
+        engine.forEachCommonNeighbor(0, 2, common::add);
+        assertEquals(List.of(1, 3), common);
+        assertEquals(1, engine.countCommonNeighbors(0, 2, 2));
+        assertEquals(2L, (long) new TriangleCount(graph).applyAlgorithm());
+
+        // v5 moves into the index of v1, and is sorted into the neighbors of v0
+        graph.removeVertex(vertices.get(1));
+        neighbors.clear();
+        engine.forEachNeighbor(0, neighbors::add);
+        assertEquals(List.of(1, 2, 3), neighbors);
+        assertEquals(1L, (long) new TriangleCount(graph).applyAlgorithm());
+    }
+}
@@ -0,0 +1,65 @@
+package com.hendrix.test;
+
+import com.hendrix.erdos.types.DirectedEdge;
+import com.hendrix.erdos.types.IdSpace;
+import com.hendrix.erdos.types.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdSpaceTest {
+    @Test
+    public void graphSpacesNumberTheirVerticesFromZero() {
+        var ids         = new IdSpace("n");
+        var v0          = new Vertex<String>("a", ids);
+        var v1          = new Vertex<String>("b", ids);
+        var e0          = new DirectedEdge(v0, v1, 2f, new IdSpace("m"));
+
+        assertEquals("n0", v0.getId());
+        assertEquals("n1", v1.getId());
+        assertEquals("m0", e0.getId());
+        assertEquals(2f, e0.getWeight());
+        assertTrue(e0.hasId());
+
+        // the hash of a vertex does not build its id
+        for (long number : new long[] {0, 7, 10, 99, 1000, 123456789L, Long.MAX_VALUE})
+            assertEquals(ids.format(number).hashCode(), ids.hashOf(number));
+    }
+
+    @Test
+    public void threadsGetUniqueIds() throws Exception {
+        var ids                 = new IdSpace("v", 16);
+        ExecutorService pool    = Executors.newFixedThreadPool(4);
+        List<Future<List<Vertex<String>>>> futures = new ArrayList<>();
+
+        for (int thread = 0; thread < 4; thread++) {
+            futures.add(pool.submit(() -> {
+                List<Vertex<String>> vertices = new ArrayList<>();
+
+                for (int i = 0; i < 1000; i++)
+                    vertices.add(new Vertex<>(null, ids));
+
+                return vertices;
+            }));
+        }
+
+        var seen                = new HashSet<String>();
+
+        for (var future : futures) {
+            for (var vertex : future.get())
+                assertTrue(seen.add(vertex.getId()));
+        }
+
+        pool.shutdown();
+
+        assertEquals(4000, seen.size());
+        assertTrue(ids.allocated() >= 4000);
+    }
+}
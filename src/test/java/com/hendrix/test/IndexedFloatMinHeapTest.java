@@ -0,0 +1,72 @@
+package com.hendrix.test;
+
+import com.hendrix.collection.IndexedFloatMinHeap;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndexedFloatMinHeapTest {
+    @Test
+    public void updatesMoveTheElementBothWays() {
+        var heap        = new IndexedFloatMinHeap(5);
+        heap.insertOrUpdate(0, 5f);
+        heap.insertOrUpdate(1, 3f);
+        heap.insertOrUpdate(2, 4f);
+        heap.insertOrUpdate(3, 1f);
+
+        // decrease 0 below everything, increase 3 above everything
+        heap.insertOrUpdate(0, 0f);
+        heap.insertOrUpdate(3, 9f);
+        assertEquals(4, heap.size());
+        assertTrue(heap.contains(3));
+        assertFalse(heap.contains(4));
+        assertEquals(9f, heap.keyOf(3));
+
+        assertEquals(0, heap.poll());
+        assertFalse(heap.contains(0));
+        assertEquals(1, heap.poll());
+        assertEquals(2, heap.poll());
+        assertEquals(3, heap.poll());
+        assertTrue(heap.isEmpty());
+        assertThrows(NoSuchElementException.class, heap::poll);
+
+        // a polled element can be inserted again
+        heap.insertOrUpdate(0, 2f);
+        assertEquals(0, heap.poll());
+    }
+
+    @Test
+    public void pollsInTheOrderOfTheLatestKeys() {
+        var random      = new Random(5);
+        int n           = 1000;
+        var heap        = new IndexedFloatMinHeap(n);
+        var keys        = new float[n];
+
+        for (int i = 0; i < 5 * n; i++) {
+            int element     = random.nextInt(n);
+            keys[element]   = random.nextFloat();
+            heap.insertOrUpdate(element, keys[element]);
+        }
+
+        float previous  = Float.NEGATIVE_INFINITY;
+        int polled      = 0;
+
+        while (!heap.isEmpty()) {
+            int element = heap.poll();
+            assertTrue(keys[element] >= previous);
+            previous    = keys[element];
+            polled++;
+        }
+
+        int inserted    = 0;
+
+        for (int element = 0; element < n; element++) {
+            inserted += keys[element] != 0f ? 1 : 0;
+        }
+
+        assertEquals(inserted, polled);
+    }
+}
@@ -0,0 +1,117 @@
+package com.hendrix.test;
+
+import com.hendrix.collection.LongObjectHashMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongObjectHashMapTest {
+    /**
+     * the first key, from {@code from} on, whose home slot in a table of 16 slots is {@code slot},
+     * the map mixes the keys the same way
+     */
+    private static long keyOfSlot(int slot, long from) {
+        for (long key = from; ; key++) {
+            long h = key * 0x9E3779B97F4A7C15L;
+
+            if(((int)(h ^ (h >>> 32)) & 15) == slot)
+                return key;
+        }
+    }
+
+    @Test
+    public void removalShiftsBackAClusterThatWrapsAround() {
+        var map         = new LongObjectHashMap<String>(0);
+        long a          = keyOfSlot(15, 0);
+        long b          = keyOfSlot(15, a + 1);
+        long c          = keyOfSlot(15, b + 1);
+        long d          = keyOfSlot(0, 0);
+
+        // the map has 16 slots, a, b and c take the slots 15, 0 and 1, d is pushed from its home slot 0 to 2
+        map.put(a, "a");
+        map.put(b, "b");
+        map.put(c, "c");
+        map.put(d, "d");
+
+        assertEquals("a", map.remove(a));
+        assertNull(map.get(a));
+        assertEquals("b", map.get(b));
+        assertEquals("c", map.get(c));
+        assertEquals("d", map.get(d));
+
+        assertEquals("b", map.remove(b));
+        assertEquals("c", map.get(c));
+        assertEquals("d", map.get(d));
+        assertFalse(map.containsKey(b));
+        assertNull(map.remove(b));
+
+        // the freed slots are reused, there are no tombstones
+        assertNull(map.put(a, "e"));
+        assertEquals("e", map.get(a));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    public void rehashKeepsTheEntriesThatSurvivedRemoval() {
+        var map         = new LongObjectHashMap<Long>(0);
+        var expected    = new HashMap<Long, Long>();
+
+        // the keys are cells (i, j) of a matrix, the way the bit matrix engine keys its edges
+        for (long i = 0; i < 40; i++) {
+            for (long j = 0; j < 40; j++) {
+                long key = i << 32 | j;
+                map.put(key, key);
+                expected.put(key, key);
+
+                if(j % 3 == 0) {
+                    long removed = i << 32 | (j / 2);
+                    assertEquals(expected.remove(removed), map.remove(removed));
+                }
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+
+        for (long i = 0; i < 40; i++) {
+            for (long j = 0; j < 40; j++) {
+                long key = i << 32 | j;
+                assertEquals(expected.get(key), map.get(key));
+            }
+        }
+
+        var copy        = new LongObjectHashMap<>(map, value -> -value);
+
+        for (long key : expected.keySet()) {
+            assertEquals(key, (long) map.remove(key));
+            assertEquals(-key, (long) copy.get(key));
+        }
+
+        assertTrue(map.isEmpty());
+        assertEquals(expected.size(), copy.size());
+    }
+
+    @Test
+    public void randomOperationsMatchAHashMap() {
+        var random      = new Random(4);
+        var map         = new LongObjectHashMap<Integer>();
+        var expected    = new HashMap<Long, Integer>();
+
+        for (int i = 0; i < 20_000; i++) {
+            long key    = (long) random.nextInt(300) << 32;
+
+            if(random.nextInt(3) == 0)
+                assertEquals(expected.remove(key), map.remove(key));
+            else
+                assertEquals(expected.put(key, i), map.put(key, i));
+
+            assertEquals(expected.size(), map.size());
+        }
+
+        for (long k = 0; k < 300; k++) {
+            assertEquals(expected.get(k << 32), map.get(k << 32));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.hendrix.test;
+
+import com.hendrix.erdos.graphs.engines.GraphBuilder;
+import com.hendrix.erdos.graphs.engines.HybridGraphEngine;
+import com.hendrix.erdos.io.MatrixMarketFile;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MatrixMarketFileTest {
+
+    @Test
+    public void symmetricMatrixIsAnUndirectedGraph() throws IOException {
+        var file = Files.createTempFile("erdos", ".mtx");
+        try {
+            Files.write(file, ("%%MatrixMarket matrix coordinate real symmetric\n" +
+                               "% a comment\n" +
+                               "3 3 3\n" +
+                               "1 1 2.5\n" +
+                               "2 1 -1\n" +
+                               "3 2 1e2\n").getBytes(StandardCharsets.UTF_8));
+
+            var graph   = MatrixMarketFile.read(file, HybridGraphEngine::new);
+            var engine  = graph.getGraphEngine();
+            var v1      = engine.vertexAt(0);
+            var v2      = engine.vertexAt(1);
+            var v3      = engine.vertexAt(2);
+
+            assertEquals(EDGE_DIRECTION.UNDIRECTED, graph.getGraphType());
+            assertEquals("1", v1.getTag());
+            assertEquals(3, graph.numEdges());
+            assertEquals(2.5f, graph.getEdge(v1, v1).getWeight());
+            assertEquals(-1f, graph.getEdge(v1, v2).getWeight());
+            assertEquals(100f, graph.getEdge(v3, v2).getWeight());
+
+            Files.write(file, "%%MatrixMarket matrix coordinate real general\n2 2 2\n1 2 1\n".getBytes(StandardCharsets.UTF_8));
+            var e       = assertThrows(IOException.class, () -> MatrixMarketFile.read(file));
+            assertTrue(e.getMessage().contains("expected 2 entries"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void repeatedCoordinatesAreMultiEdges() throws IOException {
+        var file = Files.createTempFile("erdos", ".mtx");
+        try {
+            Files.write(file, ("%%MatrixMarket matrix coordinate real general\n" +
+                               "2 2 3\n" +
+                               "1 2 1\n" +
+                               "2 1 2\n" +
+                               "1 2 3\n").getBytes(StandardCharsets.UTF_8));
+
+            var graph   = MatrixMarketFile.read(file);
+            var engine  = graph.getGraphEngine();
+
+            assertTrue(graph.hasMultiEdges());
+            assertEquals(3, graph.numEdges());
+            assertEquals(2, engine.getMultiEdges(engine.vertexAt(0), engine.vertexAt(1)).size());
+
+            // the multigraph reads back with all of its edges
+            MatrixMarketFile.write(graph, file);
+            var restored    = MatrixMarketFile.read(file);
+            assertTrue(restored.hasMultiEdges());
+            assertEquals(3, restored.numEdges());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void writtenGraphReadsBack() throws IOException {
+        var graph   = new GraphBuilder(EDGE_DIRECTION.DIRECTED, 4, 4).addVertices(4)
+                                                                   .addEdge(0, 1, 0.5f)
+                                                                   .addEdge(1, 0, 3f)
+                                                                   .addEdge(2, 3, -7.25f)
+                                                                   .addEdge(3, 0)
+                                                                   .build();
+        var file    = Files.createTempFile("erdos", ".mtx");
+        try {
+            MatrixMarketFile.write(graph, file);
+
+            var text    = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            assertTrue(text.startsWith("%%MatrixMarket matrix coordinate real general\n4 4 4\n"));
+            assertTrue(text.contains("\n3 4 -7.25\n"));
+
+            var restored    = MatrixMarketFile.read(file);
+            var engine      = restored.getGraphEngine();
+
+            assertEquals(4, restored.numVertices());
+            assertEquals(4, restored.numEdges());
+            assertEquals(0.5f, restored.getEdge(engine.vertexAt(0), engine.vertexAt(1)).getWeight());
+            assertEquals(3f, restored.getEdge(engine.vertexAt(1), engine.vertexAt(0)).getWeight());
+            assertEquals(0f, restored.getEdge(engine.vertexAt(3), engine.vertexAt(0)).getWeight());
+            assertNull(restored.getEdge(engine.vertexAt(0), engine.vertexAt(3)));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+}
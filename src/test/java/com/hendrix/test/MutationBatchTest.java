@@ -0,0 +1,108 @@
+package com.hendrix.test;
+
+import com.hendrix.erdos.Erdos;
+import com.hendrix.erdos.exceptions.VertexNotFoundException;
+import com.hendrix.erdos.graphs.DirectedGraph;
+import com.hendrix.erdos.graphs.IGraph;
+import com.hendrix.erdos.graphs.MutationBatch;
+import com.hendrix.erdos.graphs.SimpleDirectedGraph;
+import com.hendrix.erdos.graphs.engines.VersionedGraphEngine;
+import com.hendrix.erdos.types.Edge;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.IVertex;
+import com.hendrix.erdos.types.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MutationBatchTest {
+    @Test
+    public void batchIsAppliedInPhases() {
+        var graph   = new SimpleDirectedGraph();
+        var v1      = new Vertex<String>("1");
+        var v2      = new Vertex<String>("2");
+        var v3      = new Vertex<String>("3");
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        var e1_2    = graph.addEdge(v1, v2);
+
+        var batch   = new MutationBatch()
+                .removeVertex(v2)
+                .addEdge(v3, v1, 4)
+                .addVertex(v3)
+                .removeEdge(e1_2)
+                .addEdge(v1, v3);
+
+        batch.apply(graph);
+
+        assertEquals(5, batch.size());
+        assertEquals(2, graph.numVertices());
+        assertEquals(2, graph.numEdges());
+        assertFalse(graph.hasVertex(v2));
+        assertEquals(4f, graph.getEdge(v3, v1).getWeight());
+        assertTrue(graph.hasEdge(v1, v3));
+    }
+
+    @Test
+    public void failedBatchIsRolledBack() {
+        DirectedGraph graph = Erdos.newDirectedGraphWithEngine(new VersionedGraphEngine(), false, true);
+        var v1      = new Vertex<String>("1");
+        var v2      = new Vertex<String>("2");
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        var e1_2    = graph.addEdge(v1, v2, 1);
+        graph.addEdge(v1, v2, 2);
+
+        var batch   = new MutationBatch()
+                .addVertex(new Vertex<String>("3"))
+                .removeEdge(e1_2)
+                .addEdge(v2, v1)
+                .removeVertex(v1)
+                .addEdge(v2, new Vertex<String>("missing"));
+
+        assertThrows(VertexNotFoundException.class, () -> batch.apply(graph));
+
+        assertEquals(2, graph.numVertices());
+        assertEquals(2, graph.numEdges());
+        assertTrue(graph.getGraphEngine().getMultiEdges(v1, v2).contains(e1_2));
+        assertFalse(graph.hasEdge(v2, v1));
+        assertEquals(1, graph.getGraphEngine().outDegreeOfVertex(v1));
+    }
+
+    @Test
+    public void snapshotsTakenDuringABatchSeeTheOldState() {
+        DirectedGraph graph = Erdos.newDirectedGraphWithEngine(new VersionedGraphEngine(), false, false);
+        var v1          = new Vertex<String>("1");
+        var v2          = new Vertex<String>("2");
+        var v3          = new Vertex<String>("3");
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        graph.addEdge(v1, v2);
+
+        // a reader thread takes a snapshot in the middle of the batch, it must not wait for the batch
+        var during      = new ArrayList<IGraph>();
+        var edge        = new Edge(v1, v3, EDGE_DIRECTION.DIRECTED, 0f) {
+            @Override
+            public IVertex getV2() {
+                if(during.isEmpty() && graph.hasVertex(v3))
+                    during.add(CompletableFuture.supplyAsync(graph::snapshot).orTimeout(5, TimeUnit.SECONDS).join());
+
+                return super.getV2();
+            }
+        };
+
+        new MutationBatch().addVertex(v3).removeEdge(v1, v2).addEdge(edge).apply(graph);
+
+        var snapshot    = during.get(0);
+        assertEquals(2, snapshot.numVertices());
+        assertTrue(snapshot.hasEdge(v1, v2));
+        assertFalse(snapshot.hasVertex(v3));
+
+        assertTrue(graph.snapshot().hasEdge(v1, v3));
+        assertFalse(graph.snapshot().hasEdge(v1, v2));
+    }
+}
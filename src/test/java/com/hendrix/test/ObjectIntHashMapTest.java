@@ -0,0 +1,142 @@
+package com.hendrix.test;
+
+import com.hendrix.collection.ObjectIntHashMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ObjectIntHashMapTest {
+    /**
+     * a key with a chosen hash code
+     */
+    private static final class Key {
+        private final int _hash;
+        private final String _name;
+
+        Key(int hash, String name) {
+            _hash = hash;
+            _name = name;
+        }
+
+        @Override
+        public int hashCode() {
+            return _hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key && ((Key) other)._name.equals(_name);
+        }
+    }
+
+    /**
+     * the first hash code whose home slot in a table of 16 slots is {@code slot}, the map spreads
+     * the hash codes the same way
+     */
+    private static int hashCodeOfSlot(int slot) {
+        for (int code = 0; ; code++) {
+            int h = code * 0x9E3779B9;
+
+            if(((h ^ (h >>> 16)) & 15) == slot)
+                return code;
+        }
+    }
+
+    @Test
+    public void removalShiftsBackAClusterThatWrapsAround() {
+        var map         = new ObjectIntHashMap<Key>(0, -1);
+        var a           = new Key(hashCodeOfSlot(15), "a");
+        var b           = new Key(hashCodeOfSlot(15), "b");
+        var c           = new Key(hashCodeOfSlot(15), "c");
+        var d           = new Key(hashCodeOfSlot(0), "d");
+
+        // the map has 16 slots, a, b and c take the slots 15, 0 and 1, d is pushed from its home slot 0 to 2
+        map.put(a, 1);
+        map.put(b, 2);
+        map.put(c, 3);
+        map.put(d, 4);
+
+        assertEquals(1, map.remove(a));
+        assertEquals(-1, map.get(a));
+        assertEquals(2, map.get(b));
+        assertEquals(3, map.get(c));
+        assertEquals(4, map.get(d));
+
+        assertEquals(2, map.remove(b));
+        assertEquals(3, map.get(c));
+        assertEquals(4, map.get(d));
+        assertFalse(map.containsKey(b));
+        assertEquals(-1, map.remove(b));
+
+        // the freed slots are reused, there are no tombstones
+        assertEquals(-1, map.put(a, 5));
+        assertEquals(5, map.get(a));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    public void rehashKeepsTheEntriesThatSurvivedRemoval() {
+        var map         = new ObjectIntHashMap<Key>(0, Integer.MIN_VALUE);
+        var expected    = new HashMap<Key, Integer>();
+        var keys        = new ArrayList<Key>();
+
+        // few distinct hash codes make long clusters
+        for (int i = 0; i < 1000; i++) {
+            var key     = new Key(i % 7, String.valueOf(i));
+            keys.add(key);
+            map.put(key, i);
+            expected.put(key, i);
+
+            if(i % 3 == 0) {
+                var removed = keys.get(i / 2);
+                assertEquals(expected.containsKey(removed) ? (int) expected.remove(removed) : Integer.MIN_VALUE, map.remove(removed));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+
+        for (var key : keys) {
+            assertEquals((int) expected.getOrDefault(key, Integer.MIN_VALUE), map.get(key));
+        }
+
+        var copy        = new ObjectIntHashMap<>(map);
+
+        for (var key : keys) {
+            map.remove(key);
+        }
+
+        assertTrue(map.isEmpty());
+        assertEquals(expected.size(), copy.size());
+        map.forEach((key, value) -> fail("the map is empty"));
+    }
+
+    @Test
+    public void randomOperationsMatchAHashMap() {
+        var random      = new Random(3);
+        var map         = new ObjectIntHashMap<Key>();
+        var expected    = new HashMap<Key, Integer>();
+
+        for (int i = 0; i < 20_000; i++) {
+            int name    = random.nextInt(300);
+            var key     = new Key(name % 11, String.valueOf(name));
+
+            if(random.nextInt(3) == 0) {
+                Integer previous = expected.remove(key);
+                assertEquals(previous == null ? -1 : previous, map.remove(key));
+            } else {
+                Integer previous = expected.put(key, i);
+                assertEquals(previous == null ? -1 : previous, map.put(key, i));
+            }
+
+            assertEquals(expected.size(), map.size());
+        }
+
+        var visited     = new HashMap<Key, Integer>();
+        map.forEach(visited::put);
+        assertEquals(expected, visited);
+    }
+}
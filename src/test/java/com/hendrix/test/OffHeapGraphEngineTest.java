@@ -0,0 +1,75 @@
+package com.hendrix.test;
+
+import com.hendrix.erdos.Erdos;
+import com.hendrix.erdos.algorithms.BFS;
+import com.hendrix.erdos.algorithms.DijkstraShortestPath;
+import com.hendrix.erdos.graphs.IDirectedGraph;
+import com.hendrix.erdos.graphs.SimpleDirectedGraph;
+import com.hendrix.erdos.graphs.engines.OffHeapGraphEngine;
+import com.hendrix.erdos.graphs.engines.OffHeapGraphEngine.Segment;
+import com.hendrix.erdos.types.Edge;
+import com.hendrix.erdos.types.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapGraphEngineTest {
+    @Test
+    public void offHeapGraphMatchesSource() {
+        var graph = new SimpleDirectedGraph();
+        var v1 = new Vertex<String>("1");
+        var v2 = new Vertex<String>("2");
+        var v3 = new Vertex<String>("3");
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        graph.addVertex(v3);
+        graph.addEdge(v1, v3, 5);
+        graph.addEdge(v1, v2, 1);
+        graph.addEdge(v2, v3, 1);
+
+        var offHeap = Erdos.offHeapGraphOf(graph);
+
+        assertEquals(3, offHeap.numEdges());
+        assertEquals(5f, offHeap.getEdge(v1, v3).getWeight());
+        assertNull(offHeap.getEdge(v3, v1));
+        assertTrue(offHeap.hasEdge(offHeap.getEdge(v2, v3)));
+        assertEquals(2, offHeap.getIncidenceInListOf(v3).size());
+        assertThrows(UnsupportedOperationException.class, () -> offHeap.addEdge(v3, v1));
+
+        var tree = new DijkstraShortestPath((IDirectedGraph) offHeap).setStartVertex(v1).applyAlgorithm();
+        assertEquals(2f, tree.distanceOf(v3));
+        assertEquals(1, new BFS(offHeap, v1).applyAlgorithm().getDistance(v3));
+
+        offHeap.getGraphEngine().dispose();
+    }
+
+    @Test
+    public void wrappedSegmentsMaterializeLabeledVertices() {
+        var graph = new SimpleDirectedGraph();
+        var a = new Vertex<String>("a");
+        var b = new Vertex<String>("b");
+        graph.addVertex(a);
+        graph.addVertex(b);
+        graph.addEdge(a, b, 2);
+
+        var source = new OffHeapGraphEngine(graph.getGraphEngine());
+        var segments = new ByteBuffer[Segment.values().length];
+        for (Segment segment : Segment.values()) {
+            ByteBuffer view = source.getSegment(segment);
+            segments[segment.ordinal()] = ByteBuffer.allocateDirect(view.remaining()).put(view).flip();
+        }
+
+        var engine = new OffHeapGraphEngine(source.getGraphType(), 2, 1, segments);
+
+        assertEquals("a", engine.vertexAt(0).getTag());
+        assertSame(engine.vertexAt(1), engine.vertexAt(1));
+        Edge edge = engine.getEdge(engine.vertexAt(0), engine.vertexAt(1));
+        assertEquals(2f, edge.getWeight());
+        assertEquals(0, engine.indexOf(edge.getV1()));
+
+        engine.dispose();
+        source.dispose();
+    }
+}
@@ -0,0 +1,90 @@
+package com.hendrix.test;
+
+import com.hendrix.erdos.Erdos;
+import com.hendrix.erdos.graphs.engines.PartitionedGraphEngine;
+import com.hendrix.erdos.graphs.engines.PartitionedGraphEngine.PARTITIONING;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.IVertex;
+import com.hendrix.erdos.types.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PartitionedGraphEngineTest {
+    @Test
+    public void partitionsAreProcessedInParallel() {
+        var graph       = Erdos.newGraphWithEngineFactory(() -> new PartitionedGraphEngine(4, PARTITIONING.HASH, 100), EDGE_DIRECTION.DIRECTED, false, false);
+        var vertices    = new ArrayList<IVertex>();
+
+        for (int i = 0; i < 100; i++) {
+            var vertex  = new Vertex<String>("v" + i);
+            vertices.add(vertex);
+            graph.addVertex(vertex);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            graph.addEdge(vertices.get(i), vertices.get((i + 1) % 100));
+            graph.addEdge(vertices.get(i), vertices.get((i * 7) % 100));
+        }
+
+        var engine      = (PartitionedGraphEngine) graph.getGraphEngine();
+        var edges       = new AtomicInteger();
+        var cut         = new AtomicInteger();
+
+        engine.forEachPartition(partition -> {
+            partition.forEachVertex(index -> edges.addAndGet(engine.outDegreeOfVertex(engine.vertexAt(index))));
+            cut.addAndGet(partition.numCutEdges());
+        });
+
+        assertEquals(graph.numEdges(), edges.get());
+        assertEquals(100, engine.partitions().stream().mapToInt(PartitionedGraphEngine.Partition::numVertices).sum());
+
+        // every cut edge is counted by both of its partitions
+        int expected    = 0;
+
+        for (var edge : graph.edges()) {
+            expected    += (engine.partitionOf(edge.getV1()) != engine.partitionOf(edge.getV2())) ? 2 : 0;
+        }
+
+        assertEquals(expected, cut.get());
+    }
+
+    @Test
+    public void rangePartitionsKeepTheirGhosts() {
+        var graph       = Erdos.newGraphWithEngineFactory(() -> new PartitionedGraphEngine(2, PARTITIONING.RANGE, 4), EDGE_DIRECTION.UNDIRECTED, false, false);
+        var v0          = new Vertex<String>("0");
+        var v1          = new Vertex<String>("1");
+        var v2          = new Vertex<String>("2");
+        var v3          = new Vertex<String>("3");
+        graph.addVertex(v0);
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        graph.addVertex(v3);
+        graph.addEdge(v0, v1);
+        graph.addEdge(v1, v2);
+        graph.addEdge(v3, v2);
+
+        var engine      = (PartitionedGraphEngine) graph.getGraphEngine();
+        var first       = engine.partitionAt(0);
+        var second      = engine.partitionAt(1);
+        assertTrue(first.contains(v1));
+        assertTrue(first.isBoundary(v1));
+        assertFalse(first.isBoundary(v0));
+        assertTrue(first.isGhost(v2));
+        assertEquals(1, first.numGhosts());
+        assertEquals(1, second.numCutEdges());
+
+        // v3 moves into the index of v0, and into the first partition
+        graph.removeVertex(v0);
+        assertEquals(0, engine.indexOf(v3));
+        assertTrue(first.contains(v3));
+        assertEquals(2, first.numCutEdges());
+        assertEquals(2, first.numBoundaryVertices());
+        assertEquals(1, second.numVertices());
+        assertEquals(2, second.numGhosts());
+        assertTrue(graph.hasEdge(v2, v3));
+    }
+}
@@ -0,0 +1,85 @@
+package com.hendrix.test;
+
+import com.hendrix.erdos.graphs.AbstractGraph;
+import com.hendrix.erdos.graphs.engines.ColumnarGraphEngine;
+import com.hendrix.erdos.graphs.engines.GraphBuilder;
+import com.hendrix.erdos.io.SnapEdgeListFile;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.IVertex;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.Pipe;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SnapEdgeListFileTest {
+
+    private static Map<String, IVertex> verticesByTag(AbstractGraph graph) {
+        var vertices = new HashMap<String, IVertex>();
+        for (var vertex : graph.vertices())
+            vertices.put(vertex.getTag().toString(), vertex);
+        return vertices;
+    }
+
+    @Test
+    public void headerSetsTheDirection() throws IOException {
+        var file = Files.createTempFile("erdos", ".txt");
+        try {
+            Files.write(file, ("# Undirected graph (each unordered pair of nodes is saved once): test.txt\n" +
+                               "# Nodes: 3 Edges: 3\n" +
+                               "# FromNodeId\tToNodeId\n" +
+                               "100\t200\n" +
+                               "200\t100\n" +
+                               "200\t300\t1262304000\n" +
+                               "300\t300\n").getBytes(StandardCharsets.UTF_8));
+
+            var graph       = SnapEdgeListFile.read(file, ColumnarGraphEngine::new);
+            var vertices    = verticesByTag(graph);
+
+            assertEquals(EDGE_DIRECTION.UNDIRECTED, graph.getGraphType());
+            assertEquals(3, graph.numVertices());
+            // the edge that is listed in both orders is kept once, and the self loop is kept
+            assertFalse(graph.hasMultiEdges());
+            assertEquals(3, graph.numEdges());
+            assertNotNull(graph.getEdge(vertices.get("300"), vertices.get("200")));
+            assertNotNull(graph.getEdge(vertices.get("300"), vertices.get("300")));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void graphStreamsThroughAPipe() throws IOException {
+        var graph   = new GraphBuilder(EDGE_DIRECTION.DIRECTED, 3, 3).addVertices(3)
+                                                                   .addEdge(0, 1)
+                                                                   .addEdge(1, 2)
+                                                                   .addEdge(2, 0)
+                                                                   .build();
+        var pipe    = Pipe.open();
+        var writer  = new Thread(() -> {
+            try (var sink = pipe.sink()) {
+                SnapEdgeListFile.write(graph, sink);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        writer.start();
+
+        try (var source = pipe.source()) {
+            var restored    = SnapEdgeListFile.read(source, ColumnarGraphEngine::new);
+            var vertices    = verticesByTag(restored);
+
+            assertEquals(EDGE_DIRECTION.DIRECTED, restored.getGraphType());
+            assertEquals(3, restored.numEdges());
+            assertNotNull(restored.getEdge(vertices.get("2"), vertices.get("0")));
+            assertNull(restored.getEdge(vertices.get("0"), vertices.get("2")));
+        }
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.hendrix.test;
+
+import com.hendrix.erdos.Erdos;
+import com.hendrix.erdos.algorithms.BFS;
+import com.hendrix.erdos.graphs.DirectedGraph;
+import com.hendrix.erdos.graphs.SimpleDirectedGraph;
+import com.hendrix.erdos.graphs.engines.ColumnarGraphEngine;
+import com.hendrix.erdos.graphs.engines.CsrGraphEngine;
+import com.hendrix.erdos.graphs.engines.VersionedGraphEngine;
+import com.hendrix.erdos.types.Edge.EDGE_DIRECTION;
+import com.hendrix.erdos.types.Vertex;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VersionedGraphEngineTest {
+    @Test
+    public void snapshotIsNotAffectedByLaterChanges() {
+        DirectedGraph graph = Erdos.newDirectedGraphWithEngine(new VersionedGraphEngine(), false, false);
+        var v1 = new Vertex<String>("1");
+        var v2 = new Vertex<String>("2");
+        var v3 = new Vertex<String>("3");
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        graph.addVertex(v3);
+        var e1_2 = graph.addEdge(v1, v2, 1);
+        graph.addEdge(v2, v3, 1);
+
+        var snapshot = graph.snapshot();
+
+        graph.removeEdge(e1_2);
+        graph.addEdge(v3, v1, 2);
+        graph.removeVertex(v2);
+
+        assertEquals(3, snapshot.numVertices());
+        assertEquals(2, snapshot.numEdges());
+        assertSame(e1_2, snapshot.getEdge(v1, v2));
+        assertNull(snapshot.getEdge(v3, v1));
+        assertEquals(2, new BFS(snapshot, v1).applyAlgorithm().getDistance(v3));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.addEdge(v3, v1));
+        assertSame(snapshot, snapshot.snapshot());
+
+        assertEquals(2, graph.numVertices());
+        assertEquals(1, graph.numEdges());
+        assertSame(v3, graph.getGraphEngine().vertexAt(graph.getGraphEngine().indexOf(v3)));
+    }
+
+    @Test
+    public void snapshotOfOtherEnginesIsACopy() {
+        var graph = new SimpleDirectedGraph();
+        var a = new Vertex<String>("a");
+        var b = new Vertex<String>("b");
+        graph.addVertex(a);
+        graph.addVertex(b);
+        graph.addEdge(a, b, 2f).setTag("ab");
+
+        var snapshot = graph.snapshot();
+        graph.getEdge(a, b).setWeight(5f);
+        graph.getEdge(a, b).setTag("changed");
+        graph.removeVertex(b);
+
+        assertTrue(snapshot.getGraphEngine() instanceof CsrGraphEngine);
+        assertTrue(snapshot.hasEdge(a, b));
+        assertEquals(2f, snapshot.getEdge(a, b).getWeight());
+        assertEquals("ab", snapshot.getEdge(a, b).getTag());
+    }
+
+    @Test
+    public void snapshotOfAColumnarGraphKeepsItsEdges() {
+        var graph = Erdos.newGraphWithEngineFactory(ColumnarGraphEngine::new, EDGE_DIRECTION.DIRECTED, false, false);
+        var a = new Vertex<String>("a");
+        var b = new Vertex<String>("b");
+        graph.addVertex(a);
+        graph.addVertex(b);
+        graph.addEdge(a, b, 7f).setTag("ab");
+
+        var snapshot = graph.snapshot();
+        graph.removeEdge(a, b);
+        graph.addEdge(a, b, 1f);
+
+        assertEquals(7f, snapshot.getEdge(a, b).getWeight());
+        assertEquals("ab", snapshot.getEdge(a, b).getTag());
+    }
+}
@@ -0,0 +1,78 @@
+package com.hendrix.test;
+
+import com.hendrix.erdos.graphs.engines.VertexIndex;
+import com.hendrix.erdos.types.Vertex;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VertexIndexTest {
+    @Test
+    public void removalMovesTheLastVertexIntoTheFreedIndex() {
+        var index       = new VertexIndex(2);
+        var vertices    = new Vertex[5];
+
+        for (int i = 0; i < vertices.length; i++) {
+            vertices[i] = new Vertex<String>(String.valueOf(i));
+            assertEquals(i, index.add(vertices[i]));
+        }
+
+        assertEquals(-1, index.add(vertices[2]));
+
+        // 4 moves into the index of 1, and its index hint follows it
+        assertEquals(1, index.remove(vertices[1]));
+        assertEquals(4, index.size());
+        assertSame(vertices[4], index.vertexAt(1));
+        assertEquals(1, index.indexOf(vertices[4]));
+        assertEquals(1, vertices[4].getIndex());
+        assertFalse(index.contains(vertices[1]));
+        assertEquals(-1, index.remove(vertices[1]));
+
+        // the other vertices keep their indices
+        assertEquals(0, index.indexOf(vertices[0]));
+        assertEquals(2, index.indexOf(vertices[2]));
+        assertEquals(3, index.indexOf(vertices[3]));
+
+        // removing the last vertex moves nothing
+        assertEquals(3, index.remove(vertices[3]));
+        assertEquals(3, index.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> index.vertexAt(3));
+        assertSame(vertices[4], index.vertexAt(1));
+
+        // a removed vertex is added at the end again
+        assertEquals(3, index.add(vertices[1]));
+        assertArrayEqualsOf(index, vertices[0], vertices[4], vertices[2], vertices[1]);
+    }
+
+    @Test
+    public void staleIndexHintsFallBackToTheMap() {
+        var index       = new VertexIndex();
+        var other       = new VertexIndex();
+        var v1          = new Vertex<String>("1");
+        var v2          = new Vertex<String>("2");
+        index.add(v1);
+        index.add(v2);
+
+        // registering v2 in another index overwrites its hint with 0, the index of v1 here
+        other.add(v2);
+        assertEquals(0, v2.getIndex());
+        assertEquals(1, index.indexOf(v2));
+        assertEquals(0, index.indexOf(v1));
+
+        var copy        = new VertexIndex(index);
+        assertEquals(0, index.remove(v1));
+        assertEquals(0, index.indexOf(v2));
+        assertEquals(0, copy.indexOf(v1));
+        assertEquals(2, copy.size());
+    }
+
+    private static void assertArrayEqualsOf(VertexIndex index, Vertex<?>... expected) {
+        var vertices    = index.toArray();
+        assertEquals(expected.length, vertices.length);
+
+        for (int i = 0; i < expected.length; i++) {
+            assertSame(expected[i], vertices[i]);
+            assertEquals(i, index.indexOf(expected[i]));
+        }
+    }
+}